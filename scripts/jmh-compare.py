@@ -0,0 +1,90 @@
+#!/usr/bin/env python3
+"""Compares two JMH result files in JSON format and reports regressions.
+
+Usage: jmh-compare.py <baseline.json> <current.json> [threshold-percent]
+
+Prints a markdown table with the score and the normalized allocation rate (requires the gc profiler) of each
+benchmark. Exits with status 1 if any benchmark got slower or allocates more than the threshold (default: 10%).
+"""
+
+import json
+import sys
+
+ALLOCATION_METRIC = "·gc.alloc.rate.norm"
+
+
+def benchmark_name(result):
+    name = result["benchmark"].replace("org.jabref.benchmarks.", "")
+    params = result.get("params", {})
+    if params:
+        name += " (" + ", ".join("%s=%s" % (key, value) for key, value in sorted(params.items())) + ")"
+    return name
+
+
+def read_results(path):
+    with open(path, encoding="utf-8") as file:
+        results = {}
+        for result in json.load(file):
+            primary = result["primaryMetric"]
+            allocation = result.get("secondaryMetrics", {}).get(ALLOCATION_METRIC)
+            results[benchmark_name(result)] = {
+                "score": primary["score"],
+                "unit": primary["scoreUnit"],
+                # Throughput modes report higher numbers for better results
+                "higher_is_better": result["mode"] in ("thrpt",),
+                "allocation": allocation["score"] if allocation else None,
+            }
+        return results
+
+
+def change_in_percent(baseline, current):
+    if baseline is None or current is None or baseline == 0:
+        return None
+    return (current - baseline) / baseline * 100
+
+
+def format_change(change):
+    return "n/a" if change is None else "%+.1f%%" % change
+
+
+def main(args):
+    if len(args) not in (2, 3):
+        print(__doc__)
+        return 2
+    baseline = read_results(args[0])
+    current = read_results(args[1])
+    threshold = float(args[2]) if len(args) == 3 else 10.0
+
+    regressions = []
+    print("| Benchmark | Baseline | Current | Change | Allocation change |")
+    print("| --- | ---: | ---: | ---: | ---: |")
+    for name in sorted(current):
+        now = current[name]
+        before = baseline.get(name)
+        if before is None:
+            print("| %s | - | %.3f %s | new | - |" % (name, now["score"], now["unit"]))
+            continue
+
+        score_change = change_in_percent(before["score"], now["score"])
+        allocation_change = change_in_percent(before["allocation"], now["allocation"])
+        if score_change is None:
+            # Without a baseline score (e.g., zero), no relative change can be computed
+            slowdown = None
+        else:
+            slowdown = -score_change if now["higher_is_better"] else score_change
+        if (slowdown is not None and slowdown > threshold) or (allocation_change is not None and allocation_change > threshold):
+            regressions.append(name)
+        print("| %s | %.3f | %.3f %s | %s | %s |" % (name, before["score"], now["score"], now["unit"],
+                                                    format_change(score_change), format_change(allocation_change)))
+
+    if regressions:
+        print()
+        print("Regressions above %.1f%%:" % threshold)
+        for name in regressions:
+            print("* " + name)
+        return 1
+    return 0
+
+
+if __name__ == "__main__":
+    sys.exit(main(sys.argv[1:]))
@@ -0,0 +1,178 @@
+package org.jabref.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.entry.types.EntryType;
+import org.jabref.model.entry.types.StandardEntryType;
+
+/**
+ * Generates libraries for the benchmarks. The same size always results in the same library, so that results of
+ * different runs can be compared.
+ * <p>
+ * The entries resemble real ones: several authors, titles containing LaTeX commands and braces, identifiers, keywords
+ * and abstracts. About two percent of the entries are near duplicates of earlier entries.
+ */
+public final class BenchmarkCorpus {
+
+    private static final long SEED = 42;
+
+    private static final String[] FIRST_NAMES = {
+            "Anna", "Bernd", "Carla", "David", "Elena", "Felix", "Greta", "Hans", "Ines", "Jan",
+            "Katrin", "Lukas", "Maria", "Niklas", "Olga", "Paul", "Quirin", "Rosa", "Stefan", "Tanja",
+            "Ulrich", "Vera", "Wei", "Xiaoming", "Yusuf", "Zoe", "J\\\"{o}rg", "Fran{\\c{c}}ois", "Ren\\'{e}", "Sa\\v{s}a"};
+    private static final String[] LAST_NAMES = {
+            "Smith", "M{\\\"u}ller", "Garc{\\'i}a", "Nguyen", "Kowalski", "Rossi", "Schmidt", "Johansson", "Dubois", "Tanaka",
+            "Brown", "Wang", "Novak", "Silva", "Ivanov", "Jensen", "Kim", "Li", "Weber", "van der Berg",
+            "de la Cruz", "O'Neil", "Fischer", "Meyer", "Wagner", "Becker", "Schulz", "Hoffmann", "Koch", "Richter",
+            "Klein", "Wolf", "Neumann", "Schwarz", "Zimmermann", "Braun", "Kr{\\\"u}ger", "Hartmann", "Lange", "Werner",
+            "Lehmann", "Krause", "Maier", "K{\\\"o}hler", "Herrmann", "Walter", "Mayer", "Huber", "Kaiser", "Fuchs",
+            "Peters", "Lang", "Scholz", "M{\\\"o}ller", "Wei{\\ss}", "Jung", "Hahn", "Schubert", "Vogel", "Friedrich"};
+    private static final String[] TITLE_WORDS = {
+            "analysis", "approach", "adaptive", "algorithm", "application", "architecture", "bayesian", "benchmark",
+            "clustering", "cloud", "compiler", "complexity", "concurrent", "convolutional", "data", "deep", "design",
+            "distributed", "dynamic", "efficient", "embedded", "empirical", "energy", "evaluation", "evolution",
+            "framework", "formal", "graph", "heuristic", "hybrid", "incremental", "inference", "learning", "linear",
+            "management", "method", "model", "modular", "network", "neural", "novel", "optimization", "parallel",
+            "performance", "probabilistic", "process", "quantum", "query", "random", "real-time", "recognition",
+            "reinforcement", "robust", "scalable", "scheduling", "search", "security", "semantic", "sensor",
+            "simulation", "software", "sparse", "statistical", "stochastic", "storage", "streaming", "structure",
+            "survey", "system", "systematic", "testing", "theory", "tool", "transfer", "verification", "virtual",
+            "{B}ayes", "{M}arkov", "{P}etri", "{J}ava", "$\\lambda$-calculus", "\\LaTeX", "{\\em in situ}", "{F}ourier"};
+    private static final String[] VENUES = {
+            "IEEE Transactions on Software Engineering", "Communications of the ACM", "Journal of Machine Learning Research",
+            "Information Systems", "Empirical Software Engineering", "Nature", "Physical Review Letters",
+            "ACM Computing Surveys", "Journal of Systems and Software", "Software: Practice and Experience",
+            "IEEE Software", "Bioinformatics", "Data \\& Knowledge Engineering", "Theoretical Computer Science",
+            "Journal of the ACM", "Machine Learning", "Pattern Recognition", "Computer Networks", "Neurocomputing",
+            "Science of Computer Programming"};
+    private static final String[] KEYWORDS = {
+            "software engineering", "machine learning", "databases", "networks", "security", "testing", "theory",
+            "hci", "graphics", "compilers", "distributed systems", "optimization", "statistics", "bioinformatics",
+            "physics", "robotics", "vision", "nlp", "formal methods", "education", "survey", "benchmark", "tools",
+            "open source", "reproducibility"};
+    private static final EntryType[] TYPES = {
+            StandardEntryType.Article, StandardEntryType.Article, StandardEntryType.Article, StandardEntryType.Article,
+            StandardEntryType.Article, StandardEntryType.Article, StandardEntryType.InProceedings,
+            StandardEntryType.InProceedings, StandardEntryType.Book, StandardEntryType.Misc};
+
+    private BenchmarkCorpus() {
+    }
+
+    /**
+     * Generates a library with the given number of entries.
+     */
+    public static BibDatabase generate(int size) {
+        BibDatabase database = new BibDatabase();
+        database.insertEntries(generateEntries(size));
+        return database;
+    }
+
+    /**
+     * Generates the given number of entries. The entries are not part of any library.
+     */
+    public static List<BibEntry> generateEntries(int size) {
+        Random random = new Random(SEED);
+        List<BibEntry> entries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            if ((i > 10) && (random.nextInt(50) == 0)) {
+                entries.add(createNearDuplicate(entries.get(random.nextInt(i)), random));
+            } else {
+                entries.add(createEntry(i, random));
+            }
+        }
+        return entries;
+    }
+
+    private static BibEntry createEntry(int number, Random random) {
+        EntryType type = pick(TYPES, random);
+        String firstLastName = pick(LAST_NAMES, random);
+        String year = String.valueOf(1970 + random.nextInt(52));
+        String title = createTitle(random);
+
+        BibEntry entry = new BibEntry(type)
+                .withField(StandardField.AUTHOR, createAuthors(firstLastName, random))
+                .withField(StandardField.TITLE, title)
+                .withField(StandardField.YEAR, year)
+                .withField(StandardField.PAGES, createPages(random))
+                .withField(StandardField.KEYWORDS, IntStream.range(0, 1 + random.nextInt(4))
+                                                            .mapToObj(i -> pick(KEYWORDS, random))
+                                                            .distinct()
+                                                            .collect(Collectors.joining(", ")));
+        if (type == StandardEntryType.InProceedings) {
+            entry.setField(StandardField.BOOKTITLE, "Proceedings of the " + (1 + random.nextInt(40)) + "th " + pick(VENUES, random));
+        } else if (type == StandardEntryType.Book) {
+            entry.setField(StandardField.PUBLISHER, pick(VENUES, random).split(" ")[0] + " Press");
+            entry.setField(StandardField.ISBN, createIsbn(random));
+        } else {
+            entry.setField(StandardField.JOURNAL, pick(VENUES, random));
+            entry.setField(StandardField.VOLUME, String.valueOf(1 + random.nextInt(60)));
+            entry.setField(StandardField.NUMBER, String.valueOf(1 + random.nextInt(12)));
+        }
+        if (random.nextInt(4) != 0) {
+            entry.setField(StandardField.DOI, "10." + (1000 + random.nextInt(9000)) + "/bench." + number);
+        }
+        if (random.nextInt(3) == 0) {
+            entry.setField(StandardField.ABSTRACT, createWords(30 + random.nextInt(50), random));
+        }
+        entry.setCitationKey(firstLastName.replaceAll("[^A-Za-z]", "") + year + title.split(" ")[0].replaceAll("[^A-Za-z]", ""));
+        return entry;
+    }
+
+    private static BibEntry createNearDuplicate(BibEntry original, Random random) {
+        BibEntry duplicate = new BibEntry(original.getType());
+        original.getFieldMap().forEach(duplicate::setField);
+        original.getField(StandardField.TITLE).ifPresent(title -> {
+            // Introduce a typo like it happens when entering an entry twice
+            int position = random.nextInt(title.length());
+            duplicate.setField(StandardField.TITLE, title.substring(0, position) + title.substring(Math.min(title.length(), position + 1)));
+        });
+        duplicate.clearField(StandardField.DOI);
+        duplicate.setCitationKey(original.getCitationKey().orElse("") + "a");
+        return duplicate;
+    }
+
+    private static String createAuthors(String firstLastName, Random random) {
+        List<String> authors = new ArrayList<>();
+        authors.add(firstLastName + ", " + pick(FIRST_NAMES, random));
+        int numberOfAuthors = 1 + random.nextInt(6);
+        for (int i = 1; i < numberOfAuthors; i++) {
+            authors.add(pick(FIRST_NAMES, random) + " " + pick(LAST_NAMES, random));
+        }
+        return String.join(" and ", authors);
+    }
+
+    private static String createTitle(Random random) {
+        String words = createWords(4 + random.nextInt(9), random);
+        return Character.toUpperCase(words.charAt(0)) + words.substring(1);
+    }
+
+    private static String createWords(int numberOfWords, Random random) {
+        return IntStream.range(0, numberOfWords)
+                        .mapToObj(i -> pick(TITLE_WORDS, random))
+                        .collect(Collectors.joining(" "));
+    }
+
+    private static String createPages(Random random) {
+        int firstPage = 1 + random.nextInt(900);
+        return firstPage + "--" + (firstPage + 1 + random.nextInt(30));
+    }
+
+    private static String createIsbn(Random random) {
+        StringBuilder isbn = new StringBuilder("978");
+        for (int i = 0; i < 10; i++) {
+            isbn.append(random.nextInt(10));
+        }
+        return isbn.toString();
+    }
+
+    private static <T> T pick(T[] values, Random random) {
+        return values[random.nextInt(values.length)];
+    }
+}
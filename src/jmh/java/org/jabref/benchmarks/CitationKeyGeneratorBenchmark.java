@@ -0,0 +1,48 @@
+package org.jabref.benchmarks;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.jabref.gui.Globals;
+import org.jabref.logic.citationkeypattern.CitationKeyGenerator;
+import org.jabref.model.FieldChange;
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.metadata.MetaData;
+import org.jabref.preferences.JabRefPreferences;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+public class CitationKeyGeneratorBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int corpusSize;
+
+    private BibDatabase database;
+    private CitationKeyGenerator keyGenerator;
+
+    @Setup
+    public void init() {
+        Globals.prefs = JabRefPreferences.getInstance();
+        database = BenchmarkCorpus.generate(corpusSize);
+        keyGenerator = new CitationKeyGenerator(new BibDatabaseContext(database, new MetaData()), Globals.prefs.getCitationKeyPatternPreferences());
+    }
+
+    @Benchmark
+    public List<String> generateKeys() {
+        return database.getEntries().stream()
+                       .map(keyGenerator::generateKey)
+                       .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<FieldChange> generateAndSetKeys() {
+        // After the first invocation, the keys are generated again without changing them
+        return keyGenerator.generateAndSetKeys(database.getEntries());
+    }
+}
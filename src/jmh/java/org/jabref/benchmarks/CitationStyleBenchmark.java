@@ -0,0 +1,49 @@
+package org.jabref.benchmarks;
+
+import java.util.List;
+
+import org.jabref.logic.citationstyle.CitationStyle;
+import org.jabref.logic.citationstyle.CitationStyleGenerator;
+import org.jabref.logic.citationstyle.CitationStyleOutputFormat;
+import org.jabref.model.entry.BibEntry;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures rendering entries with the default citation style. Rendering is considerably slower than the other
+ * operations, thus smaller libraries are used.
+ */
+@State(Scope.Benchmark)
+public class CitationStyleBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int corpusSize;
+
+    private List<BibEntry> entries;
+    private String style;
+
+    @Setup
+    public void init() {
+        entries = BenchmarkCorpus.generateEntries(corpusSize);
+        style = CitationStyle.getDefault().getSource();
+    }
+
+    @Benchmark
+    public List<String> generateHtmlCitations() {
+        return CitationStyleGenerator.generateCitations(entries, style, CitationStyleOutputFormat.HTML);
+    }
+
+    @Benchmark
+    public List<String> generateTextCitations() {
+        return CitationStyleGenerator.generateCitations(entries, style, CitationStyleOutputFormat.TEXT);
+    }
+
+    @Benchmark
+    public List<String> generateHtmlCitationsInParallel() {
+        return CitationStyleGenerator.generateCitationsInParallel(entries, style, CitationStyleOutputFormat.HTML);
+    }
+}
@@ -0,0 +1,82 @@
+package org.jabref.benchmarks;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import org.jabref.gui.Globals;
+import org.jabref.logic.exporter.BibtexDatabaseWriter;
+import org.jabref.logic.exporter.SavePreferences;
+import org.jabref.logic.importer.ParserResult;
+import org.jabref.logic.importer.fileformat.BibtexParser;
+import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.entry.BibEntryTypesManager;
+import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.metadata.MetaData;
+import org.jabref.model.metadata.SaveOrderConfig;
+import org.jabref.model.util.DummyFileUpdateMonitor;
+import org.jabref.preferences.JabRefPreferences;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures writing a library in a specified save order and parsing it again.
+ */
+@State(Scope.Benchmark)
+public class DatabaseWriterBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int corpusSize;
+
+    private BibDatabaseContext databaseContext;
+    private SavePreferences originalOrderPreferences;
+    private SavePreferences sortedPreferences;
+    private BibEntryTypesManager entryTypesManager;
+    private String bibtexString;
+
+    @Setup
+    public void init() throws IOException {
+        Globals.prefs = JabRefPreferences.getInstance();
+        databaseContext = new BibDatabaseContext(BenchmarkCorpus.generate(corpusSize), new MetaData());
+        entryTypesManager = new BibEntryTypesManager();
+
+        originalOrderPreferences = Globals.prefs.getSavePreferences()
+                                                .withSaveInOriginalOrder(true)
+                                                .withTakeMetadataSaveOrderInAccount(false);
+        sortedPreferences = Globals.prefs.getSavePreferences()
+                                         .withSaveInOriginalOrder(false)
+                                         .withSaveOrder(new SaveOrderConfig(false, true,
+                                                 new SaveOrderConfig.SortCriterion(StandardField.AUTHOR, false),
+                                                 new SaveOrderConfig.SortCriterion(StandardField.YEAR, true),
+                                                 new SaveOrderConfig.SortCriterion(StandardField.TITLE, false)))
+                                         .withTakeMetadataSaveOrderInAccount(false);
+
+        bibtexString = write(originalOrderPreferences);
+    }
+
+    private String write(SavePreferences preferences) throws IOException {
+        StringWriter outputWriter = new StringWriter();
+        new BibtexDatabaseWriter(outputWriter, preferences, entryTypesManager).saveDatabase(databaseContext);
+        return outputWriter.toString();
+    }
+
+    @Benchmark
+    public String writeInOriginalOrder() throws IOException {
+        return write(originalOrderPreferences);
+    }
+
+    @Benchmark
+    public String writeInSaveOrder() throws IOException {
+        return write(sortedPreferences);
+    }
+
+    @Benchmark
+    public ParserResult parse() throws IOException {
+        BibtexParser parser = new BibtexParser(Globals.prefs.getImportFormatPreferences(), new DummyFileUpdateMonitor());
+        return parser.parse(new StringReader(bibtexString));
+    }
+}
@@ -0,0 +1,59 @@
+package org.jabref.benchmarks;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.jabref.logic.database.DuplicateCandidateGenerator;
+import org.jabref.logic.database.DuplicateCheck;
+import org.jabref.logic.database.DuplicateIndex;
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.database.BibDatabaseMode;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.BibEntryTypesManager;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+public class DuplicateCheckBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int corpusSize;
+
+    private List<BibEntry> entries;
+    private DuplicateCheck duplicateCheck;
+    private DuplicateCandidateGenerator candidateGenerator;
+    private DuplicateIndex duplicateIndex;
+    // Equal to the first entries of the library, as if they were imported again
+    private List<BibEntry> importedEntries;
+
+    @Setup
+    public void init() {
+        entries = BenchmarkCorpus.generateEntries(corpusSize);
+        duplicateCheck = new DuplicateCheck(new BibEntryTypesManager());
+        candidateGenerator = new DuplicateCandidateGenerator();
+        duplicateIndex = new DuplicateIndex(new BibDatabase(entries), duplicateCheck, BibDatabaseMode.BIBTEX);
+        importedEntries = BenchmarkCorpus.generateEntries(1000);
+    }
+
+    @Benchmark
+    public List<List<BibEntry>> generateCandidatePairs() {
+        return candidateGenerator.generateCandidatePairs(entries);
+    }
+
+    @Benchmark
+    public List<List<BibEntry>> findDuplicates() {
+        return candidateGenerator.generateCandidatePairs(entries).stream()
+                                 .filter(pair -> duplicateCheck.isDuplicate(pair.get(0), pair.get(1), BibDatabaseMode.BIBTEX))
+                                 .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Optional<BibEntry>> findDuplicatesOfImportedEntries() {
+        return duplicateIndex.findDuplicates(importedEntries);
+    }
+}
@@ -0,0 +1,78 @@
+package org.jabref.benchmarks;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.groups.AbstractGroup;
+import org.jabref.model.groups.AllEntriesGroup;
+import org.jabref.model.groups.GroupHierarchyType;
+import org.jabref.model.groups.GroupTreeNode;
+import org.jabref.model.groups.SearchGroup;
+import org.jabref.model.groups.WordKeywordGroup;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures matching entries against a deep group tree, which mixes keyword and search groups of all hierarchy types.
+ */
+@State(Scope.Benchmark)
+public class GroupMatchingBenchmark {
+
+    private static final int TREE_DEPTH = 5;
+    private static final int CHILDREN_PER_GROUP = 3;
+    private static final String[] KEYWORDS = {"machine learning", "testing", "survey", "databases", "security", "theory"};
+    private static final String[] SEARCH_EXPRESSIONS = {"title = learning", "year = 20", "author = Smith or author = Wang", "journal = ACM"};
+    private static final GroupHierarchyType[] HIERARCHY_TYPES = {GroupHierarchyType.INDEPENDENT, GroupHierarchyType.INCLUDING, GroupHierarchyType.REFINING};
+
+    @Param({"1000", "10000", "100000"})
+    private int corpusSize;
+
+    private BibDatabase database;
+    private GroupTreeNode root;
+    private List<GroupTreeNode> allGroups;
+
+    @Setup
+    public void init() {
+        database = BenchmarkCorpus.generate(corpusSize);
+        root = GroupTreeNode.fromGroup(new AllEntriesGroup("All entries"));
+        addSubgroups(root, 1);
+        allGroups = root.findChildrenSatisfying(group -> true);
+    }
+
+    private void addSubgroups(GroupTreeNode parent, int level) {
+        if (level > TREE_DEPTH) {
+            return;
+        }
+        for (int i = 0; i < CHILDREN_PER_GROUP; i++) {
+            int number = (level * CHILDREN_PER_GROUP) + i;
+            GroupHierarchyType hierarchyType = HIERARCHY_TYPES[number % HIERARCHY_TYPES.length];
+            String name = parent.getName() + "/" + i;
+            AbstractGroup group;
+            if ((i % 2) == 0) {
+                group = new WordKeywordGroup(name, hierarchyType, StandardField.KEYWORDS, KEYWORDS[number % KEYWORDS.length], false, ',', false);
+            } else {
+                group = new SearchGroup(name, hierarchyType, SEARCH_EXPRESSIONS[number % SEARCH_EXPRESSIONS.length], false, false);
+            }
+            addSubgroups(parent.addSubgroup(group), level + 1);
+        }
+    }
+
+    @Benchmark
+    public List<GroupTreeNode> matchingGroups() {
+        return root.getMatchingGroups(database.getEntries());
+    }
+
+    @Benchmark
+    public List<Integer> countEntriesOfAllGroups() {
+        // Corresponds to the number of hits shown for each group in the group tree
+        return allGroups.stream()
+                        .map(group -> group.findMatches(database).size())
+                        .collect(Collectors.toList());
+    }
+}
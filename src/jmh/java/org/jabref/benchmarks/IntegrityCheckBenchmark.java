@@ -0,0 +1,86 @@
+package org.jabref.benchmarks;
+
+import java.util.List;
+
+import org.jabref.gui.Globals;
+import org.jabref.logic.integrity.IntegrityCheck;
+import org.jabref.logic.integrity.IntegrityMessage;
+import org.jabref.logic.journals.JournalAbbreviationLoader;
+import org.jabref.logic.journals.JournalAbbreviationRepository;
+import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.metadata.MetaData;
+import org.jabref.preferences.JabRefPreferences;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+@State(Scope.Benchmark)
+public class IntegrityCheckBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int corpusSize;
+
+    private BibDatabaseContext databaseContext;
+    private JournalAbbreviationRepository journalAbbreviationRepository;
+    // Holds the messages of all entries, as after the first check of a library
+    private IntegrityCheck cachedIntegrityCheck;
+
+    @Setup
+    public void init() {
+        Globals.prefs = JabRefPreferences.getInstance();
+        databaseContext = new BibDatabaseContext(BenchmarkCorpus.generate(corpusSize), new MetaData());
+        journalAbbreviationRepository = JournalAbbreviationLoader.loadBuiltInRepository();
+        cachedIntegrityCheck = createIntegrityCheck();
+        cachedIntegrityCheck.check(messages -> {
+        });
+    }
+
+    @TearDown
+    public void shutdown() {
+        cachedIntegrityCheck.shutdown();
+    }
+
+    private IntegrityCheck createIntegrityCheck() {
+        return new IntegrityCheck(databaseContext,
+                Globals.prefs.getFilePreferences(),
+                Globals.prefs.getCitationKeyPatternPreferences(),
+                journalAbbreviationRepository,
+                false);
+    }
+
+    /**
+     * A check without any cached messages, as for the first check of a library
+     */
+    @State(Scope.Thread)
+    public static class FreshIntegrityCheck {
+
+        private IntegrityCheck integrityCheck;
+
+        @Setup(Level.Invocation)
+        public void init(IntegrityCheckBenchmark benchmark) {
+            integrityCheck = benchmark.createIntegrityCheck();
+        }
+
+        @TearDown(Level.Invocation)
+        public void shutdown() {
+            integrityCheck.shutdown();
+        }
+    }
+
+    @Benchmark
+    public List<IntegrityMessage> checkEntries(FreshIntegrityCheck freshIntegrityCheck) {
+        return freshIntegrityCheck.integrityCheck.check(messages -> {
+        });
+    }
+
+    @Benchmark
+    public List<IntegrityMessage> checkEntriesWithCachedMessages() {
+        return cachedIntegrityCheck.check(messages -> {
+        });
+    }
+}
@@ -0,0 +1,64 @@
+package org.jabref.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.jabref.gui.Globals;
+import org.jabref.logic.journals.JournalAbbreviationLoader;
+import org.jabref.logic.layout.Layout;
+import org.jabref.logic.layout.LayoutFormatterPreferences;
+import org.jabref.logic.layout.LayoutHelper;
+import org.jabref.model.database.BibDatabase;
+import org.jabref.preferences.JabRefPreferences;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures exporting entries using the layout of the HTML export.
+ */
+@State(Scope.Benchmark)
+public class LayoutExportBenchmark {
+
+    private static final String LAYOUT_RESOURCE = "/resource/layout/html.layout";
+
+    @Param({"1000", "10000", "100000"})
+    private int corpusSize;
+
+    private BibDatabase database;
+    private LayoutFormatterPreferences layoutFormatterPreferences;
+    private Layout layout;
+
+    @Setup
+    public void init() throws IOException {
+        Globals.prefs = JabRefPreferences.getInstance();
+        database = BenchmarkCorpus.generate(corpusSize);
+        layoutFormatterPreferences = Globals.prefs.getLayoutFormatterPreferences(JournalAbbreviationLoader.loadBuiltInRepository());
+        layout = readLayout();
+    }
+
+    private Layout readLayout() throws IOException {
+        try (Reader reader = new InputStreamReader(LayoutExportBenchmark.class.getResourceAsStream(LAYOUT_RESOURCE), StandardCharsets.UTF_8)) {
+            return new LayoutHelper(reader, layoutFormatterPreferences).getLayoutFromText();
+        }
+    }
+
+    @Benchmark
+    public Layout parseLayout() throws IOException {
+        return readLayout();
+    }
+
+    @Benchmark
+    public List<String> export() {
+        return database.getEntries().stream()
+                       .map(entry -> layout.doLayout(entry, database))
+                       .collect(Collectors.toList());
+    }
+}
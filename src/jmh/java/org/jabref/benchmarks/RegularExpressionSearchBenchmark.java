@@ -0,0 +1,39 @@
+package org.jabref.benchmarks;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.jabref.logic.search.SearchQuery;
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.entry.BibEntry;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures searching with a regular expression. Kept apart from {@link SearchBenchmark}, as it does not depend on
+ * the queries of that benchmark.
+ */
+@State(Scope.Benchmark)
+public class RegularExpressionSearchBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int corpusSize;
+
+    private BibDatabase database;
+    private SearchQuery regularExpressionQuery;
+
+    @Setup
+    public void init() {
+        database = BenchmarkCorpus.generate(corpusSize);
+        regularExpressionQuery = new SearchQuery("neural.*network|quant(um|ized)", false, true);
+    }
+
+    @Benchmark
+    public List<BibEntry> regularExpressionSearch() {
+        return database.getEntries().stream().filter(regularExpressionQuery::isMatch).collect(Collectors.toList());
+    }
+}
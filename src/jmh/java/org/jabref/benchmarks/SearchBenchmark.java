@@ -0,0 +1,47 @@
+package org.jabref.benchmarks;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.jabref.logic.search.SearchQuery;
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.entry.BibEntry;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures searching with plain text queries and with queries of the search grammar ({@link
+ * org.jabref.model.search.rules.GrammarBasedSearchRule}). Searching with regular expressions is measured by {@link
+ * RegularExpressionSearchBenchmark}.
+ */
+@State(Scope.Benchmark)
+public class SearchBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int corpusSize;
+
+    @Param({
+            "neural network",
+            "author = Smith and year = 2010",
+            "title = learning and not (keywords = survey or journal = Nature)",
+            "anyfield = quantum",
+    })
+    private String query;
+
+    private BibDatabase database;
+
+    @Setup
+    public void init() {
+        database = BenchmarkCorpus.generate(corpusSize);
+    }
+
+    @Benchmark
+    public List<BibEntry> search() {
+        SearchQuery searchQuery = new SearchQuery(query, false, false);
+        return database.getEntries().stream().filter(searchQuery::isMatch).collect(Collectors.toList());
+    }
+}
@@ -500,7 +500,8 @@ public class ArgumentProcessor {
                     parserResult.getDatabaseContext(),
                     Globals.prefs.getFilePreferences(),
                     Globals.prefs.getAutoLinkPreferences(),
-                    ExternalFileTypes.getInstance());
+                    ExternalFileTypes.getInstance(),
+                    new DummyFileUpdateMonitor());
             util.linkAssociatedFiles(database.getEntries(), new NamedCompound(""));
         }
     }
@@ -512,9 +513,7 @@ public class ArgumentProcessor {
             LOGGER.info(Localization.lang("Regenerating citation keys according to metadata"));
 
             CitationKeyGenerator keyGenerator = new CitationKeyGenerator(parserResult.getDatabaseContext(), Globals.prefs.getCitationKeyPatternPreferences());
-            for (BibEntry entry : database.getEntries()) {
-                keyGenerator.generateAndSetKey(entry);
-            }
+            keyGenerator.generateAndSetKeys(database.getEntries());
         }
     }
 
@@ -1,8 +1,10 @@
 package org.jabref.gui;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import javafx.beans.Observable;
@@ -12,6 +14,7 @@ import javafx.beans.property.ReadOnlyListProperty;
 import javafx.beans.property.ReadOnlyListWrapper;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.collections.ObservableMap;
 import javafx.concurrent.Task;
@@ -23,6 +26,7 @@ import org.jabref.gui.util.OptionalObjectProperty;
 import org.jabref.logic.search.SearchQuery;
 import org.jabref.model.database.BibDatabaseContext;
 import org.jabref.model.entry.BibEntry;
+import org.jabref.model.groups.GroupMembershipIndex;
 import org.jabref.model.groups.GroupTreeNode;
 import org.jabref.model.util.OptionalUtil;
 
@@ -35,6 +39,7 @@ import com.tobiasdiez.easybind.EasyBinding;
  * <ul>
  *   <li>currently selected database</li>
  *   <li>currently selected group</li>
+ *   <li>entries matched by the groups of each open database</li>
  *   <li>active search</li>
  *   <li>active number of search results</li>
  *   <li>focus owner</li>
@@ -49,6 +54,7 @@ public class StateManager {
     private final ReadOnlyListWrapper<GroupTreeNode> activeGroups = new ReadOnlyListWrapper<>(FXCollections.observableArrayList());
     private final ObservableList<BibEntry> selectedEntries = FXCollections.observableArrayList();
     private final ObservableMap<BibDatabaseContext, ObservableList<GroupTreeNode>> selectedGroups = FXCollections.observableHashMap();
+    private final Map<BibDatabaseContext, GroupMembershipIndex> groupMembershipIndexes = new ConcurrentHashMap<>();
     private final OptionalObjectProperty<SearchQuery> activeSearchQuery = OptionalObjectProperty.empty();
     private final ObservableMap<BibDatabaseContext, IntegerProperty> searchResultMap = FXCollections.observableHashMap();
     private final OptionalObjectProperty<Node> focusOwner = OptionalObjectProperty.empty();
@@ -59,6 +65,16 @@ public class StateManager {
 
     public StateManager() {
         activeGroups.bind(Bindings.valueAt(selectedGroups, activeDatabase.orElse(null)));
+        openDatabases.addListener((ListChangeListener<BibDatabaseContext>) change -> {
+            while (change.next()) {
+                for (BibDatabaseContext closedDatabase : change.getRemoved()) {
+                    GroupMembershipIndex index = groupMembershipIndexes.remove(closedDatabase);
+                    if (index != null) {
+                        index.shutdown();
+                    }
+                }
+            }
+        });
     }
 
     public CustomLocalDragboard getLocalDragboard() {
@@ -111,6 +127,14 @@ public class StateManager {
         selectedGroups.remove(database);
     }
 
+    /**
+     * Returns the index of the entries matched by the groups of the given database. The index is created on first use
+     * and discarded when the database is closed.
+     */
+    public GroupMembershipIndex getGroupMembershipIndex(BibDatabaseContext database) {
+        return groupMembershipIndexes.computeIfAbsent(database, context -> new GroupMembershipIndex(context.getDatabase()));
+    }
+
     public Optional<BibDatabaseContext> getActiveDatabase() {
         return activeDatabase.get();
     }
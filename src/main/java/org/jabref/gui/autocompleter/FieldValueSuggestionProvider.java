@@ -11,16 +11,34 @@ import org.jabref.model.entry.field.Field;
  */
 class FieldValueSuggestionProvider extends StringSuggestionProvider {
 
-    private final Field field;
-    private final BibDatabase database;
+    private final SuggestionIndex<String> index;
+    private final boolean ownsIndex;
 
     FieldValueSuggestionProvider(Field field, BibDatabase database) {
-        this.field = Objects.requireNonNull(field);
-        this.database = database;
+        this(SuggestionIndex.forFieldValues(database, field), true);
+    }
+
+    FieldValueSuggestionProvider(SuggestionIndex<String> index) {
+        this(index, false);
+    }
+
+    private FieldValueSuggestionProvider(SuggestionIndex<String> index, boolean ownsIndex) {
+        this.index = Objects.requireNonNull(index);
+        this.ownsIndex = ownsIndex;
     }
 
     @Override
     public Stream<String> getSource() {
-        return database.getEntries().parallelStream().flatMap(entry -> entry.getField(field).stream());
+        return index.getValues();
+    }
+
+    /**
+     * Stops keeping the suggestions up to date if the provider was created for a library on its own. The index of a
+     * provider handed out by {@link SuggestionProviders} is shut down together with the others.
+     */
+    public void shutdown() {
+        if (ownsIndex) {
+            index.shutdown();
+        }
     }
 }
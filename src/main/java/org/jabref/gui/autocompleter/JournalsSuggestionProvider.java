@@ -3,8 +3,6 @@ package org.jabref.gui.autocompleter;
 import java.util.stream.Stream;
 
 import org.jabref.logic.journals.JournalAbbreviationRepository;
-import org.jabref.model.database.BibDatabase;
-import org.jabref.model.entry.field.Field;
 
 import com.google.common.collect.Streams;
 
@@ -12,8 +10,8 @@ public class JournalsSuggestionProvider extends FieldValueSuggestionProvider {
 
     private final JournalAbbreviationRepository repository;
 
-    JournalsSuggestionProvider(Field field, BibDatabase database, JournalAbbreviationRepository repository) {
-        super(field, database);
+    JournalsSuggestionProvider(SuggestionIndex<String> index, JournalAbbreviationRepository repository) {
+        super(index);
 
         this.repository = repository;
     }
@@ -3,14 +3,11 @@ package org.jabref.gui.autocompleter;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Stream;
 
 import org.jabref.model.database.BibDatabase;
 import org.jabref.model.entry.Author;
-import org.jabref.model.entry.AuthorList;
-import org.jabref.model.entry.BibEntry;
 import org.jabref.model.entry.field.Field;
 import org.jabref.model.strings.StringUtil;
 
@@ -22,28 +19,26 @@ import org.controlsfx.control.textfield.AutoCompletionBinding;
  */
 public class PersonNameSuggestionProvider extends SuggestionProvider<Author> {
 
-    private final Collection<Field> fields;
-    private final BibDatabase database;
+    private final SuggestionIndex<Author> index;
+    private final boolean ownsIndex;
 
     PersonNameSuggestionProvider(Field field, BibDatabase database) {
         this(Collections.singletonList(Objects.requireNonNull(field)), database);
     }
 
     public PersonNameSuggestionProvider(Collection<Field> fields, BibDatabase database) {
-        super();
+        this(SuggestionIndex.forPersonNames(database, Objects.requireNonNull(fields)), true);
+    }
 
-        this.fields = Objects.requireNonNull(fields);
-        this.database = database;
+    PersonNameSuggestionProvider(SuggestionIndex<Author> index) {
+        this(index, false);
     }
 
-    public Stream<Author> getAuthors(BibEntry entry) {
-        return entry.getFieldMap()
-                    .entrySet()
-                    .stream()
-                    .filter(fieldValuePair -> fields.contains(fieldValuePair.getKey()))
-                    .map(Map.Entry::getValue)
-                    .map(AuthorList::parse)
-                    .flatMap(authors -> authors.getAuthors().stream());
+    private PersonNameSuggestionProvider(SuggestionIndex<Author> index, boolean ownsIndex) {
+        super();
+
+        this.index = Objects.requireNonNull(index);
+        this.ownsIndex = ownsIndex;
     }
 
     @Override
@@ -63,8 +58,16 @@ public class PersonNameSuggestionProvider extends SuggestionProvider<Author> {
 
     @Override
     public Stream<Author> getSource() {
-        return database.getEntries()
-                       .parallelStream()
-                       .flatMap(this::getAuthors);
+        return index.getValues();
+    }
+
+    /**
+     * Stops keeping the suggestions up to date if the provider was created for a library on its own. The index of a
+     * provider handed out by {@link SuggestionProviders} is shut down together with the others.
+     */
+    public void shutdown() {
+        if (ownsIndex) {
+            index.shutdown();
+        }
     }
 }
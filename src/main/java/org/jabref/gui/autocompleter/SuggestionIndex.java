@@ -0,0 +1,143 @@
+package org.jabref.gui.autocompleter;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.database.event.EntriesAddedEvent;
+import org.jabref.model.database.event.EntriesRemovedEvent;
+import org.jabref.model.entry.Author;
+import org.jabref.model.entry.AuthorList;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.event.FieldChangedEvent;
+import org.jabref.model.entry.field.Field;
+import org.jabref.model.strings.StringUtil;
+
+import com.google.common.eventbus.Subscribe;
+
+/**
+ * Keeps the distinct values (whole field contents, words or persons) of some fields of all entries of a library, so
+ * that suggestions do not have to look at each entry again.
+ * <p>
+ * Each value counts how many field contents it occurs in, and is dropped as soon as the last of them is changed or
+ * removed. The index is kept up to date by listening to the changes of the library until {@link #shutdown()} is called.
+ *
+ * @param <T> Type of the indexed values
+ */
+class SuggestionIndex<T> {
+
+    private final BibDatabase database;
+    private final Collection<Field> fields;
+    private final Function<String, Collection<T>> valueExtractor;
+    private final ConcurrentMap<T, Integer> occurrences;
+
+    private SuggestionIndex(BibDatabase database, Collection<Field> fields, Function<String, Collection<T>> valueExtractor, ConcurrentMap<T, Integer> occurrences) {
+        this.database = Objects.requireNonNull(database);
+        this.fields = Objects.requireNonNull(fields);
+        this.valueExtractor = valueExtractor;
+        this.occurrences = occurrences;
+
+        database.registerListener(this);
+        add(database.getEntries());
+    }
+
+    /**
+     * Creates an index of the full contents of the given field.
+     */
+    static SuggestionIndex<String> forFieldValues(BibDatabase database, Field field) {
+        return new SuggestionIndex<>(database,
+                List.of(Objects.requireNonNull(field)),
+                Collections::singleton,
+                new ConcurrentSkipListMap<>());
+    }
+
+    /**
+     * Creates an index of the words in the given field.
+     */
+    static SuggestionIndex<String> forWords(BibDatabase database, Field field) {
+        return new SuggestionIndex<>(database,
+                List.of(Objects.requireNonNull(field)),
+                value -> new HashSet<>(StringUtil.getStringAsWords(value)),
+                new ConcurrentSkipListMap<>());
+    }
+
+    /**
+     * Creates an index of the persons listed in the given fields.
+     */
+    static SuggestionIndex<Author> forPersonNames(BibDatabase database, Collection<Field> fields) {
+        return new SuggestionIndex<>(database,
+                fields,
+                value -> new LinkedHashSet<>(AuthorList.parse(value).getAuthors()),
+                new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Returns the distinct values of the index. Strings are returned in their natural order.
+     */
+    Stream<T> getValues() {
+        return occurrences.keySet().stream();
+    }
+
+    /**
+     * Stops keeping the index up to date.
+     */
+    void shutdown() {
+        database.unregisterListener(this);
+    }
+
+    @Subscribe
+    public void listen(EntriesAddedEvent event) {
+        add(event.getBibEntries());
+    }
+
+    @Subscribe
+    public void listen(EntriesRemovedEvent event) {
+        for (BibEntry entry : event.getBibEntries()) {
+            for (Field field : fields) {
+                entry.getField(field).ifPresent(this::remove);
+            }
+        }
+    }
+
+    @Subscribe
+    public void listen(FieldChangedEvent event) {
+        if (!fields.contains(event.getField())) {
+            return;
+        }
+        if (event.getOldValue() != null) {
+            remove(event.getOldValue());
+        }
+        if (event.getNewValue() != null) {
+            add(event.getNewValue());
+        }
+    }
+
+    private void add(Collection<BibEntry> entries) {
+        for (BibEntry entry : entries) {
+            for (Field field : fields) {
+                entry.getField(field).ifPresent(this::add);
+            }
+        }
+    }
+
+    private void add(String fieldContent) {
+        for (T value : valueExtractor.apply(fieldContent)) {
+            occurrences.merge(value, 1, Integer::sum);
+        }
+    }
+
+    private void remove(String fieldContent) {
+        for (T value : valueExtractor.apply(fieldContent)) {
+            occurrences.computeIfPresent(value, (key, count) -> (count > 1) ? count - 1 : null);
+        }
+    }
+}
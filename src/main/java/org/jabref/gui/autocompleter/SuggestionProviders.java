@@ -1,13 +1,26 @@
 package org.jabref.gui.autocompleter;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.jabref.logic.journals.JournalAbbreviationRepository;
 import org.jabref.model.database.BibDatabase;
+import org.jabref.model.entry.Author;
 import org.jabref.model.entry.field.Field;
+import org.jabref.model.entry.field.FieldFactory;
 import org.jabref.model.entry.field.FieldProperty;
 import org.jabref.model.entry.field.StandardField;
 
+/**
+ * Creates the suggestion providers for the fields of a library.
+ * <p>
+ * The values of the fields are kept in one {@link SuggestionIndex} per field, which is created when the field is
+ * completed for the first time and updated as the library changes. So, the providers of a field share its index, and
+ * suggesting values does not depend on the number of entries in the library.
+ */
 public class SuggestionProviders {
 
     private final boolean isEmpty;
@@ -15,6 +28,12 @@ public class SuggestionProviders {
     private JournalAbbreviationRepository abbreviationRepository;
     private AutoCompletePreferences autoCompletePreferences;
 
+    private final Map<Field, SuggestionIndex<Author>> personNameIndexes = new ConcurrentHashMap<>();
+    private final Map<Field, SuggestionIndex<String>> fieldValueIndexes = new ConcurrentHashMap<>();
+    private final Map<Field, SuggestionIndex<String>> wordIndexes = new ConcurrentHashMap<>();
+    // Persons in all person name fields, used to complete search queries
+    private SuggestionIndex<Author> searchIndex;
+
     public SuggestionProviders(BibDatabase database, JournalAbbreviationRepository abbreviationRepository, AutoCompletePreferences autoCompletePreferences) {
         this.database = database;
         this.abbreviationRepository = abbreviationRepository;
@@ -34,13 +53,43 @@ public class SuggestionProviders {
 
         Set<FieldProperty> fieldProperties = field.getProperties();
         if (fieldProperties.contains(FieldProperty.PERSON_NAMES)) {
-            return new PersonNameSuggestionProvider(field, database);
+            return new PersonNameSuggestionProvider(personNameIndexes.computeIfAbsent(field,
+                    key -> SuggestionIndex.forPersonNames(database, List.of(key))));
         } else if (fieldProperties.contains(FieldProperty.SINGLE_ENTRY_LINK) || fieldProperties.contains(FieldProperty.MULTIPLE_ENTRY_LINK)) {
             return new BibEntrySuggestionProvider(database);
         } else if (fieldProperties.contains(FieldProperty.JOURNAL_NAME) || StandardField.PUBLISHER.equals(field)) {
-            return new JournalsSuggestionProvider(field, database, abbreviationRepository);
+            return new JournalsSuggestionProvider(fieldValueIndexes.computeIfAbsent(field,
+                    key -> SuggestionIndex.forFieldValues(database, key)), abbreviationRepository);
         } else {
-            return new WordSuggestionProvider(field, database);
+            return new WordSuggestionProvider(wordIndexes.computeIfAbsent(field,
+                    key -> SuggestionIndex.forWords(database, key)));
+        }
+    }
+
+    /**
+     * Returns the provider of the persons in all person name fields, which is used to complete search queries. Nothing
+     * is returned if auto completion is deactivated.
+     */
+    public synchronized Optional<SuggestionProvider<Author>> getForSearch() {
+        if (isEmpty) {
+            return Optional.empty();
+        }
+
+        if (searchIndex == null) {
+            searchIndex = SuggestionIndex.forPersonNames(database, FieldFactory.getPersonNameFields());
+        }
+        return Optional.of(new PersonNameSuggestionProvider(searchIndex));
+    }
+
+    /**
+     * Stops keeping the indexes of the fields up to date. The providers created before must not be used afterwards.
+     */
+    public synchronized void shutdown() {
+        personNameIndexes.values().forEach(SuggestionIndex::shutdown);
+        fieldValueIndexes.values().forEach(SuggestionIndex::shutdown);
+        wordIndexes.values().forEach(SuggestionIndex::shutdown);
+        if (searchIndex != null) {
+            searchIndex.shutdown();
         }
     }
 }
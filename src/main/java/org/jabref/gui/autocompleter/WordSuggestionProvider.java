@@ -11,18 +11,34 @@ import org.jabref.model.entry.field.Field;
  */
 public class WordSuggestionProvider extends StringSuggestionProvider {
 
-    private final Field field;
-    private final BibDatabase database;
+    private final SuggestionIndex<String> index;
+    private final boolean ownsIndex;
 
     public WordSuggestionProvider(Field field, BibDatabase database) {
-        this.field = Objects.requireNonNull(field);
-        this.database = database;
+        this(SuggestionIndex.forWords(database, field), true);
+    }
+
+    WordSuggestionProvider(SuggestionIndex<String> index) {
+        this(index, false);
+    }
+
+    private WordSuggestionProvider(SuggestionIndex<String> index, boolean ownsIndex) {
+        this.index = Objects.requireNonNull(index);
+        this.ownsIndex = ownsIndex;
     }
 
     @Override
     public Stream<String> getSource() {
-        return database.getEntries()
-                       .parallelStream()
-                       .flatMap(entry -> entry.getFieldAsWords(field).stream());
+        return index.getValues();
+    }
+
+    /**
+     * Stops keeping the suggestions up to date if the provider was created for a library on its own. The index of a
+     * provider handed out by {@link SuggestionProviders} is shut down together with the others.
+     */
+    public void shutdown() {
+        if (ownsIndex) {
+            index.shutdown();
+        }
     }
 }
@@ -13,6 +13,7 @@ import org.jabref.gui.undo.UndoableKeyChange;
 import org.jabref.gui.util.BackgroundTask;
 import org.jabref.logic.citationkeypattern.CitationKeyGenerator;
 import org.jabref.logic.l10n.Localization;
+import org.jabref.model.FieldChange;
 import org.jabref.model.entry.BibEntry;
 
 public class GenerateCitationKeyAction extends SimpleCommand {
@@ -90,9 +91,8 @@ public class GenerateCitationKeyAction extends SimpleCommand {
             final NamedCompound compound = new NamedCompound(Localization.lang("Autogenerate citation keys"));
             CitationKeyGenerator keyGenerator =
                     new CitationKeyGenerator(databaseContext, Globals.prefs.getCitationKeyPatternPreferences());
-            for (BibEntry entry : entries) {
-                keyGenerator.generateAndSetKey(entry)
-                            .ifPresent(fieldChange -> compound.addEdit(new UndoableKeyChange(fieldChange)));
+            for (FieldChange fieldChange : keyGenerator.generateAndSetKeys(entries)) {
+                compound.addEdit(new UndoableKeyChange(fieldChange));
             }
             compound.end();
 
@@ -3,6 +3,7 @@ package org.jabref.gui.dialogs;
 import java.nio.file.Path;
 
 import org.jabref.gui.DialogService;
+import org.jabref.gui.Globals;
 import org.jabref.gui.util.DefaultTaskExecutor;
 import org.jabref.logic.autosaveandbackup.BackupManager;
 import org.jabref.logic.l10n.Localization;
@@ -30,7 +31,7 @@ public class BackupUIManager {
                 Localization.lang("Ignore backup")));
 
         if (restoreClicked) {
-            BackupManager.restoreBackup(originalPath);
+            BackupManager.restoreBackup(originalPath, Globals.prefs, Globals.entryTypesManager);
         }
     }
 }
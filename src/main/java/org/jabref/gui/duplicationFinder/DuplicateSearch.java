@@ -1,7 +1,6 @@
 package org.jabref.gui.duplicationFinder;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -25,6 +24,7 @@ import org.jabref.gui.undo.UndoableInsertEntries;
 import org.jabref.gui.undo.UndoableRemoveEntries;
 import org.jabref.gui.util.BackgroundTask;
 import org.jabref.gui.util.DefaultTaskExecutor;
+import org.jabref.logic.database.DuplicateCandidateGenerator;
 import org.jabref.logic.database.DuplicateCheck;
 import org.jabref.logic.l10n.Localization;
 import org.jabref.model.database.BibDatabaseContext;
@@ -74,22 +74,22 @@ public class DuplicateSearch extends SimpleCommand {
     }
 
     private void searchPossibleDuplicates(List<BibEntry> entries, BibDatabaseMode databaseMode) {
-        for (int i = 0; (i < (entries.size() - 1)); i++) {
-            for (int j = i + 1; (j < entries.size()); j++) {
-                if (Thread.interrupted()) {
-                    return;
-                }
-
-                BibEntry first = entries.get(i);
-                BibEntry second = entries.get(j);
-
-                if (new DuplicateCheck(Globals.entryTypesManager).isDuplicate(first, second, databaseMode)) {
-                    duplicates.add(Arrays.asList(first, second));
-                    duplicateCount.getAndIncrement();
-                }
-            }
+        // The pairs are checked on other threads, which are not interrupted on cancellation
+        Thread searchThread = Thread.currentThread();
+        DuplicateCheck duplicateCheck = new DuplicateCheck(Globals.entryTypesManager);
+
+        new DuplicateCandidateGenerator().streamCandidatePairs(entries)
+                                         .parallel()
+                                         .filter(pair -> !searchThread.isInterrupted()
+                                                 && duplicateCheck.isDuplicate(pair.get(0), pair.get(1), databaseMode))
+                                         .forEachOrdered(pair -> {
+                                             duplicates.add(pair);
+                                             duplicateCount.getAndIncrement();
+                                         });
+
+        if (!searchThread.isInterrupted()) {
+            libraryAnalyzed.set(true);
         }
-        libraryAnalyzed.set(true);
     }
 
     private DuplicateSearchResult verifyDuplicates() {
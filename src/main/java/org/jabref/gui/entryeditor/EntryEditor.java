@@ -265,7 +265,7 @@ public class EntryEditor extends BorderPane {
         entryEditorTabs.add(sourceTab);
 
         // LaTeX citations tab
-        entryEditorTabs.add(new LatexCitationsTab(databaseContext, preferencesService, taskExecutor, dialogService));
+        entryEditorTabs.add(new LatexCitationsTab(databaseContext, preferencesService, taskExecutor, dialogService, fileMonitor));
 
         return entryEditorTabs;
     }
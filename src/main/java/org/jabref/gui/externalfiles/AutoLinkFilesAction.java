@@ -16,6 +16,7 @@ import org.jabref.gui.util.TaskExecutor;
 import org.jabref.logic.l10n.Localization;
 import org.jabref.model.database.BibDatabaseContext;
 import org.jabref.model.entry.BibEntry;
+import org.jabref.model.util.FileUpdateMonitor;
 import org.jabref.preferences.PreferencesService;
 
 import static org.jabref.gui.actions.ActionHelper.needsDatabase;
@@ -32,13 +33,15 @@ public class AutoLinkFilesAction extends SimpleCommand {
     private final StateManager stateManager;
     private final UndoManager undoManager;
     private final TaskExecutor taskExecutor;
+    private final FileUpdateMonitor fileUpdateMonitor;
 
-    public AutoLinkFilesAction(DialogService dialogService, PreferencesService preferences, StateManager stateManager, UndoManager undoManager, TaskExecutor taskExecutor) {
+    public AutoLinkFilesAction(DialogService dialogService, PreferencesService preferences, StateManager stateManager, UndoManager undoManager, TaskExecutor taskExecutor, FileUpdateMonitor fileUpdateMonitor) {
         this.dialogService = dialogService;
         this.preferences = preferences;
         this.stateManager = stateManager;
         this.undoManager = undoManager;
         this.taskExecutor = taskExecutor;
+        this.fileUpdateMonitor = fileUpdateMonitor;
 
         this.executable.bind(needsDatabase(this.stateManager).and(needsEntriesSelected(stateManager)));
         this.statusMessage.bind(BindingsHelper.ifThenElse(executable, "", Localization.lang("This operation requires one or more entries to be selected.")));
@@ -52,7 +55,8 @@ public class AutoLinkFilesAction extends SimpleCommand {
                 database,
                 preferences.getFilePreferences(),
                 preferences.getAutoLinkPreferences(),
-                ExternalFileTypes.getInstance());
+                ExternalFileTypes.getInstance(),
+                fileUpdateMonitor);
         final NamedCompound nc = new NamedCompound(Localization.lang("Automatically set file links"));
 
         Task<AutoSetFileLinksUtil.LinkFilesResult> linkFilesTask = new Task<>() {
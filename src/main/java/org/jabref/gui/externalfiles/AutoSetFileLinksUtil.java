@@ -24,6 +24,7 @@ import org.jabref.model.entry.BibEntry;
 import org.jabref.model.entry.LinkedFile;
 import org.jabref.model.entry.field.StandardField;
 import org.jabref.model.util.FileHelper;
+import org.jabref.model.util.FileUpdateMonitor;
 import org.jabref.preferences.FilePreferences;
 
 import org.slf4j.Logger;
@@ -54,17 +55,18 @@ public class AutoSetFileLinksUtil {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AutoSetFileLinksUtil.class);
     private final List<Path> directories;
-    private final AutoLinkPreferences autoLinkPreferences;
     private final ExternalFileTypes externalFileTypes;
+    // Shared by all entries, so that the file directories are only walked once
+    private final FileFinder fileFinder;
 
-    public AutoSetFileLinksUtil(BibDatabaseContext databaseContext, FilePreferences filePreferences, AutoLinkPreferences autoLinkPreferences, ExternalFileTypes externalFileTypes) {
-        this(databaseContext.getFileDirectories(filePreferences), autoLinkPreferences, externalFileTypes);
+    public AutoSetFileLinksUtil(BibDatabaseContext databaseContext, FilePreferences filePreferences, AutoLinkPreferences autoLinkPreferences, ExternalFileTypes externalFileTypes, FileUpdateMonitor fileUpdateMonitor) {
+        this(databaseContext.getFileDirectories(filePreferences), autoLinkPreferences, externalFileTypes, fileUpdateMonitor);
     }
 
-    private AutoSetFileLinksUtil(List<Path> directories, AutoLinkPreferences autoLinkPreferences, ExternalFileTypes externalFileTypes) {
+    private AutoSetFileLinksUtil(List<Path> directories, AutoLinkPreferences autoLinkPreferences, ExternalFileTypes externalFileTypes, FileUpdateMonitor fileUpdateMonitor) {
         this.directories = directories;
-        this.autoLinkPreferences = autoLinkPreferences;
         this.externalFileTypes = externalFileTypes;
+        this.fileFinder = FileFinders.constructFromConfiguration(autoLinkPreferences, fileUpdateMonitor);
     }
 
     public LinkFilesResult linkAssociatedFiles(List<BibEntry> entries, NamedCompound ce) {
@@ -110,7 +112,6 @@ public class AutoSetFileLinksUtil {
         List<String> extensions = externalFileTypes.getExternalFileTypeSelection().stream().map(ExternalFileType::getExtension).collect(Collectors.toList());
 
         // Run the search operation
-        FileFinder fileFinder = FileFinders.constructFromConfiguration(autoLinkPreferences);
         List<Path> result = fileFinder.findAssociatedFiles(entry, directories, extensions);
 
         // Collect the found files that are not yet linked
@@ -205,8 +205,6 @@ public class ImportHandler {
                 bibdatabase.getDatabase(),
                 preferencesService.getCitationKeyPatternPreferences());
 
-        for (BibEntry entry : entries) {
-            keyGenerator.generateAndSetKey(entry);
-        }
+        keyGenerator.generateAndSetKeys(entries);
     }
 }
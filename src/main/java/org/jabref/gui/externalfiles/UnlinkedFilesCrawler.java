@@ -7,17 +7,16 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
 
 import javafx.scene.control.CheckBoxTreeItem;
 
 import org.jabref.gui.util.BackgroundTask;
 import org.jabref.gui.util.FileNodeViewModel;
+import org.jabref.logic.util.io.FileDirectoryIndex;
 import org.jabref.model.database.BibDatabase;
 import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.util.FileUpdateMonitor;
 import org.jabref.preferences.FilePreferences;
 
 import org.slf4j.Logger;
@@ -34,18 +33,22 @@ public class UnlinkedFilesCrawler extends BackgroundTask<FileNodeViewModel> {
     private final Filter<Path> fileFilter;
     private final BibDatabaseContext databaseContext;
     private final FilePreferences filePreferences;
+    private final FileUpdateMonitor fileUpdateMonitor;
 
-    public UnlinkedFilesCrawler(Path directory, Filter<Path> fileFilter, BibDatabaseContext databaseContext, FilePreferences filePreferences) {
+    public UnlinkedFilesCrawler(Path directory, Filter<Path> fileFilter, BibDatabaseContext databaseContext, FilePreferences filePreferences, FileUpdateMonitor fileUpdateMonitor) {
         this.directory = directory;
         this.fileFilter = fileFilter;
         this.databaseContext = databaseContext;
         this.filePreferences = filePreferences;
+        this.fileUpdateMonitor = fileUpdateMonitor;
     }
 
     @Override
     protected FileNodeViewModel call() throws IOException {
         UnlinkedPDFFileFilter unlinkedPDFFileFilter = new UnlinkedPDFFileFilter(fileFilter, databaseContext, filePreferences);
-        return searchDirectory(directory, unlinkedPDFFileFilter);
+        // The directory is walked once, searching it again uses the index kept up to date by the monitor
+        FileDirectoryIndex index = FileDirectoryIndex.forDirectory(directory, fileUpdateMonitor);
+        return searchDirectory(directory, unlinkedPDFFileFilter, index);
     }
 
     /**
@@ -64,28 +67,32 @@ public class UnlinkedFilesCrawler extends BackgroundTask<FileNodeViewModel> {
      *
      * @throws IOException if directory is not a directory or empty
      */
-    private FileNodeViewModel searchDirectory(Path directory, UnlinkedPDFFileFilter fileFilter) throws IOException {
+    private FileNodeViewModel searchDirectory(Path directory, UnlinkedPDFFileFilter fileFilter, FileDirectoryIndex index) throws IOException {
         // Return null if the directory is not valid.
         if ((directory == null) || !Files.isDirectory(directory)) {
             throw new IOException(String.format("Invalid directory for searching: %s", directory));
         }
 
         FileNodeViewModel parent = new FileNodeViewModel(directory);
-        Map<Boolean, List<Path>> fileListPartition;
-
-        try (Stream<Path> filesStream = StreamSupport.stream(Files.newDirectoryStream(directory, fileFilter).spliterator(), false)) {
-            fileListPartition = filesStream.collect(Collectors.partitioningBy(Files::isDirectory));
+        List<Path> subDirectories = index.getSubdirectories(directory);
+        List<Path> files = new ArrayList<>();
+
+        try {
+            for (Path file : index.getFiles(directory)) {
+                // The index may lag behind the file system, so only use it to find candidates
+                if (Files.exists(file) && fileFilter.accept(file)) {
+                    files.add(file);
+                }
+            }
         } catch (IOException e) {
             LOGGER.error(String.format("%s while searching files: %s", e.getClass().getName(), e.getMessage()));
             return parent;
         }
 
-        List<Path> subDirectories = fileListPartition.get(true);
-        List<Path> files = new ArrayList<>(fileListPartition.get(false));
         int fileCount = 0;
 
         for (Path subDirectory : subDirectories) {
-            FileNodeViewModel subRoot = searchDirectory(subDirectory, fileFilter);
+            FileNodeViewModel subRoot = searchDirectory(subDirectory, fileFilter, index);
 
             if (!subRoot.getChildren().isEmpty()) {
                 fileCount += subRoot.getFileCount();
@@ -72,6 +72,7 @@ public class UnlinkedFilesDialogViewModel {
 
     private final BibDatabaseContext bibDatabase;
     private final TaskExecutor taskExecutor;
+    private final FileUpdateMonitor fileUpdateMonitor;
 
     private final FunctionBasedValidator<String> scanDirectoryValidator;
 
@@ -80,6 +81,7 @@ public class UnlinkedFilesDialogViewModel {
         this.preferences = preferences;
         this.dialogService = dialogService;
         this.taskExecutor = taskExecutor;
+        this.fileUpdateMonitor = fileUpdateMonitor;
         this.bibDatabase = stateManager.getActiveDatabase().orElseThrow(() -> new NullPointerException("Database null"));
         importHandler = new ImportHandler(
                 bibDatabase,
@@ -108,7 +110,7 @@ public class UnlinkedFilesDialogViewModel {
         progressValueProperty.unbind();
         progressTextProperty.unbind();
 
-        findUnlinkedFilesTask = new UnlinkedFilesCrawler(directory, selectedFileFilter, bibDatabase, preferences.getFilePreferences())
+        findUnlinkedFilesTask = new UnlinkedFilesCrawler(directory, selectedFileFilter, bibDatabase, preferences.getFilePreferences(), fileUpdateMonitor)
                 .onRunning(() -> {
                     progressValueProperty.set(ProgressIndicator.INDETERMINATE_PROGRESS);
                     progressTextProperty.setValue(Localization.lang("Searching file system..."));
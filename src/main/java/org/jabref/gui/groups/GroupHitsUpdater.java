@@ -0,0 +1,64 @@
+package org.jabref.gui.groups;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import javafx.beans.property.IntegerProperty;
+
+import org.jabref.gui.StateManager;
+import org.jabref.gui.util.BackgroundTask;
+import org.jabref.gui.util.DefaultTaskExecutor;
+import org.jabref.gui.util.TaskExecutor;
+import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.groups.GroupMembershipIndex;
+import org.jabref.model.groups.GroupTreeNode;
+
+/**
+ * Updates the number of entries matched by the groups of a group tree. The updates requested at the same time, e.g.,
+ * by all groups after an entry was added, are collected and computed in one background task.
+ */
+class GroupHitsUpdater {
+
+    private final BibDatabaseContext databaseContext;
+    private final StateManager stateManager;
+    private final TaskExecutor taskExecutor;
+
+    // The number of hits to update, mapped to the group they belong to
+    private final Map<IntegerProperty, GroupTreeNode> pendingUpdates = new IdentityHashMap<>();
+
+    GroupHitsUpdater(BibDatabaseContext databaseContext, StateManager stateManager, TaskExecutor taskExecutor) {
+        this.databaseContext = databaseContext;
+        this.stateManager = stateManager;
+        this.taskExecutor = taskExecutor;
+    }
+
+    /**
+     * Requests to set the given property to the number of entries matched by the given group.
+     */
+    synchronized void requestUpdate(GroupTreeNode groupNode, IntegerProperty hits) {
+        boolean updateScheduled = !pendingUpdates.isEmpty();
+        pendingUpdates.put(hits, groupNode);
+        if (!updateScheduled) {
+            // Runs after the current event is processed, so that the requests of all groups are collected until then
+            DefaultTaskExecutor.runInJavaFXThread(this::update);
+        }
+    }
+
+    private void update() {
+        Map<IntegerProperty, GroupTreeNode> updates;
+        synchronized (this) {
+            updates = new IdentityHashMap<>(pendingUpdates);
+            pendingUpdates.clear();
+        }
+
+        BackgroundTask
+                .wrap(() -> {
+                    GroupMembershipIndex index = stateManager.getGroupMembershipIndex(databaseContext);
+                    Map<IntegerProperty, Integer> numbersOfMatches = new IdentityHashMap<>();
+                    updates.forEach((hits, groupNode) -> numbersOfMatches.put(hits, index.getNumberOfMatches(groupNode)));
+                    return numbersOfMatches;
+                })
+                .onSuccess(numbersOfMatches -> numbersOfMatches.forEach(IntegerProperty::set))
+                .executeWith(taskExecutor);
+    }
+}
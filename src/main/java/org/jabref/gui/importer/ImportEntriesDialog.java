@@ -89,6 +89,7 @@ public class ImportEntriesDialog extends BaseDialog<Boolean> {
             } else {
                 dialogService.notify(Localization.lang("Import canceled"));
             }
+            viewModel.shutdown();
 
             return false;
         });
@@ -23,6 +23,7 @@ import org.jabref.gui.util.BackgroundTask;
 import org.jabref.gui.util.TaskExecutor;
 import org.jabref.logic.database.DatabaseMerger;
 import org.jabref.logic.database.DuplicateCheck;
+import org.jabref.logic.database.DuplicateIndex;
 import org.jabref.logic.importer.ParserResult;
 import org.jabref.logic.l10n.Localization;
 import org.jabref.model.database.BibDatabaseContext;
@@ -51,6 +52,9 @@ public class ImportEntriesViewModel extends AbstractViewModel {
     private final ObservableList<BibEntry> entries;
     private final PreferencesService preferences;
     private final BibEntryTypesManager entryTypesManager;
+    // Created on the first duplicate check, as most imports are small compared to the library
+    private DuplicateIndex duplicateIndex;
+    private boolean shutdown;
 
     /**
      * @param databaseContext the database to import into
@@ -102,8 +106,28 @@ public class ImportEntriesViewModel extends AbstractViewModel {
 
     public boolean hasDuplicate(BibEntry entry) {
         return findInternalDuplicate(entry).isPresent() ||
-                new DuplicateCheck(entryTypesManager)
-                .containsDuplicate(databaseContext.getDatabase(), entry, databaseContext.getMode()).isPresent();
+                getDuplicateIndex().containsDuplicate(entry).isPresent();
+    }
+
+    private synchronized DuplicateIndex getDuplicateIndex() {
+        if (duplicateIndex == null) {
+            duplicateIndex = new DuplicateIndex(databaseContext.getDatabase(), new DuplicateCheck(entryTypesManager), databaseContext.getMode());
+            if (shutdown) {
+                duplicateIndex.shutdown();
+            }
+        }
+        return duplicateIndex;
+    }
+
+    /**
+     * Stops keeping track of the changes of the library. Duplicate checks still requested afterwards use the library as
+     * it was at that time.
+     */
+    public synchronized void shutdown() {
+        shutdown = true;
+        if (duplicateIndex != null) {
+            duplicateIndex.shutdown();
+        }
     }
 
     /**
@@ -115,7 +139,7 @@ public class ImportEntriesViewModel extends AbstractViewModel {
         // Check if we are supposed to warn about duplicates.
         // If so, then see if there are duplicates, and warn if yes.
         if (preferences.shouldWarnAboutDuplicatesForImport()) {
-            BackgroundTask.wrap(() -> entriesToImport.stream()
+            BackgroundTask.wrap(() -> entriesToImport.parallelStream()
                                                      .anyMatch(this::hasDuplicate)).onSuccess(duplicateFound -> {
                 if (duplicateFound) {
                     boolean continueImport = dialogService.showConfirmationDialogWithOptOutAndWait(Localization.lang("Duplicates found"),
@@ -201,7 +225,7 @@ public class ImportEntriesViewModel extends AbstractViewModel {
 
     public void resolveDuplicate(BibEntry entry) {
         // First, try to find duplicate in the existing library
-        Optional<BibEntry> other = new DuplicateCheck(entryTypesManager).containsDuplicate(databaseContext.getDatabase(), entry, databaseContext.getMode());
+        Optional<BibEntry> other = getDuplicateIndex().containsDuplicate(entry);
         if (other.isPresent()) {
             DuplicateResolverDialog dialog = new DuplicateResolverDialog(other.get(),
                     entry, DuplicateResolverDialog.DuplicateResolverType.INSPECTION, databaseContext, stateManager);
@@ -179,7 +179,7 @@ public class OpenDatabaseAction extends SimpleCommand {
 
         Globals.prefs.setWorkingDirectory(fileToLoad.getParent());
 
-        if (BackupManager.backupFileDiffers(fileToLoad)) {
+        if (BackupManager.backupFileDiffers(fileToLoad, Globals.prefs, Globals.entryTypesManager)) {
             BackupUIManager.showRestoreBackupDialog(dialogService, fileToLoad);
         }
 
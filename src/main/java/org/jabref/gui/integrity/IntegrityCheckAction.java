@@ -2,7 +2,14 @@ package org.jabref.gui.integrity;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.concurrent.Task;
 
@@ -11,12 +18,12 @@ import org.jabref.gui.Globals;
 import org.jabref.gui.JabRefFrame;
 import org.jabref.gui.StateManager;
 import org.jabref.gui.actions.SimpleCommand;
+import org.jabref.gui.util.DefaultTaskExecutor;
 import org.jabref.gui.util.TaskExecutor;
 import org.jabref.logic.integrity.IntegrityCheck;
 import org.jabref.logic.integrity.IntegrityMessage;
 import org.jabref.logic.l10n.Localization;
 import org.jabref.model.database.BibDatabaseContext;
-import org.jabref.model.entry.BibEntry;
 
 import static org.jabref.gui.actions.ActionHelper.needsDatabase;
 
@@ -26,6 +33,9 @@ public class IntegrityCheckAction extends SimpleCommand {
     private final DialogService dialogService;
     private final JabRefFrame frame;
     private final StateManager stateManager;
+    // Keeps the messages of the entries which did not change since the last check, until its library is closed
+    private IntegrityCheck lastCheck;
+    private BibDatabaseContext lastCheckedDatabase;
 
     public IntegrityCheckAction(JabRefFrame frame, StateManager stateManager, TaskExecutor taskExecutor) {
         this.frame = frame;
@@ -34,6 +44,13 @@ public class IntegrityCheckAction extends SimpleCommand {
         this.dialogService = frame.getDialogService();
 
         this.executable.bind(needsDatabase(this.stateManager));
+        stateManager.getOpenDatabases().addListener((ListChangeListener<BibDatabaseContext>) change -> {
+            if ((lastCheck != null) && !stateManager.getOpenDatabases().contains(lastCheckedDatabase)) {
+                lastCheck.shutdown();
+                lastCheck = null;
+                lastCheckedDatabase = null;
+            }
+        });
     }
 
     @Override
@@ -43,42 +60,68 @@ public class IntegrityCheckAction extends SimpleCommand {
                 Globals.prefs.getFilePreferences(),
                 Globals.prefs.getCitationKeyPatternPreferences(),
                 Globals.journalAbbreviationRepository,
-                Globals.prefs.getGeneralPreferences().shouldAllowIntegerEditionBibtex());
+                Globals.prefs.getGeneralPreferences().shouldAllowIntegerEditionBibtex(),
+                lastCheck);
+        lastCheck = check;
+        lastCheckedDatabase = database;
+
+        // The messages shown in the dialog, which are only changed on the JavaFX thread
+        ObservableList<IntegrityMessage> shownMessages = FXCollections.observableArrayList();
+        // The messages of checked entries which are not shown yet. They are handed over in batches, as many entries
+        // are checked during one pulse of the JavaFX thread.
+        Queue<IntegrityMessage> newMessages = new ConcurrentLinkedQueue<>();
+        AtomicBoolean showNewMessagesScheduled = new AtomicBoolean();
 
         Task<List<IntegrityMessage>> task = new Task<>() {
             @Override
             protected List<IntegrityMessage> call() {
-                List<IntegrityMessage> result = new ArrayList<>();
-
-                ObservableList<BibEntry> entries = database.getDatabase().getEntries();
-                result.addAll(check.checkDatabase(database.getDatabase()));
-                for (int i = 0; i < entries.size(); i++) {
+                int numberOfEntries = database.getDatabase().getEntryCount();
+                AtomicInteger checkedEntries = new AtomicInteger();
+                return check.check(messages -> {
                     if (isCancelled()) {
-                        break;
+                        throw new CancellationException();
                     }
-
-                    BibEntry entry = entries.get(i);
-                    result.addAll(check.checkEntry(entry));
-                    updateProgress(i, entries.size());
-                }
-
-                return result;
+                    updateProgress(checkedEntries.incrementAndGet(), numberOfEntries);
+                    if (!messages.isEmpty()) {
+                        newMessages.addAll(messages);
+                        if (showNewMessagesScheduled.compareAndSet(false, true)) {
+                            DefaultTaskExecutor.runInJavaFXThread(() -> {
+                                showNewMessagesScheduled.set(false);
+                                showNewMessages(newMessages, shownMessages);
+                            });
+                        }
+                    }
+                });
             }
         };
+        IntegrityCheckDialog dialog = new IntegrityCheckDialog(shownMessages, frame.getCurrentLibraryTab(), task);
         task.setOnSucceeded(value -> {
+            // The messages of the entries are shown already, the ones of the library as a whole follow them
+            showNewMessages(newMessages, shownMessages);
             List<IntegrityMessage> messages = task.getValue();
+            shownMessages.addAll(messages.subList(shownMessages.size(), messages.size()));
             if (messages.isEmpty()) {
+                dialog.close();
                 dialogService.notify(Localization.lang("No problems found."));
-            } else {
-                dialogService.showCustomDialogAndWait(new IntegrityCheckDialog(messages, frame.getCurrentLibraryTab()));
             }
         });
-        task.setOnFailed(event -> dialogService.showErrorDialogAndWait("Integrity check failed.", task.getException()));
+        task.setOnFailed(event -> {
+            dialog.close();
+            dialogService.showErrorDialogAndWait("Integrity check failed.", task.getException());
+        });
 
-        dialogService.showProgressDialog(
-                Localization.lang("Checking integrity..."),
-                Localization.lang("Checking integrity..."),
-                task);
+        dialogService.showCustomDialog(dialog);
         taskExecutor.execute(task);
     }
+
+    private static void showNewMessages(Queue<IntegrityMessage> newMessages, ObservableList<IntegrityMessage> shownMessages) {
+        List<IntegrityMessage> messages = new ArrayList<>();
+        IntegrityMessage message;
+        while ((message = newMessages.poll()) != null) {
+            messages.add(message);
+        }
+        if (!messages.isEmpty()) {
+            shownMessages.addAll(messages);
+        }
+    }
 }
@@ -1,12 +1,13 @@
 package org.jabref.gui.integrity;
 
-import java.util.List;
-
 import javafx.beans.property.ReadOnlyStringWrapper;
 import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.scene.control.ContextMenu;
 import javafx.scene.control.MenuButton;
+import javafx.scene.control.ProgressBar;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.scene.input.MouseButton;
@@ -22,8 +23,10 @@ import org.controlsfx.control.table.TableFilter;
 
 public class IntegrityCheckDialog extends BaseDialog<Void> {
 
-    private final List<IntegrityMessage> messages;
+    private final ObservableList<IntegrityMessage> messages;
     private final LibraryTab libraryTab;
+    private final Task<?> checkTask;
+    @FXML private ProgressBar progressBar;
     @FXML private TableView<IntegrityMessage> messagesTable;
     @FXML private TableColumn<IntegrityMessage, String> keyColumn;
     @FXML private TableColumn<IntegrityMessage, String> fieldColumn;
@@ -34,15 +37,22 @@ public class IntegrityCheckDialog extends BaseDialog<Void> {
     private IntegrityCheckDialogViewModel viewModel;
     private TableFilter<IntegrityMessage> tableFilter;
 
-    public IntegrityCheckDialog(List<IntegrityMessage> messages, LibraryTab libraryTab) {
+    /**
+     * Shows the messages of the given running check, which are added to the given list as the entries are checked.
+     * Closing the dialog cancels the check.
+     */
+    public IntegrityCheckDialog(ObservableList<IntegrityMessage> messages, LibraryTab libraryTab, Task<?> checkTask) {
         this.messages = messages;
         this.libraryTab = libraryTab;
+        this.checkTask = checkTask;
         this.setTitle(Localization.lang("Check integrity"));
         this.initModality(Modality.NONE);
 
         ViewLoader.view(this)
                   .load()
                   .setAsDialogPane(this);
+
+        setOnHidden(event -> checkTask.cancel());
     }
 
     private void onSelectionChanged(ListChangeListener.Change<? extends IntegrityMessage> change) {
@@ -60,6 +70,10 @@ public class IntegrityCheckDialog extends BaseDialog<Void> {
     private void initialize() {
         viewModel = new IntegrityCheckDialogViewModel(messages);
 
+        progressBar.progressProperty().bind(checkTask.progressProperty());
+        progressBar.visibleProperty().bind(checkTask.runningProperty());
+        progressBar.managedProperty().bind(progressBar.visibleProperty());
+
         messagesTable.getSelectionModel().getSelectedItems().addListener(this::onSelectionChanged);
         messagesTable.setItems(viewModel.getMessages());
         keyColumn.setCellValueFactory(row -> new ReadOnlyStringWrapper(row.getValue().getEntry().getCitationKey().orElse("")));
@@ -68,6 +82,8 @@ public class IntegrityCheckDialog extends BaseDialog<Void> {
 
         tableFilter = TableFilter.forTableView(messagesTable)
                                  .apply();
+        // The filter values follow the messages, and the active filters have to be applied to the new ones
+        viewModel.getMessages().addListener((ListChangeListener<IntegrityMessage>) change -> tableFilter.executeFilter());
 
         tableFilter.getColumnFilter(keyColumn).ifPresent(columnFilter -> {
             ContextMenu keyContextMenu = keyColumn.getContextMenu();
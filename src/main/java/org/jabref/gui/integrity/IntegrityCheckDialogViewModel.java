@@ -1,8 +1,5 @@
 package org.jabref.gui.integrity;
 
-import java.util.List;
-
-import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 
 import org.jabref.gui.AbstractViewModel;
@@ -12,8 +9,11 @@ public class IntegrityCheckDialogViewModel extends AbstractViewModel {
 
     private final ObservableList<IntegrityMessage> messages;
 
-    public IntegrityCheckDialogViewModel(List<IntegrityMessage> messages) {
-        this.messages = FXCollections.observableArrayList(messages);
+    /**
+     * @param messages the messages to show, which may still be added to while the check is running
+     */
+    public IntegrityCheckDialogViewModel(ObservableList<IntegrityMessage> messages) {
+        this.messages = messages;
     }
 
     public ObservableList<IntegrityMessage> getMessages() {
@@ -1,7 +1,16 @@
 package org.jabref.gui.maintable;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
 import javafx.beans.binding.Bindings;
 import javafx.beans.property.IntegerProperty;
@@ -14,62 +23,206 @@ import javafx.collections.transformation.SortedList;
 
 import org.jabref.gui.StateManager;
 import org.jabref.gui.groups.GroupViewMode;
+import org.jabref.gui.util.BackgroundTask;
 import org.jabref.gui.util.BindingsHelper;
+import org.jabref.gui.util.TaskExecutor;
+import org.jabref.logic.search.SearchIndex;
 import org.jabref.logic.search.SearchQuery;
 import org.jabref.model.database.BibDatabaseContext;
 import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.event.EntryChangedEvent;
 import org.jabref.model.groups.GroupTreeNode;
 import org.jabref.model.search.matchers.MatcherSet;
 import org.jabref.model.search.matchers.MatcherSets;
 import org.jabref.preferences.PreferencesService;
 
+import com.google.common.base.Suppliers;
+import com.google.common.eventbus.Subscribe;
 import com.tobiasdiez.easybind.EasyBind;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class MainTableDataModel {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MainTableDataModel.class);
+
+    // Number of entries evaluated by one parallel filter task; small enough to react quickly on cancellation
+    private static final int FILTER_CHUNK_SIZE = 512;
+
+    private final ObservableList<BibEntry> allEntries;
     private final FilteredList<BibEntryTableViewModel> entriesFiltered;
     private final SortedList<BibEntryTableViewModel> entriesSorted;
     private final GroupViewMode groupViewMode;
     private final ObjectProperty<MainTableFieldValueFormatter> fieldValueFormatter;
     private final PreferencesService preferencesService;
     private final BibDatabaseContext bibDatabaseContext;
+    private final TaskExecutor taskExecutor;
+    private final StateManager stateManager;
+    private final AtomicInteger currentFilterId = new AtomicInteger();
+    // Built in the background on the first search, null until it is ready
+    private volatile SearchIndex searchIndex;
+    private boolean searchIndexRequested;
+    private boolean shutDown;
+    // The entries changed since the entries of the running filter evaluation were taken, null if none is running
+    private volatile Set<BibEntry> entriesChangedDuringFilter;
 
-    public MainTableDataModel(BibDatabaseContext context, PreferencesService preferencesService, StateManager stateManager) {
+    public MainTableDataModel(BibDatabaseContext context, PreferencesService preferencesService, StateManager stateManager, TaskExecutor taskExecutor) {
         this.preferencesService = preferencesService;
         this.bibDatabaseContext = context;
+        this.taskExecutor = taskExecutor;
+        this.stateManager = stateManager;
+        this.groupViewMode = preferencesService.getGroupViewMode();
         this.fieldValueFormatter = new SimpleObjectProperty<>(
                 new MainTableFieldValueFormatter(preferencesService, bibDatabaseContext));
 
-        ObservableList<BibEntry> allEntries = BindingsHelper.forUI(context.getDatabase().getEntries());
+        allEntries = BindingsHelper.forUI(context.getDatabase().getEntries());
         ObservableList<BibEntryTableViewModel> entriesViewModel = EasyBind.mapBacked(allEntries, entry ->
                 new BibEntryTableViewModel(entry, bibDatabaseContext, fieldValueFormatter));
 
         entriesFiltered = new FilteredList<>(entriesViewModel);
-        entriesFiltered.predicateProperty().bind(
-                EasyBind.combine(stateManager.activeGroupProperty(), stateManager.activeSearchQueryProperty(), (groups, query) -> entry -> isMatched(groups, query, entry))
-        );
+        context.getDatabase().registerListener(this);
+        EasyBind.subscribe(
+                EasyBind.combine(stateManager.activeGroupProperty(), stateManager.activeSearchQueryProperty(), this::createFilter),
+                this::filterInBackground);
 
         IntegerProperty resultSize = new SimpleIntegerProperty();
         resultSize.bind(Bindings.size(entriesFiltered));
         stateManager.setActiveSearchResultSize(context, resultSize);
         // We need to wrap the list since otherwise sorting in the table does not work
         entriesSorted = new SortedList<>(entriesFiltered);
-        groupViewMode = preferencesService.getGroupViewMode();
+    }
+
+    /**
+     * Builds the filter for the given groups and search query. The filter is created once per change of the filter
+     * criteria and is shared by all entries.
+     *
+     * @return an empty optional if all entries should be shown
+     */
+    private Optional<EntryFilter> createFilter(ObservableList<GroupTreeNode> groups, Optional<SearchQuery> query) {
+        Optional<MatcherSet> groupMatcher = createGroupMatcher(groups);
+        if (groupMatcher.isEmpty() && query.isEmpty()) {
+            return Optional.empty();
+        }
+
+        // The candidates are determined when the filter is first used, i.e., on the thread evaluating it
+        Supplier<Predicate<BibEntry>> searchCandidates = Suppliers.memoize(() -> query.map(this::getSearchCandidateFilter).orElse(entry -> true));
+        query.ifPresent(ignored -> buildSearchIndexInBackground());
+        Predicate<BibEntry> searchMatcher = entry -> isMatchedBySearch(query, searchCandidates.get(), entry);
+        Predicate<BibEntry> matcher = entry -> isMatchedByGroup(groupMatcher, entry) && searchMatcher.test(entry);
+        if (groupMatcher.isEmpty()) {
+            return Optional.of(new EntryFilter(matcher, () -> matcher));
+        }
 
+        // When filtering all entries, the groups are looked up in the group membership index instead of matching
+        // each entry against the groups again
+        List<GroupTreeNode> selectedGroups = new ArrayList<>(groups);
+        boolean intersection = groupViewMode == GroupViewMode.INTERSECTION;
+        return Optional.of(new EntryFilter(matcher, () -> stateManager.getGroupMembershipIndex(bibDatabaseContext)
+                                                                      .getMatcher(selectedGroups, intersection)
+                                                                      .and(searchMatcher)));
     }
 
-    private boolean isMatched(ObservableList<GroupTreeNode> groups, Optional<SearchQuery> query, BibEntryTableViewModel entry) {
-        return isMatchedByGroup(groups, entry) && isMatchedBySearch(query, entry);
+    /**
+     * Evaluates the filter on a background thread and publishes the result at once. Starting a new filter cancels the
+     * evaluation of any filter still running.
+     */
+    private void filterInBackground(Optional<EntryFilter> filter) {
+        int filterId = currentFilterId.incrementAndGet();
+        if (filter.isEmpty()) {
+            entriesChangedDuringFilter = null;
+            entriesFiltered.setPredicate(null);
+            return;
+        }
+
+        // Entries are compared by identity, as their hash code changes with their content
+        Set<BibEntry> changedEntries = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+        entriesChangedDuringFilter = changedEntries;
+        List<BibEntry> entries = new ArrayList<>(allEntries);
+        BackgroundTask.wrap(() -> evaluate(entries, filter.get().matcherForAllEntries.get(), filterId))
+                      .onSuccess(matches -> matches.ifPresent(precomputedMatches -> {
+                          if (filterId == currentFilterId.get()) {
+                              // The results of entries changed while evaluating the filter may be outdated
+                              synchronized (changedEntries) {
+                                  changedEntries.forEach(precomputedMatches::remove);
+                              }
+                              PrecomputedPredicate predicate = new PrecomputedPredicate(filter.get().matcher, precomputedMatches);
+                              entriesFiltered.setPredicate(predicate);
+                              predicate.releasePrecomputedMatches();
+                              entriesChangedDuringFilter = null;
+                          }
+                      }))
+                      .onFailure(exception -> LOGGER.error("Could not filter entries", exception))
+                      .executeWith(taskExecutor);
     }
 
-    private boolean isMatchedBySearch(Optional<SearchQuery> query, BibEntryTableViewModel entry) {
-        return query.map(matcher -> matcher.isMatch(entry.getEntry()))
+    /**
+     * Evaluates the matcher for the given entries in parallel chunks.
+     *
+     * @return the result for each entry or an empty optional if the filter was superseded in the meantime
+     */
+    private Optional<Map<BibEntry, Boolean>> evaluate(List<BibEntry> entries, Predicate<BibEntry> matcher, int filterId) {
+        boolean[] matches = new boolean[entries.size()];
+        int numberOfChunks = (entries.size() + FILTER_CHUNK_SIZE - 1) / FILTER_CHUNK_SIZE;
+        IntStream.range(0, numberOfChunks).parallel().forEach(chunk -> {
+            if (filterId != currentFilterId.get()) {
+                return;
+            }
+            int end = Math.min(entries.size(), (chunk + 1) * FILTER_CHUNK_SIZE);
+            for (int i = chunk * FILTER_CHUNK_SIZE; i < end; i++) {
+                matches[i] = matcher.test(entries.get(i));
+            }
+        });
+
+        if (filterId != currentFilterId.get()) {
+            return Optional.empty();
+        }
+
+        Map<BibEntry, Boolean> result = new IdentityHashMap<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            result.put(entries.get(i), matches[i]);
+        }
+        return Optional.of(result);
+    }
+
+    private boolean isMatchedBySearch(Optional<SearchQuery> query, Predicate<BibEntry> searchCandidates, BibEntry entry) {
+        return query.map(matcher -> searchCandidates.test(entry) && matcher.isMatch(entry))
                     .orElse(true);
     }
 
-    private boolean isMatchedByGroup(ObservableList<GroupTreeNode> groups, BibEntryTableViewModel entry) {
-        return createGroupMatcher(groups)
-                .map(matcher -> matcher.isMatch(entry.getEntry()))
-                .orElse(true);
+    private Predicate<BibEntry> getSearchCandidateFilter(SearchQuery query) {
+        SearchIndex index = searchIndex;
+        if (index == null) {
+            // Until the index is ready, all entries are matched against the query
+            return entry -> true;
+        }
+        return index.getCandidateFilter(query);
+    }
+
+    /**
+     * Builds the search index on a background thread. The index is built on the first search only, libraries which are
+     * never searched do not pay for it.
+     */
+    private void buildSearchIndexInBackground() {
+        if (searchIndexRequested) {
+            return;
+        }
+        searchIndexRequested = true;
+
+        BackgroundTask.wrap(() -> new SearchIndex(bibDatabaseContext.getDatabase()))
+                      .onSuccess(index -> {
+                          if (shutDown) {
+                              index.shutdown();
+                          } else {
+                              searchIndex = index;
+                          }
+                      })
+                      .onFailure(exception -> LOGGER.error("Could not build search index", exception))
+                      .executeWith(taskExecutor);
+    }
+
+    private boolean isMatchedByGroup(Optional<MatcherSet> groupMatcher, BibEntry entry) {
+        return groupMatcher.map(matcher -> matcher.isMatch(entry))
+                           .orElse(true);
     }
 
     private Optional<MatcherSet> createGroupMatcher(List<GroupTreeNode> selectedGroups) {
@@ -93,4 +246,67 @@ public class MainTableDataModel {
     public void refresh() {
         this.fieldValueFormatter.setValue(new MainTableFieldValueFormatter(preferencesService, bibDatabaseContext));
     }
+
+    @Subscribe
+    public void listen(EntryChangedEvent event) {
+        Set<BibEntry> changedEntries = entriesChangedDuringFilter;
+        if (changedEntries != null) {
+            changedEntries.add(event.getBibEntry());
+        }
+    }
+
+    public void shutdown() {
+        // Outdates a filter possibly still running
+        currentFilterId.incrementAndGet();
+        bibDatabaseContext.getDatabase().unregisterListener(this);
+        shutDown = true;
+        if (searchIndex != null) {
+            searchIndex.shutdown();
+        }
+    }
+
+    /**
+     * The criteria to filter the entries by. The matcher for all entries is used for filtering the complete list of
+     * entries in the background, the matcher for checking entries which are added or changed afterwards.
+     */
+    private static class EntryFilter {
+
+        private final Predicate<BibEntry> matcher;
+        private final Supplier<Predicate<BibEntry>> matcherForAllEntries;
+
+        public EntryFilter(Predicate<BibEntry> matcher, Supplier<Predicate<BibEntry>> matcherForAllEntries) {
+            this.matcher = matcher;
+            this.matcherForAllEntries = matcherForAllEntries;
+        }
+    }
+
+    /**
+     * Answers with the matches computed in the background while the filtered list applies the predicate to all
+     * entries. Afterwards, entries which are added or changed are checked by the matcher itself.
+     */
+    private static class PrecomputedPredicate implements Predicate<BibEntryTableViewModel> {
+
+        private final Predicate<BibEntry> matcher;
+        private Map<BibEntry, Boolean> precomputedMatches;
+
+        public PrecomputedPredicate(Predicate<BibEntry> matcher, Map<BibEntry, Boolean> precomputedMatches) {
+            this.matcher = matcher;
+            this.precomputedMatches = precomputedMatches;
+        }
+
+        @Override
+        public boolean test(BibEntryTableViewModel entry) {
+            if (precomputedMatches != null) {
+                Boolean match = precomputedMatches.get(entry.getEntry());
+                if (match != null) {
+                    return match;
+                }
+            }
+            return matcher.test(entry.getEntry());
+        }
+
+        public void releasePrecomputedMatches() {
+            precomputedMatches = null;
+        }
+    }
 }
@@ -73,7 +73,7 @@ public class CopyCitationAction extends SimpleCommand {
             styleSource = ((CitationStylePreviewLayout) style).getSource();
         }
         if (styleSource != null) {
-            return CitationStyleGenerator.generateCitations(selectedEntries, styleSource, outputFormat);
+            return CitationStyleGenerator.generateCitationsOfEntries(selectedEntries, styleSource, outputFormat);
         } else {
             if (stateManager.getActiveDatabase().isEmpty()) {
                 return Collections.emptyList();
@@ -8,6 +8,10 @@ import java.nio.file.StandardWatchEventKinds;
 import java.nio.file.WatchEvent;
 import java.nio.file.WatchKey;
 import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -17,13 +21,16 @@ import org.jabref.model.util.FileUpdateListener;
 import org.jabref.model.util.FileUpdateMonitor;
 
 import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.HashMultiset;
 import com.google.common.collect.Multimap;
+import com.google.common.collect.Multimaps;
+import com.google.common.collect.Multiset;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * This class monitors a set of files for changes. Upon detecting a change it notifies the registered {@link
- * FileUpdateListener}s.
+ * This class monitors a set of files and directories for changes. Upon detecting a change it notifies the registered
+ * {@link FileUpdateListener}s.
  * <p>
  * Implementation based on https://stackoverflow.com/questions/16251273/can-i-watch-for-single-file-change-with-watchservice-not-the-whole-directory
  */
@@ -31,7 +38,11 @@ public class DefaultFileUpdateMonitor implements Runnable, FileUpdateMonitor {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultFileUpdateMonitor.class);
 
-    private final Multimap<Path, FileUpdateListener> listeners = ArrayListMultimap.create(20, 4);
+    private final Multimap<Path, FileUpdateListener> listeners = Multimaps.synchronizedListMultimap(ArrayListMultimap.create(20, 4));
+    private final Multimap<Path, FileUpdateListener> directoryListeners = Multimaps.synchronizedListMultimap(ArrayListMultimap.create());
+    // Watched directories and the number of listeners depending on them, the watch is cancelled when none is left
+    private final Map<Path, WatchKey> watchKeys = new HashMap<>();
+    private final Multiset<Path> watchedDirectoryUsages = HashMultiset.create();
     private volatile WatchService watcher;
     private final AtomicBoolean notShutdown = new AtomicBoolean(true);
     private Optional<JabRefException> filesystemMonitorFailure;
@@ -53,15 +64,20 @@ public class DefaultFileUpdateMonitor implements Runnable, FileUpdateMonitor {
                 for (WatchEvent<?> event : key.pollEvents()) {
                     WatchEvent.Kind<?> kind = event.kind();
 
+                    Path directory = (Path) key.watchable();
                     if (kind == StandardWatchEventKinds.OVERFLOW) {
+                        // Events were lost, so anything in the directory may have changed
+                        notifyAboutChange(directoryListeners, directory);
                         Thread.yield();
                         continue;
-                    } else if (kind == StandardWatchEventKinds.ENTRY_CREATE || kind == StandardWatchEventKinds.ENTRY_MODIFY) {
-                        // We only handle "ENTRY_CREATE" and "ENTRY_MODIFY" here, so the context is always a Path
+                    } else if (kind == StandardWatchEventKinds.ENTRY_CREATE || kind == StandardWatchEventKinds.ENTRY_MODIFY || kind == StandardWatchEventKinds.ENTRY_DELETE) {
+                        // We only handle "ENTRY_CREATE", "ENTRY_MODIFY" and "ENTRY_DELETE" here, so the context is always a Path
                         @SuppressWarnings("unchecked")
                         WatchEvent<Path> ev = (WatchEvent<Path>) event;
-                        Path path = ((Path) key.watchable()).resolve(ev.context());
-                        notifyAboutChange(path);
+                        if (kind != StandardWatchEventKinds.ENTRY_DELETE) {
+                            notifyAboutChange(listeners, directory.resolve(ev.context()));
+                        }
+                        notifyAboutChange(directoryListeners, directory);
                     }
                     key.reset();
                 }
@@ -79,8 +95,33 @@ public class DefaultFileUpdateMonitor implements Runnable, FileUpdateMonitor {
         return filesystemMonitorFailure.isEmpty();
     }
 
-    private void notifyAboutChange(Path path) {
-        listeners.get(path).forEach(FileUpdateListener::fileUpdated);
+    private void notifyAboutChange(Multimap<Path, FileUpdateListener> listeners, Path path) {
+        List<FileUpdateListener> listenersForPath;
+        synchronized (listeners) {
+            listenersForPath = new ArrayList<>(listeners.get(path));
+        }
+        listenersForPath.forEach(FileUpdateListener::fileUpdated);
+    }
+
+    private void register(Path directory) throws IOException {
+        synchronized (watchKeys) {
+            // Every registration of a directory replaces the kinds of events watched, so always watch all of them
+            WatchKey key = directory.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            watchKeys.put(directory, key);
+            watchedDirectoryUsages.add(directory);
+        }
+    }
+
+    private void release(Path directory) {
+        synchronized (watchKeys) {
+            if (watchedDirectoryUsages.remove(directory, 1) == 1) {
+                // The last listener depending on the directory was removed
+                WatchKey key = watchKeys.remove(directory);
+                if (key != null) {
+                    key.cancel();
+                }
+            }
+        }
     }
 
     @Override
@@ -88,14 +129,29 @@ public class DefaultFileUpdateMonitor implements Runnable, FileUpdateMonitor {
         if (isActive()) {
             // We can't watch files directly, so monitor their parent directory for updates
             Path directory = file.toAbsolutePath().getParent();
-            directory.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            register(directory);
             listeners.put(file, listener);
         }
     }
 
+    @Override
+    public void addListenerForDirectory(Path directory, FileUpdateListener listener) throws IOException {
+        if (isActive()) {
+            Path absoluteDirectory = directory.toAbsolutePath();
+            register(absoluteDirectory);
+            directoryListeners.put(absoluteDirectory, listener);
+        }
+    }
+
     @Override
     public void removeListener(Path path, FileUpdateListener listener) {
-        listeners.remove(path, listener);
+        if (listeners.remove(path, listener)) {
+            release(path.toAbsolutePath().getParent());
+        }
+        Path absolutePath = path.toAbsolutePath();
+        if (directoryListeners.remove(absolutePath, listener)) {
+            release(absolutePath);
+        }
     }
 
     @Override
@@ -0,0 +1,230 @@
+package org.jabref.logic.autosaveandbackup;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+import org.jabref.logic.util.io.FileUtil;
+
+/**
+ * Append-only journal of the entry changes made after the last full backup (the snapshot).
+ * <p>
+ * The journal starts with a header line naming the number of entries and the checksum of the snapshot it belongs to.
+ * Each following record replaces (<code>PUT</code>) or removes (<code>DELETE</code>) one entry. Entries are referenced
+ * by <code>s&lt;i&gt;</code> for the i-th entry of the snapshot and by <code>n&lt;i&gt;</code> for entries added after
+ * the snapshot was written. A record consists of the line <code>&lt;type&gt; &lt;reference&gt; &lt;length&gt;</code>,
+ * followed by the BibTeX of the entry having the given number of characters and a line break. A record which was not
+ * written completely, e.g., because JabRef crashed, ends the journal.
+ */
+class BackupJournal {
+
+    private static final String JOURNAL_FILE_EXTENSION = ".journal";
+    private static final String HEADER_PREFIX = "snapshot ";
+
+    private final int snapshotEntryCount;
+    private final long snapshotChecksum;
+    private final List<Record> records;
+
+    private BackupJournal(int snapshotEntryCount, long snapshotChecksum, List<Record> records) {
+        this.snapshotEntryCount = snapshotEntryCount;
+        this.snapshotChecksum = snapshotChecksum;
+        this.records = records;
+    }
+
+    static Path getJournalPath(Path backupPath) {
+        return FileUtil.addExtension(backupPath, JOURNAL_FILE_EXTENSION);
+    }
+
+    static String getSnapshotReference(int index) {
+        return "s" + index;
+    }
+
+    static String getNewEntryReference(int index) {
+        return "n" + index;
+    }
+
+    /**
+     * Starts a new journal for the given snapshot, discarding all records of the previous one.
+     */
+    static void reset(Path journalPath, int snapshotEntryCount, long snapshotChecksum) throws IOException {
+        Files.writeString(journalPath, HEADER_PREFIX + snapshotEntryCount + " " + snapshotChecksum + "\n", StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Appends the given records to the journal and forces them to the storage device.
+     *
+     * @return the number of bytes written
+     */
+    static long append(Path journalPath, List<Record> records) throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (Record record : records) {
+            text.append(record.type).append(' ')
+                .append(record.reference).append(' ')
+                .append(record.entry.length()).append('\n')
+                .append(record.entry).append('\n');
+        }
+
+        ByteBuffer bytes = StandardCharsets.UTF_8.encode(text.toString());
+        int numberOfBytes = bytes.remaining();
+        try (FileChannel channel = FileChannel.open(journalPath, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            channel.force(false);
+        }
+        return numberOfBytes;
+    }
+
+    /**
+     * Reads the journal up to the first incomplete record.
+     *
+     * @return an empty optional if there is no journal or its header is invalid
+     */
+    static Optional<BackupJournal> read(Path journalPath) throws IOException {
+        if (!Files.isRegularFile(journalPath)) {
+            return Optional.empty();
+        }
+
+        try (BufferedReader reader = Files.newBufferedReader(journalPath, StandardCharsets.UTF_8)) {
+            String header = reader.readLine();
+            if ((header == null) || !header.startsWith(HEADER_PREFIX)) {
+                return Optional.empty();
+            }
+            String[] headerParts = header.substring(HEADER_PREFIX.length()).split(" ");
+            if (headerParts.length != 2) {
+                return Optional.empty();
+            }
+            int snapshotEntryCount;
+            long snapshotChecksum;
+            try {
+                snapshotEntryCount = Integer.parseInt(headerParts[0]);
+                snapshotChecksum = Long.parseLong(headerParts[1]);
+            } catch (NumberFormatException e) {
+                return Optional.empty();
+            }
+
+            List<Record> records = new ArrayList<>();
+            Optional<Record> record = readRecord(reader);
+            while (record.isPresent()) {
+                records.add(record.get());
+                record = readRecord(reader);
+            }
+            return Optional.of(new BackupJournal(snapshotEntryCount, snapshotChecksum, records));
+        }
+    }
+
+    private static Optional<Record> readRecord(BufferedReader reader) throws IOException {
+        String recordHeader = reader.readLine();
+        if (recordHeader == null) {
+            return Optional.empty();
+        }
+        String[] parts = recordHeader.split(" ");
+        if (parts.length != 3) {
+            return Optional.empty();
+        }
+
+        RecordType type;
+        int length;
+        try {
+            type = RecordType.valueOf(parts[0]);
+            length = Integer.parseInt(parts[2]);
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+
+        char[] entry = new char[length];
+        int read = 0;
+        while (read < length) {
+            int readNow = reader.read(entry, read, length - read);
+            if (readNow < 0) {
+                return Optional.empty();
+            }
+            read += readNow;
+        }
+        // The line break ending the record is written last, a missing one indicates an incomplete record
+        if (!"".equals(reader.readLine())) {
+            return Optional.empty();
+        }
+        return Optional.of(new Record(type, parts[1], new String(entry)));
+    }
+
+    /**
+     * Computes the checksum of the given snapshot file, which identifies the snapshot a journal belongs to.
+     */
+    static long checksum(Path snapshotPath) throws IOException {
+        CRC32 crc = new CRC32();
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream inputStream = Files.newInputStream(snapshotPath)) {
+            int read = inputStream.read(buffer);
+            while (read >= 0) {
+                crc.update(buffer, 0, read);
+                read = inputStream.read(buffer);
+            }
+        }
+        return crc.getValue();
+    }
+
+    int getSnapshotEntryCount() {
+        return snapshotEntryCount;
+    }
+
+    long getSnapshotChecksum() {
+        return snapshotChecksum;
+    }
+
+    List<Record> getRecords() {
+        return Collections.unmodifiableList(records);
+    }
+
+    enum RecordType {
+        PUT,
+        DELETE
+    }
+
+    /**
+     * A change of one entry. The entry is empty for removals.
+     */
+    static class Record {
+
+        private final RecordType type;
+        private final String reference;
+        private final String entry;
+
+        Record(RecordType type, String reference, String entry) {
+            this.type = type;
+            this.reference = reference;
+            this.entry = entry;
+        }
+
+        static Record put(String reference, String entry) {
+            return new Record(RecordType.PUT, reference, entry);
+        }
+
+        static Record delete(String reference) {
+            return new Record(RecordType.DELETE, reference, "");
+        }
+
+        RecordType getType() {
+            return type;
+        }
+
+        String getReference() {
+            return reference;
+        }
+
+        String getEntry() {
+            return entry;
+        }
+    }
+}
@@ -1,26 +1,47 @@
 package org.jabref.logic.autosaveandbackup;
 
 import java.io.IOException;
+import java.io.StringWriter;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
 
+import org.jabref.logic.bibtex.BibEntryWriter;
+import org.jabref.logic.bibtex.FieldWriter;
 import org.jabref.logic.bibtex.InvalidFieldValueException;
 import org.jabref.logic.exporter.AtomicFileWriter;
 import org.jabref.logic.exporter.BibtexDatabaseWriter;
 import org.jabref.logic.exporter.SavePreferences;
+import org.jabref.logic.importer.ImportFormatPreferences;
+import org.jabref.logic.importer.ParseException;
+import org.jabref.logic.importer.ParserResult;
+import org.jabref.logic.importer.fileformat.BibtexImporter;
+import org.jabref.logic.importer.fileformat.BibtexParser;
 import org.jabref.logic.util.CoarseChangeFilter;
 import org.jabref.logic.util.DelayTaskThrottler;
 import org.jabref.logic.util.io.FileUtil;
+import org.jabref.model.database.BibDatabase;
 import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.database.BibDatabaseMode;
 import org.jabref.model.database.event.BibDatabaseContextChangedEvent;
+import org.jabref.model.database.event.EntriesAddedEvent;
+import org.jabref.model.database.event.EntriesRemovedEvent;
+import org.jabref.model.entry.BibEntry;
 import org.jabref.model.entry.BibEntryTypesManager;
+import org.jabref.model.entry.event.EntryChangedEvent;
+import org.jabref.model.entry.field.Field;
+import org.jabref.model.util.DummyFileUpdateMonitor;
 import org.jabref.preferences.PreferencesService;
 
 import com.google.common.eventbus.Subscribe;
@@ -32,6 +53,10 @@ import org.slf4j.LoggerFactory;
  * An intelligent {@link ExecutorService} with a {@link BlockingQueue} prevents a high load while making backups and
  * rejects all redundant backup tasks. This class does not manage the .bak file which is created when opening a
  * database.
+ * <p>
+ * A backup consists of a full snapshot of the database (the .sav file) and a {@link BackupJournal} of the entries
+ * changed afterwards. Changes of entries are only appended to the journal. All other changes, and a journal grown too
+ * large, lead to a new snapshot (compaction).
  */
 public class BackupManager {
 
@@ -40,6 +65,10 @@ public class BackupManager {
     // This differs from org.jabref.logic.exporter.AtomicFileOutputStream.BACKUP_EXTENSION, which is used for copying the .bib away before overwriting on save.
     private static final String AUTOSAVE_FILE_EXTENSION = ".sav";
 
+    // A new snapshot is written as soon as the journal exceeds this fraction of the snapshot size (or the minimum size)
+    private static final double JOURNAL_COMPACTION_RATIO = 0.25;
+    private static final long MIN_JOURNAL_COMPACTION_SIZE = 64 * 1024;
+
     private static Set<BackupManager> runningInstances = new HashSet<>();
 
     private final BibDatabaseContext bibDatabaseContext;
@@ -48,6 +77,16 @@ public class BackupManager {
     private final CoarseChangeFilter changeFilter;
     private final BibEntryTypesManager entryTypesManager;
 
+    // Entries changed since the last backup, mapped to whether they are still part of the database
+    private final Map<BibEntry, Boolean> pendingEntryChanges = new IdentityHashMap<>();
+    private boolean snapshotRequired = true;
+
+    // The following fields are only accessed by the backup task
+    private final Map<BibEntry, String> journalReferences = new IdentityHashMap<>();
+    private int numberOfNewEntries;
+    private long snapshotSize;
+    private long journalSize;
+
     private BackupManager(BibDatabaseContext bibDatabaseContext, BibEntryTypesManager entryTypesManager, PreferencesService preferences) {
         this.bibDatabaseContext = bibDatabaseContext;
         this.entryTypesManager = entryTypesManager;
@@ -88,59 +127,241 @@ public class BackupManager {
 
     /**
      * Checks whether a backup file exists for the given database file. If it exists, it is checked whether it is
-     * different from the original.
+     * different from the original. The changes recorded in the journal are applied to a copy of the backup file
+     * before.
      *
      * @param originalPath Path to the file a backup should be checked for. Example: jabref.bib.
      * @return <code>true</code> if backup file exists AND differs from originalPath. <code>false</code> is the
      * "default" return value in the good case. In the case of an exception <code>true</code> is returned to ensure that
      * the user checks the output.
      */
-    public static boolean backupFileDiffers(Path originalPath) {
+    public static boolean backupFileDiffers(Path originalPath, PreferencesService preferences, BibEntryTypesManager entryTypesManager) {
         Path backupPath = getBackupPath(originalPath);
         if (!Files.exists(backupPath) || Files.isDirectory(backupPath)) {
             return false;
         }
 
+        Path replayedBackupPath = null;
         try {
+            replayedBackupPath = Files.createTempFile(originalPath.getFileName().toString(), AUTOSAVE_FILE_EXTENSION);
+            if (replayJournal(backupPath, replayedBackupPath, preferences, entryTypesManager)) {
+                return Files.mismatch(originalPath, replayedBackupPath) != -1L;
+            }
             return Files.mismatch(originalPath, backupPath) != -1L;
         } catch (IOException e) {
             LOGGER.debug("Could not compare original file and backup file.", e);
             // User has to investigate in this case
             return true;
+        } finally {
+            if (replayedBackupPath != null) {
+                try {
+                    Files.deleteIfExists(replayedBackupPath);
+                } catch (IOException e) {
+                    LOGGER.debug("Could not delete temporary backup file {}", replayedBackupPath, e);
+                }
+            }
         }
     }
 
     /**
-     * Restores the backup file by copying and overwriting the original one.
+     * Restores the backup file by copying and overwriting the original one. The changes recorded in the journal are
+     * applied to the backup file before.
      *
      * @param originalPath Path to the file which should be equalized to the backup file.
      */
-    public static void restoreBackup(Path originalPath) {
+    public static void restoreBackup(Path originalPath, PreferencesService preferences, BibEntryTypesManager entryTypesManager) {
         Path backupPath = getBackupPath(originalPath);
         try {
-            Files.copy(backupPath, originalPath, StandardCopyOption.REPLACE_EXISTING);
+            if (!replayJournal(backupPath, originalPath, preferences, entryTypesManager)) {
+                Files.copy(backupPath, originalPath, StandardCopyOption.REPLACE_EXISTING);
+            }
         } catch (IOException e) {
             LOGGER.error("Error while restoring the backup file.", e);
         }
     }
 
+    /**
+     * Applies the changes recorded in the journal to the snapshot and writes the result to the given file. Changed
+     * entries keep their position in the snapshot, entries added afterwards are appended, so that the result equals
+     * the library as it would have been saved.
+     *
+     * @return <code>false</code> if there is no journal to apply, in this case nothing is written
+     */
+    private static boolean replayJournal(Path backupPath, Path targetPath, PreferencesService preferences, BibEntryTypesManager entryTypesManager) throws IOException {
+        Path journalPath = BackupJournal.getJournalPath(backupPath);
+        Optional<BackupJournal> journal = BackupJournal.read(journalPath);
+        if (journal.isEmpty() || journal.get().getRecords().isEmpty()) {
+            return false;
+        }
+        if (journal.get().getSnapshotChecksum() != BackupJournal.checksum(backupPath)) {
+            // The snapshot was written after the journal, i.e., it already contains all changes
+            LOGGER.info("Ignoring outdated backup journal {}", journalPath);
+            return false;
+        }
+
+        ImportFormatPreferences importFormatPreferences = preferences.getImportFormatPreferences();
+        ParserResult parserResult = new BibtexImporter(importFormatPreferences, new DummyFileUpdateMonitor())
+                .importDatabase(backupPath, preferences.getDefaultEncoding());
+        BibDatabase database = parserResult.getDatabase();
+        List<BibEntry> snapshotEntries = database.getEntries();
+        if (snapshotEntries.size() != journal.get().getSnapshotEntryCount()) {
+            LOGGER.warn("Backup journal {} does not match the backup file, ignoring it", journalPath);
+            return false;
+        }
+
+        Map<String, BibEntry> entriesByReference = new HashMap<>();
+        for (int i = 0; i < snapshotEntries.size(); i++) {
+            entriesByReference.put(BackupJournal.getSnapshotReference(i), snapshotEntries.get(i));
+        }
+        for (BackupJournal.Record record : journal.get().getRecords()) {
+            if (record.getType() == BackupJournal.RecordType.DELETE) {
+                BibEntry removedEntry = entriesByReference.remove(record.getReference());
+                if (removedEntry != null) {
+                    database.removeEntry(removedEntry);
+                }
+                continue;
+            }
+
+            Optional<BibEntry> journaledEntry;
+            try {
+                journaledEntry = BibtexParser.singleFromString(record.getEntry(), importFormatPreferences, new DummyFileUpdateMonitor());
+            } catch (ParseException e) {
+                LOGGER.warn("Could not parse entry of backup journal {}", journalPath, e);
+                continue;
+            }
+            journaledEntry.ifPresent(entry -> {
+                BibEntry previousEntry = entriesByReference.get(record.getReference());
+                if (previousEntry == null) {
+                    database.insertEntry(entry);
+                    entriesByReference.put(record.getReference(), entry);
+                } else {
+                    replaceContent(previousEntry, entry);
+                }
+            });
+        }
+
+        Charset charset = parserResult.getMetaData().getEncoding().orElse(preferences.getDefaultEncoding());
+        SavePreferences savePreferences = preferences.getSavePreferences()
+                                                     .withEncoding(charset)
+                                                     .withMakeBackup(false);
+        new BibtexDatabaseWriter(new AtomicFileWriter(targetPath, charset), savePreferences, entryTypesManager)
+                .saveDatabase(parserResult.getDatabaseContext());
+        return true;
+    }
+
+    private static void replaceContent(BibEntry entry, BibEntry newContent) {
+        entry.setType(newContent.getType());
+        for (Field field : new ArrayList<>(entry.getFields())) {
+            if (!newContent.hasField(field)) {
+                entry.clearField(field);
+            }
+        }
+        entry.setField(newContent.getFieldMap());
+    }
+
     private Optional<Path> determineBackupPath() {
         return bibDatabaseContext.getDatabasePath().map(BackupManager::getBackupPath);
     }
 
     private void performBackup(Path backupPath) {
+        Map<BibEntry, Boolean> entryChanges;
+        boolean writeSnapshot;
+        synchronized (this) {
+            entryChanges = new IdentityHashMap<>(pendingEntryChanges);
+            pendingEntryChanges.clear();
+            writeSnapshot = snapshotRequired
+                    || (journalSize > Math.max(MIN_JOURNAL_COMPACTION_SIZE, snapshotSize * JOURNAL_COMPACTION_RATIO))
+                    || !Files.exists(BackupJournal.getJournalPath(backupPath));
+            snapshotRequired = false;
+        }
+
+        if (!writeSnapshot) {
+            try {
+                appendToJournal(backupPath, entryChanges);
+                return;
+            } catch (IOException e) {
+                LOGGER.warn("Could not append to the backup journal, writing a full backup instead", e);
+            }
+        }
+        writeSnapshot(backupPath);
+    }
+
+    /**
+     * Writes the complete database to the backup file and starts a new journal.
+     */
+    private void writeSnapshot(Path backupPath) {
         try {
             Charset charset = bibDatabaseContext.getMetaData().getEncoding().orElse(preferences.getDefaultEncoding());
             SavePreferences savePreferences = preferences.getSavePreferences()
                                                          .withEncoding(charset)
                                                          .withMakeBackup(false);
-            new BibtexDatabaseWriter(new AtomicFileWriter(backupPath, savePreferences.getEncoding()), savePreferences, entryTypesManager)
-                    .saveDatabase(bibDatabaseContext);
+            // The entries are collected in the order they are written, which is the order they are parsed in again
+            List<BibEntry> writtenEntries = new ArrayList<>();
+            new BibtexDatabaseWriter(new AtomicFileWriter(backupPath, savePreferences.getEncoding()), savePreferences, entryTypesManager) {
+                @Override
+                protected void writeEntry(BibEntry entry, BibDatabaseMode mode) throws IOException {
+                    super.writeEntry(entry, mode);
+                    writtenEntries.add(entry);
+                }
+            }.saveDatabase(bibDatabaseContext);
+
+            Path journalPath = BackupJournal.getJournalPath(backupPath);
+            BackupJournal.reset(journalPath, writtenEntries.size(), BackupJournal.checksum(backupPath));
+            journalReferences.clear();
+            for (int i = 0; i < writtenEntries.size(); i++) {
+                journalReferences.put(writtenEntries.get(i), BackupJournal.getSnapshotReference(i));
+            }
+            numberOfNewEntries = 0;
+            snapshotSize = Files.size(backupPath);
+            journalSize = Files.size(journalPath);
         } catch (IOException e) {
+            synchronized (this) {
+                snapshotRequired = true;
+            }
             logIfCritical(backupPath, e);
         }
     }
 
+    /**
+     * Appends the current state of the given entries to the journal.
+     *
+     * @param entryChanges the changed entries, mapped to whether they are still part of the database
+     */
+    private void appendToJournal(Path backupPath, Map<BibEntry, Boolean> entryChanges) throws IOException {
+        if (entryChanges.isEmpty()) {
+            return;
+        }
+
+        Charset charset = bibDatabaseContext.getMetaData().getEncoding().orElse(preferences.getDefaultEncoding());
+        SavePreferences savePreferences = preferences.getSavePreferences().withEncoding(charset);
+        BibEntryWriter entryWriter = new BibEntryWriter(new FieldWriter(savePreferences.getFieldWriterPreferences()), entryTypesManager);
+
+        List<BackupJournal.Record> records = new ArrayList<>();
+        for (Map.Entry<BibEntry, Boolean> entryChange : entryChanges.entrySet()) {
+            BibEntry entry = entryChange.getKey();
+            if (entryChange.getValue()) {
+                StringWriter serializedEntry = new StringWriter();
+                try {
+                    entryWriter.write(entry, serializedEntry, bibDatabaseContext.getMode());
+                } catch (IOException e) {
+                    logIfCritical(backupPath, e);
+                    continue;
+                }
+                String reference = journalReferences.computeIfAbsent(entry, newEntry -> BackupJournal.getNewEntryReference(numberOfNewEntries++));
+                records.add(BackupJournal.Record.put(reference, serializedEntry.toString()));
+            } else {
+                String reference = journalReferences.remove(entry);
+                if (reference != null) {
+                    records.add(BackupJournal.Record.delete(reference));
+                }
+            }
+        }
+
+        if (!records.isEmpty()) {
+            journalSize += BackupJournal.append(BackupJournal.getJournalPath(backupPath), records);
+        }
+    }
+
     private void logIfCritical(Path backupPath, IOException e) {
         Throwable innermostCause = e;
         while (innermostCause.getCause() != null) {
@@ -155,14 +376,33 @@ public class BackupManager {
     }
 
     @Subscribe
-    public synchronized void listen(@SuppressWarnings("unused") BibDatabaseContextChangedEvent event) {
+    public synchronized void listen(BibDatabaseContextChangedEvent event) {
+        // Also changes filtered out are recorded, as they are not contained in any later event
+        recordChange(event);
         if (!event.isFilteredOut()) {
             startBackupTask();
         }
     }
 
+    private void recordChange(BibDatabaseContextChangedEvent event) {
+        if (event instanceof EntriesAddedEvent) {
+            ((EntriesAddedEvent) event).getBibEntries().forEach(entry -> pendingEntryChanges.put(entry, true));
+        } else if (event instanceof EntriesRemovedEvent) {
+            ((EntriesRemovedEvent) event).getBibEntries().forEach(entry -> pendingEntryChanges.put(entry, false));
+        } else if (event instanceof EntryChangedEvent) {
+            pendingEntryChanges.put(((EntryChangedEvent) event).getBibEntry(), true);
+        } else {
+            // Changes of meta data, strings or the preamble are not journaled
+            snapshotRequired = true;
+        }
+    }
+
     private void startBackupTask() {
-        throttler.schedule(() -> determineBackupPath().ifPresent(this::performBackup));
+        throttler.schedule(() -> determineBackupPath().ifPresentOrElse(this::performBackup, this::discardPendingChanges));
+    }
+
+    private synchronized void discardPendingChanges() {
+        pendingEntryChanges.clear();
     }
 
     /**
@@ -181,6 +421,7 @@ public class BackupManager {
             if (Files.exists(backupPath) && !Files.isDirectory(backupPath)) {
                 Files.delete(backupPath);
             }
+            Files.deleteIfExists(BackupJournal.getJournalPath(backupPath));
         } catch (IOException e) {
             LOGGER.error("Error while deleting the backup file.", e);
         }
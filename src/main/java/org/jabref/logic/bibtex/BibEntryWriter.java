@@ -8,10 +8,11 @@ import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.SortedSet;
-import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -24,12 +25,21 @@ import org.jabref.model.entry.BibEntryTypesManager;
 import org.jabref.model.entry.field.BibField;
 import org.jabref.model.entry.field.Field;
 import org.jabref.model.entry.field.InternalField;
+import org.jabref.model.entry.types.EntryType;
 import org.jabref.model.strings.StringUtil;
 
+/**
+ * Writes entries in BibTeX format.
+ * <p>
+ * The order of the fields of each entry type is determined once per writer. The serialization of an entry is cached
+ * in the entry (see {@link BibEntry#getCachedSerialization(Object)}), so that an entry is only serialized again if it
+ * changed or if it is written using different settings, e.g., when all entries are reformatted on each save.
+ */
 public class BibEntryWriter {
 
     private final BibEntryTypesManager entryTypesManager;
     private final FieldWriter fieldWriter;
+    private final Map<BibDatabaseMode, Map<EntryType, FieldLayout>> fieldLayouts = new ConcurrentHashMap<>();
 
     public BibEntryWriter(FieldWriter fieldWriter, BibEntryTypesManager entryTypesManager) {
         this.fieldWriter = fieldWriter;
@@ -59,9 +69,12 @@ public class BibEntryWriter {
      */
     public void write(BibEntry entry, Writer out, BibDatabaseMode bibDatabaseMode, Boolean reformat) throws IOException {
         // if the entry has not been modified, write it as it was
-        if (!reformat && !entry.hasChanged()) {
-            out.write(entry.getParsedSerialization());
-            return;
+        if (!reformat) {
+            Optional<String> parsedSerialization = entry.getUnchangedParsedSerialization();
+            if (parsedSerialization.isPresent()) {
+                out.write(parsedSerialization.get());
+                return;
+            }
         }
 
         writeUserComments(entry, out);
@@ -80,8 +93,9 @@ public class BibEntryWriter {
 
     public void writeWithoutPrependedNewlines(BibEntry entry, Writer out, BibDatabaseMode bibDatabaseMode) throws IOException {
         // if the entry has not been modified, write it as it was
-        if (!entry.hasChanged()) {
-            out.write(entry.getParsedSerialization().trim());
+        Optional<String> parsedSerialization = entry.getUnchangedParsedSerialization();
+        if (parsedSerialization.isPresent()) {
+            out.write(parsedSerialization.get().trim());
             return;
         }
 
@@ -93,57 +107,56 @@ public class BibEntryWriter {
      */
     private void writeRequiredFieldsFirstRemainingFieldsSecond(BibEntry entry, Writer out,
                                                                BibDatabaseMode bibDatabaseMode) throws IOException {
+        FieldLayout layout = getFieldLayout(entry.getType(), bibDatabaseMode);
+        SerializationSettings settings = new SerializationSettings(bibDatabaseMode, fieldWriter.getPreferences(), layout.type);
+        // Read before the entry is serialized, so that a serialization missing a concurrent change is not cached
+        long modificationCount = entry.getModificationCount();
+        Optional<String> cachedSerialization = entry.getCachedSerialization(settings);
+        if (cachedSerialization.isPresent()) {
+            out.write(cachedSerialization.get());
+            return;
+        }
+
+        StringWriter serialization = new StringWriter();
+
         // Write header with type and bibtex-key
         TypedBibEntry typedEntry = new TypedBibEntry(entry, bibDatabaseMode);
-        out.write('@' + typedEntry.getTypeForDisplay() + '{');
+        serialization.write('@' + typedEntry.getTypeForDisplay() + '{');
 
-        writeKeyField(entry, out);
+        writeKeyField(entry, serialization);
 
-        Set<Field> written = new HashSet<>();
-        written.add(InternalField.KEY_FIELD);
         int indentation = getLengthOfLongestFieldName(entry);
 
-        Optional<BibEntryType> type = entryTypesManager.enrich(entry.getType(), bibDatabaseMode);
-        if (type.isPresent()) {
-            // Write required fields first
-            List<Field> requiredFields = type.get()
-                                             .getRequiredFields()
-                                             .stream()
-                                             .flatMap(Collection::stream)
-                                             .sorted(Comparator.comparing(Field::getName))
-                                             .collect(Collectors.toList());
-
-            for (Field field : requiredFields) {
-                writeField(entry, out, field, indentation);
-            }
-
-            // Then optional fields
-            List<Field> optionalFields = type.get()
-                                             .getOptionalFields()
-                                             .stream()
-                                             .map(BibField::getField)
-                                             .sorted(Comparator.comparing(Field::getName))
-                                             .collect(Collectors.toList());
-
-            for (Field field : optionalFields) {
-                writeField(entry, out, field, indentation);
-            }
-
-            written.addAll(requiredFields);
-            written.addAll(optionalFields);
+        // Write required fields first, then optional fields
+        for (Field field : layout.requiredFields) {
+            writeField(entry, serialization, field, indentation);
+        }
+        for (Field field : layout.optionalFields) {
+            writeField(entry, serialization, field, indentation);
         }
+
         // Then write remaining fields in alphabetic order.
-        SortedSet<Field> remainingFields = entry.getFields()
-                                                .stream()
-                                                .filter(key -> !written.contains(key))
-                                                .collect(Collectors.toCollection(() -> new TreeSet<>(Comparator.comparing(Field::getName))));
+        List<Field> remainingFields = entry.getFields()
+                                           .stream()
+                                           .filter(key -> !layout.writtenFields.contains(key))
+                                           .sorted(Comparator.comparing(Field::getName))
+                                           .collect(Collectors.toList());
 
         for (Field field : remainingFields) {
-            writeField(entry, out, field, indentation);
+            writeField(entry, serialization, field, indentation);
         }
 
         // Finally, end the entry.
-        out.write('}');
+        serialization.write('}');
+
+        String serializedEntry = serialization.toString();
+        entry.setCachedSerialization(settings, serializedEntry, modificationCount);
+        out.write(serializedEntry);
+    }
+
+    private FieldLayout getFieldLayout(EntryType entryType, BibDatabaseMode bibDatabaseMode) {
+        return fieldLayouts.computeIfAbsent(bibDatabaseMode, mode -> new ConcurrentHashMap<>())
+                           .computeIfAbsent(entryType, type -> new FieldLayout(entryTypesManager.enrich(type, bibDatabaseMode)));
     }
 
     private void writeKeyField(BibEntry entry, Writer out) throws IOException {
@@ -202,4 +215,70 @@ public class BibEntryWriter {
         String fieldName = field.getName();
         return fieldName.toLowerCase(Locale.ROOT) + StringUtil.repeatSpaces(intendation - fieldName.length()) + " = ";
     }
+
+    /**
+     * The order in which the fields of an entry type are written.
+     */
+    private static class FieldLayout {
+
+        private final Optional<BibEntryType> type;
+        private final List<Field> requiredFields;
+        private final List<Field> optionalFields;
+        // The citation key and the fields of the type, the other fields are written afterwards
+        private final Set<Field> writtenFields = new HashSet<>();
+
+        public FieldLayout(Optional<BibEntryType> type) {
+            this.type = type;
+            requiredFields = type.map(entryType -> entryType.getRequiredFields()
+                                                            .stream()
+                                                            .flatMap(Collection::stream)
+                                                            .sorted(Comparator.comparing(Field::getName))
+                                                            .collect(Collectors.toList()))
+                                 .orElse(List.of());
+            optionalFields = type.map(entryType -> entryType.getOptionalFields()
+                                                            .stream()
+                                                            .map(BibField::getField)
+                                                            .sorted(Comparator.comparing(Field::getName))
+                                                            .collect(Collectors.toList()))
+                                 .orElse(List.of());
+            writtenFields.add(InternalField.KEY_FIELD);
+            writtenFields.addAll(requiredFields);
+            writtenFields.addAll(optionalFields);
+        }
+    }
+
+    /**
+     * All settings the serialization of an entry depends on besides the entry itself.
+     */
+    private static class SerializationSettings {
+
+        private final BibDatabaseMode mode;
+        private final FieldWriterPreferences fieldWriterPreferences;
+        private final Optional<BibEntryType> type;
+
+        public SerializationSettings(BibDatabaseMode mode, FieldWriterPreferences fieldWriterPreferences, Optional<BibEntryType> type) {
+            this.mode = mode;
+            this.fieldWriterPreferences = fieldWriterPreferences;
+            this.type = type;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if ((o == null) || (getClass() != o.getClass())) {
+                return false;
+            }
+            SerializationSettings that = (SerializationSettings) o;
+            return (mode == that.mode)
+                    && Objects.equals(fieldWriterPreferences, that.fieldWriterPreferences)
+                    && Objects.equals(type, that.type);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(mode, fieldWriterPreferences, type);
+        }
+    }
 }
@@ -38,6 +38,10 @@ public class FieldWriter {
         return new FieldWriter(true, prefs);
     }
 
+    FieldWriterPreferences getPreferences() {
+        return preferences;
+    }
+
     private static void checkBraces(String text) throws InvalidFieldValueException {
         int left = 0;
         int right = 0;
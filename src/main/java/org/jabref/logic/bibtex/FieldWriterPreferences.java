@@ -2,6 +2,7 @@ package org.jabref.logic.bibtex;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 
 import org.jabref.model.entry.field.Field;
 
@@ -43,4 +44,23 @@ public class FieldWriterPreferences {
     public FieldContentFormatterPreferences getFieldContentFormatterPreferences() {
         return fieldContentFormatterPreferences;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if ((o == null) || (getClass() != o.getClass())) {
+            return false;
+        }
+        FieldWriterPreferences that = (FieldWriterPreferences) o;
+        return (resolveStringsAllFields == that.resolveStringsAllFields)
+                && Objects.equals(doNotResolveStringsFor, that.doNotResolveStringsFor)
+                && Objects.equals(fieldContentFormatterPreferences, that.fieldContentFormatterPreferences);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(resolveStringsAllFields, doNotResolveStringsFor, fieldContentFormatterPreferences);
+    }
 }
@@ -49,7 +49,11 @@ public class BstPreviewLayout implements PreviewLayout {
         // ensure that the entry is of BibTeX format (and do not modify the original entry)
         BibEntry entry = (BibEntry) originalEntry.clone();
         new ConvertToBibtexCleanup().cleanup(entry);
-        String result = vm.run(List.of(entry));
+        String result;
+        // The compiled style is reused for all previews, but the VM must not run several times at once
+        synchronized (vm) {
+            result = vm.run(List.of(entry));
+        }
         // Remove all comments
         result = result.replaceAll("%.*", "");
         // Remove all LaTeX comments
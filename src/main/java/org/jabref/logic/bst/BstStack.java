@@ -0,0 +1,101 @@
+package org.jabref.logic.bst;
+
+import java.util.Arrays;
+import java.util.EmptyStackException;
+
+/**
+ * The literal stack of the {@link VM}.
+ * <p>
+ * In contrast to {@link java.util.Stack}, this stack is not synchronized, as a VM is used by one thread at a time.
+ * Integers are kept as primitive values, so that integer operations like comparisons do not need to box their
+ * operands and results. {@link #pop()} returns them as {@link Integer}s. All other literals (strings, identifiers,
+ * functions, and null for missing fields) are kept as objects.
+ */
+public class BstStack {
+
+    private static final int INITIAL_CAPACITY = 32;
+
+    // Marks a slot holding an integer in integers
+    private static final Object INTEGER = new Object();
+
+    private Object[] values = new Object[INITIAL_CAPACITY];
+    private int[] integers = new int[INITIAL_CAPACITY];
+    private int size;
+
+    public void push(Object value) {
+        if (value instanceof Integer) {
+            push(((Integer) value).intValue());
+            return;
+        }
+        ensureCapacity();
+        values[size++] = value;
+    }
+
+    public void push(int value) {
+        ensureCapacity();
+        values[size] = INTEGER;
+        integers[size] = value;
+        size++;
+    }
+
+    /**
+     * Removes the literal on top of the stack and returns it.
+     *
+     * @throws EmptyStackException if the stack is empty
+     */
+    public Object pop() {
+        if (size == 0) {
+            throw new EmptyStackException();
+        }
+        size--;
+        Object value = values[size];
+        values[size] = null;
+        if (value == INTEGER) {
+            return integers[size];
+        }
+        return value;
+    }
+
+    /**
+     * Removes the integer on top of the stack and returns it. Use {@link #isInteger(int)} to check the type of the
+     * literal before.
+     *
+     * @throws VMException if the literal on top of the stack is not an integer
+     */
+    public int popInteger() {
+        if (!isInteger(0)) {
+            throw new VMException("Expecting an integer on top of the stack but was " + pop());
+        }
+        size--;
+        values[size] = null;
+        return integers[size];
+    }
+
+    /**
+     * Returns whether the literal at the given depth (0 being the top of the stack) is an integer.
+     */
+    public boolean isInteger(int depth) {
+        int index = size - 1 - depth;
+        return (index >= 0) && (values[index] == INTEGER);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(values, 0, size, null);
+        size = 0;
+    }
+
+    private void ensureCapacity() {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+            integers = Arrays.copyOf(integers, size * 2);
+        }
+    }
+}
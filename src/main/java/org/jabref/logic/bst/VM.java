@@ -6,11 +6,11 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Stack;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -41,6 +41,9 @@ import org.slf4j.LoggerFactory;
  * Documentation can be found in the original bibtex distribution:
  * <p>
  * https://www.ctan.org/pkg/bibtex
+ * <p>
+ * The functions of the .bst file are compiled to a sequence of instructions once (see {@link StackFunction}) and
+ * reused by all calls of {@link #run(Collection, BibDatabase)}. A VM must not be used by several threads at once.
  */
 public class VM implements Warn {
 
@@ -60,7 +63,7 @@ public class VM implements Warn {
 
     private Map<String, BstFunction> functions = new HashMap<>();
 
-    private Stack<Object> stack = new Stack<>();
+    private final BstStack stack = new BstStack();
 
     private final Map<String, BstFunction> buildInFunctions;
 
@@ -68,6 +71,12 @@ public class VM implements Warn {
 
     private final CommonTree tree;
 
+    // The compiled functions by their body in the tree, kept for all runs
+    private final Map<Tree, StackFunction> compiledFunctions = new IdentityHashMap<>();
+
+    // Incremented whenever a variable or a function is declared, so that the compiled references to names are resolved again
+    private int declarationVersion;
+
     private StringBuilder bbl;
 
     private String preamble = "";
@@ -130,14 +139,13 @@ public class VM implements Warn {
             if (stack.size() < 2) {
                 throw new VMException("Not enough operands on stack for operation >");
             }
-            Object o2 = stack.pop();
-            Object o1 = stack.pop();
-
-            if (!((o1 instanceof Integer) && (o2 instanceof Integer))) {
+            if (!(stack.isInteger(0) && stack.isInteger(1))) {
                 throw new VMException("Can only compare two integers with >");
             }
+            int o2 = stack.popInteger();
+            int o1 = stack.popInteger();
 
-            stack.push(((Integer) o1).compareTo((Integer) o2) > 0 ? VM.TRUE : VM.FALSE);
+            stack.push(o1 > o2 ? VM.TRUE : VM.FALSE);
         });
 
         /* Analogous to >. */
@@ -145,14 +153,13 @@ public class VM implements Warn {
             if (stack.size() < 2) {
                 throw new VMException("Not enough operands on stack for operation <");
             }
-            Object o2 = stack.pop();
-            Object o1 = stack.pop();
-
-            if (!((o1 instanceof Integer) && (o2 instanceof Integer))) {
+            if (!(stack.isInteger(0) && stack.isInteger(1))) {
                 throw new VMException("Can only compare two integers with <");
             }
+            int o2 = stack.popInteger();
+            int o1 = stack.popInteger();
 
-            stack.push(((Integer) o1).compareTo((Integer) o2) < 0 ? VM.TRUE : VM.FALSE);
+            stack.push(o1 < o2 ? VM.TRUE : VM.FALSE);
         });
 
         /*
@@ -163,6 +170,10 @@ public class VM implements Warn {
             if (stack.size() < 2) {
                 throw new VMException("Not enough operands on stack for operation =");
             }
+            if (stack.isInteger(0) && stack.isInteger(1)) {
+                stack.push(stack.popInteger() == stack.popInteger() ? VM.TRUE : VM.FALSE);
+                return;
+            }
             Object o1 = stack.pop();
             Object o2 = stack.pop();
 
@@ -184,14 +195,13 @@ public class VM implements Warn {
             if (stack.size() < 2) {
                 throw new VMException("Not enough operands on stack for operation +");
             }
-            Object o2 = stack.pop();
-            Object o1 = stack.pop();
-
-            if (!((o1 instanceof Integer) && (o2 instanceof Integer))) {
+            if (!(stack.isInteger(0) && stack.isInteger(1))) {
                 throw new VMException("Can only compare two integers with +");
             }
+            int o2 = stack.popInteger();
+            int o1 = stack.popInteger();
 
-            stack.push((Integer) o1 + (Integer) o2);
+            stack.push(o1 + o2);
         });
 
         /*
@@ -202,14 +212,13 @@ public class VM implements Warn {
             if (stack.size() < 2) {
                 throw new VMException("Not enough operands on stack for operation -");
             }
-            Object o2 = stack.pop();
-            Object o1 = stack.pop();
-
-            if (!((o1 instanceof Integer) && (o2 instanceof Integer))) {
+            if (!(stack.isInteger(0) && stack.isInteger(1))) {
                 throw new VMException("Can only subtract two integers with -");
             }
+            int o2 = stack.popInteger();
+            int o1 = stack.popInteger();
 
-            stack.push((Integer) o1 - (Integer) o2);
+            stack.push(o1 - o2);
         });
 
         /*
@@ -364,8 +373,7 @@ public class VM implements Warn {
             Object f2 = stack.pop();
             Object i = stack.pop();
 
-            if (!((f1 instanceof Identifier) || (f1 instanceof Tree))
-                    && ((f2 instanceof Identifier) || (f2 instanceof Tree)) && (i instanceof Integer)) {
+            if (!isFunction(f1) && isFunction(f2) && (i instanceof Integer)) {
                 throw new VMException("Expecting two functions and an integer for if$.");
             }
 
@@ -509,7 +517,7 @@ public class VM implements Warn {
          * designers while debugging.
          */
         buildInFunctions.put("stack$", context -> {
-            while (!stack.empty()) {
+            while (!stack.isEmpty()) {
                 LOGGER.debug("Stack entry {}", stack.pop());
             }
         });
@@ -709,19 +717,17 @@ public class VM implements Warn {
         Object f2 = stack.pop();
         Object f1 = stack.pop();
 
-        if (!((f1 instanceof Identifier) || (f1 instanceof Tree))
-                && ((f2 instanceof Identifier) || (f2 instanceof Tree))) {
+        if (!isFunction(f1) && isFunction(f2)) {
             throw new VMException("Expecting two functions for while$.");
         }
 
         do {
             VM.this.executeInContext(f1, context);
 
-            Object i = stack.pop();
-            if (!(i instanceof Integer)) {
-                throw new VMException("First parameter to while has to return an integer but was " + i);
+            if (!stack.isInteger(0)) {
+                throw new VMException("First parameter to while has to return an integer but was " + stack.pop());
             }
-            if ((Integer) i <= 0) {
+            if (stack.popInteger() <= 0) {
                 break;
             }
             VM.this.executeInContext(f2, context);
@@ -867,7 +873,8 @@ public class VM implements Warn {
         functions = new HashMap<>();
         functions.putAll(buildInFunctions);
 
-        stack = new Stack<>();
+        stack.clear();
+        declarationVersion++;
 
         // Create entries
         entries = new ArrayList<>(bibEntries.size());
@@ -963,6 +970,7 @@ public class VM implements Warn {
                 e.fields.put(StandardField.CROSSREF.getName(), null);
             }
         }
+        declarationVersion++;
     }
 
     /**
@@ -976,6 +984,7 @@ public class VM implements Warn {
         String name = child.getChild(0).getText();
         String replacement = child.getChild(1).getText();
         functions.put(name, new MacroFunction(replacement));
+        declarationVersion++;
     }
 
     public class MacroFunction implements BstFunction {
@@ -1033,6 +1042,7 @@ public class VM implements Warn {
         for (BstEntry entry : entries) {
             entry.localStrings.put("sort.key$", null);
         }
+        declarationVersion++;
     }
 
     private void reverse(Tree child) {
@@ -1060,8 +1070,14 @@ public class VM implements Warn {
         entries.sort(Comparator.comparing(o -> (o.localStrings.get("sort.key$"))));
     }
 
+    private static boolean isFunction(Object o) {
+        return (o instanceof Identifier) || (o instanceof StackFunction) || (o instanceof Tree);
+    }
+
     private void executeInContext(Object o, BstEntry context) {
-        if (o instanceof Tree) {
+        if (o instanceof StackFunction) {
+            ((StackFunction) o).execute(context);
+        } else if (o instanceof Tree) {
             Tree t = (Tree) o;
             new StackFunction(t).execute(context);
         } else if (o instanceof Identifier) {
@@ -1073,12 +1089,42 @@ public class VM implements Warn {
         execute(child.getChild(0).getText(), null);
     }
 
+    /**
+     * A function of the .bst file. Its body is compiled to a sequence of instructions when the function is created:
+     * The literals are converted once, the nested functions are compiled as well, and each name is resolved to the
+     * variable or function it refers to on its first execution (see {@link NameReference}).
+     */
     public class StackFunction implements BstFunction {
 
         private final Tree localTree;
+        private final BstFunction[] instructions;
 
         public StackFunction(Tree stack) {
             localTree = stack;
+            instructions = new BstFunction[stack.getChildCount()];
+            for (int i = 0; i < instructions.length; i++) {
+                instructions[i] = compile(stack.getChild(i));
+            }
+        }
+
+        private BstFunction compile(Tree c) {
+            switch (c.getType()) {
+                case BstParser.STRING:
+                    String s = c.getText();
+                    String string = s.substring(1, s.length() - 1);
+                    return context -> stack.push(string);
+                case BstParser.INTEGER:
+                    int integer = Integer.parseInt(c.getText().substring(1));
+                    return context -> stack.push(integer);
+                case BstParser.QUOTED:
+                    Identifier identifier = new Identifier(c.getText().substring(1));
+                    return context -> stack.push(identifier);
+                case BstParser.STACK:
+                    StackFunction function = new StackFunction(c);
+                    return context -> stack.push(function);
+                default:
+                    return new NameReference(c.getText());
+            }
         }
 
         public Tree getTree() {
@@ -1087,31 +1133,11 @@ public class VM implements Warn {
 
         @Override
         public void execute(BstEntry context) {
-
-            for (int i = 0; i < localTree.getChildCount(); i++) {
-
-                Tree c = localTree.getChild(i);
+            for (int i = 0; i < instructions.length; i++) {
                 try {
-
-                    switch (c.getType()) {
-                        case BstParser.STRING:
-                            String s = c.getText();
-                            push(s.substring(1, s.length() - 1));
-                            break;
-                        case BstParser.INTEGER:
-                            push(Integer.parseInt(c.getText().substring(1)));
-                            break;
-                        case BstParser.QUOTED:
-                            push(new Identifier(c.getText().substring(1)));
-                            break;
-                        case BstParser.STACK:
-                            push(c);
-                            break;
-                        default:
-                            VM.this.execute(c.getText(), context);
-                            break;
-                    }
+                    instructions[i].execute(context);
                 } catch (VMException e) {
+                    Tree c = localTree.getChild(i);
                     if (file == null) {
                         LOGGER.error("ERROR " + e.getMessage() + " (" + c.getLine() + ")");
                     } else {
@@ -1124,8 +1150,88 @@ public class VM implements Warn {
         }
     }
 
-    private void push(Tree t) {
-        stack.push(t);
+    /**
+     * A name in the body of a function. It is resolved as {@link #execute(String, BstEntry)} does, but only once for
+     * all entries and then again after a declaration, as all entries have the same variables.
+     */
+    private class NameReference implements BstFunction {
+
+        private final String name;
+
+        // The resolution within an entry context and without one, each valid for the declaration version
+        private final Resolution entryResolution = new Resolution();
+        private final Resolution globalResolution = new Resolution();
+
+        public NameReference(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void execute(BstEntry context) {
+            Resolution resolution = (context == null) ? globalResolution : entryResolution;
+            if (resolution.version != declarationVersion) {
+                resolution.resolve(name, context);
+            }
+
+            switch (resolution.kind) {
+                case FIELD:
+                    stack.push(context.fields.get(name));
+                    break;
+                case ENTRY_STRING:
+                    stack.push(context.localStrings.get(name));
+                    break;
+                case ENTRY_INTEGER:
+                    stack.push(context.localIntegers.get(name));
+                    break;
+                case GLOBAL_STRING:
+                    stack.push(strings.get(name));
+                    break;
+                case GLOBAL_INTEGER:
+                    stack.push(integers.get(name));
+                    break;
+                default:
+                    // OK to have a null context
+                    resolution.function.execute(context);
+                    break;
+            }
+        }
+    }
+
+    private enum NameKind {
+        FIELD,
+        ENTRY_STRING,
+        ENTRY_INTEGER,
+        GLOBAL_STRING,
+        GLOBAL_INTEGER,
+        FUNCTION
+    }
+
+    private class Resolution {
+
+        private int version = -1;
+        private NameKind kind;
+        private BstFunction function;
+
+        private void resolve(String name, BstEntry context) {
+            function = null;
+            if ((context != null) && context.fields.containsKey(name)) {
+                kind = NameKind.FIELD;
+            } else if ((context != null) && context.localStrings.containsKey(name)) {
+                kind = NameKind.ENTRY_STRING;
+            } else if ((context != null) && context.localIntegers.containsKey(name)) {
+                kind = NameKind.ENTRY_INTEGER;
+            } else if (strings.containsKey(name)) {
+                kind = NameKind.GLOBAL_STRING;
+            } else if (integers.containsKey(name)) {
+                kind = NameKind.GLOBAL_INTEGER;
+            } else if (functions.containsKey(name)) {
+                kind = NameKind.FUNCTION;
+                function = functions.get(name);
+            } else {
+                throw new VMException("No matching identifier found: " + name);
+            }
+            version = declarationVersion;
+        }
     }
 
     private void execute(String name, BstEntry context) {
@@ -1166,7 +1272,8 @@ public class VM implements Warn {
     private void function(Tree child) {
         String name = child.getChild(0).getText();
         Tree localStack = child.getChild(1);
-        functions.put(name, new StackFunction(localStack));
+        functions.put(name, compiledFunctions.computeIfAbsent(localStack, StackFunction::new));
+        declarationVersion++;
     }
 
     /**
@@ -1181,6 +1288,7 @@ public class VM implements Warn {
             String name = t.getChild(i).getText();
             integers.put(name, 0);
         }
+        declarationVersion++;
     }
 
     /**
@@ -1196,6 +1304,7 @@ public class VM implements Warn {
             String name = t.getChild(i).getText();
             strings.put(name, null);
         }
+        declarationVersion++;
     }
 
     public static class BstEntry {
@@ -1214,18 +1323,10 @@ public class VM implements Warn {
         }
     }
 
-    private void push(Integer integer) {
-        stack.push(integer);
-    }
-
     private void push(String string) {
         stack.push(string);
     }
 
-    private void push(Identifier identifier) {
-        stack.push(identifier);
-    }
-
     public Map<String, String> getStrings() {
         return strings;
     }
@@ -1242,7 +1343,7 @@ public class VM implements Warn {
         return functions;
     }
 
-    public Stack<Object> getStack() {
+    public BstStack getStack() {
         return stack;
     }
 
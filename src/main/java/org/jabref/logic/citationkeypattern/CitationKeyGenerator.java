@@ -1,12 +1,19 @@
 package org.jabref.logic.citationkeypattern;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
+import java.util.function.ToLongFunction;
 import java.util.regex.PatternSyntaxException;
+import java.util.stream.Collectors;
 
 import org.jabref.model.FieldChange;
 import org.jabref.model.database.BibDatabase;
@@ -132,7 +139,11 @@ public class CitationKeyGenerator extends BracketedPattern {
      * @return a key, if needed, with an appended letter
      */
     private String appendLettersToKey(String key, String oldKey) {
-        long occurrences = database.getNumberOfCitationKeyOccurrences(key);
+        return appendLettersToKey(key, oldKey, database::getNumberOfCitationKeyOccurrences);
+    }
+
+    private String appendLettersToKey(String key, String oldKey, ToLongFunction<String> numberOfOccurrences) {
+        long occurrences = numberOfOccurrences.applyAsLong(key);
 
         if (Objects.equals(oldKey, key)) {
             occurrences--; // No change, so we can accept one dupe.
@@ -153,7 +164,7 @@ public class CitationKeyGenerator extends BracketedPattern {
                 moddedKey = key + getAppendix(number);
                 number++;
 
-                occurrences = database.getNumberOfCitationKeyOccurrences(moddedKey);
+                occurrences = numberOfOccurrences.applyAsLong(moddedKey);
                 // only happens if #getAddition() is buggy
                 if (Objects.equals(oldKey, moddedKey)) {
                     occurrences--;
@@ -230,4 +241,40 @@ public class CitationKeyGenerator extends BracketedPattern {
         String newKey = generateKey(entry);
         return entry.setCitationKey(newKey);
     }
+
+    /**
+     * Generates citation keys for the given entries, and sets the keys. The keys are the same as if
+     * {@link #generateAndSetKey(BibEntry)} was called for each entry in the given order, except that the patterns are
+     * expanded based on the keys the entries had before. The patterns are expanded in parallel. Afterwards, the
+     * collisions are resolved in a single pass, in which the keys already set for entries not part of the database are
+     * taken into account as well.
+     *
+     * @param entries the entries to generate the keys for
+     * @return the changes to the keys, in the order of the entries
+     */
+    public List<FieldChange> generateAndSetKeys(List<BibEntry> entries) {
+        List<String> keys = entries.parallelStream()
+                                   .map(entry -> replaceWithRegex(createCitationKeyFromPattern(entry)))
+                                   .collect(Collectors.toList());
+
+        // Keys of entries of the database are counted by the database itself
+        Set<BibEntry> entriesOfDatabase = Collections.newSetFromMap(new IdentityHashMap<>());
+        entriesOfDatabase.addAll(database.getEntries());
+        Map<String, Integer> keysOfOtherEntries = new HashMap<>();
+        ToLongFunction<String> numberOfOccurrences = key -> database.getNumberOfCitationKeyOccurrences(key) + keysOfOtherEntries.getOrDefault(key, 0);
+
+        List<FieldChange> changes = new ArrayList<>();
+        for (int i = 0; i < entries.size(); i++) {
+            BibEntry entry = entries.get(i);
+            boolean isEntryOfDatabase = entriesOfDatabase.contains(entry);
+            String currentKey = isEntryOfDatabase ? entry.getCitationKey().orElse(null) : null;
+
+            String newKey = cleanKey(appendLettersToKey(keys.get(i), currentKey, numberOfOccurrences), unwantedCharacters);
+            if (!isEntryOfDatabase) {
+                keysOfOtherEntries.merge(newKey, 1, Integer::sum);
+            }
+            entry.setCitationKey(newKey).ifPresent(changes::add);
+        }
+        return changes;
+    }
 }
@@ -4,7 +4,6 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Objects;
 
 import org.jabref.logic.formatter.bibtexfields.RemoveNewlinesFormatter;
 import org.jabref.model.entry.BibEntry;
@@ -24,58 +23,63 @@ import org.jbibtex.DigitStringValue;
 import org.jbibtex.Key;
 
 /**
- * Provides an adapter class to CSL. It holds a CSL instance under the hood that is only recreated when
- * the style changes.
+ * Provides an adapter class to CSL. It holds a CSL instance for one style under the hood, whose output format can be
+ * changed.
  *
- * @apiNote The first call to {@link #makeBibliography} is expensive since the
- * CSL instance will be created. As long as the style stays the same, we can reuse this instance. On style-change, the
- * engine is re-instantiated. Therefore, the use-case of this class is many calls to {@link #makeBibliography} with the
- * same style. Changing the output format is cheap.
- * @implNote The main function {@link #makeBibliography} will enforce
- * synchronized calling. The main CSL engine under the hood is not thread-safe. Since this class is usually called from
- * a BackgroundTakk, the only other option would be to create several CSL instances which is wasting a lot of resources and very slow.
- * In the current scheme, {@link #makeBibliography} can be called as usual
- * background task and to the best of my knowledge, concurrent calls will pile up and processed sequentially.
+ * @apiNote Creating an adapter is expensive since the CSL instance is created. Therefore, adapters should be reused
+ * for many calls to {@link #makeBibliography} with the same style, which is what {@link CSLAdapterPool} is for.
+ * @implNote The main CSL engine under the hood is not thread-safe. Thus, {@link #makeBibliography} is synchronized.
+ * To render citations concurrently, several adapters for the same style are needed.
  */
 public class CSLAdapter {
 
     private static final BibTeXConverter BIBTEX_CONVERTER = new BibTeXConverter();
     private final JabRefItemDataProvider dataProvider = new JabRefItemDataProvider();
-    private String style;
+    private final String style;
     private CitationStyleOutputFormat format;
-    private CSL cslInstance;
+    private final CSL cslInstance;
+
+    /**
+     * @param style  journal style of the output
+     * @param format usually HTML or RTF.
+     * @throws IOException An error occurred in the underlying JavaScript framework
+     */
+    public CSLAdapter(String style, CitationStyleOutputFormat format) throws IOException {
+        this.style = style;
+        this.format = format;
+        // lang and forceLang are set to the default values of other CSL constructors
+        cslInstance = new CSL(dataProvider, new JabRefLocaleProvider(),
+                new DefaultAbbreviationProvider(), style, "en-US");
+        cslInstance.setOutputFormat(format.getFormat());
+    }
 
     /**
      * Creates the bibliography of the provided items. This method needs to run synchronized because the underlying
      * CSL engine is not thread-safe.
      */
-    public synchronized List<String> makeBibliography(List<BibEntry> bibEntries, String style, CitationStyleOutputFormat outputFormat) throws IOException, IllegalArgumentException {
+    public synchronized List<String> makeBibliography(List<BibEntry> bibEntries) throws IllegalArgumentException {
         dataProvider.setData(bibEntries);
-        initialize(style, outputFormat);
         cslInstance.registerCitationItems(dataProvider.getIds());
         final Bibliography bibliography = cslInstance.makeBibliography();
         return Arrays.asList(bibliography.getEntries());
     }
 
     /**
-     * Initialized the static CSL instance if needed.
-     *
-     * @param newStyle  journal style of the output
-     * @param newFormat usually HTML or RTF.
-     * @throws IOException An error occurred in the underlying JavaScript framework
+     * Changes the output format of the following calls to {@link #makeBibliography}.
      */
-    private void initialize(String newStyle, CitationStyleOutputFormat newFormat) throws IOException {
-        if ((cslInstance == null) || !Objects.equals(newStyle, style)) {
-            // lang and forceLang are set to the default values of other CSL constructors
-            cslInstance = new CSL(dataProvider, new JabRefLocaleProvider(),
-                    new DefaultAbbreviationProvider(), newStyle, "en-US");
-            style = newStyle;
+    public synchronized void setOutputFormat(CitationStyleOutputFormat format) {
+        if (this.format != format) {
+            this.format = format;
+            cslInstance.setOutputFormat(format.getFormat());
         }
+    }
 
-        if (!Objects.equals(newFormat, format)) {
-            cslInstance.setOutputFormat(newFormat.getFormat());
-            format = newFormat;
-        }
+    public String getStyle() {
+        return style;
+    }
+
+    public synchronized CitationStyleOutputFormat getFormat() {
+        return format;
     }
 
     /**
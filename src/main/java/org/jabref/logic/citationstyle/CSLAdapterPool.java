@@ -0,0 +1,169 @@
+package org.jabref.logic.citationstyle;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Keeps idle {@link CSLAdapter}s so that they can be reused for the same style. The output format of an adapter is
+ * changed as requested, so that all output formats share the adapters of a style.
+ * <p>
+ * An adapter is used by one caller at a time: it is taken from the pool by {@link #borrow}, and given back by
+ * {@link #release} or, if it failed, {@link #discard} after use. If there is no idle adapter for the requested style, a
+ * new one is created. At most {@code maximumAdapters} adapters exist at once, borrowed and idle ones together: callers
+ * wait if all of them are borrowed, and idle adapters of other styles are dropped to make room for a new one, the ones
+ * which were not used for the longest time first. Adapters which were not used for longer than {@code idleTimeout} are
+ * dropped as well.
+ */
+public class CSLAdapterPool {
+
+    private final int maximumAdapters;
+    private final long idleTimeoutNanos;
+    // Each borrowed adapter holds a permit
+    private final Semaphore borrowPermits;
+
+    // The idle adapters by style, the most recently used one first. Guarded by this.
+    private final Map<String, Deque<IdleAdapter>> idleAdapters = new HashMap<>();
+    private int numberOfIdleAdapters;
+    private int numberOfBorrowedAdapters;
+    // Orders the idle adapters by the time of their release, as System.nanoTime() may return the same value twice
+    private long numberOfReleases;
+
+    public CSLAdapterPool(int maximumAdapters, Duration idleTimeout) {
+        this.maximumAdapters = maximumAdapters;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.borrowPermits = new Semaphore(maximumAdapters, true);
+    }
+
+    /**
+     * Takes an idle adapter for the given style from the pool and sets its output format, or creates a new one if
+     * there is none. Waits until an adapter is given back if all adapters are borrowed.
+     *
+     * @throws IOException An error occurred while creating the adapter, or the thread was interrupted while waiting
+     */
+    public CSLAdapter borrow(String style, CitationStyleOutputFormat format) throws IOException {
+        try {
+            borrowPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a CSL adapter");
+        }
+
+        synchronized (this) {
+            numberOfBorrowedAdapters++;
+            evictExpiredAdapters(System.nanoTime());
+            Deque<IdleAdapter> adapters = idleAdapters.get(style);
+            if ((adapters != null) && !adapters.isEmpty()) {
+                numberOfIdleAdapters--;
+                CSLAdapter adapter = adapters.removeFirst().adapter;
+                if (adapters.isEmpty()) {
+                    idleAdapters.remove(style);
+                }
+                adapter.setOutputFormat(format);
+                return adapter;
+            }
+            while ((numberOfIdleAdapters > 0) && ((numberOfIdleAdapters + numberOfBorrowedAdapters) > maximumAdapters)) {
+                evictLeastRecentlyUsedAdapter();
+            }
+        }
+
+        // Creating the CSL instance takes a while, so other callers should not wait for it
+        boolean created = false;
+        try {
+            CSLAdapter adapter = new CSLAdapter(style, format);
+            created = true;
+            return adapter;
+        } finally {
+            if (!created) {
+                returnPermit();
+            }
+        }
+    }
+
+    /**
+     * Gives an adapter back to the pool after use.
+     */
+    public synchronized void release(CSLAdapter adapter) {
+        long now = System.nanoTime();
+        idleAdapters.computeIfAbsent(adapter.getStyle(), style -> new ArrayDeque<>())
+                    .addFirst(new IdleAdapter(adapter, now, numberOfReleases++));
+        numberOfIdleAdapters++;
+        returnPermit();
+
+        evictExpiredAdapters(now);
+        while ((numberOfIdleAdapters > 0) && ((numberOfIdleAdapters + numberOfBorrowedAdapters) > maximumAdapters)) {
+            evictLeastRecentlyUsedAdapter();
+        }
+    }
+
+    /**
+     * Drops an adapter which failed instead of giving it back to the pool, as the state of its CSL engine is unknown.
+     */
+    public void discard(CSLAdapter adapter) {
+        returnPermit();
+    }
+
+    private synchronized void returnPermit() {
+        numberOfBorrowedAdapters--;
+        borrowPermits.release();
+    }
+
+    public synchronized int getNumberOfIdleAdapters() {
+        return numberOfIdleAdapters;
+    }
+
+    private void evictExpiredAdapters(long now) {
+        Iterator<Deque<IdleAdapter>> iterator = idleAdapters.values().iterator();
+        while (iterator.hasNext()) {
+            Deque<IdleAdapter> adapters = iterator.next();
+            while (!adapters.isEmpty() && ((now - adapters.getLast().idleSince) > idleTimeoutNanos)) {
+                adapters.removeLast();
+                numberOfIdleAdapters--;
+            }
+            if (adapters.isEmpty()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private void evictLeastRecentlyUsedAdapter() {
+        String leastRecentlyUsed = null;
+        long leastRecentRelease = Long.MAX_VALUE;
+        for (Map.Entry<String, Deque<IdleAdapter>> entry : idleAdapters.entrySet()) {
+            long release = entry.getValue().getLast().release;
+            if (release < leastRecentRelease) {
+                leastRecentlyUsed = entry.getKey();
+                leastRecentRelease = release;
+            }
+        }
+        if (leastRecentlyUsed == null) {
+            return;
+        }
+
+        Deque<IdleAdapter> adapters = idleAdapters.get(leastRecentlyUsed);
+        adapters.removeLast();
+        numberOfIdleAdapters--;
+        if (adapters.isEmpty()) {
+            idleAdapters.remove(leastRecentlyUsed);
+        }
+    }
+
+    private static class IdleAdapter {
+
+        private final CSLAdapter adapter;
+        private final long idleSince;
+        private final long release;
+
+        public IdleAdapter(CSLAdapter adapter, long idleSince, long release) {
+            this.adapter = adapter;
+            this.idleSince = idleSince;
+            this.release = release;
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package org.jabref.logic.citationstyle;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.jabref.logic.l10n.Localization;
 import org.jabref.model.entry.BibEntry;
@@ -13,12 +17,21 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Facade to unify the access to the citation style engine. Use these methods if you need rendered BibTeX item(s) in a
- * given journal style. This class uses {@link CSLAdapter} to create output.
+ * given journal style. This class uses {@link CSLAdapter}s to create output, which are kept in a {@link CSLAdapterPool}
+ * so that citations can be generated concurrently.
  */
 public class CitationStyleGenerator {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(CitationStyleGenerator.class);
-    private static final CSLAdapter CSL_ADAPTER = new CSLAdapter();
+    // Each adapter holds a JavaScript engine, so only few of them are used at once and kept while idle
+    private static final int MAXIMUM_ADAPTERS = Math.min(4, Runtime.getRuntime().availableProcessors());
+    private static final CSLAdapterPool CSL_ADAPTER_POOL = new CSLAdapterPool(MAXIMUM_ADAPTERS, Duration.ofMinutes(2));
+    // Creating another adapter only pays off if it renders enough entries
+    private static final int MINIMUM_ENTRIES_PER_TASK = 20;
+    // Style features making the citation of an entry depend on the other entries of the bibliography
+    private static final List<String> BIBLIOGRAPHY_DEPENDENT_FEATURES = List.of("citation-number", "year-suffix", "subsequent-author-substitute", "disambiguate");
+    // The bibliography is the last element of a style, so a sort following its start sorts the bibliography
+    private static final Pattern BIBLIOGRAPHY_SORT = Pattern.compile("<bibliography\\b.*<sort\\b", Pattern.DOTALL);
 
     private CitationStyleGenerator() {
     }
@@ -57,7 +70,7 @@ public class CitationStyleGenerator {
      */
     public static List<String> generateCitations(List<BibEntry> bibEntries, String style, CitationStyleOutputFormat outputFormat) {
         try {
-            return CSL_ADAPTER.makeBibliography(bibEntries, style, outputFormat);
+            return makeBibliography(bibEntries, style, outputFormat);
         } catch (IllegalArgumentException ignored) {
             LOGGER.error("Could not generate BibEntry citation. The CSL engine could not create a preview for your item.", ignored);
             return Collections.singletonList(Localization.lang("Cannot generate preview based on selected citation style."));
@@ -74,4 +87,61 @@ public class CitationStyleGenerator {
                     e.getLocalizedMessage());
         }
     }
+
+    /**
+     * Generates the citation of each entry on its own, as {@link #generateCitation(BibEntry, String,
+     * CitationStyleOutputFormat)} does. In contrast to {@link #generateCitations(List, String,
+     * CitationStyleOutputFormat)}, the entries are neither sorted nor numbered consecutively, which allows to generate
+     * the citations in parallel using a few CSL engines.
+     *
+     * @return the citations in the order of the given entries
+     * @implNote The citations are generated using JavaScript which may take some time, better call it from outside the main thread.
+     */
+    public static List<String> generateCitationsInParallel(List<BibEntry> bibEntries, String style, CitationStyleOutputFormat outputFormat) {
+        // Each task renders a consecutive part of the entries, using one engine at a time
+        int numberOfTasks = Math.max(1, Math.min(MAXIMUM_ADAPTERS, bibEntries.size() / MINIMUM_ENTRIES_PER_TASK));
+        int entriesPerTask = (bibEntries.size() + numberOfTasks - 1) / numberOfTasks;
+        return IntStream.range(0, numberOfTasks)
+                        .parallel()
+                        .mapToObj(task -> bibEntries.subList(Math.min(bibEntries.size(), task * entriesPerTask), Math.min(bibEntries.size(), (task + 1) * entriesPerTask)))
+                        .flatMap(entries -> entries.stream()
+                                                   .map(entry -> generateCitation(entry, style, outputFormat))
+                                                   .collect(Collectors.toList())
+                                                   .stream())
+                        .collect(Collectors.toList());
+    }
+
+    /**
+     * Generates the citations of the given entries. If the style makes the citations depend on each other, e.g., by
+     * numbering or sorting the entries, they are generated as a bibliography by {@link #generateCitations(List, String,
+     * CitationStyleOutputFormat)}. Otherwise, they are generated in parallel by {@link
+     * #generateCitationsInParallel(List, String, CitationStyleOutputFormat)} and keep the order of the given entries.
+     *
+     * @implNote The citations are generated using JavaScript which may take some time, better call it from outside the main thread.
+     */
+    public static List<String> generateCitationsOfEntries(List<BibEntry> bibEntries, String style, CitationStyleOutputFormat outputFormat) {
+        boolean citationsDependOnEachOther = BIBLIOGRAPHY_DEPENDENT_FEATURES.stream().anyMatch(style::contains)
+                || BIBLIOGRAPHY_SORT.matcher(style).find();
+        if (citationsDependOnEachOther) {
+            return generateCitations(bibEntries, style, outputFormat);
+        }
+        return generateCitationsInParallel(bibEntries, style, outputFormat);
+    }
+
+    private static List<String> makeBibliography(List<BibEntry> bibEntries, String style, CitationStyleOutputFormat outputFormat) throws IOException {
+        CSLAdapter adapter = CSL_ADAPTER_POOL.borrow(style, outputFormat);
+        boolean succeeded = false;
+        try {
+            List<String> bibliography = adapter.makeBibliography(bibEntries);
+            succeeded = true;
+            return bibliography;
+        } finally {
+            // An adapter which failed is dropped
+            if (succeeded) {
+                CSL_ADAPTER_POOL.release(adapter);
+            } else {
+                CSL_ADAPTER_POOL.discard(adapter);
+            }
+        }
+    }
 }
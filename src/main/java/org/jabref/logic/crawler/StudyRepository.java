@@ -319,7 +319,7 @@ class StudyRepository {
 
     private void generateCiteKeys(BibDatabaseContext existingEntries, BibDatabase targetEntries) {
         CitationKeyGenerator citationKeyGenerator = new CitationKeyGenerator(existingEntries, savePreferences.getCitationKeyPatternPreferences());
-        targetEntries.getEntries().stream().filter(bibEntry -> !bibEntry.hasCitationKey()).forEach(citationKeyGenerator::generateAndSetKey);
+        citationKeyGenerator.generateAndSetKeys(targetEntries.getEntries().stream().filter(bibEntry -> !bibEntry.hasCitationKey()).collect(Collectors.toList()));
     }
 
     private void writeResultToFile(Path pathToFile, BibDatabase entries) throws IOException {
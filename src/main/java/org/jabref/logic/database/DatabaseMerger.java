@@ -1,8 +1,9 @@
 package org.jabref.logic.database;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 import org.jabref.model.database.BibDatabase;
 import org.jabref.model.database.BibDatabaseContext;
@@ -54,11 +55,18 @@ public class DatabaseMerger {
     }
 
     private void mergeEntries(BibDatabase target, BibDatabase other) {
-        DuplicateCheck duplicateCheck = new DuplicateCheck(new BibEntryTypesManager());
-        List<BibEntry> newEntries = other.getEntries().stream()
-                                         // Remove all entries that are already part of the database (duplicate)
-                                         .filter(entry -> duplicateCheck.containsDuplicate(target, entry, BibDatabaseModeDetection.inferMode(target)).isEmpty())
-                                         .collect(Collectors.toList());
+        DuplicateIndex duplicateIndex = new DuplicateIndex(target, new DuplicateCheck(new BibEntryTypesManager()), BibDatabaseModeDetection.inferMode(target));
+        List<BibEntry> otherEntries = other.getEntries();
+        List<Optional<BibEntry>> duplicates = duplicateIndex.findDuplicates(otherEntries);
+        duplicateIndex.shutdown();
+
+        // Remove all entries that are already part of the database (duplicate)
+        List<BibEntry> newEntries = new ArrayList<>();
+        for (int i = 0; i < otherEntries.size(); i++) {
+            if (duplicates.get(i).isEmpty()) {
+                newEntries.add(otherEntries.get(i));
+            }
+        }
         target.insertEntries(newEntries);
     }
 
@@ -0,0 +1,228 @@
+package org.jabref.logic.database;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.jabref.model.entry.AuthorList;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.Field;
+import org.jabref.model.entry.field.FieldFactory;
+import org.jabref.model.entry.field.StandardField;
+
+/**
+ * Generates the pairs of entries which should be checked by {@link DuplicateCheck#isDuplicate}, instead of checking
+ * all pairs of a library.
+ * <p>
+ * Entries are grouped into blocks by the following keys. Only entries sharing at least one block form a candidate pair.
+ * <ul>
+ *     <li>the identifiers (DOI, ISBN, eprint, PMID)</li>
+ *     <li>the last name of the first author (or editor) together with the year</li>
+ *     <li>the bands of a MinHash signature of the character shingles of the title (locality sensitive hashing), so that
+ *     titles differing by some characters or words still share a block with high probability</li>
+ * </ul>
+ * Entries without any of these keys are put into a block by their entry type and year.
+ * <p>
+ * A block larger than {@link #MAX_BLOCK_SIZE} entries, e.g., the entries of a common author in a year, is sorted by
+ * the normalized title and each entry is only paired with the following {@code MAX_BLOCK_SIZE - 1} entries of it.
+ * This bounds the number of pairs to a multiple of the number of entries.
+ */
+public class DuplicateCandidateGenerator {
+
+    static final int MAX_BLOCK_SIZE = 100;
+
+    private static final int SHINGLE_LENGTH = 3;
+    private static final int MINHASH_BANDS = 20;
+    private static final int MINHASH_ROWS_PER_BAND = 4;
+    private static final long[] MINHASH_SEEDS = new long[MINHASH_BANDS * MINHASH_ROWS_PER_BAND];
+
+    static {
+        for (int i = 0; i < MINHASH_SEEDS.length; i++) {
+            MINHASH_SEEDS[i] = mix((i + 1) * 0x9E3779B97F4A7C15L);
+        }
+    }
+
+    /**
+     * Returns the candidate pairs of the given entries. The pairs are ordered as in a comparison of each entry with
+     * all following entries.
+     */
+    public List<List<BibEntry>> generateCandidatePairs(List<BibEntry> entries) {
+        return streamCandidatePairs(entries).collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the candidate pairs of the given entries like {@link #generateCandidatePairs(List)}. The pairs are only
+     * created while the stream is consumed, which may be done in parallel.
+     */
+    public Stream<List<BibEntry>> streamCandidatePairs(List<BibEntry> entries) {
+        List<Set<String>> keysOfEntries = entries.parallelStream()
+                                                 .map(DuplicateCandidateGenerator::getBlockingKeys)
+                                                 .collect(Collectors.toList());
+
+        Map<String, List<Integer>> blocks = new HashMap<>();
+        for (int i = 0; i < entries.size(); i++) {
+            for (String key : keysOfEntries.get(i)) {
+                blocks.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+            }
+        }
+
+        PairBuffer pairs = new PairBuffer();
+        // Computed only for the entries of large blocks
+        String[] sortKeys = new String[entries.size()];
+        for (List<Integer> block : blocks.values()) {
+            if (block.size() > MAX_BLOCK_SIZE) {
+                for (int i : block) {
+                    if (sortKeys[i] == null) {
+                        sortKeys[i] = getSortKey(entries.get(i));
+                    }
+                }
+                block.sort(Comparator.comparing((Integer i) -> sortKeys[i]).thenComparing(i -> i));
+            }
+            for (int i = 0; i < (block.size() - 1); i++) {
+                int end = Math.min(block.size(), i + MAX_BLOCK_SIZE);
+                for (int j = i + 1; j < end; j++) {
+                    pairs.add(encodePair(block.get(i), block.get(j)));
+                }
+            }
+        }
+
+        return Arrays.stream(pairs.toSortedDistinctArray())
+                     .mapToObj(pair -> Arrays.asList(entries.get((int) (pair >>> 32)), entries.get((int) pair)));
+    }
+
+    /**
+     * Returns the keys of the blocks the given entry belongs to. Two entries which are duplicates of each other share
+     * at least one key with high probability.
+     */
+    public static Set<String> getBlockingKeys(BibEntry entry) {
+        Set<String> keys = new HashSet<>();
+
+        for (Field identifierField : FieldFactory.getIdentifierFieldNames()) {
+            entry.getField(identifierField).ifPresent(value -> keys.add("id:" + identifierField.getName() + ":" + value));
+        }
+        entry.getDOI().ifPresent(doi -> keys.add("doi:" + doi.getDOI().toLowerCase(Locale.ROOT)));
+        entry.getISBN().ifPresent(isbn -> keys.add("isbn:" + isbn.getNormalized().toLowerCase(Locale.ROOT)));
+        entry.getField(StandardField.EPRINT).ifPresent(eprint -> keys.add("eprint:" + eprint.trim().toLowerCase(Locale.ROOT)));
+
+        getFirstLastName(entry).ifPresent(lastName ->
+                keys.add("author:" + lastName + ":" + entry.getFieldOrAlias(StandardField.YEAR).orElse("").trim()));
+
+        entry.getField(StandardField.TITLE)
+             .map(DuplicateCandidateGenerator::normalize)
+             .filter(title -> !title.isEmpty())
+             .ifPresent(title -> {
+                 long[] signature = getMinHashSignature(title);
+                 for (int band = 0; band < MINHASH_BANDS; band++) {
+                     int from = band * MINHASH_ROWS_PER_BAND;
+                     keys.add("title:" + band + ":" + Arrays.hashCode(Arrays.copyOfRange(signature, from, from + MINHASH_ROWS_PER_BAND)));
+                 }
+             });
+
+        if (keys.isEmpty()) {
+            keys.add("type:" + entry.getType().getName() + ":" + entry.getFieldOrAlias(StandardField.YEAR).orElse("").trim());
+        }
+
+        return keys;
+    }
+
+    private static String getSortKey(BibEntry entry) {
+        return entry.getField(StandardField.TITLE).map(DuplicateCandidateGenerator::normalize).orElse("");
+    }
+
+    private static Optional<String> getFirstLastName(BibEntry entry) {
+        Optional<String> persons = entry.getField(StandardField.AUTHOR).or(() -> entry.getField(StandardField.EDITOR));
+        return persons.map(AuthorList::parse)
+                      .filter(authors -> !authors.isEmpty())
+                      .flatMap(authors -> authors.getAuthor(0).getLast())
+                      .map(DuplicateCandidateGenerator::normalize)
+                      .filter(lastName -> !lastName.isEmpty());
+    }
+
+    /**
+     * Converts the text to lower case, replaces all characters other than letters and digits by a space and collapses
+     * consecutive spaces.
+     */
+    static String normalize(String text) {
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        for (char c : text.toLowerCase(Locale.ROOT).toCharArray()) {
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && (normalized.length() > 0)) {
+                    normalized.append(' ');
+                }
+                normalized.append(c);
+                pendingSpace = false;
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return normalized.toString();
+    }
+
+    private static long[] getMinHashSignature(String text) {
+        long[] signature = new long[MINHASH_SEEDS.length];
+        Arrays.fill(signature, Long.MAX_VALUE);
+
+        int numberOfShingles = Math.max(1, (text.length() - SHINGLE_LENGTH) + 1);
+        for (int start = 0; start < numberOfShingles; start++) {
+            long shingleHash = text.substring(start, Math.min(text.length(), start + SHINGLE_LENGTH)).hashCode();
+            for (int i = 0; i < MINHASH_SEEDS.length; i++) {
+                signature[i] = Math.min(signature[i], mix(shingleHash ^ MINHASH_SEEDS[i]));
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * Finalizer of the 64-bit MurmurHash3, used to derive independent hash functions from one seed each.
+     */
+    private static long mix(long value) {
+        long hash = value;
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    private static long encodePair(int first, int second) {
+        return ((long) Math.min(first, second) << 32) | Math.max(first, second);
+    }
+
+    /**
+     * Collects encoded pairs as primitive values, as a set of boxed values takes several times the memory.
+     */
+    private static class PairBuffer {
+
+        private long[] pairs = new long[1024];
+        private int size;
+
+        public void add(long pair) {
+            if (size == pairs.length) {
+                pairs = Arrays.copyOf(pairs, size * 2);
+            }
+            pairs[size++] = pair;
+        }
+
+        /**
+         * Returns the pairs in ascending order, each pair contained in several blocks only once.
+         */
+        public long[] toSortedDistinctArray() {
+            Arrays.sort(pairs, 0, size);
+            int distinct = 0;
+            for (int i = 0; i < size; i++) {
+                if ((distinct == 0) || (pairs[i] != pairs[distinct - 1])) {
+                    pairs[distinct++] = pairs[i];
+                }
+            }
+            return Arrays.copyOf(pairs, distinct);
+        }
+    }
+}
@@ -350,6 +350,7 @@ public class DuplicateCheck {
      * them is a duplicate of the given entry, as per
      * Util.isDuplicate(BibEntry, BibEntry), the duplicate is returned.
      * The search is terminated when the first duplicate is found.
+     * To look up the duplicates of many entries, use a {@link DuplicateIndex} instead.
      *
      * @param database The database to search.
      * @param entry    The entry of which we are looking for duplicates.
@@ -0,0 +1,175 @@
+package org.jabref.logic.database;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.database.BibDatabaseMode;
+import org.jabref.model.database.event.EntriesAddedEvent;
+import org.jabref.model.database.event.EntriesRemovedEvent;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.event.FieldChangedEvent;
+import org.jabref.model.entry.field.InternalField;
+
+import com.google.common.eventbus.Subscribe;
+
+/**
+ * Looks up duplicates of entries in a {@link BibDatabase} without comparing them to all entries of the database.
+ * <p>
+ * The entries of the database are grouped into the blocks of {@link DuplicateCandidateGenerator#getBlockingKeys}, i.e.,
+ * by their identifiers, the first author and year, and their title. An entry is only checked by
+ * {@link DuplicateCheck#isDuplicate} against the entries sharing a block with it. The index is updated by listening to
+ * the events posted by the database.
+ */
+public class DuplicateIndex {
+
+    private final BibDatabase database;
+    private final DuplicateCheck duplicateCheck;
+    private final BibDatabaseMode mode;
+
+    // Entries are compared by identity, as equal entries may be part of the database more than once
+    private final Map<BibEntry, IndexedEntry> indexedEntries = new IdentityHashMap<>();
+    private final Map<String, Set<IndexedEntry>> blocks = new HashMap<>();
+    // Keeps the order of the database, so that the first duplicate found is the same as when checking all entries
+    private long nextPosition;
+
+    public DuplicateIndex(BibDatabase database, DuplicateCheck duplicateCheck, BibDatabaseMode mode) {
+        this.database = Objects.requireNonNull(database);
+        this.duplicateCheck = Objects.requireNonNull(duplicateCheck);
+        this.mode = mode;
+
+        // Register first so that no change is missed while the existing entries are added
+        database.registerListener(this);
+        addEntries(new ArrayList<>(database.getEntries()));
+    }
+
+    /**
+     * Returns the first entry of the database (in the order of the database) which is a duplicate of the given entry,
+     * as per {@link DuplicateCheck#isDuplicate}. The given entry itself is never returned.
+     */
+    public Optional<BibEntry> containsDuplicate(BibEntry entry) {
+        Set<String> keys = DuplicateCandidateGenerator.getBlockingKeys(entry);
+        List<IndexedEntry> candidates;
+        synchronized (this) {
+            Set<IndexedEntry> candidateSet = new HashSet<>();
+            for (String key : keys) {
+                candidateSet.addAll(blocks.getOrDefault(key, Collections.emptySet()));
+            }
+            candidates = new ArrayList<>(candidateSet);
+        }
+
+        // The entries are compared without holding the lock, so that other lookups can run in parallel
+        candidates.sort(Comparator.comparingLong(candidate -> candidate.position));
+        return candidates.stream()
+                         .map(candidate -> candidate.entry)
+                         .filter(other -> (other != entry) && duplicateCheck.isDuplicate(entry, other, mode))
+                         .findFirst();
+    }
+
+    /**
+     * Looks up the duplicates of all given entries in parallel. The result holds the outcome of
+     * {@link #containsDuplicate(BibEntry)} for each entry at the same position.
+     */
+    public List<Optional<BibEntry>> findDuplicates(List<BibEntry> entries) {
+        return entries.parallelStream()
+                      .map(this::containsDuplicate)
+                      .collect(Collectors.toList());
+    }
+
+    /**
+     * Stops keeping the index up to date.
+     */
+    public void shutdown() {
+        database.unregisterListener(this);
+    }
+
+    @Subscribe
+    public void listen(EntriesAddedEvent event) {
+        addEntries(event.getBibEntries());
+    }
+
+    @Subscribe
+    public synchronized void listen(EntriesRemovedEvent event) {
+        for (BibEntry entry : event.getBibEntries()) {
+            IndexedEntry indexedEntry = indexedEntries.remove(entry);
+            if (indexedEntry != null) {
+                removeFromBlocks(indexedEntry);
+            }
+        }
+    }
+
+    @Subscribe
+    public void listen(FieldChangedEvent event) {
+        if (InternalField.INTERNAL_ID_FIELD.equals(event.getField())) {
+            return;
+        }
+
+        BibEntry entry = event.getBibEntry();
+        Set<String> keys = DuplicateCandidateGenerator.getBlockingKeys(entry);
+        synchronized (this) {
+            // Entries which are no longer part of the database still post their changes
+            IndexedEntry indexedEntry = indexedEntries.get(entry);
+            if (indexedEntry != null) {
+                removeFromBlocks(indexedEntry);
+                indexedEntry.keys = keys;
+                addToBlocks(indexedEntry);
+            }
+        }
+    }
+
+    private void addEntries(List<BibEntry> entries) {
+        // Computing the keys parses the authors and hashes the title, which is done in parallel
+        List<Set<String>> keysOfEntries = entries.parallelStream()
+                                                 .map(DuplicateCandidateGenerator::getBlockingKeys)
+                                                 .collect(Collectors.toList());
+        synchronized (this) {
+            for (int i = 0; i < entries.size(); i++) {
+                BibEntry entry = entries.get(i);
+                if (!indexedEntries.containsKey(entry)) {
+                    IndexedEntry indexedEntry = new IndexedEntry(entry, nextPosition++, keysOfEntries.get(i));
+                    indexedEntries.put(entry, indexedEntry);
+                    addToBlocks(indexedEntry);
+                }
+            }
+        }
+    }
+
+    private void addToBlocks(IndexedEntry indexedEntry) {
+        for (String key : indexedEntry.keys) {
+            blocks.computeIfAbsent(key, k -> new HashSet<>()).add(indexedEntry);
+        }
+    }
+
+    private void removeFromBlocks(IndexedEntry indexedEntry) {
+        for (String key : indexedEntry.keys) {
+            Set<IndexedEntry> block = blocks.get(key);
+            block.remove(indexedEntry);
+            if (block.isEmpty()) {
+                blocks.remove(key);
+            }
+        }
+    }
+
+    private static class IndexedEntry {
+
+        private final BibEntry entry;
+        private final long position;
+        private Set<String> keys;
+
+        public IndexedEntry(BibEntry entry, long position, Set<String> keys) {
+            this.entry = entry;
+            this.position = position;
+            this.keys = keys;
+        }
+    }
+}
@@ -3,8 +3,11 @@ package org.jabref.logic.exporter;
 import java.io.FileOutputStream;
 import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.channels.FileLock;
 import java.nio.channels.OverlappingFileLockException;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
@@ -64,6 +67,10 @@ public class AtomicFileOutputStream extends FilterOutputStream {
      */
     private final Path backupFile;
     private final boolean keepBackup;
+    /**
+     * The number of bytes written so far
+     */
+    private long position;
 
     /**
      * Creates a new output stream to write to or replace the file at the specified path.
@@ -115,6 +122,24 @@ public class AtomicFileOutputStream extends FilterOutputStream {
         return backupFile;
     }
 
+    /**
+     * Returns the number of bytes written so far.
+     */
+    public long getPosition() {
+        return position;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        try {
+            out.write(b);
+            position++;
+        } catch (IOException exception) {
+            cleanup();
+            throw exception;
+        }
+    }
+
     /**
      * Override for performance reasons.
      */
@@ -122,6 +147,28 @@ public class AtomicFileOutputStream extends FilterOutputStream {
     public void write(byte b[], int off, int len) throws IOException {
         try {
             out.write(b, off, len);
+            position += len;
+        } catch (IOException exception) {
+            cleanup();
+            throw exception;
+        }
+    }
+
+    /**
+     * Writes the given number of bytes of the source, starting at the given position, without copying them to the heap.
+     */
+    public void transferFrom(FileChannel source, long sourcePosition, long count) throws IOException {
+        WritableByteChannel target = Channels.newChannel(out);
+        try {
+            long transferred = 0;
+            while (transferred < count) {
+                long transferredNow = source.transferTo(sourcePosition + transferred, count - transferred, target);
+                if (transferredNow <= 0) {
+                    throw new IOException("Could not read " + count + " bytes at position " + sourcePosition + " of the source");
+                }
+                transferred += transferredNow;
+            }
+            position += count;
         } catch (IOException exception) {
             cleanup();
             throw exception;
@@ -2,12 +2,20 @@ package org.jabref.logic.exporter;
 
 import java.io.IOException;
 import java.io.OutputStreamWriter;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.CharsetEncoder;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.function.Consumer;
+
+import org.jabref.model.entry.SourceFile;
+import org.jabref.model.entry.SourceFileRegion;
 
 /**
  * Writer that similar to the built-in {@link java.io.FileWriter} but uses the {@link AtomicFileOutputStream} as the
@@ -15,18 +23,44 @@ import java.util.TreeSet;
  * contents of the target file.
  * Moreover, this writer checks if the chosen encoding supports all text that is written. Characters whose encoding
  * was problematic can be retrieved by {@link #getEncodingProblems()}.
+ * <p>
+ * When a file is written again, unchanged parts of it can be copied byte by byte from the old version of the file
+ * using {@link #transfer(SourceFileRegion, Consumer)}.
  */
 public class AtomicFileWriter extends OutputStreamWriter {
 
     private final CharsetEncoder encoder;
     private final Set<Character> problemCharacters = new TreeSet<>();
 
+    private final AtomicFileOutputStream outputStream;
+    private final Path file;
+    private final Charset encoding;
+
+    // The old version of the file regions are copied from
+    private SourceFile transferSourceFile;
+    private FileChannel transferSource;
+    // A source file found to be changed, which is thus not checked again for each region
+    private SourceFile changedSourceFile;
+    // Consecutive regions are collected and copied at once
+    private boolean hasPendingTransfer;
+    private long pendingTransferStart;
+    private long pendingTransferEnd;
+    private long pendingTransferOutputStart;
+    private final List<TransferredRegion> transferredRegions = new ArrayList<>();
+
     public AtomicFileWriter(Path file, Charset encoding) throws IOException {
         this(file, encoding, false);
     }
 
     public AtomicFileWriter(Path file, Charset encoding, boolean keepBackup) throws IOException {
-        super(new AtomicFileOutputStream(file, keepBackup), encoding);
+        this(new AtomicFileOutputStream(file, keepBackup), file, encoding);
+    }
+
+    private AtomicFileWriter(AtomicFileOutputStream outputStream, Path file, Charset encoding) {
+        super(outputStream, encoding);
+        this.outputStream = outputStream;
+        this.file = file;
+        this.encoding = encoding;
         encoder = encoding.newEncoder();
     }
 
@@ -43,6 +77,110 @@ public class AtomicFileWriter extends OutputStreamWriter {
         }
     }
 
+    @Override
+    public void write(int c) throws IOException {
+        writePendingTransfer();
+        super.write(c);
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        writePendingTransfer();
+        super.write(cbuf, off, len);
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        writePendingTransfer();
+        super.write(str, off, len);
+    }
+
+    /**
+     * Writes the text of the given region by copying its bytes from the file. This is only possible if the region
+     * belongs to the file written by this writer, i.e., the file is saved again, the encoding is the same and the file
+     * did not change since the region was recorded.
+     *
+     * @param onCommit called with the region holding the text in the written file once the file was written
+     *                 successfully
+     * @return false if the region cannot be copied and its text has to be written instead
+     */
+    public boolean transfer(SourceFileRegion region, Consumer<SourceFileRegion> onCommit) throws IOException {
+        SourceFile sourceFile = region.getFile();
+        if ((sourceFile == changedSourceFile) || !encoding.equals(sourceFile.getEncoding())
+                || !file.toAbsolutePath().normalize().equals(sourceFile.getPath().toAbsolutePath().normalize())) {
+            return false;
+        }
+
+        if (sourceFile != transferSourceFile) {
+            writePendingTransfer();
+            closeTransferSource();
+            if (!sourceFile.isUnchanged()) {
+                changedSourceFile = sourceFile;
+                return false;
+            }
+            transferSource = FileChannel.open(sourceFile.getPath(), StandardOpenOption.READ);
+            transferSourceFile = sourceFile;
+        }
+
+        if (!hasPendingTransfer || (pendingTransferEnd != region.getStart())) {
+            writePendingTransfer();
+            // The text written so far has to be encoded before the bytes are copied
+            super.flush();
+            hasPendingTransfer = true;
+            pendingTransferStart = region.getStart();
+            pendingTransferOutputStart = outputStream.getPosition();
+        }
+        long outputStart = pendingTransferOutputStart + (region.getStart() - pendingTransferStart);
+        pendingTransferEnd = region.getEnd();
+        transferredRegions.add(new TransferredRegion(outputStart, outputStart + region.getLength(), onCommit));
+        return true;
+    }
+
+    private void writePendingTransfer() throws IOException {
+        if (hasPendingTransfer) {
+            hasPendingTransfer = false;
+            outputStream.transferFrom(transferSource, pendingTransferStart, pendingTransferEnd - pendingTransferStart);
+        }
+    }
+
+    private void closeTransferSource() throws IOException {
+        if (transferSource != null) {
+            transferSource.close();
+            transferSource = null;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writePendingTransfer();
+        super.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            writePendingTransfer();
+            if ((transferSourceFile != null) && !transferSourceFile.isUnchanged()) {
+                // The copied bytes may not belong to the regions anymore
+                transferredRegions.clear();
+                outputStream.abort();
+                throw new IOException("The file " + file + " was changed while it was written");
+            }
+        } finally {
+            closeTransferSource();
+            transferSourceFile = null;
+        }
+        super.close();
+
+        if (!transferredRegions.isEmpty()) {
+            SourceFile writtenFile = SourceFile.of(file, encoding);
+            for (TransferredRegion region : transferredRegions) {
+                region.onCommit.accept(new SourceFileRegion(writtenFile, region.start, region.end));
+            }
+            transferredRegions.clear();
+        }
+    }
+
     public boolean hasEncodingProblems() {
         return !problemCharacters.isEmpty();
     }
@@ -50,4 +188,17 @@ public class AtomicFileWriter extends OutputStreamWriter {
     public Set<Character> getEncodingProblems() {
         return Collections.unmodifiableSet(problemCharacters);
     }
+
+    private static class TransferredRegion {
+
+        private final long start;
+        private final long end;
+        private final Consumer<SourceFileRegion> onCommit;
+
+        public TransferredRegion(long start, long end, Consumer<SourceFileRegion> onCommit) {
+            this.start = start;
+            this.end = end;
+            this.onCommit = onCommit;
+        }
+    }
 }
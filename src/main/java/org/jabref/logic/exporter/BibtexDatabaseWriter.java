@@ -4,6 +4,7 @@ import java.io.IOException;
 import java.io.Writer;
 import java.nio.charset.Charset;
 import java.util.Map;
+import java.util.Optional;
 
 import org.jabref.logic.bibtex.BibEntryWriter;
 import org.jabref.logic.bibtex.FieldWriter;
@@ -15,6 +16,7 @@ import org.jabref.model.entry.BibEntry;
 import org.jabref.model.entry.BibEntryType;
 import org.jabref.model.entry.BibEntryTypesManager;
 import org.jabref.model.entry.BibtexString;
+import org.jabref.model.entry.SourceFileRegion;
 import org.jabref.model.entry.field.InternalField;
 import org.jabref.model.metadata.MetaData;
 import org.jabref.model.strings.StringUtil;
@@ -26,8 +28,11 @@ public class BibtexDatabaseWriter extends BibDatabaseWriter {
     private static final String COMMENT_PREFIX = "@Comment";
     private static final String PREAMBLE_PREFIX = "@Preamble";
 
+    private final BibEntryWriter bibtexEntryWriter;
+
     public BibtexDatabaseWriter(Writer writer, SavePreferences preferences, BibEntryTypesManager entryTypesManager) {
         super(writer, preferences, entryTypesManager);
+        this.bibtexEntryWriter = new BibEntryWriter(new FieldWriter(preferences.getFieldWriterPreferences()), entryTypesManager);
     }
 
     @Override
@@ -129,7 +134,15 @@ public class BibtexDatabaseWriter extends BibDatabaseWriter {
 
     @Override
     protected void writeEntry(BibEntry entry, BibDatabaseMode mode) throws IOException {
-        BibEntryWriter bibtexEntryWriter = new BibEntryWriter(new FieldWriter(preferences.getFieldWriterPreferences()), entryTypesManager);
+        // When saving the file again, unchanged entries are copied from the old version of the file. If it changed in
+        // the meantime, their text can no longer be read from it either, and they are written from their fields.
+        Optional<SourceFileRegion> region = entry.getParsedSerializationRegion();
+        if (region.isPresent() && !preferences.shouldReformatFile()
+                && (writer instanceof AtomicFileWriter)
+                && ((AtomicFileWriter) writer).transfer(region.get(), newRegion -> entry.relocateParsedSerialization(region.get(), newRegion))) {
+            return;
+        }
+
         bibtexEntryWriter.write(entry, writer, mode, preferences.shouldReformatFile());
     }
 }
@@ -9,18 +9,27 @@ import java.io.Reader;
 import java.net.URL;
 import java.nio.charset.Charset;
 import java.nio.file.Path;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import org.jabref.logic.layout.Layout;
 import org.jabref.logic.layout.LayoutFormatterPreferences;
 import org.jabref.logic.layout.LayoutHelper;
+import org.jabref.logic.layout.format.Number;
 import org.jabref.logic.util.FileType;
 import org.jabref.logic.util.OS;
 import org.jabref.logic.util.StandardFileType;
+import org.jabref.model.database.BibDatabase;
 import org.jabref.model.database.BibDatabaseContext;
 import org.jabref.model.entry.BibEntry;
 import org.jabref.model.entry.types.EntryType;
@@ -30,6 +39,9 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Base class for export formats based on templates.
+ * <p>
+ * The layouts are kept after having been read, until their file or the formatter file is modified. The entries are
+ * laid out in chunks by several threads and written in order, unless the layouts contain groups.
  */
 public class TemplateExporter extends Exporter {
 
@@ -40,6 +52,10 @@ public class TemplateExporter extends Exporter {
     private static final String BEGIN_INFIX = ".begin";
     private static final String END_INFIX = ".end";
 
+    private static final int ENTRIES_PER_CHUNK = 500;
+    // Limits the number of laid out chunks waiting to be written
+    private static final int MAXIMUM_PENDING_CHUNKS = 2 * Runtime.getRuntime().availableProcessors();
+
     private static final Logger LOGGER = LoggerFactory.getLogger(TemplateExporter.class);
 
     private final String lfFileName;
@@ -50,6 +66,10 @@ public class TemplateExporter extends Exporter {
     private boolean customExport;
     private BlankLineBehaviour blankLineBehaviour;
 
+    // The layouts by file name, see getLayout
+    private final Map<String, CachedLayout> layoutCache = new ConcurrentHashMap<>();
+    private volatile long formatterFileLastModified;
+
     /**
      * Initialize another export format based on templates stored in dir with layoutFile lfFilename.
      *
@@ -137,6 +157,8 @@ public class TemplateExporter extends Exporter {
      */
     public void setCustomExport(boolean custom) {
         this.customExport = custom;
+        // The layout files are looked up elsewhere
+        layoutCache.clear();
     }
 
     /**
@@ -159,18 +181,10 @@ public class TemplateExporter extends Exporter {
      * @throws IOException if the reader could not be created
      */
     private Reader getReader(String filename) throws IOException {
-        // If this is a custom export, just use the given filename:
-        String dir;
-        if (customExport) {
-            dir = "";
-        } else {
-            dir = LAYOUT_PREFIX + (directory == null ? "" : directory + '/');
-        }
-
         // Attempt to get a Reader for the file path given, either by
         // loading it as a resource (from within JAR), or as a normal file. If
         // unsuccessful (e.g. file not found), an IOException is thrown.
-        String name = dir + filename;
+        String name = getLayoutPath(filename);
         Reader reader;
         // Try loading as a resource first. This works for files inside the JAR:
         URL reso = TemplateExporter.class.getResource(name);
@@ -190,6 +204,51 @@ public class TemplateExporter extends Exporter {
         return reader;
     }
 
+    private String getLayoutPath(String filename) {
+        // If this is a custom export, just use the given filename:
+        String dir;
+        if (customExport) {
+            dir = "";
+        } else {
+            dir = LAYOUT_PREFIX + (directory == null ? "" : directory + '/');
+        }
+        return dir + filename;
+    }
+
+    /**
+     * Returns the time the given layout file was last modified, or 0 if it is bundled with JabRef or does not exist.
+     */
+    private long getLastModified(String filename) {
+        String name = getLayoutPath(filename);
+        if (TemplateExporter.class.getResource(name) != null) {
+            return 0;
+        }
+        return new File(name).lastModified();
+    }
+
+    /**
+     * Returns the layout of the given file, which is only read again if the file was modified since.
+     *
+     * @return the layout, or an empty Optional if there is no such layout file
+     */
+    private Optional<Layout> getLayout(String filename) {
+        long lastModified = getLastModified(filename);
+        CachedLayout cachedLayout = layoutCache.get(filename);
+        if ((cachedLayout != null) && (cachedLayout.lastModified == lastModified)) {
+            return cachedLayout.layout;
+        }
+
+        Optional<Layout> layout;
+        try (Reader reader = getReader(filename)) {
+            layout = Optional.ofNullable(new LayoutHelper(reader, layoutPreferences).getLayoutFromText());
+        } catch (IOException ex) {
+            // The layout file does not exist
+            layout = Optional.empty();
+        }
+        layoutCache.put(filename, new CachedLayout(layout, lastModified));
+        return layout;
+    }
+
     @Override
     public void export(final BibDatabaseContext databaseContext, final Path file,
                        final Charset encoding, List<BibEntry> entries) throws Exception {
@@ -200,26 +259,18 @@ public class TemplateExporter extends Exporter {
         }
 
         try (AtomicFileWriter ps = new AtomicFileWriter(file, encoding)) {
-            Layout beginLayout = null;
-
             // Check if this export filter has bundled name formatters:
             // Add these to the preferences, so all layouts have access to the custom name formatters:
             readFormatterFile();
 
             List<String> missingFormatters = new ArrayList<>(1);
 
-            // Print header
-            try (Reader reader = getReader(lfFileName + BEGIN_INFIX + LAYOUT_EXTENSION)) {
-                LayoutHelper layoutHelper = new LayoutHelper(reader, layoutPreferences);
-                beginLayout = layoutHelper.getLayoutFromText();
-            } catch (IOException ex) {
-                // If an exception was cast, export filter doesn't have a begin
-                // file.
-            }
+            // Print header. If there is no begin layout, the export filter doesn't have a begin file.
+            Optional<Layout> beginLayout = getLayout(lfFileName + BEGIN_INFIX + LAYOUT_EXTENSION);
             // Write the header
-            if (beginLayout != null) {
-                ps.write(beginLayout.doLayout(databaseContext, encoding));
-                missingFormatters.addAll(beginLayout.getMissingFormatters());
+            if (beginLayout.isPresent()) {
+                ps.write(beginLayout.get().doLayout(databaseContext, encoding));
+                missingFormatters.addAll(beginLayout.get().getMissingFormatters());
             }
 
             /*
@@ -229,79 +280,52 @@ public class TemplateExporter extends Exporter {
              * be non-null, and be used to choose entries. Otherwise, it will be
              * null, and be ignored.
              */
-            List<BibEntry> sorted = BibDatabaseWriter.getSortedEntries(databaseContext, entries, savePreferences);
+            // The entries are accessed by their index
+            List<BibEntry> sorted = new ArrayList<>(BibDatabaseWriter.getSortedEntries(databaseContext, entries, savePreferences));
 
             // Load default layout
-            Layout defLayout;
-            LayoutHelper layoutHelper;
-            try (Reader reader = getReader(lfFileName + LAYOUT_EXTENSION)) {
-                layoutHelper = new LayoutHelper(reader, layoutPreferences);
-                defLayout = layoutHelper.getLayoutFromText();
+            String defaultLayoutFileName = lfFileName + LAYOUT_EXTENSION;
+            Layout defLayout = getLayout(defaultLayoutFileName)
+                    .orElseThrow(() -> new IOException("Cannot find layout file: '" + getLayoutPath(defaultLayoutFileName) + "'."));
+            missingFormatters.addAll(defLayout.getMissingFormatters());
+            if (!missingFormatters.isEmpty()) {
+                LOGGER.warn("Missing formatters found: {}", missingFormatters);
             }
-            if (defLayout != null) {
-                missingFormatters.addAll(defLayout.getMissingFormatters());
-                if (!missingFormatters.isEmpty()) {
-                    LOGGER.warn("Missing formatters found: {}", missingFormatters);
-                }
-            }
-            Map<EntryType, Layout> layouts = new HashMap<>();
-            Layout layout;
 
-            ExporterFactory.entryNumber = 0;
+            // We try to get a type-specific layout for each type. If there is none, we go with the default one.
+            Map<EntryType, Layout> layouts = new HashMap<>();
+            boolean layoutsContainGroups = defLayout.containsGroups();
             for (BibEntry entry : sorted) {
-                ExporterFactory.entryNumber++; // Increment entry counter.
-                // Get the layout
                 EntryType type = entry.getType();
-                if (layouts.containsKey(type)) {
-                    layout = layouts.get(type);
-                } else {
-                    try (Reader reader = getReader(lfFileName + '.' + type.getName() + LAYOUT_EXTENSION)) {
-                        // We try to get a type-specific layout for this entry.
-                        layoutHelper = new LayoutHelper(reader, layoutPreferences);
-                        layout = layoutHelper.getLayoutFromText();
-                        layouts.put(type, layout);
-                        if (layout != null) {
-                            missingFormatters.addAll(layout.getMissingFormatters());
-                        }
-                    } catch (IOException ex) {
-                        // The exception indicates that no type-specific layout
-                        // exists, so we
-                        // go with the default one.
-                        layout = defLayout;
-                    }
+                if (!layouts.containsKey(type)) {
+                    Optional<Layout> layout = getLayout(lfFileName + '.' + type.getName() + LAYOUT_EXTENSION);
+                    layout.ifPresent(typeLayout -> missingFormatters.addAll(typeLayout.getMissingFormatters()));
+                    layouts.put(type, layout.orElse(defLayout));
+                    layoutsContainGroups |= layouts.get(type).containsGroups();
                 }
+            }
 
-                // Write the entry
-                if (layout != null) {
-                    if (blankLineBehaviour == BlankLineBehaviour.DELETE_BLANKS) {
-                        String[] lines = layout.doLayout(entry, databaseContext.getDatabase()).split(BLANK_LINE_PATTERN);
-                        for (String line : lines) {
-                            if (!line.isBlank() && !line.isEmpty()) {
-                                ps.write(line + OS.NEWLINE);
-                            }
-                        }
-                    } else {
-                        ps.write(layout.doLayout(entry, databaseContext.getDatabase()));
-                    }
+            // Write the entries
+            BibDatabase database = databaseContext.getDatabase();
+            if (layoutsContainGroups) {
+                // A group is only output if it differs from the one of the previous entry
+                for (int start = 0; start < sorted.size(); start += ENTRIES_PER_CHUNK) {
+                    ps.write(doLayout(sorted, start, Math.min(start + ENTRIES_PER_CHUNK, sorted.size()), layouts, database));
                 }
+            } else {
+                writeInParallel(ps, sorted, layouts, database);
             }
 
             // Print footer
 
             // changed section - begin (arudert)
-            Layout endLayout = null;
-            try (Reader reader = getReader(lfFileName + END_INFIX + LAYOUT_EXTENSION)) {
-                layoutHelper = new LayoutHelper(reader, layoutPreferences);
-                endLayout = layoutHelper.getLayoutFromText();
-            } catch (IOException ex) {
-                // If an exception was thrown, export filter doesn't have an end
-                // file.
-            }
+            // If there is no end layout, the export filter doesn't have an end file.
+            Optional<Layout> endLayout = getLayout(lfFileName + END_INFIX + LAYOUT_EXTENSION);
 
             // Write footer
-            if (endLayout != null) {
-                ps.write(endLayout.doLayout(databaseContext, this.encoding));
-                missingFormatters.addAll(endLayout.getMissingFormatters());
+            if (endLayout.isPresent()) {
+                ps.write(endLayout.get().doLayout(databaseContext, this.encoding));
+                missingFormatters.addAll(endLayout.get().getMissingFormatters());
             }
 
             // Clear custom name formatters:
@@ -315,12 +339,86 @@ public class TemplateExporter extends Exporter {
         }
     }
 
+    /**
+     * Lays out chunks of the given entries in parallel and writes them in order as soon as they are laid out.
+     */
+    private void writeInParallel(AtomicFileWriter ps, List<BibEntry> sorted, Map<EntryType, Layout> layouts,
+                                 BibDatabase database) throws IOException {
+        Deque<Future<String>> pendingChunks = new ArrayDeque<>();
+        try {
+            for (int start = 0; start < sorted.size(); start += ENTRIES_PER_CHUNK) {
+                if (pendingChunks.size() == MAXIMUM_PENDING_CHUNKS) {
+                    ps.write(getLaidOutChunk(pendingChunks.removeFirst()));
+                }
+                int chunkStart = start;
+                int chunkEnd = Math.min(start + ENTRIES_PER_CHUNK, sorted.size());
+                pendingChunks.addLast(CompletableFuture.supplyAsync(() -> doLayout(sorted, chunkStart, chunkEnd, layouts, database)));
+            }
+            while (!pendingChunks.isEmpty()) {
+                ps.write(getLaidOutChunk(pendingChunks.removeFirst()));
+            }
+        } finally {
+            // Stop laying out the remaining chunks if writing failed
+            pendingChunks.forEach(chunk -> chunk.cancel(false));
+        }
+    }
+
+    private static String getLaidOutChunk(Future<String> chunk) throws IOException {
+        try {
+            return chunk.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Export was interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IOException("Could not lay out entries", e.getCause());
+        }
+    }
+
+    /**
+     * Lays out the entries from start (inclusive) to end (exclusive). The entries are numbered by their position in
+     * the whole list.
+     */
+    private String doLayout(List<BibEntry> sorted, int start, int end, Map<EntryType, Layout> layouts, BibDatabase database) {
+        StringBuilder builder = new StringBuilder();
+        try {
+            for (int i = start; i < end; i++) {
+                BibEntry entry = sorted.get(i);
+                // The entry counter used by the Number formatter
+                Number.setEntryNumber(i + 1);
+
+                String text = layouts.get(entry.getType()).doLayout(entry, database);
+                if (blankLineBehaviour == BlankLineBehaviour.DELETE_BLANKS) {
+                    String[] lines = text.split(BLANK_LINE_PATTERN);
+                    for (String line : lines) {
+                        if (!line.isBlank() && !line.isEmpty()) {
+                            builder.append(line).append(OS.NEWLINE);
+                        }
+                    }
+                } else {
+                    builder.append(text);
+                }
+            }
+        } finally {
+            Number.resetEntryNumber();
+        }
+        return builder.toString();
+    }
+
     /**
      * See if there is a name formatter file bundled with this export format.
      * If so, read all the name formatters so they can be used by the filter layouts.
      */
     private void readFormatterFile() {
         File formatterFile = new File(lfFileName + FORMATTERS_EXTENSION);
+        // The layouts use the name formatters, thus they have to be read again if the formatters changed
+        long lastModified = formatterFile.lastModified();
+        if (lastModified != formatterFileLastModified) {
+            layoutCache.clear();
+            formatterFileLastModified = lastModified;
+        }
         if (formatterFile.exists()) {
             try (Reader in = new FileReader(formatterFile)) {
                 // Ok, we found and opened the file. Read all contents:
@@ -358,4 +456,15 @@ public class TemplateExporter extends Exporter {
     public String getLayoutFileNameWithExtension() {
         return lfFileName + LAYOUT_EXTENSION;
     }
+
+    private static class CachedLayout {
+
+        private final Optional<Layout> layout;
+        private final long lastModified;
+
+        public CachedLayout(Optional<Layout> layout, long lastModified) {
+            this.layout = layout;
+            this.lastModified = lastModified;
+        }
+    }
 }
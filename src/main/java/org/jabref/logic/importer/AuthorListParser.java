@@ -148,7 +148,7 @@ public class AuthorListParser {
         // Parse author by author
         List<Author> authors = new ArrayList<>(5); // 5 seems to be reasonable initial size
         while (tokenStart < original.length()) {
-            getAuthor().ifPresent(authors::add);
+            getAuthor().map(Author::intern).ifPresent(authors::add);
         }
         return new AuthorList(authors);
     }
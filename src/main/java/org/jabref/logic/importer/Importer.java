@@ -84,7 +84,7 @@ public abstract class Importer implements Comparable<Importer> {
      */
     public ParserResult importDatabase(Path filePath, Charset encoding) throws IOException {
         try (BufferedReader bufferedReader = getReader(filePath, encoding)) {
-            ParserResult parserResult = importDatabase(bufferedReader);
+            ParserResult parserResult = importDatabase(bufferedReader, filePath, encoding);
             parserResult.getMetaData().setEncoding(encoding);
             parserResult.setFile(filePath.toFile());
 
@@ -96,6 +96,18 @@ public abstract class Importer implements Comparable<Importer> {
         }
     }
 
+    /**
+     * Parse the database read from the specified file. Importer which can make use of the file itself (e.g., to read
+     * parts of it again later) can overwrite this method. By default, {@link #importDatabase(BufferedReader)} is called.
+     *
+     * @param input    the reader reading the file
+     * @param filePath the path to the file
+     * @param encoding the encoding used by the reader
+     */
+    protected ParserResult importDatabase(BufferedReader input, Path filePath, Charset encoding) throws IOException {
+        return importDatabase(input);
+    }
+
     /**
      * Parse the database in the specified string.
      * <p>
@@ -0,0 +1,179 @@
+package org.jabref.logic.importer.fileformat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits the content of a BibTeX file into chunks which can be parsed independently of each other.
+ * <p>
+ * A chunk always ends after a complete entry or string, including the line break following it, i.e., at a position the
+ * {@link BibtexParser} reaches after having parsed the entry. Thus, the comments in front of an entry are part of the
+ * same chunk as the entry. The content is never split after a comment or a preamble, as the parser keeps the text of
+ * a comment in front of the next entry and does not count braces in a preamble the same way.
+ * <p>
+ * Only the braces of the content are looked at. If something else than an item enclosed in braces is encountered,
+ * the remaining content is kept in a single chunk.
+ */
+class BibtexChunkSplitter {
+
+    private BibtexChunkSplitter() {
+    }
+
+    /**
+     * Splits the given content into chunks of at least the given length (except for the last one).
+     */
+    static List<Chunk> split(char[] content, int length, int minimumChunkLength) {
+        List<Chunk> chunks = new ArrayList<>();
+        int chunkStart = 0;
+        int chunkFirstLine = 1;
+        int position = 0;
+        while (position < length) {
+            if (content[position] != '@') {
+                position++;
+                continue;
+            }
+
+            int itemEnd = findEndOfItem(content, length, position);
+            if (itemEnd < 0) {
+                break;
+            }
+            if (itemEnd == position) {
+                // A comment or a preamble
+                position = findClosingBrace(content, length, position);
+                if (position < 0) {
+                    break;
+                }
+                continue;
+            }
+
+            position = skipOneNewline(content, length, itemEnd);
+            if ((position - chunkStart) >= minimumChunkLength) {
+                chunks.add(new Chunk(chunkStart, position, chunkFirstLine));
+                chunkFirstLine += countLines(content, chunkStart, position);
+                chunkStart = position;
+            }
+        }
+
+        if ((chunkStart < length) || chunks.isEmpty()) {
+            chunks.add(new Chunk(chunkStart, length, chunkFirstLine));
+        }
+        return chunks;
+    }
+
+    /**
+     * Determines the end of the item (entry, string, comment, or preamble) starting at the given '@'.
+     *
+     * @return the position after the closing brace of an entry or a string, the given position for a comment or a
+     * preamble, and -1 if the item is not enclosed in braces
+     */
+    private static int findEndOfItem(char[] content, int length, int at) {
+        int position = skipWhitespace(content, length, at + 1);
+        int typeStart = position;
+        while ((position < length) && isTypeCharacter(content[position])) {
+            position++;
+        }
+        if (position == typeStart) {
+            return -1;
+        }
+        String type = new String(content, typeStart, position - typeStart);
+
+        position = skipWhitespace(content, length, position);
+        if ((position == length) || (content[position] != '{')) {
+            return -1;
+        }
+        if ("comment".equalsIgnoreCase(type) || "preamble".equalsIgnoreCase(type)) {
+            return at;
+        }
+        return findClosingBrace(content, length, position);
+    }
+
+    /**
+     * Returns the position after the brace closing the first opening brace at or after the given position, or -1 if
+     * there is none. Escaped braces are not counted.
+     */
+    private static int findClosingBrace(char[] content, int length, int from) {
+        int depth = 0;
+        char lastCharacter = '\0';
+        for (int position = from; position < length; position++) {
+            char character = content[position];
+            if (lastCharacter != '\\') {
+                if (character == '{') {
+                    depth++;
+                } else if ((character == '}') && (--depth == 0)) {
+                    return position + 1;
+                }
+            }
+            lastCharacter = character;
+        }
+        return -1;
+    }
+
+    private static boolean isTypeCharacter(char character) {
+        // The characters of a text token read by the parser
+        return Character.isLetterOrDigit(character) || (":-_*+./'".indexOf(character) >= 0);
+    }
+
+    private static int skipWhitespace(char[] content, int length, int from) {
+        int position = from;
+        while ((position < length) && Character.isWhitespace(content[position])) {
+            position++;
+        }
+        return position;
+    }
+
+    /**
+     * Skips spaces and a single line break, as the parser does after an entry.
+     */
+    private static int skipOneNewline(char[] content, int length, int from) {
+        int position = from;
+        while ((position < length) && (content[position] == ' ')) {
+            position++;
+        }
+        if ((position < length) && (content[position] == '\r')) {
+            position++;
+        }
+        if ((position < length) && (content[position] == '\n')) {
+            position++;
+        }
+        return position;
+    }
+
+    private static int countLines(char[] content, int start, int end) {
+        int lines = 0;
+        for (int position = start; position < end; position++) {
+            if (content[position] == '\n') {
+                lines++;
+            }
+        }
+        return lines;
+    }
+
+    static class Chunk {
+
+        private final int start;
+        private final int end;
+        private final int firstLine;
+
+        Chunk(int start, int end, int firstLine) {
+            this.start = start;
+            this.end = end;
+            this.firstLine = firstLine;
+        }
+
+        int getStart() {
+            return start;
+        }
+
+        int getLength() {
+            return end - start;
+        }
+
+        int getFirstLine() {
+            return firstLine;
+        }
+
+        boolean isFirst() {
+            return start == 0;
+        }
+    }
+}
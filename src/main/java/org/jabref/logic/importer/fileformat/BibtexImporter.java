@@ -12,6 +12,7 @@ import org.jabref.logic.importer.ImportFormatPreferences;
 import org.jabref.logic.importer.Importer;
 import org.jabref.logic.importer.ParserResult;
 import org.jabref.logic.util.StandardFileType;
+import org.jabref.model.entry.SourceFile;
 import org.jabref.model.util.FileUpdateMonitor;
 
 /**
@@ -73,6 +74,13 @@ public class BibtexImporter extends Importer {
         return new BibtexParser(importFormatPreferences, fileMonitor).parse(reader);
     }
 
+    @Override
+    protected ParserResult importDatabase(BufferedReader reader, Path filePath, Charset encoding) throws IOException {
+        // The state of the file has to be captured before reading, so that changes while reading are detected
+        SourceFile sourceFile = SourceFile.of(filePath, encoding);
+        return new BibtexParser(importFormatPreferences, fileMonitor).parse(reader, sourceFile);
+    }
+
     @Override
     public String getName() {
         return "BibTeX";
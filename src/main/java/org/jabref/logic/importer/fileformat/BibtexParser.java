@@ -1,17 +1,18 @@
 package org.jabref.logic.importer.fileformat;
 
 import java.io.BufferedReader;
+import java.io.CharArrayReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.PushbackReader;
 import java.io.Reader;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -19,6 +20,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import org.jabref.logic.bibtex.FieldContentFormatter;
 import org.jabref.logic.exporter.BibtexDatabaseWriter;
@@ -35,6 +37,8 @@ import org.jabref.model.entry.BibEntry;
 import org.jabref.model.entry.BibEntryType;
 import org.jabref.model.entry.BibEntryTypesManager;
 import org.jabref.model.entry.BibtexString;
+import org.jabref.model.entry.SourceFile;
+import org.jabref.model.entry.SourceFileRegion;
 import org.jabref.model.entry.field.Field;
 import org.jabref.model.entry.field.FieldFactory;
 import org.jabref.model.entry.field.FieldProperty;
@@ -65,21 +69,44 @@ public class BibtexParser implements Parser {
     private static final Logger LOGGER = LoggerFactory.getLogger(BibtexParser.class);
 
     private static final Integer LOOKAHEAD = 64;
+    private static final int BUFFER_SIZE = 8192;
+    // Files of at least this size (in bytes) are parsed in parallel, see parseInChunks
+    private static final long PARALLEL_PARSING_THRESHOLD = 4L * 1024 * 1024;
+    private static final int MINIMUM_CHUNK_LENGTH = 1024 * 1024;
     private final FieldContentFormatter fieldContentFormatter;
-    private final Deque<Character> pureTextFromFile = new LinkedList<>();
     private final ImportFormatPreferences importFormatPreferences;
-    private PushbackReader pushbackReader;
+
+    // The input is read in blocks. The last LOOKAHEAD characters read are kept in front of the current position, so
+    // that characters can be pushed back by moving the position backwards.
+    private Reader reader;
+    private final char[] buffer = new char[LOOKAHEAD + BUFFER_SIZE];
+    private int bufferPosition;
+    private int bufferLimit;
+
+    // The text read since it was last dumped, from which the parsed serializations are created
+    private char[] pureTextFromFile = new char[BUFFER_SIZE];
+    private int pureTextLength;
     private BibDatabase database;
     private Set<BibEntryType> entryTypes;
     private boolean eof;
     private int line = 1;
     private ParserResult parserResult;
+    // The entries are added to the database once all of them are parsed
+    private List<BibEntry> parsedEntries;
     private final MetaDataParser metaDataParser;
+    private final FileUpdateMonitor fileMonitor;
+
+    // Only set if the regions of the source file holding the parsed serializations of the entries are recorded
+    private SourceFile sourceFile;
+    private boolean sourceFileIsUtf8;
+    private long sourceFilePosition;
+    private final List<ParsedRegion> parsedRegions = new ArrayList<>();
 
     public BibtexParser(ImportFormatPreferences importFormatPreferences, FileUpdateMonitor fileMonitor) {
         this.importFormatPreferences = Objects.requireNonNull(importFormatPreferences);
         fieldContentFormatter = new FieldContentFormatter(importFormatPreferences.getFieldContentFormatterPreferences());
         metaDataParser = new MetaDataParser(fileMonitor);
+        this.fileMonitor = fileMonitor;
     }
 
     /**
@@ -129,8 +156,147 @@ public class BibtexParser implements Parser {
      * @throws IOException
      */
     public ParserResult parse(Reader in) throws IOException {
-        Objects.requireNonNull(in);
-        pushbackReader = new PushbackReader(in, BibtexParser.LOOKAHEAD);
+        sourceFile = null;
+        return parseReader(in);
+    }
+
+    /**
+     * Parses the given file. The reader has to read the given file using its encoding.
+     * <p>
+     * Instead of the parsed serialization of each entry, only the region of the file holding it is kept, so that
+     * unchanged entries can be copied from the file when it is saved again (see {@link
+     * BibEntry#getParsedSerializationRegion()}). The regions are only determined for UTF-8 and single-byte encodings.
+     * For other encodings, or if the file could not be decoded without errors, the entries are parsed as by {@link
+     * #parse(Reader)}.
+     * <p>
+     * Large files are parsed in parallel.
+     */
+    public ParserResult parse(Reader in, SourceFile file) throws IOException {
+        if (file.getSize() >= PARALLEL_PARSING_THRESHOLD) {
+            return parseInChunks(in, file);
+        }
+        return parseSourceFile(in, file);
+    }
+
+    private ParserResult parseSourceFile(Reader in, SourceFile file) throws IOException {
+        setSourceFile(file);
+        ParserResult result = parseReader(in);
+        setParsedSerializationRegions();
+        return result;
+    }
+
+    private void setSourceFile(SourceFile file) {
+        Charset encoding = file.getEncoding();
+        sourceFileIsUtf8 = StandardCharsets.UTF_8.equals(encoding);
+        boolean isSingleByteEncoding = encoding.canEncode() && (encoding.newEncoder().maxBytesPerChar() == 1.0f);
+        sourceFile = (sourceFileIsUtf8 || isSingleByteEncoding) ? file : null;
+    }
+
+    private void setParsedSerializationRegions() {
+        // If the bytes read do not add up to the file size, the computed regions are wrong
+        if ((sourceFile != null) && (sourceFilePosition == sourceFile.getSize()) && sourceFile.isUnchanged()) {
+            for (ParsedRegion region : parsedRegions) {
+                if (!region.entry.hasChanged()) {
+                    region.entry.setParsedSerializationRegion(new SourceFileRegion(sourceFile, region.start, region.end));
+                }
+            }
+        }
+        parsedRegions.clear();
+        sourceFile = null;
+    }
+
+    /**
+     * Splits the content of the file into chunks of complete entries (see {@link BibtexChunkSplitter}), which are
+     * parsed in parallel and merged in order afterwards. If a chunk cannot be parsed without warnings, the content is
+     * parsed as a whole instead, as the warnings may be caused by a chunk boundary the parser would not have reached.
+     */
+    private ParserResult parseInChunks(Reader in, SourceFile file) throws IOException {
+        char[] content = new char[BUFFER_SIZE];
+        int length = 0;
+        int charactersRead;
+        while ((charactersRead = in.read(content, length, content.length - length)) >= 0) {
+            length += charactersRead;
+            if (length == content.length) {
+                content = Arrays.copyOf(content, 2 * content.length);
+            }
+        }
+
+        List<BibtexChunkSplitter.Chunk> chunks = BibtexChunkSplitter.split(content, length, MINIMUM_CHUNK_LENGTH);
+        if (chunks.size() > 1) {
+            char[] chunkedContent = content;
+            List<ParsedChunk> parsedChunks = chunks.parallelStream()
+                                                   .map(chunk -> new BibtexParser(importFormatPreferences, fileMonitor).parseChunk(chunkedContent, chunk, file))
+                                                   .collect(Collectors.toList());
+            if (parsedChunks.stream().noneMatch(parsedChunk -> parsedChunk.result.hasWarnings())) {
+                return mergeChunks(parsedChunks, file);
+            }
+            LOGGER.debug("Could not parse {} in chunks, parsing it as a whole", file.getPath());
+        }
+        return parseSourceFile(new CharArrayReader(content, 0, length), file);
+    }
+
+    private ParsedChunk parseChunk(char[] content, BibtexChunkSplitter.Chunk chunk, SourceFile file) {
+        setSourceFile(file);
+        initializeReader(new CharArrayReader(content, chunk.getStart(), chunk.getLength()));
+        line = chunk.getFirstLine();
+        initializeParserResult();
+        Map<String, String> meta = new HashMap<>();
+        try {
+            // The database ID is only read at the beginning of the file
+            if (chunk.isFirst()) {
+                parseDatabaseID();
+            }
+            skipWhitespace();
+            parseContent(meta);
+            parseRemainingContent();
+        } catch (IOException e) {
+            parserResult.addException(e);
+        }
+        List<ParsedRegion> regions = (sourceFile == null) ? null : new ArrayList<>(parsedRegions);
+        return new ParsedChunk(parserResult, parsedEntries, meta, regions, sourceFilePosition);
+    }
+
+    private ParserResult mergeChunks(List<ParsedChunk> parsedChunks, SourceFile file) {
+        setSourceFile(file);
+        initializeParserResult();
+        parsedRegions.clear();
+        sourceFilePosition = 0;
+        Map<String, String> meta = new HashMap<>();
+        for (ParsedChunk parsedChunk : parsedChunks) {
+            BibDatabase chunkDatabase = parsedChunk.result.getDatabase();
+            chunkDatabase.getSharedDatabaseID().ifPresent(database::setSharedDatabaseID);
+            chunkDatabase.getPreamble().ifPresent(database::setPreamble);
+            for (BibtexString bibtexString : chunkDatabase.getStringValues()) {
+                try {
+                    database.addString(bibtexString);
+                } catch (KeyCollisionException ex) {
+                    parserResult.addWarning(Localization.lang("Duplicate string name") + ": " + bibtexString.getName());
+                }
+            }
+            entryTypes.addAll(parsedChunk.result.getEntryTypes());
+            meta.putAll(parsedChunk.meta);
+            parsedEntries.addAll(parsedChunk.entries);
+            database.setEpilog(chunkDatabase.getEpilog());
+
+            if (parsedChunk.regions == null) {
+                sourceFile = null;
+            } else {
+                for (ParsedRegion region : parsedChunk.regions) {
+                    parsedRegions.add(new ParsedRegion(region.entry, sourceFilePosition + region.start, sourceFilePosition + region.end));
+                }
+            }
+            sourceFilePosition += parsedChunk.encodedLength;
+        }
+
+        database.insertEntries(parsedEntries);
+        parseMetaData(meta);
+        checkEpilog();
+        setParsedSerializationRegions();
+        return parserResult;
+    }
+
+    private ParserResult parseReader(Reader in) throws IOException {
+        initializeReader(in);
 
         // Bibtex related contents.
         initializeParserResult();
@@ -142,10 +308,23 @@ public class BibtexParser implements Parser {
         return parseFileContent();
     }
 
+    private void initializeReader(Reader in) {
+        reader = Objects.requireNonNull(in);
+        // Leave room for characters pushed back before the first block was read
+        bufferPosition = LOOKAHEAD;
+        bufferLimit = LOOKAHEAD;
+        pureTextLength = 0;
+        eof = false;
+        line = 1;
+        sourceFilePosition = 0;
+        parsedRegions.clear();
+    }
+
     private void initializeParserResult() {
         database = new BibDatabase();
         entryTypes = new HashSet<>(); // To store custom entry types parsed.
         parserResult = new ParserResult(database, new MetaData(), entryTypes);
+        parsedEntries = new ArrayList<>();
     }
 
     private void parseDatabaseID() throws IOException {
@@ -171,7 +350,21 @@ public class BibtexParser implements Parser {
 
     private ParserResult parseFileContent() throws IOException {
         Map<String, String> meta = new HashMap<>();
+        parseContent(meta);
+        database.insertEntries(parsedEntries);
+        parseMetaData(meta);
+
+        parseRemainingContent();
+
+        checkEpilog();
 
+        return parserResult;
+    }
+
+    /**
+     * Parses all entries, strings, comments and the preamble until the end of the input.
+     */
+    private void parseContent(Map<String, String> meta) throws IOException {
         while (!eof) {
             boolean found = consumeUncritically('@');
             if (!found) {
@@ -200,19 +393,14 @@ public class BibtexParser implements Parser {
 
             skipWhitespace();
         }
+    }
 
-        // Instantiate meta data:
+    private void parseMetaData(Map<String, String> meta) {
         try {
             parserResult.setMetaData(metaDataParser.parse(meta, importFormatPreferences.getKeywordSeparator()));
         } catch (ParseException exception) {
             parserResult.addException(exception);
         }
-
-        parseRemainingContent();
-
-        checkEpilog();
-
-        return parserResult;
     }
 
     private void checkEpilog() {
@@ -238,9 +426,14 @@ public class BibtexParser implements Parser {
             entry.setCommentsBeforeEntry(
                     commentsAndEntryTypeDefinition.substring(0, commentsAndEntryTypeDefinition.lastIndexOf('@')));
             // store complete parsed serialization (comments, type definition + type contents)
-            entry.setParsedSerialization(commentsAndEntryTypeDefinition + dumpTextReadSoFarToString());
+            String parsedSerialization = commentsAndEntryTypeDefinition + dumpTextReadSoFarToString();
+            entry.setParsedSerialization(parsedSerialization);
+            if (sourceFile != null) {
+                // the parsed serialization ends with the last character read
+                parsedRegions.add(new ParsedRegion(entry, sourceFilePosition - getEncodedLength(parsedSerialization), sourceFilePosition));
+            }
 
-            database.insertEntry(entry);
+            parsedEntries.add(entry);
         } catch (IOException ex) {
             // Trying to make the parser more robust.
             // If an exception is thrown when parsing an entry, drop the entry and try to resume parsing.
@@ -349,12 +542,13 @@ public class BibtexParser implements Parser {
     }
 
     private String getPureTextFromFile() {
-        StringBuilder entry = new StringBuilder();
-        while (!pureTextFromFile.isEmpty()) {
-            entry.append(pureTextFromFile.pollFirst());
+        String text = new String(pureTextFromFile, 0, pureTextLength);
+        pureTextLength = 0;
+        if (pureTextFromFile.length > (16 * BUFFER_SIZE)) {
+            // Do not keep the memory of an unusually long text, e.g., a large comment
+            pureTextFromFile = new char[BUFFER_SIZE];
         }
-
-        return entry.toString();
+        return text;
     }
 
     /**
@@ -457,10 +651,24 @@ public class BibtexParser implements Parser {
     }
 
     private int read() throws IOException {
-        int character = pushbackReader.read();
+        if ((bufferPosition == bufferLimit) && !fillBuffer()) {
+            return -1;
+        }
+        int character = buffer[bufferPosition++];
 
         if (!isEOFCharacter(character)) {
-            pureTextFromFile.offerLast((char) character);
+            if (pureTextLength == pureTextFromFile.length) {
+                pureTextFromFile = Arrays.copyOf(pureTextFromFile, 2 * pureTextLength);
+            }
+            pureTextFromFile[pureTextLength++] = (char) character;
+            if (sourceFile != null) {
+                if (character == '\uFFFD') {
+                    // the file could not be decoded, so the number of bytes of the character is unknown
+                    sourceFile = null;
+                } else {
+                    sourceFilePosition += getEncodedLength((char) character);
+                }
+            }
         }
         if (character == '\n') {
             line++;
@@ -468,13 +676,62 @@ public class BibtexParser implements Parser {
         return character;
     }
 
+    /**
+     * Reads the next block of the input, keeping the last {@link #LOOKAHEAD} characters read in front of it.
+     *
+     * @return false if the end of the input was reached
+     */
+    private boolean fillBuffer() throws IOException {
+        System.arraycopy(buffer, bufferLimit - LOOKAHEAD, buffer, 0, LOOKAHEAD);
+        bufferPosition = LOOKAHEAD;
+        bufferLimit = LOOKAHEAD;
+
+        int charactersRead;
+        do {
+            charactersRead = reader.read(buffer, LOOKAHEAD, BUFFER_SIZE);
+        } while (charactersRead == 0);
+        if (charactersRead < 0) {
+            return false;
+        }
+        bufferLimit += charactersRead;
+        return true;
+    }
+
+    private int getEncodedLength(String text) {
+        int length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            length += getEncodedLength(text.charAt(i));
+        }
+        return length;
+    }
+
+    private int getEncodedLength(char character) {
+        if (!sourceFileIsUtf8 || (character < 0x80)) {
+            return 1;
+        } else if (character < 0x800) {
+            return 2;
+        } else if (Character.isSurrogate(character)) {
+            // a surrogate pair is encoded using four bytes
+            return 2;
+        } else {
+            return 3;
+        }
+    }
+
     private void unread(int character) throws IOException {
         if (character == '\n') {
             line--;
         }
-        pushbackReader.unread(character);
-        if (pureTextFromFile.getLast() == character) {
-            pureTextFromFile.pollLast();
+        if (bufferPosition == 0) {
+            throw new IOException("Pushback buffer overflow");
+        }
+        // As with a PushbackReader, the character read next is the one pushed back, even if it was not read before
+        buffer[--bufferPosition] = (char) character;
+        if ((sourceFile != null) && !isEOFCharacter(character)) {
+            sourceFilePosition -= getEncodedLength((char) character);
+        }
+        if ((pureTextLength > 0) && (pureTextFromFile[pureTextLength - 1] == character)) {
+            pureTextLength--;
         }
     }
 
@@ -930,4 +1187,35 @@ public class BibtexParser implements Parser {
                     + " but received " + (char) character);
         }
     }
+
+    private static class ParsedChunk {
+
+        private final ParserResult result;
+        private final List<BibEntry> entries;
+        private final Map<String, String> meta;
+        // null if the regions of the entries could not be determined
+        private final List<ParsedRegion> regions;
+        private final long encodedLength;
+
+        public ParsedChunk(ParserResult result, List<BibEntry> entries, Map<String, String> meta, List<ParsedRegion> regions, long encodedLength) {
+            this.result = result;
+            this.entries = entries;
+            this.meta = meta;
+            this.regions = regions;
+            this.encodedLength = encodedLength;
+        }
+    }
+
+    private static class ParsedRegion {
+
+        private final BibEntry entry;
+        private final long start;
+        private final long end;
+
+        public ParsedRegion(BibEntry entry, long start, long end) {
+            this.entry = entry;
+            this.start = start;
+            this.end = end;
+        }
+    }
 }
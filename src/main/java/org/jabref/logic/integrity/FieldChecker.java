@@ -18,6 +18,10 @@ public class FieldChecker implements EntryChecker {
         this.checker = Objects.requireNonNull(checker);
     }
 
+    public ValueChecker getChecker() {
+        return checker;
+    }
+
     @Override
     public List<IntegrityMessage> check(BibEntry entry) {
         Optional<String> value = entry.getField(field);
@@ -2,80 +2,171 @@ package org.jabref.logic.integrity;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import org.jabref.logic.citationkeypattern.CitationKeyPatternPreferences;
 import org.jabref.logic.journals.JournalAbbreviationRepository;
 import org.jabref.model.database.BibDatabase;
 import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.database.event.EntriesRemovedEvent;
 import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.event.EntryChangedEvent;
 import org.jabref.model.entry.field.StandardField;
 import org.jabref.preferences.FilePreferences;
 
+import com.google.common.eventbus.Subscribe;
+
+/**
+ * Checks the entries of a library for problems.
+ * <p>
+ * The messages of the checks which only depend on the entry itself are cached until the entry is changed or removed.
+ * The checks depending on other entries, such as {@link CitationKeyDuplicationChecker}, or on the file system
+ * ({@link FileChecker}) are run each time. A new check can take over the cached messages of a previous check of the
+ * same library (see {@link #IntegrityCheck(BibDatabaseContext, FilePreferences, CitationKeyPatternPreferences,
+ * JournalAbbreviationRepository, boolean, IntegrityCheck)}), so that only the changed entries are checked again.
+ */
 public class IntegrityCheck {
 
     private final BibDatabaseContext bibDatabaseContext;
-    private final FieldCheckers fieldCheckers;
-    private final List<EntryChecker> entryCheckers;
+    private final JournalAbbreviationRepository journalAbbreviationRepository;
+    private final boolean allowIntegerEdition;
+    private final boolean biblatexMode;
+
+    // Checks whose messages are cached
+    private final List<EntryChecker> entryLocalCheckers = new ArrayList<>();
+    // Checks depending on other entries or the file system
+    private final List<EntryChecker> uncachedCheckers = new ArrayList<>();
+
+    // The messages of the entry local checks by the id of the entry
+    private final Map<String, List<IntegrityMessage>> cachedMessages;
 
     public IntegrityCheck(BibDatabaseContext bibDatabaseContext,
                           FilePreferences filePreferences,
                           CitationKeyPatternPreferences citationKeyPatternPreferences,
                           JournalAbbreviationRepository journalAbbreviationRepository,
                           boolean allowIntegerEdition) {
+        this(bibDatabaseContext, filePreferences, citationKeyPatternPreferences, journalAbbreviationRepository, allowIntegerEdition, null);
+    }
+
+    /**
+     * Creates a check which takes over the cached messages of the given previous check, if that one checked the same
+     * library using the same configuration. The previous check must not be used afterwards.
+     */
+    public IntegrityCheck(BibDatabaseContext bibDatabaseContext,
+                          FilePreferences filePreferences,
+                          CitationKeyPatternPreferences citationKeyPatternPreferences,
+                          JournalAbbreviationRepository journalAbbreviationRepository,
+                          boolean allowIntegerEdition,
+                          IntegrityCheck previousCheck) {
         this.bibDatabaseContext = bibDatabaseContext;
+        this.journalAbbreviationRepository = journalAbbreviationRepository;
+        this.allowIntegerEdition = allowIntegerEdition;
+        this.biblatexMode = bibDatabaseContext.isBiblatexMode();
 
-        fieldCheckers = new FieldCheckers(bibDatabaseContext,
+        FieldCheckers fieldCheckers = new FieldCheckers(bibDatabaseContext,
                 filePreferences,
                 journalAbbreviationRepository,
                 allowIntegerEdition);
+        for (FieldChecker fieldChecker : fieldCheckers.getAll()) {
+            if (fieldChecker.getChecker() instanceof FileChecker) {
+                uncachedCheckers.add(fieldChecker);
+            } else {
+                entryLocalCheckers.add(fieldChecker);
+            }
+        }
 
-        entryCheckers = new ArrayList<>(List.of(
+        entryLocalCheckers.addAll(List.of(
                 new CitationKeyChecker(),
                 new TypeChecker(),
                 new BibStringChecker(),
-                new HTMLCharacterChecker(),
+                new HTMLCharacterChecker()
+        ));
+        uncachedCheckers.addAll(List.of(
                 new EntryLinkChecker(bibDatabaseContext.getDatabase()),
                 new CitationKeyDeviationChecker(bibDatabaseContext, citationKeyPatternPreferences),
                 new CitationKeyDuplicationChecker(bibDatabaseContext.getDatabase())
         ));
 
         if (bibDatabaseContext.isBiblatexMode()) {
-            entryCheckers.add(new JournalInAbbreviationListChecker(StandardField.JOURNALTITLE, journalAbbreviationRepository));
+            entryLocalCheckers.add(new JournalInAbbreviationListChecker(StandardField.JOURNALTITLE, journalAbbreviationRepository));
         } else {
-            entryCheckers.addAll(List.of(
+            entryLocalCheckers.addAll(List.of(
                     new JournalInAbbreviationListChecker(StandardField.JOURNAL, journalAbbreviationRepository),
                     new ASCIICharacterChecker(),
                     new NoBibtexFieldChecker(),
                     new BibTeXEntryTypeChecker())
             );
         }
+
+        if ((previousCheck != null) && previousCheck.hasSameConfigurationAs(this)) {
+            cachedMessages = previousCheck.cachedMessages;
+        } else {
+            cachedMessages = new ConcurrentHashMap<>();
+        }
+        // The previous check keeps the messages up to date until this one listens to the changes
+        bibDatabaseContext.getDatabase().registerListener(this);
+        if (previousCheck != null) {
+            previousCheck.shutdown();
+        }
+    }
+
+    private boolean hasSameConfigurationAs(IntegrityCheck other) {
+        return (bibDatabaseContext == other.bibDatabaseContext)
+                && (journalAbbreviationRepository == other.journalAbbreviationRepository)
+                && (allowIntegerEdition == other.allowIntegerEdition)
+                && (biblatexMode == other.biblatexMode);
     }
 
     List<IntegrityMessage> check() {
-        List<IntegrityMessage> result = new ArrayList<>();
+        return check(messages -> {
+        });
+    }
 
+    /**
+     * Checks all entries of the library in parallel, followed by the checks of the library as a whole.
+     *
+     * @param onEntryChecked called with the messages of each entry once it is checked, possibly by several threads at
+     *                       once
+     * @return the messages of all entries in the order of the entries, followed by the messages of the library
+     */
+    public List<IntegrityMessage> check(Consumer<List<IntegrityMessage>> onEntryChecked) {
         BibDatabase database = bibDatabaseContext.getDatabase();
 
-        for (BibEntry entry : database.getEntries()) {
-            result.addAll(checkEntry(entry));
-        }
+        List<BibEntry> entries = new ArrayList<>(database.getEntries());
+        List<IntegrityMessage> result = entries.parallelStream()
+                                               .map(entry -> checkEntry(entry, onEntryChecked))
+                                               .flatMap(List::stream)
+                                               .collect(Collectors.toList());
 
         result.addAll(checkDatabase(database));
 
         return result;
     }
 
+    private List<IntegrityMessage> checkEntry(BibEntry entry, Consumer<List<IntegrityMessage>> onEntryChecked) {
+        List<IntegrityMessage> messages = checkEntry(entry);
+        onEntryChecked.accept(messages);
+        return messages;
+    }
+
     public List<IntegrityMessage> checkEntry(BibEntry entry) {
         List<IntegrityMessage> result = new ArrayList<>();
         if (entry == null) {
             return result;
         }
 
-        for (FieldChecker fieldChecker : fieldCheckers.getAll()) {
-            result.addAll(fieldChecker.check(entry));
-        }
+        result.addAll(cachedMessages.computeIfAbsent(entry.getId(), id -> {
+            List<IntegrityMessage> messages = new ArrayList<>();
+            for (EntryChecker entryChecker : entryLocalCheckers) {
+                messages.addAll(entryChecker.check(entry));
+            }
+            return messages;
+        }));
 
-        for (EntryChecker entryChecker : entryCheckers) {
+        for (EntryChecker entryChecker : uncachedCheckers) {
             result.addAll(entryChecker.check(entry));
         }
 
@@ -85,4 +176,23 @@ public class IntegrityCheck {
     public List<IntegrityMessage> checkDatabase(BibDatabase database) {
         return new DoiDuplicationChecker().check(database);
     }
+
+    /**
+     * Stops keeping the cached messages up to date.
+     */
+    public void shutdown() {
+        bibDatabaseContext.getDatabase().unregisterListener(this);
+    }
+
+    @Subscribe
+    public void listen(EntryChangedEvent event) {
+        cachedMessages.remove(event.getBibEntry().getId());
+    }
+
+    @Subscribe
+    public void listen(EntriesRemovedEvent event) {
+        for (BibEntry entry : event.getBibEntries()) {
+            cachedMessages.remove(entry.getId());
+        }
+    }
 }
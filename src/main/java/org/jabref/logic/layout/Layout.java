@@ -20,6 +20,8 @@ public class Layout {
 
     private final List<String> missingFormatters = new ArrayList<>();
 
+    private boolean containsGroups;
+
     public Layout(List<StringInt> parsedEntries, LayoutFormatterPreferences prefs) {
         List<LayoutEntry> tmpEntries = new ArrayList<>(parsedEntries.size());
 
@@ -36,6 +38,7 @@ public class Layout {
                     break;
                 case LayoutHelper.IS_FIELD_START:
                 case LayoutHelper.IS_GROUP_START:
+                    containsGroups |= parsedEntry.i == LayoutHelper.IS_GROUP_START;
                     blockEntries = new ArrayList<>();
                     blockStart = parsedEntry.s;
                     break;
@@ -131,6 +134,14 @@ public class Layout {
         return sb.toString();
     }
 
+    /**
+     * Returns whether this layout contains groups (\begingroup). A group is only output if its field differs from
+     * the one of the previous entry, thus the entries have to be laid out in order.
+     */
+    public boolean containsGroups() {
+        return containsGroups;
+    }
+
     public List<String> getMissingFormatters() {
         return new ArrayList<>(missingFormatters);
     }
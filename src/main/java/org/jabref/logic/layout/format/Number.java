@@ -1,14 +1,32 @@
 package org.jabref.logic.layout.format;
 
-import org.jabref.logic.exporter.ExporterFactory;
 import org.jabref.logic.layout.ParamLayoutFormatter;
 
 /**
  * Formatter that outputs a sequence number for the current entry. The sequence number is
  * tied to the entry's position in the order, not to the number of calls to this formatter.
+ * <p>
+ * The number is set by the caller laying out the entries (see {@link #setEntryNumber(int)}) for the current thread
+ * only, so that several exports can run at the same time. It is 1 if it was not set, e.g., in the entry preview.
  */
 public class Number implements ParamLayoutFormatter {
 
+    private static final ThreadLocal<Integer> ENTRY_NUMBER = ThreadLocal.withInitial(() -> 1);
+
+    /**
+     * Sets the sequence number of the entry which is laid out next by the current thread.
+     */
+    public static void setEntryNumber(int entryNumber) {
+        ENTRY_NUMBER.set(entryNumber);
+    }
+
+    /**
+     * Resets the sequence number of the current thread after all entries have been laid out.
+     */
+    public static void resetEntryNumber() {
+        ENTRY_NUMBER.remove();
+    }
+
     @Override
     public void setArgument(String arg) {
         // No effect currently.
@@ -16,6 +34,6 @@ public class Number implements ParamLayoutFormatter {
 
     @Override
     public String format(String fieldText) {
-        return String.valueOf(ExporterFactory.entryNumber);
+        return String.valueOf(ENTRY_NUMBER.get());
     }
 }
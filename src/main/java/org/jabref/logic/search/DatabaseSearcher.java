@@ -3,6 +3,8 @@ package org.jabref.logic.search;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import org.jabref.model.database.BibDatabase;
@@ -18,10 +20,21 @@ public class DatabaseSearcher {
     private final SearchQuery query;
 
     private final BibDatabase database;
+    private final Optional<SearchIndex> searchIndex;
 
     public DatabaseSearcher(SearchQuery query, BibDatabase database) {
         this.query = Objects.requireNonNull(query);
         this.database = Objects.requireNonNull(database);
+        this.searchIndex = Optional.empty();
+    }
+
+    /**
+     * @param searchIndex an index maintained for the given database, used to skip entries which cannot match
+     */
+    public DatabaseSearcher(SearchQuery query, BibDatabase database, SearchIndex searchIndex) {
+        this.query = Objects.requireNonNull(query);
+        this.database = Objects.requireNonNull(database);
+        this.searchIndex = Optional.of(searchIndex);
     }
 
     public List<BibEntry> getMatches() {
@@ -32,7 +45,12 @@ public class DatabaseSearcher {
             return Collections.emptyList();
         }
 
-        List<BibEntry> matchEntries = database.getEntries().stream().filter(query::isMatch).collect(Collectors.toList());
+        Predicate<BibEntry> candidateFilter = searchIndex.map(index -> index.getCandidateFilter(query))
+                                                         .orElse(entry -> true);
+        List<BibEntry> matchEntries = database.getEntries().stream()
+                                              .filter(candidateFilter)
+                                              .filter(query::isMatch)
+                                              .collect(Collectors.toList());
         return BibDatabases.purgeEmptyEntries(matchEntries);
     }
 }
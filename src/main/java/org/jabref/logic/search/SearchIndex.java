@@ -0,0 +1,422 @@
+package org.jabref.logic.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.database.event.EntriesAddedEvent;
+import org.jabref.model.database.event.EntriesRemovedEvent;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.event.FieldChangedEvent;
+import org.jabref.model.entry.field.Field;
+import org.jabref.model.entry.field.InternalField;
+import org.jabref.model.search.rules.ContainBasedSearchRule;
+import org.jabref.model.search.rules.GrammarBasedSearchRule;
+import org.jabref.model.search.rules.GrammarBasedSearchRule.ComparisonOperator;
+import org.jabref.model.search.rules.SearchRule;
+import org.jabref.model.search.rules.SentenceAnalyzer;
+import org.jabref.search.SearchBaseVisitor;
+import org.jabref.search.SearchParser;
+
+import com.google.common.eventbus.Subscribe;
+
+/**
+ * An inverted index (field -> token -> ids of the entries containing the token) over the latex-free field values of a
+ * {@link BibDatabase}. The index is kept up to date by listening to the events posted by the database.
+ * <p>
+ * The index is used to find the candidates of a {@link SearchQuery} without looking at every entry. All supported
+ * search rules are substring based, thus a query word can only match an entry if each of its tokens is contained in
+ * an indexed token of that entry. The tokens containing a query token are found using an index of the n-grams (up to
+ * {@link #GRAM_LENGTH} characters) of all tokens, so that the vocabulary does not need to be scanned. Exact comparisons
+ * ({@code ==}) look up the tokens directly. The candidates still have to be verified using
+ * {@link SearchQuery#isMatch(BibEntry)}.
+ */
+public class SearchIndex {
+
+    private static final String ANY_FIELD = "anyfield";
+    private static final String ANY_KEYWORD = "anykeyword";
+    static final int GRAM_LENGTH = 3;
+
+    private final BibDatabase database;
+
+    private final Map<Field, Map<String, Set<String>>> entryIdsByTokenByField = new HashMap<>();
+    private final Map<String, Map<Field, Set<String>>> tokensByFieldByEntryId = new HashMap<>();
+    // n-gram -> tokens containing it, and the number of fields each token is indexed in
+    private final Map<String, Set<String>> tokensByGram = new HashMap<>();
+    private final Map<String, Integer> fieldsByToken = new HashMap<>();
+
+    // Used to accept entries which were changed after the candidates of a query were determined
+    private final Map<String, Long> modificationByEntryId = new ConcurrentHashMap<>();
+    private long modificationCount;
+
+    public SearchIndex(BibDatabase database) {
+        this.database = Objects.requireNonNull(database);
+
+        // Register first so that no change is missed while the existing entries are indexed
+        database.registerListener(this);
+        indexEntries(new ArrayList<>(database.getEntries()));
+    }
+
+    /**
+     * Splits the given text into lower case tokens consisting of letters and digits only.
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        String lowerCaseText = text.toLowerCase(Locale.ROOT);
+        int tokenStart = -1;
+        for (int i = 0; i < lowerCaseText.length(); i++) {
+            if (Character.isLetterOrDigit(lowerCaseText.charAt(i))) {
+                if (tokenStart < 0) {
+                    tokenStart = i;
+                }
+            } else if (tokenStart >= 0) {
+                tokens.add(lowerCaseText.substring(tokenStart, i));
+                tokenStart = -1;
+            }
+        }
+        if (tokenStart >= 0) {
+            tokens.add(lowerCaseText.substring(tokenStart));
+        }
+        return tokens;
+    }
+
+    /**
+     * Returns a filter accepting all entries which possibly match the given query. Entries not accepted by the filter
+     * are guaranteed not to match the query.
+     * <p>
+     * Entries which are added or modified after the filter has been created are always accepted. Thus, the filter stays
+     * valid while the database changes.
+     */
+    public synchronized Predicate<BibEntry> getCandidateFilter(SearchQuery query) {
+        Optional<Set<String>> candidates = findCandidates(query);
+        if (candidates.isEmpty()) {
+            return entry -> true;
+        }
+
+        Set<String> candidateIds = candidates.get();
+        long modificationAtCreation = modificationCount;
+        return entry -> candidateIds.contains(entry.getId())
+                || (modificationByEntryId.getOrDefault(entry.getId(), Long.MAX_VALUE) > modificationAtCreation);
+    }
+
+    /**
+     * Stops keeping the index up to date.
+     */
+    public void shutdown() {
+        database.unregisterListener(this);
+    }
+
+    @Subscribe
+    public synchronized void listen(EntriesAddedEvent event) {
+        indexEntries(event.getBibEntries());
+    }
+
+    @Subscribe
+    public synchronized void listen(EntriesRemovedEvent event) {
+        for (BibEntry entry : event.getBibEntries()) {
+            removeEntry(entry.getId());
+            modificationByEntryId.remove(entry.getId());
+        }
+    }
+
+    @Subscribe
+    public synchronized void listen(FieldChangedEvent event) {
+        BibEntry entry = event.getBibEntry();
+        if (InternalField.INTERNAL_ID_FIELD.equals(event.getField())) {
+            // The event is posted before the id is changed
+            if ((event.getOldValue() != null) && tokensByFieldByEntryId.containsKey(event.getOldValue())) {
+                removeEntry(event.getOldValue());
+                modificationByEntryId.remove(event.getOldValue());
+                indexEntry(entry, event.getNewValue());
+            }
+        } else if (tokensByFieldByEntryId.containsKey(entry.getId())) {
+            // Entries which are no longer part of the database still post their changes
+            indexEntry(entry, entry.getId());
+        }
+    }
+
+    private synchronized void indexEntries(Collection<BibEntry> entries) {
+        for (BibEntry entry : entries) {
+            indexEntry(entry, entry.getId());
+        }
+    }
+
+    private void indexEntry(BibEntry entry, String entryId) {
+        removeEntry(entryId);
+
+        Map<Field, Set<String>> tokensByField = new HashMap<>();
+        for (Field field : entry.getFields()) {
+            Set<String> tokens = entry.getLatexFreeField(field)
+                                      .map(SearchIndex::tokenize)
+                                      .orElse(List.of())
+                                      .stream()
+                                      .map(String::intern)
+                                      .collect(Collectors.toSet());
+            Map<String, Set<String>> entryIdsByToken = entryIdsByTokenByField.computeIfAbsent(field, key -> new HashMap<>());
+            for (String token : tokens) {
+                Set<String> entryIds = entryIdsByToken.get(token);
+                if (entryIds == null) {
+                    entryIds = new HashSet<>();
+                    entryIdsByToken.put(token, entryIds);
+                    addToVocabulary(token);
+                }
+                entryIds.add(entryId);
+            }
+            tokensByField.put(field, tokens);
+        }
+        tokensByFieldByEntryId.put(entryId, tokensByField);
+        modificationCount++;
+        modificationByEntryId.put(entryId, modificationCount);
+    }
+
+    private void removeEntry(String entryId) {
+        Map<Field, Set<String>> tokensByField = tokensByFieldByEntryId.remove(entryId);
+        if (tokensByField == null) {
+            return;
+        }
+
+        tokensByField.forEach((field, tokens) -> {
+            Map<String, Set<String>> entryIdsByToken = entryIdsByTokenByField.get(field);
+            if (entryIdsByToken == null) {
+                return;
+            }
+            for (String token : tokens) {
+                Set<String> entryIds = entryIdsByToken.get(token);
+                entryIds.remove(entryId);
+                if (entryIds.isEmpty()) {
+                    entryIdsByToken.remove(token);
+                    removeFromVocabulary(token);
+                }
+            }
+            if (entryIdsByToken.isEmpty()) {
+                entryIdsByTokenByField.remove(field);
+            }
+        });
+    }
+
+    private void addToVocabulary(String token) {
+        if (fieldsByToken.merge(token, 1, Integer::sum) == 1) {
+            for (String gram : getGrams(token)) {
+                tokensByGram.computeIfAbsent(gram, key -> new HashSet<>()).add(token);
+            }
+        }
+    }
+
+    private void removeFromVocabulary(String token) {
+        if (fieldsByToken.merge(token, -1, Integer::sum) > 0) {
+            return;
+        }
+        fieldsByToken.remove(token);
+        for (String gram : getGrams(token)) {
+            Set<String> tokens = tokensByGram.get(gram);
+            tokens.remove(token);
+            if (tokens.isEmpty()) {
+                tokensByGram.remove(gram);
+            }
+        }
+    }
+
+    /**
+     * Returns all substrings of the given token which are at most {@link #GRAM_LENGTH} characters long. Thus, each
+     * token shorter than that is a gram itself, and each longer one consists of grams of the maximal length.
+     */
+    static Set<String> getGrams(String token) {
+        Set<String> grams = new HashSet<>();
+        for (int length = 1; length <= Math.min(GRAM_LENGTH, token.length()); length++) {
+            for (int start = 0; start + length <= token.length(); start++) {
+                grams.add(token.substring(start, start + length));
+            }
+        }
+        return grams;
+    }
+
+    /**
+     * Returns the indexed tokens containing the given token.
+     */
+    private Set<String> getTokensContaining(String wordToken) {
+        if (wordToken.length() <= GRAM_LENGTH) {
+            return tokensByGram.getOrDefault(wordToken, Set.of());
+        }
+
+        // Each token containing the word token contains all of its grams, so the rarest gram narrows down the most
+        Set<String> rarestGramTokens = null;
+        for (int start = 0; start + GRAM_LENGTH <= wordToken.length(); start++) {
+            Set<String> tokens = tokensByGram.get(wordToken.substring(start, start + GRAM_LENGTH));
+            if (tokens == null) {
+                return Set.of();
+            }
+            if ((rarestGramTokens == null) || (tokens.size() < rarestGramTokens.size())) {
+                rarestGramTokens = tokens;
+            }
+        }
+        return rarestGramTokens.stream()
+                               .filter(token -> token.contains(wordToken))
+                               .collect(Collectors.toSet());
+    }
+
+    /**
+     * Returns the ids of the entries which possibly match the query or an empty optional if the index cannot narrow
+     * down the candidates for this query.
+     */
+    private Optional<Set<String>> findCandidates(SearchQuery query) {
+        if (!query.isValid()) {
+            return Optional.empty();
+        }
+
+        SearchRule rule = query.getRule();
+        if (rule instanceof ContainBasedSearchRule) {
+            return findCandidatesForWords(new SentenceAnalyzer(query.getQuery()).getWords());
+        } else if (rule instanceof GrammarBasedSearchRule) {
+            GrammarBasedSearchRule grammarBasedRule = (GrammarBasedSearchRule) rule;
+            if (grammarBasedRule.isRegExpSearch() || (grammarBasedRule.getTree() == null)) {
+                return Optional.empty();
+            }
+            return new CandidateVisitor(grammarBasedRule.isCaseSensitiveSearch()).visit(grammarBasedRule.getTree());
+        } else {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Finds the entries which possibly contain all of the given words, each of them in an arbitrary field.
+     */
+    private Optional<Set<String>> findCandidatesForWords(List<String> words) {
+        Optional<Set<String>> candidates = Optional.empty();
+        for (String word : words) {
+            candidates = intersect(candidates, findCandidatesForWord(word, entryIdsByTokenByField.keySet(), false));
+        }
+        return candidates;
+    }
+
+    /**
+     * Finds the entries which possibly contain the given word in one of the given fields.
+     *
+     * @param exact whether the word has to be the complete value of the field, so that its tokens are tokens of the
+     *              field as well
+     */
+    private Optional<Set<String>> findCandidatesForWord(String word, Collection<Field> fields, boolean exact) {
+        Optional<Set<String>> candidates = Optional.empty();
+        for (String wordToken : tokenize(word)) {
+            Set<String> matchingTokens = exact ? Set.of(wordToken) : getTokensContaining(wordToken);
+            Set<String> entryIds = new HashSet<>();
+            for (Field field : fields) {
+                Map<String, Set<String>> entryIdsByToken = entryIdsByTokenByField.getOrDefault(field, Map.of());
+                for (String token : matchingTokens) {
+                    entryIds.addAll(entryIdsByToken.getOrDefault(token, Set.of()));
+                }
+            }
+            candidates = intersect(candidates, Optional.of(entryIds));
+        }
+        return candidates;
+    }
+
+    private static Optional<Set<String>> intersect(Optional<Set<String>> first, Optional<Set<String>> second) {
+        if (first.isEmpty()) {
+            return second;
+        } else if (second.isEmpty()) {
+            return first;
+        }
+
+        Set<String> intersection = new HashSet<>(first.get());
+        intersection.retainAll(second.get());
+        return Optional.of(intersection);
+    }
+
+    private static Optional<Set<String>> union(Optional<Set<String>> first, Optional<Set<String>> second) {
+        if (first.isEmpty() || second.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Set<String> union = new HashSet<>(first.get());
+        union.addAll(second.get());
+        return Optional.of(union);
+    }
+
+    /**
+     * Determines the candidates of a query parsed by the Search.g4 grammar. The semantics follow the ones of
+     * {@link GrammarBasedSearchRule}, an empty result means that all entries are candidates.
+     */
+    private class CandidateVisitor extends SearchBaseVisitor<Optional<Set<String>>> {
+
+        private final boolean caseSensitive;
+
+        public CandidateVisitor(boolean caseSensitive) {
+            this.caseSensitive = caseSensitive;
+        }
+
+        @Override
+        public Optional<Set<String>> visitStart(SearchParser.StartContext ctx) {
+            return visit(ctx.expression());
+        }
+
+        @Override
+        public Optional<Set<String>> visitAtomExpression(SearchParser.AtomExpressionContext ctx) {
+            return visit(ctx.comparison());
+        }
+
+        @Override
+        public Optional<Set<String>> visitComparison(SearchParser.ComparisonContext context) {
+            // remove possible enclosing " symbols
+            String right = context.right.getText();
+            if (right.startsWith("\"") && right.endsWith("\"")) {
+                right = right.substring(1, right.length() - 1);
+            }
+
+            if (context.left == null) {
+                return findCandidatesForWords(new SentenceAnalyzer(right).getWords());
+            }
+
+            ComparisonOperator operator = ComparisonOperator.build(context.operator.getText());
+            String fieldName = context.left.getText();
+            if ((operator == ComparisonOperator.DOES_NOT_CONTAIN)
+                    || isFieldName(fieldName, InternalField.TYPE_HEADER.getName())
+                    || isFieldName(fieldName, ANY_KEYWORD)) {
+                return Optional.empty();
+            }
+
+            boolean exact = operator == ComparisonOperator.EXACT;
+            if (isFieldName(fieldName, ANY_FIELD)) {
+                return findCandidatesForWord(right, entryIdsByTokenByField.keySet(), exact);
+            }
+            Set<Field> fields = entryIdsByTokenByField.keySet().stream()
+                                                      .filter(field -> isFieldName(fieldName, field.getName()))
+                                                      .collect(Collectors.toSet());
+            return findCandidatesForWord(right, fields, exact);
+        }
+
+        @Override
+        public Optional<Set<String>> visitUnaryExpression(SearchParser.UnaryExpressionContext ctx) {
+            // a negation can match arbitrary entries
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<Set<String>> visitParenExpression(SearchParser.ParenExpressionContext ctx) {
+            return visit(ctx.expression());
+        }
+
+        @Override
+        public Optional<Set<String>> visitBinaryExpression(SearchParser.BinaryExpressionContext ctx) {
+            if ("AND".equalsIgnoreCase(ctx.operator.getText())) {
+                return intersect(visit(ctx.left), visit(ctx.right));
+            } else {
+                return union(visit(ctx.left), visit(ctx.right));
+            }
+        }
+
+        private boolean isFieldName(String queriedName, String fieldName) {
+            return caseSensitive ? queriedName.equals(fieldName) : queriedName.equalsIgnoreCase(fieldName);
+        }
+    }
+}
@@ -5,7 +5,9 @@ import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -38,6 +40,12 @@ public abstract class DBMSProcessor {
 
     protected static final Logger LOGGER = LoggerFactory.getLogger(DBMSProcessor.class);
 
+    // Maximum number of rows inserted by a single statement, limited by the number of parameters the DBMS accepts
+    protected static final int MAX_ROWS_PER_STATEMENT = 1000;
+
+    // Maximum number of shared ids passed to a single query
+    private static final int MAX_IDS_PER_QUERY = 500;
+
     protected final Connection connection;
 
     protected DatabaseConnectionProperties connectionProperties;
@@ -139,7 +147,7 @@ public abstract class DBMSProcessor {
     }
 
     /**
-     * Inserts the List of BibEntry into the shared database.
+     * Inserts the List of BibEntry into the shared database. All entries are inserted in one transaction.
      *
      * @param bibEntries List of {@link BibEntry} to be inserted
      */
@@ -148,50 +156,62 @@ public abstract class DBMSProcessor {
         if (notYetExistingEntries.isEmpty()) {
             return;
         }
-        insertIntoEntryTable(notYetExistingEntries);
-        insertIntoFieldTable(notYetExistingEntries);
+        boolean inserted = executeInTransaction(() -> {
+            insertIntoEntryTable(notYetExistingEntries);
+            insertIntoFieldTable(notYetExistingEntries);
+        });
+        if (!inserted) {
+            // The shared ids assigned during the transaction do not exist after the rollback
+            notYetExistingEntries.forEach(entry -> entry.getSharedBibEntryData().setSharedID(-1));
+        }
     }
 
     /**
-     * Inserts the given List of BibEntry into the ENTRY table.
+     * Inserts the given List of BibEntry into the ENTRY table. Each statement inserts up to {@link
+     * #MAX_ROWS_PER_STATEMENT} rows.
      *
      * @param bibEntries List of {@link BibEntry} to be inserted
      */
-    protected void insertIntoEntryTable(List<BibEntry> bibEntries) {
-        StringBuilder insertIntoEntryQuery = new StringBuilder()
-                .append("INSERT INTO ")
-                .append(escape("ENTRY"))
-                .append("(")
-                .append(escape("TYPE"))
-                .append(") VALUES(?)");
-        // Number of commas is bibEntries.size() - 1
-        for (int i = 0; i < (bibEntries.size() - 1); i++) {
-            insertIntoEntryQuery.append(", (?)");
-        }
-
-        try (PreparedStatement preparedEntryStatement = connection.prepareStatement(insertIntoEntryQuery.toString(),
-                new String[] {"SHARED_ID"})) {
-            for (int i = 0; i < bibEntries.size(); i++) {
-                preparedEntryStatement.setString(i + 1, bibEntries.get(i).getType().getName());
-            }
-            preparedEntryStatement.executeUpdate();
-
-            try (ResultSet generatedKeys = preparedEntryStatement.getGeneratedKeys()) {
-                // The following assumes that we get the generated keys in the order the entries were inserted
-                // This should be the case
-                for (BibEntry bibEntry : bibEntries) {
-                    generatedKeys.next();
-                    bibEntry.getSharedBibEntryData().setSharedID(generatedKeys.getInt(1));
+    protected void insertIntoEntryTable(List<BibEntry> bibEntries) throws SQLException {
+        for (int from = 0; from < bibEntries.size(); from += MAX_ROWS_PER_STATEMENT) {
+            List<BibEntry> entriesOfStatement = bibEntries.subList(from, Math.min(bibEntries.size(), from + MAX_ROWS_PER_STATEMENT));
+            StringBuilder insertIntoEntryQuery = new StringBuilder()
+                    .append("INSERT INTO ")
+                    .append(escape("ENTRY"))
+                    .append("(")
+                    .append(escape("TYPE"))
+                    .append(") VALUES(?)")
+                    // Number of commas is entriesOfStatement.size() - 1
+                    .append(", (?)".repeat(entriesOfStatement.size() - 1));
+
+            try (PreparedStatement preparedEntryStatement = prepareInsertIntoEntryStatement(insertIntoEntryQuery.toString())) {
+                for (int i = 0; i < entriesOfStatement.size(); i++) {
+                    preparedEntryStatement.setString(i + 1, entriesOfStatement.get(i).getType().getName());
                 }
-                if (generatedKeys.next()) {
-                    LOGGER.error("Error: Some shared IDs left unassigned");
+                preparedEntryStatement.executeUpdate();
+
+                try (ResultSet generatedKeys = preparedEntryStatement.getGeneratedKeys()) {
+                    // The following assumes that we get the generated keys in the order the entries were inserted
+                    // This should be the case
+                    for (BibEntry bibEntry : entriesOfStatement) {
+                        generatedKeys.next();
+                        bibEntry.getSharedBibEntryData().setSharedID(generatedKeys.getInt(1));
+                    }
+                    if (generatedKeys.next()) {
+                        LOGGER.error("Error: Some shared IDs left unassigned");
+                    }
                 }
             }
-        } catch (SQLException e) {
-            LOGGER.error("SQL Error: ", e);
         }
     }
 
+    /**
+     * Prepares the statement inserting into the ENTRY table, such that the generated shared ids are returned.
+     */
+    protected PreparedStatement prepareInsertIntoEntryStatement(String insertIntoEntryQuery) throws SQLException {
+        return connection.prepareStatement(insertIntoEntryQuery, new String[] {"SHARED_ID"});
+    }
+
     /**
      * Filters a list of BibEntry to and returns those which do not exist in the database
      *
@@ -200,7 +220,7 @@ public abstract class DBMSProcessor {
      */
     private List<BibEntry> getNotYetExistingEntries(List<BibEntry> bibEntries) {
 
-        List<Integer> remoteIds = new ArrayList<>();
+        Set<Integer> remoteIds = new HashSet<>();
         List<Integer> localIds = bibEntries.stream()
                                            .map(BibEntry::getSharedBibEntryData)
                                            .map(SharedBibEntryData::getSharedID)
@@ -229,17 +249,24 @@ public abstract class DBMSProcessor {
     }
 
     /**
-     * Inserts the given list of BibEntry into FIELD table.
+     * Inserts the given list of BibEntry into FIELD table. Each statement inserts up to {@link #MAX_ROWS_PER_STATEMENT}
+     * rows.
      *
      * @param bibEntries {@link BibEntry} to be inserted
      */
-    protected void insertIntoFieldTable(List<BibEntry> bibEntries) {
-        try {
-            // Inserting into FIELD table
-            // Coerce to ArrayList in order to use List.get()
-            List<List<Field>> fields = bibEntries.stream().map(bibEntry -> new ArrayList<>(bibEntry.getFields()))
-                                                 .collect(Collectors.toList());
+    protected void insertIntoFieldTable(List<BibEntry> bibEntries) throws SQLException {
+        // One row per field of each entry
+        List<BibEntry> rowEntries = new ArrayList<>();
+        List<Field> rowFields = new ArrayList<>();
+        for (BibEntry bibEntry : bibEntries) {
+            for (Field field : bibEntry.getFields()) {
+                rowEntries.add(bibEntry);
+                rowFields.add(field);
+            }
+        }
 
+        for (int from = 0; from < rowFields.size(); from += MAX_ROWS_PER_STATEMENT) {
+            int numRows = Math.min(rowFields.size() - from, MAX_ROWS_PER_STATEMENT);
             StringBuilder insertFieldQuery = new StringBuilder()
                     .append("INSERT INTO ")
                     .append(escape("FIELD"))
@@ -249,35 +276,21 @@ public abstract class DBMSProcessor {
                     .append(escape("NAME"))
                     .append(", ")
                     .append(escape("VALUE"))
-                    .append(") VALUES(?, ?, ?)");
-            int numFields = 0;
-            for (List<Field> entryFields : fields) {
-                numFields += entryFields.size();
-            }
+                    .append(") VALUES(?, ?, ?)")
+                    // Number of commas is numRows - 1
+                    .append(", (?, ?, ?)".repeat(numRows - 1));
 
-            if (numFields == 0) {
-                return; // Prevent SQL Exception
-            }
-
-            // Number of commas is fields.size() - 1
-            for (int i = 0; i < (numFields - 1); i++) {
-                insertFieldQuery.append(", (?, ?, ?)");
-            }
             try (PreparedStatement preparedFieldStatement = connection.prepareStatement(insertFieldQuery.toString())) {
-                int fieldsCompleted = 0;
-                for (int entryIndex = 0; entryIndex < fields.size(); entryIndex++) {
-                    for (int entryFieldsIndex = 0; entryFieldsIndex < fields.get(entryIndex).size(); entryFieldsIndex++) {
-                        // columnIndex starts with 1
-                        preparedFieldStatement.setInt((3 * fieldsCompleted) + 1, bibEntries.get(entryIndex).getSharedBibEntryData().getSharedID());
-                        preparedFieldStatement.setString((3 * fieldsCompleted) + 2, fields.get(entryIndex).get(entryFieldsIndex).getName());
-                        preparedFieldStatement.setString((3 * fieldsCompleted) + 3, bibEntries.get(entryIndex).getField(fields.get(entryIndex).get(entryFieldsIndex)).get());
-                        fieldsCompleted += 1;
-                    }
+                for (int row = 0; row < numRows; row++) {
+                    BibEntry bibEntry = rowEntries.get(from + row);
+                    Field field = rowFields.get(from + row);
+                    // columnIndex starts with 1
+                    preparedFieldStatement.setInt((3 * row) + 1, bibEntry.getSharedBibEntryData().getSharedID());
+                    preparedFieldStatement.setString((3 * row) + 2, field.getName());
+                    preparedFieldStatement.setString((3 * row) + 3, bibEntry.getField(field).get());
                 }
                 preparedFieldStatement.executeUpdate();
             }
-        } catch (SQLException e) {
-            LOGGER.error("SQL Error: ", e);
         }
     }
 
@@ -299,14 +312,14 @@ public abstract class DBMSProcessor {
 
             BibEntry sharedBibEntry = sharedEntryOptional.get();
 
-            // remove shared fields which do not exist locally
-            removeSharedFieldsByDifference(localBibEntry, sharedBibEntry);
-
             // update only if local version is higher or the entries are equal
             if ((localBibEntry.getSharedBibEntryData().getVersion() >= sharedBibEntry.getSharedBibEntryData()
                                                                                      .getVersion()) || localBibEntry.equals(sharedBibEntry)) {
 
-                insertOrUpdateFields(localBibEntry);
+                // remove shared fields which do not exist locally
+                removeSharedFieldsByDifference(localBibEntry, sharedBibEntry);
+
+                insertOrUpdateFields(localBibEntry, sharedBibEntry);
 
                 // updating entry type
                 StringBuilder updateEntryTypeQuery = new StringBuilder()
@@ -346,99 +359,96 @@ public abstract class DBMSProcessor {
     private void removeSharedFieldsByDifference(BibEntry localBibEntry, BibEntry sharedBibEntry) throws SQLException {
         Set<Field> nullFields = new HashSet<>(sharedBibEntry.getFields());
         nullFields.removeAll(localBibEntry.getFields());
-        for (Field nullField : nullFields) {
-            StringBuilder deleteFieldQuery = new StringBuilder()
-                    .append("DELETE FROM ")
-                    .append(escape("FIELD"))
-                    .append(" WHERE ")
-                    .append(escape("NAME"))
-                    .append(" = ? AND ")
-                    .append(escape("ENTRY_SHARED_ID"))
-                    .append(" = ?");
+        if (nullFields.isEmpty()) {
+            return;
+        }
+
+        StringBuilder deleteFieldQuery = new StringBuilder()
+                .append("DELETE FROM ")
+                .append(escape("FIELD"))
+                .append(" WHERE ")
+                .append(escape("NAME"))
+                .append(" = ? AND ")
+                .append(escape("ENTRY_SHARED_ID"))
+                .append(" = ?");
 
-            try (PreparedStatement preparedDeleteFieldStatement = connection
-                    .prepareStatement(deleteFieldQuery.toString())) {
+        try (PreparedStatement preparedDeleteFieldStatement = connection.prepareStatement(deleteFieldQuery.toString())) {
+            for (Field nullField : nullFields) {
                 preparedDeleteFieldStatement.setString(1, nullField.getName());
                 preparedDeleteFieldStatement.setInt(2, localBibEntry.getSharedBibEntryData().getSharedID());
-                preparedDeleteFieldStatement.executeUpdate();
+                preparedDeleteFieldStatement.addBatch();
             }
+            preparedDeleteFieldStatement.executeBatch();
         }
     }
 
     /**
-     * Helping method. Inserts a key-value pair into FIELD table for every field if not existing. Otherwise only an
-     * update is performed.
+     * Helping method. Updates the fields already present in the shared entry if their value differs, and inserts all
+     * other fields. The fields of the shared entry were fetched in the current transaction, so no further lookup is
+     * needed. Updates and inserts are sent as one batch each.
      */
-    private void insertOrUpdateFields(BibEntry localBibEntry) throws SQLException {
-        for (Field field : localBibEntry.getFields()) {
-            // avoiding to use deprecated BibEntry.getField() method. null values are accepted by PreparedStatement!
-            Optional<String> valueOptional = localBibEntry.getField(field);
-            String value = null;
-            if (valueOptional.isPresent()) {
-                value = valueOptional.get();
+    private void insertOrUpdateFields(BibEntry localBibEntry, BibEntry sharedBibEntry) throws SQLException {
+        int sharedID = localBibEntry.getSharedBibEntryData().getSharedID();
+        Map<Field, String> fieldsToUpdate = new HashMap<>();
+        Map<Field, String> fieldsToInsert = new HashMap<>();
+        localBibEntry.getFieldMap().forEach((field, value) -> {
+            Optional<String> sharedValue = sharedBibEntry.getField(field);
+            if (sharedValue.isEmpty()) {
+                fieldsToInsert.put(field, value);
+            } else if (!sharedValue.get().equals(value)) {
+                fieldsToUpdate.put(field, value);
             }
+        });
 
-            StringBuilder selectFieldQuery = new StringBuilder()
-                    .append("SELECT * FROM ")
+        if (!fieldsToUpdate.isEmpty()) {
+            StringBuilder updateFieldQuery = new StringBuilder()
+                    .append("UPDATE ")
                     .append(escape("FIELD"))
-                    .append(" WHERE ")
+                    .append(" SET ")
+                    .append(escape("VALUE"))
+                    .append(" = ? WHERE ")
                     .append(escape("NAME"))
                     .append(" = ? AND ")
                     .append(escape("ENTRY_SHARED_ID"))
                     .append(" = ?");
 
-            try (PreparedStatement preparedSelectFieldStatement = connection
-                    .prepareStatement(selectFieldQuery.toString())) {
-                preparedSelectFieldStatement.setString(1, field.getName());
-                preparedSelectFieldStatement.setInt(2, localBibEntry.getSharedBibEntryData().getSharedID());
-
-                try (ResultSet selectFieldResultSet = preparedSelectFieldStatement.executeQuery()) {
-                    if (selectFieldResultSet.next()) { // check if field already exists
-                        StringBuilder updateFieldQuery = new StringBuilder()
-                                .append("UPDATE ")
-                                .append(escape("FIELD"))
-                                .append(" SET ")
-                                .append(escape("VALUE"))
-                                .append(" = ? WHERE ")
-                                .append(escape("NAME"))
-                                .append(" = ? AND ")
-                                .append(escape("ENTRY_SHARED_ID"))
-                                .append(" = ?");
-
-                        try (PreparedStatement preparedUpdateFieldStatement = connection
-                                .prepareStatement(updateFieldQuery.toString())) {
-                            preparedUpdateFieldStatement.setString(1, value);
-                            preparedUpdateFieldStatement.setString(2, field.getName());
-                            preparedUpdateFieldStatement.setInt(3, localBibEntry.getSharedBibEntryData().getSharedID());
-                            preparedUpdateFieldStatement.executeUpdate();
-                        }
-                    } else {
-                        StringBuilder insertFieldQuery = new StringBuilder()
-                                .append("INSERT INTO ")
-                                .append(escape("FIELD"))
-                                .append("(")
-                                .append(escape("ENTRY_SHARED_ID"))
-                                .append(", ")
-                                .append(escape("NAME"))
-                                .append(", ")
-                                .append(escape("VALUE"))
-                                .append(") VALUES(?, ?, ?)");
-
-                        try (PreparedStatement preparedFieldStatement = connection
-                                .prepareStatement(insertFieldQuery.toString())) {
-                            preparedFieldStatement.setInt(1, localBibEntry.getSharedBibEntryData().getSharedID());
-                            preparedFieldStatement.setString(2, field.getName());
-                            preparedFieldStatement.setString(3, value);
-                            preparedFieldStatement.executeUpdate();
-                        }
-                    }
+            try (PreparedStatement preparedUpdateFieldStatement = connection.prepareStatement(updateFieldQuery.toString())) {
+                for (Map.Entry<Field, String> field : fieldsToUpdate.entrySet()) {
+                    preparedUpdateFieldStatement.setString(1, field.getValue());
+                    preparedUpdateFieldStatement.setString(2, field.getKey().getName());
+                    preparedUpdateFieldStatement.setInt(3, sharedID);
+                    preparedUpdateFieldStatement.addBatch();
+                }
+                preparedUpdateFieldStatement.executeBatch();
+            }
+        }
+
+        if (!fieldsToInsert.isEmpty()) {
+            StringBuilder insertFieldQuery = new StringBuilder()
+                    .append("INSERT INTO ")
+                    .append(escape("FIELD"))
+                    .append("(")
+                    .append(escape("ENTRY_SHARED_ID"))
+                    .append(", ")
+                    .append(escape("NAME"))
+                    .append(", ")
+                    .append(escape("VALUE"))
+                    .append(") VALUES(?, ?, ?)");
+
+            try (PreparedStatement preparedFieldStatement = connection.prepareStatement(insertFieldQuery.toString())) {
+                for (Map.Entry<Field, String> field : fieldsToInsert.entrySet()) {
+                    preparedFieldStatement.setInt(1, sharedID);
+                    preparedFieldStatement.setString(2, field.getKey().getName());
+                    preparedFieldStatement.setString(3, field.getValue());
+                    preparedFieldStatement.addBatch();
                 }
+                preparedFieldStatement.executeBatch();
             }
         }
     }
 
     /**
-     * Removes the shared bibEntry.
+     * Removes the shared bibEntry. All entries are removed in one transaction.
      *
      * @param bibEntries {@link BibEntry} to be deleted
      */
@@ -447,23 +457,26 @@ public abstract class DBMSProcessor {
         if (bibEntries.isEmpty()) {
             return;
         }
-        StringBuilder query = new StringBuilder()
-                .append("DELETE FROM ")
-                .append(escape("ENTRY"))
-                .append(" WHERE ")
-                .append(escape("SHARED_ID"))
-                .append(" IN (");
-        query.append("?, ".repeat(bibEntries.size() - 1));
-        query.append("?)");
+        executeInTransaction(() -> {
+            for (int from = 0; from < bibEntries.size(); from += MAX_IDS_PER_QUERY) {
+                List<BibEntry> entriesOfStatement = bibEntries.subList(from, Math.min(bibEntries.size(), from + MAX_IDS_PER_QUERY));
+                StringBuilder query = new StringBuilder()
+                        .append("DELETE FROM ")
+                        .append(escape("ENTRY"))
+                        .append(" WHERE ")
+                        .append(escape("SHARED_ID"))
+                        .append(" IN (");
+                query.append("?, ".repeat(entriesOfStatement.size() - 1));
+                query.append("?)");
 
-        try (PreparedStatement preparedStatement = connection.prepareStatement(query.toString())) {
-            for (int j = 0; j < bibEntries.size(); j++) {
-                preparedStatement.setInt(j + 1, bibEntries.get(j).getSharedBibEntryData().getSharedID());
+                try (PreparedStatement preparedStatement = connection.prepareStatement(query.toString())) {
+                    for (int j = 0; j < entriesOfStatement.size(); j++) {
+                        preparedStatement.setInt(j + 1, entriesOfStatement.get(j).getSharedBibEntryData().getSharedID());
+                    }
+                    preparedStatement.executeUpdate();
+                }
             }
-            preparedStatement.executeUpdate();
-        } catch (SQLException e) {
-            LOGGER.error("SQL Error: ", e);
-        }
+        });
     }
 
     /**
@@ -487,6 +500,21 @@ public abstract class DBMSProcessor {
     public List<BibEntry> getSharedEntries(List<Integer> sharedIDs) {
         Objects.requireNonNull(sharedIDs);
 
+        if (sharedIDs.size() <= MAX_IDS_PER_QUERY) {
+            return getSharedEntriesOfChunk(sharedIDs);
+        }
+
+        // Some database systems limit the number of parameters (Oracle allows at most 1000 expressions in a list)
+        // Sorting the ids keeps the order of the result the same as for a single query
+        List<Integer> sortedIDs = sharedIDs.stream().sorted().collect(Collectors.toList());
+        List<BibEntry> sharedEntries = new ArrayList<>(sortedIDs.size());
+        for (int from = 0; from < sortedIDs.size(); from += MAX_IDS_PER_QUERY) {
+            sharedEntries.addAll(getSharedEntriesOfChunk(sortedIDs.subList(from, Math.min(sortedIDs.size(), from + MAX_IDS_PER_QUERY))));
+        }
+        return sharedEntries;
+    }
+
+    private List<BibEntry> getSharedEntriesOfChunk(List<Integer> sharedIDs) {
         List<BibEntry> sharedEntries = new ArrayList<>();
 
         StringBuilder query = new StringBuilder();
@@ -577,6 +605,34 @@ public abstract class DBMSProcessor {
         return sharedIDVersionMapping;
     }
 
+    /**
+     * Retrieves a summary of the ENTRY table consisting of the number of entries, the highest SHARED_ID and the sum of
+     * all versions. As shared ids are never reused and versions only increase, the summary changes whenever an entry is
+     * inserted, updated or removed. Thus, comparing it with the summary of the last synchronization tells whether the
+     * whole id/version mapping has to be fetched at all.
+     *
+     * @return the summary or an empty optional if it could not be retrieved
+     */
+    public Optional<String> getSharedEntriesState() {
+        StringBuilder selectStateQuery = new StringBuilder()
+                .append("SELECT COUNT(*), COALESCE(MAX(")
+                .append(escape("SHARED_ID"))
+                .append("), 0), COALESCE(SUM(")
+                .append(escape("VERSION"))
+                .append("), 0) FROM ")
+                .append(escape("ENTRY"));
+
+        try (Statement selectStateStatement = connection.createStatement();
+             ResultSet selectStateResultSet = selectStateStatement.executeQuery(selectStateQuery.toString())) {
+            if (selectStateResultSet.next()) {
+                return Optional.of(selectStateResultSet.getLong(1) + ":" + selectStateResultSet.getLong(2) + ":" + selectStateResultSet.getLong(3));
+            }
+        } catch (SQLException e) {
+            LOGGER.error("SQL Error", e);
+        }
+        return Optional.empty();
+    }
+
     /**
      * Fetches and returns all shared meta data.
      */
@@ -595,11 +651,14 @@ public abstract class DBMSProcessor {
     }
 
     /**
-     * Clears and sets all shared meta data.
+     * Clears and sets all shared meta data. Existing keys are updated and new keys are inserted, both as one batch in
+     * one transaction.
      *
      * @param data JabRef meta data as map
      */
     public void setSharedMetaData(Map<String, String> data) throws SQLException {
+        Set<String> existingKeys = getSharedMetaData().keySet();
+
         StringBuilder updateQuery = new StringBuilder()
                 .append("UPDATE ")
                 .append(escape("METADATA"))
@@ -619,23 +678,49 @@ public abstract class DBMSProcessor {
                 .append(escape("VALUE"))
                 .append(") VALUES(?, ?)");
 
-        for (Map.Entry<String, String> metaEntry : data.entrySet()) {
-            try (PreparedStatement updateStatement = connection.prepareStatement(updateQuery.toString())) {
-                updateStatement.setString(2, metaEntry.getKey());
-                updateStatement.setString(1, metaEntry.getValue());
-                if (updateStatement.executeUpdate() == 0) {
-                    // No rows updated -> insert data
-                    try (PreparedStatement insertStatement = connection.prepareStatement(insertQuery.toString())) {
+        executeInTransaction(() -> {
+            try (PreparedStatement updateStatement = connection.prepareStatement(updateQuery.toString());
+                 PreparedStatement insertStatement = connection.prepareStatement(insertQuery.toString())) {
+                for (Map.Entry<String, String> metaEntry : data.entrySet()) {
+                    if (existingKeys.contains(metaEntry.getKey())) {
+                        updateStatement.setString(2, metaEntry.getKey());
+                        updateStatement.setString(1, metaEntry.getValue());
+                        updateStatement.addBatch();
+                    } else {
                         insertStatement.setString(1, metaEntry.getKey());
                         insertStatement.setString(2, metaEntry.getValue());
-                        insertStatement.executeUpdate();
-                    } catch (SQLException e) {
-                        LOGGER.error("SQL Error: ", e);
+                        insertStatement.addBatch();
                     }
                 }
+                updateStatement.executeBatch();
+                insertStatement.executeBatch();
+            }
+        });
+    }
+
+    /**
+     * Executes the given database operation in one transaction. If the operation fails, all its changes are rolled
+     * back.
+     *
+     * @return <code>true</code> if the transaction was committed, else <code>false</code>
+     */
+    private boolean executeInTransaction(DatabaseOperation operation) {
+        try {
+            connection.setAutoCommit(false);
+            try {
+                operation.execute();
+                connection.commit();
+                return true;
             } catch (SQLException e) {
                 LOGGER.error("SQL Error: ", e);
+                connection.rollback();
+                return false;
+            } finally {
+                connection.setAutoCommit(true);
             }
+        } catch (SQLException e) {
+            LOGGER.error("SQL Error: ", e);
+            return false;
         }
     }
 
@@ -681,4 +766,22 @@ public abstract class DBMSProcessor {
     public void notifyClients() {
         // nothing to do
     }
+
+    /**
+     * Notifies all clients ({@link DBMSSynchronizer}) which are connected to the same DBMS about changes of the given
+     * shared entries. Needs to be implemented if LiveUpdate is supported by the DBMS
+     *
+     * @param sharedIDs shared ids of the inserted, updated or removed entries
+     */
+    public void notifyClients(@SuppressWarnings("unused") Collection<Integer> sharedIDs) {
+        // nothing to do
+    }
+
+    /**
+     * A database operation which is executed in a transaction.
+     */
+    @FunctionalInterface
+    private interface DatabaseOperation {
+        void execute() throws SQLException;
+    }
 }
@@ -3,6 +3,7 @@ package org.jabref.logic.shared;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -55,6 +56,9 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
     private final GlobalCitationKeyPattern globalCiteKeyPattern;
     private final FileUpdateMonitor fileMonitor;
     private Optional<BibEntry> lastEntryChanged;
+    // State of the shared entries and number of local entries after the last synchronization of the local database
+    private Optional<String> lastSynchronizedState = Optional.empty();
+    private int lastSynchronizedEntryCount = -1;
 
     public DBMSSynchronizer(BibDatabaseContext bibDatabaseContext, Character keywordSeparator,
                             GlobalCitationKeyPattern globalCiteKeyPattern, FileUpdateMonitor fileMonitor) {
@@ -82,6 +86,7 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
             pullWithLastEntry();
             synchronizeLocalDatabase();
             dbmsProcessor.insertEntries(event.getBibEntries());
+            dbmsProcessor.notifyClients(getSharedIDs(event.getBibEntries()));
             // Reset last changed entry because it just has already been synchronized -> Why necessary?
             lastEntryChanged = Optional.empty();
         }
@@ -122,6 +127,7 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
             synchronizeLocalMetaData();
             pullWithLastEntry();
             dbmsProcessor.removeEntries(event.getBibEntries());
+            dbmsProcessor.notifyClients(getSharedIDs(event.getBibEntries()));
             synchronizeLocalDatabase();
         }
     }
@@ -173,6 +179,9 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
     /**
      * Synchronizes the local database with shared one. Possible update types are: removal, update, or insert of a
      * {@link BibEntry}.
+     * <p>
+     * The id/version mapping is only fetched if the shared entries changed since the last synchronization. All entries
+     * which are missing or outdated locally are then fetched at once.
      */
     @Override
     public void synchronizeLocalDatabase() {
@@ -180,49 +189,74 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
             return;
         }
 
+        // The state is retrieved before the mapping, so that changes in between lead to another synchronization
+        Optional<String> sharedEntriesState = dbmsProcessor.getSharedEntriesState();
+        if (sharedEntriesState.isPresent() && sharedEntriesState.equals(lastSynchronizedState)
+                && (bibDatabase.getEntryCount() == lastSynchronizedEntryCount)) {
+            return;
+        }
+
         List<BibEntry> localEntries = bibDatabase.getEntries();
         Map<Integer, Integer> idVersionMap = dbmsProcessor.getSharedIDVersionMapping();
 
         // remove old entries locally
         removeNotSharedEntries(localEntries, idVersionMap.keySet());
-        List<Integer> entriesToInsertIntoLocalDatabase = new ArrayList<>();
-        // compare versions and update local entry if needed
+
+        Map<Integer, BibEntry> localEntriesBySharedId = new HashMap<>();
+        for (BibEntry localEntry : bibDatabase.getEntries()) {
+            localEntriesBySharedId.put(localEntry.getSharedBibEntryData().getSharedID(), localEntry);
+        }
+
+        // compare versions and collect the entries missing or outdated locally
+        List<Integer> entriesToFetch = new ArrayList<>();
         for (Map.Entry<Integer, Integer> idVersionEntry : idVersionMap.entrySet()) {
-            boolean remoteEntryMatchingOneLocalEntryFound = false;
-            for (BibEntry localEntry : localEntries) {
-                if (idVersionEntry.getKey().equals(localEntry.getSharedBibEntryData().getSharedID())) {
-                    remoteEntryMatchingOneLocalEntryFound = true;
-                    if (idVersionEntry.getValue() > localEntry.getSharedBibEntryData().getVersion()) {
-                        Optional<BibEntry> sharedEntry = dbmsProcessor.getSharedEntry(idVersionEntry.getKey());
-                        if (sharedEntry.isPresent()) {
-                            // update fields
-                            localEntry.setType(sharedEntry.get().getType(), EntriesEventSource.SHARED);
-                            localEntry.getSharedBibEntryData()
-                                      .setVersion(sharedEntry.get().getSharedBibEntryData().getVersion());
-                            sharedEntry.get().getFieldMap().forEach(
-                                    // copy remote values to local entry
-                                    (field, value) -> localEntry.setField(field, value, EntriesEventSource.SHARED)
-                            );
-
-                            // locally remove not existing fields
-                            localEntry.getFields().stream()
-                                      .filter(field -> !sharedEntry.get().hasField(field))
-                                      .forEach(
-                                              field -> localEntry.clearField(field, EntriesEventSource.SHARED)
-                                      );
-                        }
-                    }
-                }
+            BibEntry localEntry = localEntriesBySharedId.get(idVersionEntry.getKey());
+            if ((localEntry == null) || (idVersionEntry.getValue() > localEntry.getSharedBibEntryData().getVersion())) {
+                entriesToFetch.add(idVersionEntry.getKey());
             }
-            if (!remoteEntryMatchingOneLocalEntryFound) {
-                entriesToInsertIntoLocalDatabase.add(idVersionEntry.getKey());
+        }
+
+        List<BibEntry> entriesToInsertIntoLocalDatabase = new ArrayList<>();
+        if (!entriesToFetch.isEmpty()) {
+            for (BibEntry sharedEntry : dbmsProcessor.getSharedEntries(entriesToFetch)) {
+                BibEntry localEntry = localEntriesBySharedId.get(sharedEntry.getSharedBibEntryData().getSharedID());
+                if (localEntry == null) {
+                    entriesToInsertIntoLocalDatabase.add(sharedEntry);
+                } else {
+                    updateLocalEntry(localEntry, sharedEntry);
+                }
             }
         }
 
         if (!entriesToInsertIntoLocalDatabase.isEmpty()) {
             // in case entries should be added into the local database, insert them
-            bibDatabase.insertEntries(dbmsProcessor.getSharedEntries(entriesToInsertIntoLocalDatabase), EntriesEventSource.SHARED);
+            bibDatabase.insertEntries(entriesToInsertIntoLocalDatabase, EntriesEventSource.SHARED);
         }
+
+        lastSynchronizedState = sharedEntriesState;
+        lastSynchronizedEntryCount = bibDatabase.getEntryCount();
+    }
+
+    /**
+     * Copies the type, the version and the fields of the shared entry to the local one.
+     */
+    private void updateLocalEntry(BibEntry localEntry, BibEntry sharedEntry) {
+        // update fields
+        localEntry.setType(sharedEntry.getType(), EntriesEventSource.SHARED);
+        localEntry.getSharedBibEntryData()
+                  .setVersion(sharedEntry.getSharedBibEntryData().getVersion());
+        sharedEntry.getFieldMap().forEach(
+                // copy remote values to local entry
+                (field, value) -> localEntry.setField(field, value, EntriesEventSource.SHARED)
+        );
+
+        // locally remove not existing fields
+        localEntry.getFields().stream()
+                  .filter(field -> !sharedEntry.hasField(field))
+                  .collect(Collectors.toList())
+                  .forEach(
+                          field -> localEntry.clearField(field, EntriesEventSource.SHARED)
+                  );
     }
 
     /**
@@ -254,6 +288,7 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
         try {
             BibDatabaseWriter.applySaveActions(bibEntry, metaData); // perform possibly existing save actions
             dbmsProcessor.updateEntry(bibEntry);
+            dbmsProcessor.notifyClients(List.of(bibEntry.getSharedBibEntryData().getSharedID()));
         } catch (OfflineLockException exception) {
             eventBus.post(new UpdateRefusedEvent(bibDatabaseContext, exception.getLocalBibEntry(), exception.getSharedBibEntry()));
         } catch (SQLException e) {
@@ -328,6 +363,64 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
         synchronizeLocalMetaData();
     }
 
+    /**
+     * Synchronizes the given shared entries locally and applies the fetched MetaData on them. Other entries are not
+     * compared with the shared database.
+     *
+     * @param sharedIDs shared ids of the entries which were inserted, updated or removed on the shared database
+     */
+    public void pullChanges(Set<Integer> sharedIDs) {
+        if (!checkCurrentConnection()) {
+            return;
+        }
+        pullWithLastEntry();
+        synchronizeLocalEntries(sharedIDs);
+        synchronizeLocalMetaData();
+    }
+
+    /**
+     * Synchronizes the local entries having the given shared ids with the shared database. Falls back to a
+     * synchronization of the whole database if not all of them are present on the shared database anymore, as the
+     * removal of entries is detected by comparing all shared ids.
+     */
+    private void synchronizeLocalEntries(Set<Integer> sharedIDs) {
+        if (sharedIDs.isEmpty()) {
+            return;
+        }
+        List<BibEntry> sharedEntries = dbmsProcessor.getSharedEntries(new ArrayList<>(sharedIDs));
+        if (sharedEntries.size() < sharedIDs.size()) {
+            synchronizeLocalDatabase();
+            return;
+        }
+
+        Map<Integer, BibEntry> localEntriesBySharedId = new HashMap<>();
+        for (BibEntry localEntry : bibDatabase.getEntries()) {
+            if (sharedIDs.contains(localEntry.getSharedBibEntryData().getSharedID())) {
+                localEntriesBySharedId.put(localEntry.getSharedBibEntryData().getSharedID(), localEntry);
+            }
+        }
+
+        List<BibEntry> entriesToInsertIntoLocalDatabase = new ArrayList<>();
+        for (BibEntry sharedEntry : sharedEntries) {
+            BibEntry localEntry = localEntriesBySharedId.get(sharedEntry.getSharedBibEntryData().getSharedID());
+            if (localEntry == null) {
+                entriesToInsertIntoLocalDatabase.add(sharedEntry);
+            } else if (sharedEntry.getSharedBibEntryData().getVersion() > localEntry.getSharedBibEntryData().getVersion()) {
+                updateLocalEntry(localEntry, sharedEntry);
+            }
+        }
+        if (!entriesToInsertIntoLocalDatabase.isEmpty()) {
+            bibDatabase.insertEntries(entriesToInsertIntoLocalDatabase, EntriesEventSource.SHARED);
+        }
+    }
+
+    private static List<Integer> getSharedIDs(List<BibEntry> bibEntries) {
+        return bibEntries.stream()
+                         .map(entry -> entry.getSharedBibEntryData().getSharedID())
+                         .filter(sharedID -> sharedID != -1)
+                         .collect(Collectors.toList());
+    }
+
     // Synchronizes local BibEntries only if last entry changes still remain
     public void pullLastEntryChanges() {
         if (!lastEntryChanged.isEmpty()) {
@@ -385,6 +478,7 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
         this.dbName = connection.getProperties().getDatabase();
         this.currentConnection = connection.getConnection();
         this.dbmsProcessor = DBMSProcessor.getProcessorInstance(connection);
+        this.lastSynchronizedState = Optional.empty();
         initializeDatabases();
     }
 
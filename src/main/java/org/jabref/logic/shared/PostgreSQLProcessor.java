@@ -1,14 +1,18 @@
 package org.jabref.logic.shared;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.util.List;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.jabref.gui.JabRefExecutorService;
+import org.jabref.logic.shared.exception.InvalidDBMSConnectionPropertiesException;
 import org.jabref.logic.shared.listener.PostgresSQLNotificationListener;
-import org.jabref.model.entry.BibEntry;
 
 import org.postgresql.PGConnection;
 
@@ -17,7 +21,13 @@ import org.postgresql.PGConnection;
  */
 public class PostgreSQLProcessor extends DBMSProcessor {
 
+    // PostgreSQL limits the payload of a notification to 8000 bytes
+    private static final int MAX_PAYLOAD_LENGTH = 7900;
+    private static final String PAYLOAD_SEPARATOR = ";";
+
     private PostgresSQLNotificationListener listener;
+    // Waiting for notifications blocks the connection, so the listener uses a connection of its own
+    private Connection listenerConnection;
 
     public PostgreSQLProcessor(DatabaseConnection connection) {
         super(connection);
@@ -49,38 +59,8 @@ public class PostgreSQLProcessor extends DBMSProcessor {
     }
 
     @Override
-    protected void insertIntoEntryTable(List<BibEntry> bibEntries) {
-        StringBuilder insertIntoEntryQuery = new StringBuilder()
-                .append("INSERT INTO ")
-                .append(escape("ENTRY"))
-                .append("(")
-                .append(escape("TYPE"))
-                .append(") VALUES(?)");
-        // Number of commas is bibEntries.size() - 1
-        for (int i = 0; i < bibEntries.size() - 1; i++) {
-            insertIntoEntryQuery.append(", (?)");
-        }
-        try (PreparedStatement preparedEntryStatement = connection.prepareStatement(insertIntoEntryQuery.toString(),
-                Statement.RETURN_GENERATED_KEYS)) {
-            for (int i = 0; i < bibEntries.size(); i++) {
-                preparedEntryStatement.setString(i + 1, bibEntries.get(i).getType().getName());
-            }
-            preparedEntryStatement.executeUpdate();
-
-            try (ResultSet generatedKeys = preparedEntryStatement.getGeneratedKeys()) {
-                // The following assumes that we get the generated keys in the order the entries were inserted
-                // This should be the case
-                for (BibEntry bibEntry : bibEntries) {
-                    generatedKeys.next();
-                    bibEntry.getSharedBibEntryData().setSharedID(generatedKeys.getInt(1));
-                }
-                if (generatedKeys.next()) {
-                    LOGGER.error("Error: Some shared IDs left unassigned");
-                }
-            }
-        } catch (SQLException e) {
-            LOGGER.error("SQL Error: ", e);
-        }
+    protected PreparedStatement prepareInsertIntoEntryStatement(String insertIntoEntryQuery) throws SQLException {
+        return connection.prepareStatement(insertIntoEntryQuery, Statement.RETURN_GENERATED_KEYS);
     }
 
     @Override
@@ -93,21 +73,49 @@ public class PostgreSQLProcessor extends DBMSProcessor {
         // Disable cleanup output of ThreadedHousekeeper
         // Logger.getLogger(ThreadedHousekeeper.class.getName()).setLevel(Level.SEVERE);
         try {
-            connection.createStatement().execute("LISTEN jabrefLiveUpdate");
+            listenerConnection = openListenerConnection();
+            try (Statement listenStatement = listenerConnection.createStatement()) {
+                listenStatement.execute("LISTEN jabrefLiveUpdate");
+            }
             // Do not use `new PostgresSQLNotificationListener(...)` as the object has to exist continuously!
             // Otherwise the listener is going to be deleted by GC.
-            PGConnection pgConnection = connection.unwrap(PGConnection.class);
+            PGConnection pgConnection = listenerConnection.unwrap(PGConnection.class);
             listener = new PostgresSQLNotificationListener(dbmsSynchronizer, pgConnection);
             JabRefExecutorService.INSTANCE.execute(listener);
-        } catch (SQLException e) {
+        } catch (SQLException | InvalidDBMSConnectionPropertiesException e) {
             LOGGER.error("SQL Error: ", e);
         }
     }
 
+    /**
+     * Opens another connection to the database, which is used to wait for notifications only.
+     */
+    protected Connection openListenerConnection() throws SQLException, InvalidDBMSConnectionPropertiesException {
+        DBMSConnectionProperties properties = new DBMSConnectionPropertiesBuilder()
+                .setType(connectionProperties.getType())
+                .setHost(connectionProperties.getHost())
+                .setPort(connectionProperties.getPort())
+                .setDatabase(connectionProperties.getDatabase())
+                .setUser(connectionProperties.getUser())
+                .setPassword(connectionProperties.getPassword())
+                .setUseSSL(connectionProperties.isUseSSL())
+                .setAllowPublicKeyRetrieval(connectionProperties.isAllowPublicKeyRetrieval())
+                .setServerTimezone(connectionProperties.getServerTimezone())
+                .setKeyStore(connectionProperties.getKeyStore())
+                .createDBMSConnectionProperties();
+        return new DBMSConnection(properties).getConnection();
+    }
+
     @Override
     public void stopNotificationListener() {
         try {
-            listener.stop();
+            if (listener != null) {
+                listener.stop();
+            }
+            if (listenerConnection != null) {
+                // Also ends a wait for notifications in progress
+                listenerConnection.close();
+            }
             connection.close();
         } catch (SQLException e) {
             LOGGER.error("SQL Error: ", e);
@@ -116,10 +124,57 @@ public class PostgreSQLProcessor extends DBMSProcessor {
 
     @Override
     public void notifyClients() {
+        notify(PROCESSOR_ID);
+    }
+
+    /**
+     * Notifies all clients about the changed entries. The payload of the notification consists of the id of this
+     * processor and the shared ids, e.g. <code>processorId;1,2,3</code>. If there are too many ids for one notification,
+     * the clients are asked to pull all changes.
+     */
+    @Override
+    public void notifyClients(Collection<Integer> sharedIDs) {
+        if (sharedIDs.isEmpty()) {
+            return;
+        }
+        String payload = PROCESSOR_ID + PAYLOAD_SEPARATOR
+                + sharedIDs.stream().map(String::valueOf).collect(Collectors.joining(","));
+        notify(payload.length() <= MAX_PAYLOAD_LENGTH ? payload : PROCESSOR_ID);
+    }
+
+    private void notify(String payload) {
         try {
-            connection.createStatement().execute("NOTIFY jabrefLiveUpdate, '" + PROCESSOR_ID + "';");
+            connection.createStatement().execute("NOTIFY jabrefLiveUpdate, '" + payload + "';");
         } catch (SQLException e) {
             LOGGER.error("SQL Error: ", e);
         }
     }
+
+    /**
+     * Returns the id of the processor which sent the notification with the given payload.
+     */
+    public static String getProcessorID(String payload) {
+        int separatorIndex = payload.indexOf(PAYLOAD_SEPARATOR);
+        return separatorIndex < 0 ? payload : payload.substring(0, separatorIndex);
+    }
+
+    /**
+     * Returns the shared ids of the changed entries contained in the payload of a notification.
+     *
+     * @return an empty optional if the payload does not name the changed entries, i.e., all changes have to be pulled
+     */
+    public static Optional<Set<Integer>> getSharedIDs(String payload) {
+        int separatorIndex = payload.indexOf(PAYLOAD_SEPARATOR);
+        if ((separatorIndex < 0) || (separatorIndex == (payload.length() - 1))) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Arrays.stream(payload.substring(separatorIndex + 1).split(","))
+                                     .map(Integer::valueOf)
+                                     .collect(Collectors.toSet()));
+        } catch (NumberFormatException e) {
+            LOGGER.warn("Invalid notification payload {}", payload, e);
+            return Optional.empty();
+        }
+    }
 }
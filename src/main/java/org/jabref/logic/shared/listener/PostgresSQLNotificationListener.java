@@ -1,9 +1,13 @@
 package org.jabref.logic.shared.listener;
 
 import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
 
 import org.jabref.logic.shared.DBMSProcessor;
 import org.jabref.logic.shared.DBMSSynchronizer;
+import org.jabref.logic.shared.PostgreSQLProcessor;
 
 import org.postgresql.PGConnection;
 import org.postgresql.PGNotification;
@@ -12,11 +16,21 @@ import org.slf4j.LoggerFactory;
 
 /**
  * A listener for PostgreSQL database notifications.
+ * <p>
+ * The listener blocks until notifications arrive, so it needs a connection of its own, which is not used for any
+ * other statement. Notifications arriving within a short time are coalesced, so that a
+ * burst of changes leads to a single pull. If all notifications carry the shared ids of the changed entries, only
+ * these entries are pulled.
  */
 public class PostgresSQLNotificationListener implements Runnable {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(PostgresSQLNotificationListener.class);
 
+    // Maximum time to block for notifications before checking whether the listener was stopped
+    private static final int NOTIFICATION_TIMEOUT_MILLIS = 1000;
+    // Time to wait for further notifications belonging to the same burst of changes
+    private static final int COALESCE_WINDOW_MILLIS = 100;
+
     private final DBMSSynchronizer dbmsSynchronizer;
     private final PGConnection pgConnection;
     private volatile boolean stop;
@@ -32,25 +46,63 @@ public class PostgresSQLNotificationListener implements Runnable {
         try {
             // noinspection InfiniteLoopStatement
             while (!stop) {
-                PGNotification notifications[] = pgConnection.getNotifications();
+                PGNotification[] notifications = pgConnection.getNotifications(NOTIFICATION_TIMEOUT_MILLIS);
+                if ((notifications == null) || (notifications.length == 0)) {
+                    continue;
+                }
 
-                if (notifications != null) {
-                    for (PGNotification notification : notifications) {
-                        if (!notification.getName().equals(DBMSProcessor.PROCESSOR_ID)) {
-                            dbmsSynchronizer.pullChanges();
-                        }
+                ChangedEntries changedEntries = new ChangedEntries();
+                changedEntries.addAll(notifications);
+                long coalesceEnd = System.currentTimeMillis() + COALESCE_WINDOW_MILLIS;
+                long remaining = COALESCE_WINDOW_MILLIS;
+                while (!stop && (remaining > 0)) {
+                    PGNotification[] furtherNotifications = pgConnection.getNotifications((int) remaining);
+                    if (furtherNotifications != null) {
+                        changedEntries.addAll(furtherNotifications);
                     }
+                    remaining = coalesceEnd - System.currentTimeMillis();
                 }
 
-                // Wait a while before checking again for new notifications
-                Thread.sleep(500);
+                if (changedEntries.pullAll) {
+                    dbmsSynchronizer.pullChanges();
+                } else if (!changedEntries.sharedIDs.isEmpty()) {
+                    dbmsSynchronizer.pullChanges(changedEntries.sharedIDs);
+                }
+            }
+        } catch (SQLException exception) {
+            if (!stop) {
+                // Otherwise, the connection was closed to stop the listener
+                LOGGER.error("Error while listening for updates to PostgresSQL", exception);
             }
-        } catch (SQLException | InterruptedException exception) {
-            LOGGER.error("Error while listening for updates to PostgresSQL", exception);
         }
     }
 
     public void stop() {
         stop = true;
     }
+
+    /**
+     * Collects the changes announced by notifications of other clients.
+     */
+    private static class ChangedEntries {
+
+        private final Set<Integer> sharedIDs = new HashSet<>();
+        private boolean pullAll;
+
+        private void addAll(PGNotification[] notifications) {
+            for (PGNotification notification : notifications) {
+                String payload = notification.getParameter();
+                if (PostgreSQLProcessor.getProcessorID(payload).equals(DBMSProcessor.PROCESSOR_ID)) {
+                    // Own changes do not need to be pulled
+                    continue;
+                }
+                Optional<Set<Integer>> changedIDs = PostgreSQLProcessor.getSharedIDs(payload);
+                if (changedIDs.isPresent()) {
+                    sharedIDs.addAll(changedIDs.get());
+                } else {
+                    pullAll = true;
+                }
+            }
+        }
+    }
 }
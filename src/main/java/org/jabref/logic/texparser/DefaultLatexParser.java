@@ -13,6 +13,7 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -72,6 +73,16 @@ public class DefaultLatexParser implements LatexParser {
 
     @Override
     public LatexParserResult parse(List<Path> latexFiles) {
+        return parse(latexFiles, file -> false);
+    }
+
+    /**
+     * Parses a list of LaTeX files like {@link #parse(List)}, but does not follow inputs and includes of the given
+     * files, e.g., because they are parsed on their own.
+     *
+     * @param skippedNestedFiles Accepts the nested files not to parse
+     */
+    public LatexParserResult parse(List<Path> latexFiles, Predicate<Path> skippedNestedFiles) {
         latexParserResult.addFiles(latexFiles);
         List<Path> referencedFiles = new ArrayList<>();
 
@@ -92,7 +103,7 @@ public class DefaultLatexParser implements LatexParser {
                     }
                     matchCitation(file, lineNumberReader.getLineNumber(), line);
                     matchBibFile(file, line);
-                    matchNestedFile(file, latexFiles, referencedFiles, line);
+                    matchNestedFile(file, latexFiles, referencedFiles, skippedNestedFiles, line);
                 }
             } catch (ClosedChannelException e) {
                 // User changed the underlying LaTeX file
@@ -108,7 +119,7 @@ public class DefaultLatexParser implements LatexParser {
         // Parse all files referenced by TEX files, recursively.
         if (!referencedFiles.isEmpty()) {
             // modifies class variable latexParserResult
-            parse(referencedFiles);
+            parse(referencedFiles, skippedNestedFiles);
         }
 
         return latexParserResult;
@@ -151,7 +162,7 @@ public class DefaultLatexParser implements LatexParser {
     /**
      * Find inputs and includes along a specific line and store them for parsing later.
      */
-    private void matchNestedFile(Path file, List<Path> texFiles, List<Path> referencedFiles, String line) {
+    private void matchNestedFile(Path file, List<Path> texFiles, List<Path> referencedFiles, Predicate<Path> skippedNestedFiles, String line) {
         Matcher includeMatch = INCLUDE_PATTERN.matcher(line);
 
         while (includeMatch.find()) {
@@ -162,7 +173,7 @@ public class DefaultLatexParser implements LatexParser {
                             ? include
                             : String.format("%s%s", include, TEX_EXT));
 
-            if (nestedFile.toFile().exists() && !texFiles.contains(nestedFile)) {
+            if (nestedFile.toFile().exists() && !texFiles.contains(nestedFile) && !skippedNestedFiles.test(nestedFile)) {
                 referencedFiles.add(nestedFile);
             }
         }
@@ -0,0 +1,292 @@
+package org.jabref.logic.texparser;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.jabref.logic.util.io.FileDirectoryIndex;
+import org.jabref.model.texparser.Citation;
+import org.jabref.model.texparser.LatexParserResult;
+import org.jabref.model.util.FileUpdateMonitor;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Multimap;
+
+/**
+ * An index of the citations in the LaTeX files below a directory, which allows to look up the citations of a key
+ * without parsing the files again.
+ * <p>
+ * All LaTeX files are parsed in parallel when the index is first queried. Files included by them are parsed as well,
+ * unless they lie within the directory and are thus parsed on their own. If the {@link FileDirectoryIndex} of the
+ * directory is kept up to date by a {@link FileUpdateMonitor}, only the LaTeX files in directories reported as changed
+ * are looked at again before the next lookup, and only those which were added or modified are parsed again. Such an
+ * index is shared by all lookups in the directory (see {@link #forDirectory(Path, FileUpdateMonitor)}). Otherwise, the
+ * index reflects the files at the time they were parsed.
+ */
+public class LatexCitationIndex {
+
+    private static final String TEX_EXT = ".tex";
+    private static final int MAX_SHARED_INDEXES = 4;
+
+    // Monitored indexes by their directory, the least recently used one is closed if there are too many
+    private static final Map<Path, LatexCitationIndex> SHARED_INDEXES = new LinkedHashMap<>(8, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Path, LatexCitationIndex> eldest) {
+            if (size() > MAX_SHARED_INDEXES) {
+                eldest.getValue().close();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    private final Path directory;
+    private final FileDirectoryIndex directoryIndex;
+    private final FileUpdateMonitor monitor;
+    private final Consumer<Path> changeListener;
+    private volatile boolean monitored;
+    private boolean indexed;
+
+    // The LaTeX files and subdirectories of each directory of the tree
+    private final Map<Path, DirectoryContent> directories = new HashMap<>();
+    private final Set<Path> texFiles = new HashSet<>();
+    private final Map<Path, ParsedFile> parsedFiles = new HashMap<>();
+    // Files which were added or modified, but not parsed yet
+    private final Set<Path> filesToParse = new HashSet<>();
+    // Citation key --> citations in all files, null if it has to be collected again from the results of the files
+    private Multimap<String, Citation> citationsByKey;
+
+    private final Set<Path> changedDirectories = ConcurrentHashMap.newKeySet();
+
+    private LatexCitationIndex(Path directory, FileUpdateMonitor monitor) {
+        this.directory = Objects.requireNonNull(directory).normalize();
+        this.directoryIndex = FileDirectoryIndex.forDirectory(this.directory, monitor);
+        this.monitor = monitor;
+        this.changeListener = changedDirectories::add;
+        this.monitored = directoryIndex.isMonitored();
+        if (monitored) {
+            directoryIndex.addChangeListener(changeListener);
+        }
+    }
+
+    /**
+     * Returns an index of the given directory. If the monitor is active and the directory can be monitored, the index
+     * is kept up to date and shared with other lookups in the same directory. Otherwise, a new index is created, which
+     * should be reused for all lookups in the directory as long as the files are not expected to change.
+     */
+    public static LatexCitationIndex forDirectory(Path directory, FileUpdateMonitor monitor) {
+        if (!monitor.isActive()) {
+            return new LatexCitationIndex(directory, monitor);
+        }
+
+        Path normalizedDirectory = directory.normalize();
+        synchronized (SHARED_INDEXES) {
+            LatexCitationIndex index = SHARED_INDEXES.get(normalizedDirectory);
+            if ((index == null) || !index.isMonitoredBy(monitor)) {
+                if (index != null) {
+                    index.close();
+                    SHARED_INDEXES.remove(normalizedDirectory);
+                }
+                index = new LatexCitationIndex(normalizedDirectory, monitor);
+                if (index.monitored) {
+                    SHARED_INDEXES.put(normalizedDirectory, index);
+                }
+            }
+            return index;
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Returns the citations of the given key in all LaTeX files below the indexed directory.
+     */
+    public synchronized Collection<Citation> getCitationsByKey(String key) {
+        update();
+        return new ArrayList<>(citationsByKey.get(key));
+    }
+
+    /**
+     * Stops keeping the index up to date. A shared index is no longer handed out afterwards.
+     */
+    public void close() {
+        monitored = false;
+        directoryIndex.removeChangeListener(changeListener);
+        changedDirectories.clear();
+    }
+
+    private boolean isMonitoredBy(FileUpdateMonitor monitor) {
+        return monitored && directoryIndex.isMonitored() && (this.monitor == monitor);
+    }
+
+    private void update() {
+        if (indexed && changedDirectories.isEmpty() && filesToParse.isEmpty()) {
+            return;
+        }
+
+        if (!indexed) {
+            indexed = true;
+            addTree(directory);
+        } else {
+            Iterator<Path> iterator = changedDirectories.iterator();
+            while (iterator.hasNext()) {
+                Path changedDirectory = iterator.next();
+                iterator.remove();
+                refresh(changedDirectory);
+            }
+        }
+
+        if (!filesToParse.isEmpty()) {
+            // Read the modification times first, so that a change while the files are parsed is noticed later on
+            Map<Path, FileTime> modificationTimes = filesToParse.stream()
+                                                                .collect(Collectors.toMap(file -> file, LatexCitationIndex::getLastModifiedTime));
+            Map<Path, LatexParserResult> results = filesToParse.parallelStream()
+                                                               .collect(Collectors.toMap(file -> file, file -> parse(file, texFiles)));
+            // If reading some of the files was interrupted, their results may be incomplete and they are parsed again
+            if (!Thread.currentThread().isInterrupted()) {
+                results.forEach((file, result) -> parsedFiles.put(file, new ParsedFile(result, modificationTimes.get(file))));
+                filesToParse.clear();
+                citationsByKey = null;
+            }
+        }
+
+        if (citationsByKey == null) {
+            citationsByKey = HashMultimap.create();
+            for (ParsedFile parsedFile : parsedFiles.values()) {
+                citationsByKey.putAll(parsedFile.result.getCitations());
+            }
+        }
+
+        if (monitored && !directoryIndex.isMonitored()) {
+            // The directory cannot be monitored (anymore), so the index cannot be kept up to date
+            close();
+        }
+    }
+
+    /**
+     * Adds the LaTeX files of the given directory and all its subdirectories, which are all parsed.
+     */
+    private void addTree(Path directoryToAdd) {
+        List<Path> texFilesInDirectory = getTexFiles(directoryToAdd);
+        List<Path> subdirectories = directoryIndex.getSubdirectories(directoryToAdd);
+        directories.put(directoryToAdd, new DirectoryContent(texFilesInDirectory, subdirectories));
+        texFiles.addAll(texFilesInDirectory);
+        filesToParse.addAll(texFilesInDirectory);
+        subdirectories.forEach(this::addTree);
+    }
+
+    private void removeTree(Path directoryToRemove) {
+        DirectoryContent content = directories.remove(directoryToRemove);
+        if (content == null) {
+            return;
+        }
+        content.texFiles.forEach(this::removeFile);
+        content.subdirectories.forEach(this::removeTree);
+    }
+
+    /**
+     * Looks at the given directory again. Files which were modified are parsed again, and subdirectories which were
+     * added or removed are added or removed as a whole.
+     */
+    private void refresh(Path changedDirectory) {
+        DirectoryContent oldContent = directories.get(changedDirectory);
+        if (oldContent == null) {
+            // Removed before, or a new directory which is added with its parent
+            return;
+        }
+
+        List<Path> texFilesInDirectory = getTexFiles(changedDirectory);
+        List<Path> subdirectories = directoryIndex.getSubdirectories(changedDirectory);
+        directories.put(changedDirectory, new DirectoryContent(texFilesInDirectory, subdirectories));
+
+        for (Path file : oldContent.texFiles) {
+            if (!texFilesInDirectory.contains(file)) {
+                removeFile(file);
+            }
+        }
+        for (Path file : texFilesInDirectory) {
+            ParsedFile parsedFile = parsedFiles.get(file);
+            if ((parsedFile == null) || !parsedFile.modificationTime.equals(getLastModifiedTime(file))) {
+                texFiles.add(file);
+                filesToParse.add(file);
+            }
+        }
+
+        for (Path subdirectory : oldContent.subdirectories) {
+            if (!subdirectories.contains(subdirectory)) {
+                removeTree(subdirectory);
+            }
+        }
+        for (Path subdirectory : subdirectories) {
+            if (!directories.containsKey(subdirectory)) {
+                addTree(subdirectory);
+            }
+        }
+    }
+
+    private void removeFile(Path file) {
+        texFiles.remove(file);
+        filesToParse.remove(file);
+        if (parsedFiles.remove(file) != null) {
+            citationsByKey = null;
+        }
+    }
+
+    private List<Path> getTexFiles(Path directoryToList) {
+        return directoryIndex.getFiles(directoryToList).stream()
+                             .filter(file -> file.toString().endsWith(TEX_EXT))
+                             .collect(Collectors.toList());
+    }
+
+    private static FileTime getLastModifiedTime(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static LatexParserResult parse(Path file, Set<Path> texFiles) {
+        return new DefaultLatexParser().parse(Collections.singletonList(file),
+                nestedFile -> texFiles.contains(nestedFile.normalize()));
+    }
+
+    private static class DirectoryContent {
+
+        private final List<Path> texFiles;
+        private final List<Path> subdirectories;
+
+        public DirectoryContent(List<Path> texFiles, List<Path> subdirectories) {
+            this.texFiles = texFiles;
+            this.subdirectories = subdirectories;
+        }
+    }
+
+    private static class ParsedFile {
+
+        private final LatexParserResult result;
+        private final FileTime modificationTime;
+
+        public ParsedFile(LatexParserResult result, FileTime modificationTime) {
+            this.result = result;
+            this.modificationTime = modificationTime;
+        }
+    }
+}
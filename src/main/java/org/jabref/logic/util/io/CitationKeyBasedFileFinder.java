@@ -1,33 +1,42 @@
 package org.jabref.logic.util.io;
 
 import java.io.IOException;
-import java.io.UncheckedIOException;
-import java.nio.file.FileVisitOption;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.attribute.BasicFileAttributes;
-import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.function.BiPredicate;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import org.jabref.logic.citationkeypattern.CitationKeyGenerator;
 import org.jabref.model.entry.BibEntry;
 import org.jabref.model.strings.StringUtil;
+import org.jabref.model.util.DummyFileUpdateMonitor;
 import org.jabref.model.util.FileHelper;
+import org.jabref.model.util.FileUpdateMonitor;
 
+/**
+ * Finds the files whose name starts with the citation key of an entry. The directories are indexed once per finder
+ * (see {@link FileDirectoryIndex}), so that a single finder should be used to search the files of many entries.
+ */
 class CitationKeyBasedFileFinder implements FileFinder {
 
     private final boolean exactKeyOnly;
+    private final FileUpdateMonitor fileUpdateMonitor;
+    private final Map<Path, FileDirectoryIndex> indexes = new HashMap<>();
 
     CitationKeyBasedFileFinder(boolean exactKeyOnly) {
+        this(exactKeyOnly, new DummyFileUpdateMonitor());
+    }
+
+    CitationKeyBasedFileFinder(boolean exactKeyOnly, FileUpdateMonitor fileUpdateMonitor) {
         this.exactKeyOnly = exactKeyOnly;
+        this.fileUpdateMonitor = fileUpdateMonitor;
     }
 
     @Override
@@ -41,13 +50,19 @@ class CitationKeyBasedFileFinder implements FileFinder {
         }
         String citeKey = citeKeyOptional.get();
 
-        List<Path> result = new ArrayList<>();
+        Objects.requireNonNull(extensions, "Extensions must not be null!");
 
-        // First scan directories
-        Set<Path> filesWithExtension = findFilesByExtension(directories, extensions);
+        // Only files whose name starts with the key are candidates
+        Set<Path> result = new LinkedHashSet<>();
+        for (Path file : findFilesStartingWith(directories, citeKey)) {
+            if (!extensions.contains(FileHelper.getFileExtension(file).orElse(""))) {
+                continue;
+            }
+            // The index may lag behind the file system, so only use it to find candidates
+            if (!Files.exists(file)) {
+                continue;
+            }
 
-        // Now look for keys
-        for (Path file : filesWithExtension) {
             String name = file.getFileName().toString();
             String nameWithoutExtension = FileUtil.getBaseName(name);
 
@@ -77,24 +92,12 @@ class CitationKeyBasedFileFinder implements FileFinder {
     }
 
     /**
-     * Returns a list of all files in the given directories which have one of the given extension.
+     * Returns all files in the given directories whose name starts with the given prefix.
      */
-    private Set<Path> findFilesByExtension(List<Path> directories, List<String> extensions) throws IOException {
-        Objects.requireNonNull(extensions, "Extensions must not be null!");
-
-        BiPredicate<Path, BasicFileAttributes> isFileWithCorrectExtension = (path, attributes) -> !Files.isDirectory(path)
-                && extensions.contains(FileHelper.getFileExtension(path).orElse(""));
-
-        Set<Path> result = new HashSet<>();
-        for (Path directory : directories) {
-            if (Files.exists(directory)) {
-                try (Stream<Path> pathStream = Files.find(directory, Integer.MAX_VALUE, isFileWithCorrectExtension, FileVisitOption.FOLLOW_LINKS)) {
-                    result.addAll(pathStream.collect(Collectors.toSet()));
-                } catch (UncheckedIOException e) {
-                    throw new IOException("Problem in finding files", e);
-                }
-            }
-        }
-        return result;
+    private List<Path> findFilesStartingWith(List<Path> directories, String prefix) {
+        return directories.stream()
+                          .map(directory -> indexes.computeIfAbsent(directory, dir -> FileDirectoryIndex.forDirectory(dir, fileUpdateMonitor)))
+                          .flatMap(index -> index.getFilesStartingWith(prefix).stream())
+                          .collect(Collectors.toList());
     }
 }
@@ -0,0 +1,377 @@
+package org.jabref.logic.util.io;
+
+import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.jabref.model.util.FileUpdateListener;
+import org.jabref.model.util.FileUpdateMonitor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An index of the files below a directory, which allows to look up files by their name without walking the directory
+ * tree again.
+ * <p>
+ * The directory tree is walked once when the index is first queried, with subdirectories being listed in parallel.
+ * Symbolic links are followed, but each directory is only indexed once. If the index is kept up to date by a
+ * {@link FileUpdateMonitor}, directories reported as changed are listed again before the next lookup. Such an index
+ * is shared by all lookups in the directory (see {@link #forDirectory(Path, FileUpdateMonitor)}). Otherwise, the index
+ * reflects the directory at the time it was walked.
+ * <p>
+ * Each directory of a monitored index is watched on its own, so trees with too many directories are not monitored, but
+ * walked again for each lookup operation. As change events arrive asynchronously, the index is only meant to find
+ * candidate files; whether a file exists has to be checked in the file system.
+ */
+public class FileDirectoryIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FileDirectoryIndex.class);
+
+    private static final int MAX_SHARED_INDEXES = 8;
+    private static final int MAX_WATCHED_DIRECTORIES = 256;
+
+    // Monitored indexes by their directory, the least recently used one is closed if there are too many
+    private static final Map<Path, FileDirectoryIndex> SHARED_INDEXES = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Path, FileDirectoryIndex> eldest) {
+            if (size() > MAX_SHARED_INDEXES) {
+                eldest.getValue().close();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    private final Path directory;
+    private final FileUpdateMonitor monitor;
+    private volatile boolean monitored;
+    // Set if the tree has too many directories to be monitored
+    private volatile boolean tooLargeToMonitor;
+    private boolean indexed;
+
+    private final Map<Path, DirectoryContent> directories = new HashMap<>();
+    private final NavigableMap<String, List<Path>> filesByName = new TreeMap<>();
+    private final Set<Path> files = new HashSet<>();
+    // Used to detect directories reachable by several paths, e.g., because a symbolic link points to a parent
+    private final ConcurrentMap<Path, Path> directoryByRealPath = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Path, FileUpdateListener> listeners = new ConcurrentHashMap<>();
+    private final Set<Path> changedDirectories = ConcurrentHashMap.newKeySet();
+    private final List<Consumer<Path>> changeListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Creates an index of the given directory, which is not updated after the directory was walked.
+     */
+    public FileDirectoryIndex(Path directory) {
+        this(directory, null);
+    }
+
+    private FileDirectoryIndex(Path directory, FileUpdateMonitor monitor) {
+        this.directory = Objects.requireNonNull(directory).normalize();
+        this.monitor = monitor;
+        this.monitored = monitor != null;
+    }
+
+    /**
+     * Returns an index of the given directory. If the monitor is active and the directory tree is not too large, the
+     * index is kept up to date and shared with other lookups in the same directory. Otherwise, a new index is created,
+     * which should be reused for all lookups of a single operation.
+     */
+    public static FileDirectoryIndex forDirectory(Path directory, FileUpdateMonitor monitor) {
+        if (!monitor.isActive()) {
+            return new FileDirectoryIndex(directory);
+        }
+
+        Path normalizedDirectory = directory.normalize();
+        synchronized (SHARED_INDEXES) {
+            FileDirectoryIndex index = SHARED_INDEXES.get(normalizedDirectory);
+            if ((index != null) && index.tooLargeToMonitor && (index.monitor == monitor)) {
+                // Remembered, so that the tree is not walked and watched in vain again
+                return new FileDirectoryIndex(normalizedDirectory);
+            }
+            if ((index == null) || !index.isMonitoredBy(monitor)) {
+                if (index != null) {
+                    index.close();
+                }
+                index = new FileDirectoryIndex(normalizedDirectory, monitor);
+                SHARED_INDEXES.put(normalizedDirectory, index);
+            }
+            return index;
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Checks whether the given path lies within the indexed directory.
+     */
+    public boolean covers(Path path) {
+        return path.normalize().startsWith(directory);
+    }
+
+    /**
+     * Returns all files below the indexed directory.
+     */
+    public synchronized List<Path> getFiles() {
+        update();
+        return new ArrayList<>(files);
+    }
+
+    /**
+     * Returns the files directly contained in the given directory, which has to lie within the indexed directory.
+     */
+    public synchronized List<Path> getFiles(Path directory) {
+        update();
+        DirectoryContent content = directories.get(directory.normalize());
+        return content == null ? Collections.emptyList() : new ArrayList<>(content.files);
+    }
+
+    /**
+     * Returns the subdirectories directly contained in the given directory, which has to lie within the indexed
+     * directory.
+     */
+    public synchronized List<Path> getSubdirectories(Path directory) {
+        update();
+        DirectoryContent content = directories.get(directory.normalize());
+        return content == null ? Collections.emptyList() : new ArrayList<>(content.subdirectories);
+    }
+
+    /**
+     * Returns all files below the indexed directory whose file name starts with the given prefix (case-sensitive).
+     */
+    public synchronized List<Path> getFilesStartingWith(String prefix) {
+        update();
+        List<Path> result = new ArrayList<>();
+        for (Map.Entry<String, List<Path>> filesWithName : filesByName.tailMap(prefix, true).entrySet()) {
+            if (!filesWithName.getKey().startsWith(prefix)) {
+                break;
+            }
+            result.addAll(filesWithName.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether the index is still kept up to date by the monitor.
+     */
+    public boolean isMonitored() {
+        return monitored;
+    }
+
+    /**
+     * Registers a listener which is notified of each directory reported as changed by the monitor, e.g., because a
+     * file in it was added, removed, or modified. The listener is called by the monitor, and the changed directory is
+     * only listed again with the next lookup.
+     */
+    public void addChangeListener(Consumer<Path> listener) {
+        changeListeners.add(listener);
+    }
+
+    public void removeChangeListener(Consumer<Path> listener) {
+        changeListeners.remove(listener);
+    }
+
+    /**
+     * Stops keeping the index up to date. A shared index is no longer handed out afterwards.
+     */
+    public void close() {
+        monitored = false;
+        unregisterListeners();
+    }
+
+    private boolean isMonitoredBy(FileUpdateMonitor monitor) {
+        return monitored && (this.monitor == monitor);
+    }
+
+    private void update() {
+        if (!indexed) {
+            indexed = true;
+            ConcurrentMap<Path, DirectoryContent> listed = new ConcurrentHashMap<>();
+            directoryByRealPath.put(toRealPath(directory), directory);
+            walk(directory, listed);
+            listed.forEach(this::addDirectory);
+        } else {
+            Iterator<Path> iterator = changedDirectories.iterator();
+            while (iterator.hasNext()) {
+                Path changedDirectory = iterator.next();
+                iterator.remove();
+                // The directory itself may have been removed before, together with its parent
+                if (directories.containsKey(changedDirectory)) {
+                    reindex(changedDirectory);
+                }
+            }
+        }
+
+        if (!monitored) {
+            // Registering a directory failed or the tree is too large, the index cannot be kept up to date
+            unregisterListeners();
+        }
+    }
+
+    /**
+     * Lists the given directory again. Only subdirectories which were not indexed before are walked.
+     */
+    private void reindex(Path changedDirectory) {
+        DirectoryContent oldContent = removeDirectory(changedDirectory);
+        if (!Files.isDirectory(changedDirectory)) {
+            unwatch(changedDirectory);
+            oldContent.subdirectories.forEach(this::removeTree);
+            return;
+        }
+
+        ConcurrentMap<Path, DirectoryContent> listed = new ConcurrentHashMap<>();
+        directoryByRealPath.put(oldContent.realPath, changedDirectory);
+        walk(changedDirectory, listed);
+        for (Path subdirectory : oldContent.subdirectories) {
+            if (!listed.get(changedDirectory).subdirectories.contains(subdirectory)) {
+                removeTree(subdirectory);
+            }
+        }
+        listed.forEach(this::addDirectory);
+    }
+
+    /**
+     * Lists the given directory and walks all subdirectories not indexed yet. May be called by several threads.
+     */
+    private void walk(Path directoryToWalk, ConcurrentMap<Path, DirectoryContent> listed) {
+        // Listen first, so that no change is missed while the directory is listed
+        watch(directoryToWalk);
+
+        List<Path> filesInDirectory = new ArrayList<>();
+        List<Path> subdirectories = new ArrayList<>();
+        List<Path> subdirectoriesToWalk = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directoryToWalk)) {
+            for (Path path : stream) {
+                if (!Files.isDirectory(path)) {
+                    filesInDirectory.add(path);
+                    continue;
+                }
+
+                Path indexedDirectory = directoryByRealPath.putIfAbsent(toRealPath(path), path);
+                if (indexedDirectory == null) {
+                    subdirectories.add(path);
+                    subdirectoriesToWalk.add(path);
+                } else if (indexedDirectory.equals(path)) {
+                    // Unchanged subdirectory of a directory listed again
+                    subdirectories.add(path);
+                }
+            }
+        } catch (IOException | DirectoryIteratorException e) {
+            LOGGER.debug("Could not list directory {}", directoryToWalk, e);
+        }
+
+        listed.put(directoryToWalk, new DirectoryContent(toRealPath(directoryToWalk), filesInDirectory, subdirectories));
+        subdirectoriesToWalk.parallelStream().forEach(subdirectory -> walk(subdirectory, listed));
+    }
+
+    private void addDirectory(Path indexedDirectory, DirectoryContent content) {
+        directories.put(indexedDirectory, content);
+        for (Path file : content.files) {
+            files.add(file);
+            filesByName.computeIfAbsent(file.getFileName().toString(), name -> new ArrayList<>(1)).add(file);
+        }
+    }
+
+    private DirectoryContent removeDirectory(Path indexedDirectory) {
+        DirectoryContent content = directories.remove(indexedDirectory);
+        directoryByRealPath.remove(content.realPath, indexedDirectory);
+        for (Path file : content.files) {
+            files.remove(file);
+            String name = file.getFileName().toString();
+            List<Path> filesWithName = filesByName.get(name);
+            filesWithName.remove(file);
+            if (filesWithName.isEmpty()) {
+                filesByName.remove(name);
+            }
+        }
+        return content;
+    }
+
+    private void removeTree(Path indexedDirectory) {
+        if (!directories.containsKey(indexedDirectory)) {
+            return;
+        }
+        DirectoryContent content = removeDirectory(indexedDirectory);
+        unwatch(indexedDirectory);
+        content.subdirectories.forEach(this::removeTree);
+    }
+
+    private void watch(Path directoryToWatch) {
+        if (!monitored) {
+            return;
+        }
+
+        if (listeners.size() >= MAX_WATCHED_DIRECTORIES) {
+            LOGGER.info("Directory {} contains too many subdirectories to be monitored", directory);
+            tooLargeToMonitor = true;
+            monitored = false;
+            return;
+        }
+
+        FileUpdateListener listener = () -> {
+            changedDirectories.add(directoryToWatch);
+            changeListeners.forEach(changeListener -> changeListener.accept(directoryToWatch));
+        };
+        if (listeners.putIfAbsent(directoryToWatch, listener) == null) {
+            try {
+                monitor.addListenerForDirectory(directoryToWatch, listener);
+            } catch (IOException e) {
+                LOGGER.warn("Could not monitor directory {}, changes of files will not be noticed", directoryToWatch, e);
+                monitored = false;
+            }
+        }
+    }
+
+    private void unwatch(Path watchedDirectory) {
+        FileUpdateListener listener = listeners.remove(watchedDirectory);
+        if (listener != null) {
+            monitor.removeListener(watchedDirectory, listener);
+        }
+    }
+
+    private void unregisterListeners() {
+        new ArrayList<>(listeners.keySet()).forEach(this::unwatch);
+    }
+
+    private static Path toRealPath(Path path) {
+        try {
+            return path.toRealPath();
+        } catch (IOException e) {
+            return path.toAbsolutePath().normalize();
+        }
+    }
+
+    private static class DirectoryContent {
+
+        private final Path realPath;
+        private final List<Path> files;
+        private final List<Path> subdirectories;
+
+        public DirectoryContent(Path realPath, List<Path> files, List<Path> subdirectories) {
+            this.realPath = realPath;
+            this.files = files;
+            this.subdirectories = subdirectories;
+        }
+    }
+}
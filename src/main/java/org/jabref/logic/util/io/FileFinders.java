@@ -1,18 +1,30 @@
 package org.jabref.logic.util.io;
 
+import org.jabref.model.util.DummyFileUpdateMonitor;
+import org.jabref.model.util.FileUpdateMonitor;
+
 public class FileFinders {
     /**
      * Creates a preconfigurated file finder based on the given AutoLink preferences.
      */
     public static FileFinder constructFromConfiguration(AutoLinkPreferences autoLinkPreferences) {
+        return constructFromConfiguration(autoLinkPreferences, new DummyFileUpdateMonitor());
+    }
+
+    /**
+     * Creates a preconfigurated file finder based on the given AutoLink preferences. The searched directories are
+     * indexed once per finder, or shared with other lookups if the given monitor keeps the indexes up to date (see
+     * {@link FileDirectoryIndex}).
+     */
+    public static FileFinder constructFromConfiguration(AutoLinkPreferences autoLinkPreferences, FileUpdateMonitor fileUpdateMonitor) {
         switch (autoLinkPreferences.getCitationKeyDependency()) {
             default:
             case START:
-                return new CitationKeyBasedFileFinder(false);
+                return new CitationKeyBasedFileFinder(false, fileUpdateMonitor);
             case EXACT:
-                return new CitationKeyBasedFileFinder(true);
+                return new CitationKeyBasedFileFinder(true, fileUpdateMonitor);
             case REGEX:
-                return new RegExpBasedFileFinder(autoLinkPreferences.getRegularExpression(), autoLinkPreferences.getKeywordDelimiter());
+                return new RegExpBasedFileFinder(autoLinkPreferences.getRegularExpression(), autoLinkPreferences.getKeywordDelimiter(), fileUpdateMonitor);
         }
     }
 }
@@ -8,7 +8,10 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.function.BiPredicate;
 import java.util.function.Function;
 import java.util.regex.Matcher;
@@ -20,6 +23,8 @@ import java.util.stream.Stream;
 import org.jabref.logic.citationkeypattern.BracketedPattern;
 import org.jabref.model.entry.BibEntry;
 import org.jabref.model.strings.StringUtil;
+import org.jabref.model.util.DummyFileUpdateMonitor;
+import org.jabref.model.util.FileUpdateMonitor;
 
 class RegExpBasedFileFinder implements FileFinder {
 
@@ -29,13 +34,21 @@ class RegExpBasedFileFinder implements FileFinder {
 
     private final String regExp;
     private final Character keywordDelimiter;
+    private final FileUpdateMonitor fileUpdateMonitor;
+    // Directories below the searched directories are listed using their index
+    private final Map<Path, FileDirectoryIndex> indexes = new HashMap<>();
 
     /**
      * @param regExp The expression deciding which names are acceptable.
      */
     RegExpBasedFileFinder(String regExp, Character keywordDelimiter) {
+        this(regExp, keywordDelimiter, new DummyFileUpdateMonitor());
+    }
+
+    RegExpBasedFileFinder(String regExp, Character keywordDelimiter, FileUpdateMonitor fileUpdateMonitor) {
         this.regExp = regExp;
         this.keywordDelimiter = keywordDelimiter;
+        this.fileUpdateMonitor = fileUpdateMonitor;
     }
 
     /**
@@ -124,6 +137,7 @@ class RegExpBasedFileFinder implements FileFinder {
     private List<Path> findFile(BibEntry entry, List<Path> dirs, String extensionRegExp) throws IOException {
         List<Path> res = new ArrayList<>();
         for (Path directory : dirs) {
+            indexes.computeIfAbsent(directory.normalize(), dir -> FileDirectoryIndex.forDirectory(dir, fileUpdateMonitor));
             res.addAll(findFile(entry, directory, regExp, extensionRegExp));
         }
         return res;
@@ -173,13 +187,20 @@ class RegExpBasedFileFinder implements FileFinder {
                 actualDirectory = actualDirectory.getParent();
                 continue;
             }
+            Optional<FileDirectoryIndex> directoryIndex = findIndex(actualDirectory);
             if ("*".equals(dirToProcess)) { // Do for all direct subdirs
-                File[] subDirs = actualDirectory.toFile().listFiles();
-                if (subDirs != null) {
-                    String restOfFileString = StringUtil.join(fileParts, "/", index + 1, fileParts.length);
-                    for (File subDir : subDirs) {
-                        if (subDir.isDirectory()) {
-                            resultFiles.addAll(findFile(entry, subDir.toPath(), restOfFileString, extensionRegExp));
+                String restOfFileString = StringUtil.join(fileParts, "/", index + 1, fileParts.length);
+                if (directoryIndex.isPresent()) {
+                    for (Path subDir : directoryIndex.get().getSubdirectories(actualDirectory)) {
+                        resultFiles.addAll(findFile(entry, subDir, restOfFileString, extensionRegExp));
+                    }
+                } else {
+                    File[] subDirs = actualDirectory.toFile().listFiles();
+                    if (subDirs != null) {
+                        for (File subDir : subDirs) {
+                            if (subDir.isDirectory()) {
+                                resultFiles.addAll(findFile(entry, subDir.toPath(), restOfFileString, extensionRegExp));
+                            }
                         }
                     }
                 }
@@ -188,6 +209,13 @@ class RegExpBasedFileFinder implements FileFinder {
             if ("**".equals(dirToProcess)) {
                 String restOfFileString = StringUtil.join(fileParts, "/", index + 1, fileParts.length);
 
+                if (directoryIndex.isPresent()) {
+                    for (Path path : findSubdirectoriesRecursively(directoryIndex.get(), actualDirectory)) {
+                        resultFiles.addAll(findFile(entry, path, restOfFileString, extensionRegExp));
+                    }
+                    continue;
+                }
+
                 final Path rootDirectory = actualDirectory;
                 try (Stream<Path> pathStream = Files.walk(actualDirectory)) {
                     // We only want to transverse directory (and not the current one; this is already done below)
@@ -202,6 +230,17 @@ class RegExpBasedFileFinder implements FileFinder {
 
         // Last step: check if the given file can be found in this directory
         Pattern toMatch = createFileNamePattern(fileParts, extensionRegExp, entry);
+        Optional<FileDirectoryIndex> directoryIndex = findIndex(actualDirectory);
+        if (directoryIndex.isPresent()) {
+            for (Path path : directoryIndex.get().getFiles(actualDirectory)) {
+                // The index may lag behind the file system, so only use it to find candidates
+                if (toMatch.matcher(path.getFileName().toString()).matches() && Files.exists(path)) {
+                    resultFiles.add(path);
+                }
+            }
+            return resultFiles;
+        }
+
         BiPredicate<Path, BasicFileAttributes> matcher = (path, attributes) -> toMatch.matcher(path.getFileName().toString()).matches();
         try (Stream<Path> pathStream = Files.find(actualDirectory, 1, matcher, FileVisitOption.FOLLOW_LINKS)) {
             resultFiles.addAll(pathStream.collect(Collectors.toList()));
@@ -212,6 +251,24 @@ class RegExpBasedFileFinder implements FileFinder {
         return resultFiles;
     }
 
+    /**
+     * Returns the index covering the given directory, if it lies within one of the searched directories.
+     */
+    private Optional<FileDirectoryIndex> findIndex(Path directory) {
+        return indexes.values().stream()
+                      .filter(index -> index.covers(directory))
+                      .findFirst();
+    }
+
+    private static List<Path> findSubdirectoriesRecursively(FileDirectoryIndex index, Path directory) {
+        List<Path> result = new ArrayList<>();
+        for (Path subdirectory : index.getSubdirectories(directory)) {
+            result.add(subdirectory);
+            result.addAll(findSubdirectoriesRecursively(index, subdirectory));
+        }
+        return result;
+    }
+
     private boolean isSubDirectory(Path rootDirectory, Path path) {
         return !rootDirectory.equals(path) && Files.isDirectory(path);
     }
@@ -31,6 +31,7 @@ import org.jabref.model.entry.event.EntryChangedEvent;
 import org.jabref.model.entry.event.FieldChangedEvent;
 import org.jabref.model.entry.field.Field;
 import org.jabref.model.entry.field.FieldFactory;
+import org.jabref.model.entry.field.InternalField;
 import org.jabref.model.entry.field.StandardField;
 import org.jabref.model.strings.StringUtil;
 
@@ -51,6 +52,11 @@ public class BibDatabase {
      * State attributes
      */
     private final ObservableList<BibEntry> entries = FXCollections.synchronizedObservableList(FXCollections.observableArrayList(BibEntry::getObservables));
+
+    /**
+     * Index of the entries by their citation key. The lists are never modified, but replaced on each change.
+     */
+    private final Map<String, List<BibEntry>> entriesByCitationKey = new ConcurrentHashMap<>();
     private Map<String, BibtexString> bibtexStrings = new ConcurrentHashMap<>();
 
     private final EventBus eventBus = new EventBus();
@@ -139,13 +145,8 @@ public class BibDatabase {
     /**
      * Returns the entry with the given citation key.
      */
-    public synchronized Optional<BibEntry> getEntryByCitationKey(String key) {
-        for (BibEntry entry : entries) {
-            if (key.equals(entry.getCitationKey().orElse(null))) {
-                return Optional.of(entry);
-            }
-        }
-        return Optional.empty();
+    public Optional<BibEntry> getEntryByCitationKey(String key) {
+        return getEntriesByCitationKey(key).stream().findFirst();
     }
 
     /**
@@ -154,17 +155,18 @@ public class BibDatabase {
      *
      * @return list of entries that contains the given key
      */
-    public synchronized List<BibEntry> getEntriesByCitationKey(String key) {
-        List<BibEntry> result = new ArrayList<>();
+    public List<BibEntry> getEntriesByCitationKey(String key) {
+        List<BibEntry> entriesWithKey = entriesByCitationKey.getOrDefault(key, Collections.emptyList());
+        if (entriesWithKey.size() <= 1) {
+            return new ArrayList<>(entriesWithKey);
+        }
 
-        for (BibEntry entry : entries) {
-            entry.getCitationKey().ifPresent(entryKey -> {
-                if (key.equals(entryKey)) {
-                    result.add(entry);
-                }
-            });
+        // Duplicate keys are rare, so determining the order by a scan is fine
+        synchronized (entries) {
+            return entries.stream()
+                          .filter(entry -> entriesWithKey.stream().anyMatch(entryWithKey -> entryWithKey == entry))
+                          .collect(Collectors.toList());
         }
-        return result;
     }
 
     /**
@@ -198,6 +200,7 @@ public class BibDatabase {
         Objects.requireNonNull(newEntries);
         for (BibEntry entry : newEntries) {
             entry.registerListener(this);
+            entry.getCitationKey().ifPresent(key -> addToCitationKeyIndex(key, entry));
         }
         if (newEntries.isEmpty()) {
             eventBus.post(new EntriesAddedEvent(newEntries, eventSource));
@@ -235,11 +238,23 @@ public class BibDatabase {
     public synchronized void removeEntries(List<BibEntry> toBeDeleted, EntriesEventSource eventSource) {
         Objects.requireNonNull(toBeDeleted);
 
-        List<String> ids = new ArrayList<>();
+        Set<String> ids = new HashSet<>();
         for (BibEntry entry : toBeDeleted) {
             ids.add(entry.getId());
         }
-        boolean anyRemoved = entries.removeIf(entry -> ids.contains(entry.getId()));
+        List<BibEntry> removedEntries = new ArrayList<>();
+        boolean anyRemoved = entries.removeIf(entry -> {
+            if (ids.contains(entry.getId())) {
+                removedEntries.add(entry);
+                return true;
+            }
+            return false;
+        });
+        for (BibEntry entry : removedEntries) {
+            // Changes of removed entries must not reach the citation key index
+            entry.unregisterListener(this);
+            entry.getCitationKey().ifPresent(key -> removeFromCitationKeyIndex(key, entry));
+        }
         if (anyRemoved) {
             eventBus.post(new EntriesRemovedEvent(toBeDeleted, eventSource));
         }
@@ -573,9 +588,39 @@ public class BibDatabase {
 
     @Subscribe
     private void relayEntryChangeEvent(FieldChangedEvent event) {
+        if (InternalField.KEY_FIELD.equals(event.getField())) {
+            BibEntry entry = event.getBibEntry();
+            if (!StringUtil.isBlank(event.getOldValue())) {
+                removeFromCitationKeyIndex(event.getOldValue(), entry);
+            }
+            if (!StringUtil.isBlank(event.getNewValue())) {
+                addToCitationKeyIndex(event.getNewValue(), entry);
+            }
+        }
         eventBus.post(event);
     }
 
+    private void addToCitationKeyIndex(String key, BibEntry entry) {
+        entriesByCitationKey.compute(key, (k, entriesWithKey) -> {
+            List<BibEntry> updatedEntries = (entriesWithKey == null) ? new ArrayList<>(1) : new ArrayList<>(entriesWithKey);
+            updatedEntries.add(entry);
+            return updatedEntries;
+        });
+    }
+
+    private void removeFromCitationKeyIndex(String key, BibEntry entry) {
+        entriesByCitationKey.computeIfPresent(key, (k, entriesWithKey) -> {
+            List<BibEntry> updatedEntries = new ArrayList<>(entriesWithKey);
+            for (int i = 0; i < updatedEntries.size(); i++) {
+                if (updatedEntries.get(i) == entry) {
+                    updatedEntries.remove(i);
+                    break;
+                }
+            }
+            return updatedEntries.isEmpty() ? null : updatedEntries;
+        });
+    }
+
     public Optional<BibEntry> getReferencedEntry(BibEntry entry) {
         return entry.getField(StandardField.CROSSREF).flatMap(this::getEntryByCitationKey);
     }
@@ -610,10 +655,7 @@ public class BibDatabase {
      * Returns the number of occurrences of the given citation key in this database.
      */
     public long getNumberOfCitationKeyOccurrences(String key) {
-        return entries.stream()
-                      .flatMap(entry -> entry.getCitationKey().stream())
-                      .filter(key::equals)
-                      .count();
+        return entriesByCitationKey.getOrDefault(key, Collections.emptyList()).size();
     }
 
     /**
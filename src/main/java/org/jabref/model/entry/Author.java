@@ -6,6 +6,9 @@ import java.util.Optional;
 import org.jabref.model.strings.LatexToUnicodeAdapter;
 import org.jabref.model.strings.StringUtil;
 
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
 /**
  * This is an immutable class that keeps information regarding single author. It is just a container for the information, with very simple methods to access it.
  * <p>
@@ -13,6 +16,10 @@ import org.jabref.model.strings.StringUtil;
  */
 public class Author {
 
+    // Names recur across the entries of a library, so that equal name parts and authors are only kept once
+    private static final Interner<String> NAME_PARTS = Interners.newWeakInterner();
+    private static final Interner<Author> AUTHORS = Interners.newWeakInterner();
+
     private final String firstPart;
     private final String firstAbbr;
     private final String vonPart;
@@ -30,11 +37,23 @@ public class Author {
      * @param jr        the junior part of the author's name (may consist of several tokens, like "Jr. III" in "Smith, Jr. III, John")
      */
     public Author(String first, String firstabbr, String von, String last, String jr) {
-        firstPart = addDotIfAbbreviation(removeStartAndEndBraces(first));
-        firstAbbr = removeStartAndEndBraces(firstabbr);
-        vonPart = removeStartAndEndBraces(von);
-        lastPart = removeStartAndEndBraces(last);
-        jrPart = removeStartAndEndBraces(jr);
+        firstPart = intern(addDotIfAbbreviation(removeStartAndEndBraces(first)));
+        firstAbbr = intern(removeStartAndEndBraces(firstabbr));
+        vonPart = intern(removeStartAndEndBraces(von));
+        lastPart = intern(removeStartAndEndBraces(last));
+        jrPart = intern(removeStartAndEndBraces(jr));
+    }
+
+    private static String intern(String namePart) {
+        return namePart == null ? null : NAME_PARTS.intern(namePart);
+    }
+
+    /**
+     * Returns the instance shared by all authors equal to the given one. Thereby, the formats of the name computed for
+     * one author list (e.g., the LaTeX free last name) are reused by the other author lists.
+     */
+    public static Author intern(Author author) {
+        return AUTHORS.intern(author);
     }
 
     public static String addDotIfAbbreviation(String name) {
@@ -4,13 +4,17 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
-import java.util.WeakHashMap;
 import java.util.stream.Collectors;
 
 import org.jabref.architecture.AllowedToUseLogic;
 import org.jabref.logic.importer.AuthorListParser;
 import org.jabref.model.strings.LatexToUnicodeAdapter;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
+
 /**
  * This is an immutable class representing information of either <CODE>author</CODE>
  * or <CODE>editor</CODE> field in bibtex record.
@@ -121,7 +125,12 @@ import org.jabref.model.strings.LatexToUnicodeAdapter;
 @AllowedToUseLogic("because it needs access to AuthorList parser")
 public class AuthorList {
 
-    private static final WeakHashMap<String, AuthorList> AUTHOR_CACHE = new WeakHashMap<>();
+    // Bounded instead of weak keys, so that the parsed lists survive the collection of the field values
+    private static final int AUTHOR_CACHE_SIZE = 50_000;
+    private static final LoadingCache<String, AuthorList> AUTHOR_CACHE = CacheBuilder.newBuilder()
+                                                                                     .maximumSize(AUTHOR_CACHE_SIZE)
+                                                                                     .recordStats()
+                                                                                     .build(CacheLoader.from(authors -> new AuthorListParser().parse(authors)));
     private final List<Author> authors;
     private final String[] authorsFirstFirst = new String[4];
     private final String[] authorsFirstFirstLatexFree = new String[4];
@@ -168,13 +177,14 @@ public class AuthorList {
     public static AuthorList parse(final String authors) {
         Objects.requireNonNull(authors);
 
-        AuthorList authorList = AUTHOR_CACHE.get(authors);
-        if (authorList == null) {
-            AuthorListParser parser = new AuthorListParser();
-            authorList = parser.parse(authors);
-            AUTHOR_CACHE.put(authors, authorList);
-        }
-        return authorList;
+        return AUTHOR_CACHE.getUnchecked(authors);
+    }
+
+    /**
+     * Returns the hit and miss statistics of the cache used by {@link #parse(String)}.
+     */
+    public static CacheStats getCacheStatistics() {
+        return AUTHOR_CACHE.stats();
     }
 
     /**
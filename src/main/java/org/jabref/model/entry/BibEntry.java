@@ -1,9 +1,9 @@
 package org.jabref.model.entry;
 
+import java.lang.ref.SoftReference;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -63,7 +63,7 @@ public class BibEntry implements Cloneable {
     /**
      * Map to store the words in every field
      */
-    private final Map<Field, Set<String>> fieldsAsWords = new HashMap<>();
+    private final Map<Field, Set<String>> fieldsAsWords = new ConcurrentHashMap<>();
 
     /**
      * Cache that stores latex free versions of fields.
@@ -75,6 +75,18 @@ public class BibEntry implements Cloneable {
      */
     private final MultiKeyMap<StandardField, Character, KeywordList> fieldsAsKeywords = new MultiKeyMap<>(StandardField.class);
 
+    /**
+     * Cache that stores the serialization of the entry written last together with the settings it was written with
+     * (see {@link #getCachedSerialization(Object)}). It may be dropped by the garbage collector if memory is low.
+     */
+    private volatile SoftReference<CachedSerialization> cachedSerialization;
+
+    /**
+     * Counts the changes of the fields and the type. It is incremented after each change, so that a serialization
+     * computed concurrently to a change is not cached (see {@link #setCachedSerialization(Object, String, long)}).
+     */
+    private volatile long modificationCount;
+
     private final EventBus eventBus = new EventBus();
 
     private String id;
@@ -89,10 +101,17 @@ public class BibEntry implements Cloneable {
     private String commentsBeforeEntry = "";
 
     /**
-     * Stores the text "rendering" of the entry as read by the BibTeX reader. Includes comments.
+     * Stores the text "rendering" of the entry as read by the BibTeX reader. Includes comments. Null if only the region
+     * of the file holding the text is known.
      */
     private String parsedSerialization = "";
 
+    /**
+     * The region of the file the entry was parsed from holding the parsed serialization. If set, the text is not kept
+     * in memory, but read from the file or, when the file is saved again, copied.
+     */
+    private SourceFileRegion parsedSerializationRegion;
+
     /**
      * Marks whether the complete serialization, which was read from file, should be used.
      * <p>
@@ -390,6 +409,8 @@ public class BibEntry implements Cloneable {
 
         changed = true;
         this.type.setValue(newType);
+        modificationCount++;
+        cachedSerialization = null;
 
         FieldChange change = new FieldChange(this, InternalField.TYPE_HEADER, oldType.getName(), newType.getName());
         eventBus.post(new FieldChangedEvent(change, eventSource));
@@ -559,8 +580,8 @@ public class BibEntry implements Cloneable {
 
         changed = true;
 
-        invalidateFieldCache(field);
         fields.put(field, value.intern());
+        invalidateFieldCache(field);
 
         FieldChange change = new FieldChange(this, field, oldValue, value);
         if (isNewField) {
@@ -605,8 +626,8 @@ public class BibEntry implements Cloneable {
 
         changed = true;
 
-        invalidateFieldCache(field);
         fields.remove(field);
+        invalidateFieldCache(field);
 
         FieldChange change = new FieldChange(this, field, oldValue.get(), null);
         eventBus.post(new FieldAddedOrRemovedEvent(change, eventSource));
@@ -637,6 +658,7 @@ public class BibEntry implements Cloneable {
         clone.fields = FXCollections.observableMap(new ConcurrentHashMap<>(fields));
         clone.commentsBeforeEntry = commentsBeforeEntry;
         clone.parsedSerialization = parsedSerialization;
+        clone.parsedSerializationRegion = parsedSerializationRegion;
         clone.changed = changed;
         return clone;
     }
@@ -689,13 +711,77 @@ public class BibEntry implements Cloneable {
         return getFieldOrAlias(StandardField.DATE).flatMap(Date::parse);
     }
 
+    /**
+     * Returns the text the entry was parsed from. If the text is only known by its region and the file changed since,
+     * an empty string is returned.
+     */
     public String getParsedSerialization() {
-        return parsedSerialization;
+        String serialization = parsedSerialization;
+        SourceFileRegion region = parsedSerializationRegion;
+        if (serialization != null) {
+            return serialization;
+        }
+        if (region == null) {
+            // The text was set again in the meantime
+            return Objects.requireNonNullElse(parsedSerialization, "");
+        }
+        return region.getText().orElse("");
+    }
+
+    /**
+     * Returns the text the entry was parsed from, as long as the entry was not changed afterwards. Deciding and reading
+     * at once ensures that the text is not written for an entry changed in the meantime.
+     * <p>
+     * If the text is only known by its region and the file changed since, it is no longer available and an empty
+     * optional is returned as well. The entry then has to be written from its fields.
+     */
+    public Optional<String> getUnchangedParsedSerialization() {
+        String serialization = parsedSerialization;
+        SourceFileRegion region = parsedSerializationRegion;
+        if (changed) {
+            return Optional.empty();
+        }
+        if (serialization != null) {
+            return Optional.of(serialization);
+        }
+        if (region == null) {
+            // The text was set again in the meantime
+            return Optional.ofNullable(parsedSerialization);
+        }
+        return region.getText();
     }
 
     public void setParsedSerialization(String parsedSerialization) {
         changed = false;
         this.parsedSerialization = parsedSerialization;
+        this.parsedSerializationRegion = null;
+    }
+
+    /**
+     * Records the region of the file holding the parsed serialization, so that the text can be copied from the file
+     * when it is saved again. The text itself is no longer kept in memory, but read from the file when asked for.
+     */
+    public void setParsedSerializationRegion(SourceFileRegion parsedSerializationRegion) {
+        this.parsedSerializationRegion = Objects.requireNonNull(parsedSerializationRegion);
+        this.parsedSerialization = null;
+    }
+
+    /**
+     * Returns the region of the file holding the parsed serialization, as long as the entry was not changed afterwards.
+     */
+    public Optional<SourceFileRegion> getParsedSerializationRegion() {
+        SourceFileRegion region = parsedSerializationRegion;
+        return changed ? Optional.empty() : Optional.ofNullable(region);
+    }
+
+    /**
+     * Points the parsed serialization to another region having the same text, e.g., after the file was written again.
+     * Nothing happens if the entry changed or its parsed serialization is no longer backed by the given old region.
+     */
+    public void relocateParsedSerialization(SourceFileRegion oldRegion, SourceFileRegion newRegion) {
+        if (!changed && (parsedSerializationRegion == oldRegion)) {
+            parsedSerializationRegion = Objects.requireNonNull(newRegion);
+        }
     }
 
     public void setCommentsBeforeEntry(String parsedComments) {
@@ -888,13 +974,50 @@ public class BibEntry implements Cloneable {
         return keywords;
     }
 
+    /**
+     * Returns the number of changes of the fields and the type of this entry so far. It has to be read before the entry
+     * is serialized for {@link #setCachedSerialization(Object, String, long)}.
+     */
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * Returns the serialization of this entry stored by {@link #setCachedSerialization(Object, String, long)}, provided
+     * that it was computed using equal settings and the entry did not change since.
+     *
+     * @param settings all settings the serialization depends on
+     */
+    public Optional<String> getCachedSerialization(Object settings) {
+        SoftReference<CachedSerialization> reference = cachedSerialization;
+        CachedSerialization serialization = (reference == null) ? null : reference.get();
+        if ((serialization == null) || (serialization.modificationCount != modificationCount) || !serialization.settings.equals(settings)) {
+            return Optional.empty();
+        }
+        return Optional.of(serialization.text);
+    }
+
+    /**
+     * Stores the serialization of this entry computed using the given settings until the entry changes. Nothing is
+     * stored if the entry changed while it was serialized.
+     *
+     * @param modificationCount the result of {@link #getModificationCount()} before the entry was serialized
+     */
+    public void setCachedSerialization(Object settings, String serialization, long modificationCount) {
+        if (modificationCount == this.modificationCount) {
+            cachedSerialization = new SoftReference<>(new CachedSerialization(Objects.requireNonNull(settings), modificationCount, serialization));
+        }
+    }
+
     public Optional<FieldChange> clearCiteKey() {
         return clearField(InternalField.KEY_FIELD);
     }
 
     private void invalidateFieldCache(Field field) {
+        modificationCount++;
         latexFreeFields.remove(field);
         fieldsAsWords.remove(field);
+        cachedSerialization = null;
 
         if (field instanceof StandardField) {
             fieldsAsKeywords.remove((StandardField) field);
@@ -991,4 +1114,17 @@ public class BibEntry implements Cloneable {
     public Observable[] getObservables() {
         return new Observable[] {fields, type};
     }
+
+    private static class CachedSerialization {
+
+        private final Object settings;
+        private final long modificationCount;
+        private final String text;
+
+        public CachedSerialization(Object settings, long modificationCount, String text) {
+            this.settings = settings;
+            this.modificationCount = modificationCount;
+            this.text = text;
+        }
+    }
 }
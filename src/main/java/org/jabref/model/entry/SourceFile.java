@@ -0,0 +1,69 @@
+package org.jabref.model.entry;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Objects;
+
+/**
+ * A file entries were parsed from, together with its size and modification time when it was parsed. As long as
+ * neither changed, parts of the file can be copied when it is written again.
+ */
+public class SourceFile {
+
+    private final Path path;
+    private final Charset encoding;
+    private final long size;
+    private final FileTime lastModified;
+
+    private SourceFile(Path path, Charset encoding, long size, FileTime lastModified) {
+        this.path = Objects.requireNonNull(path);
+        this.encoding = Objects.requireNonNull(encoding);
+        this.size = size;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * Captures the current state of the given file.
+     */
+    public static SourceFile of(Path path, Charset encoding) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        return new SourceFile(path, encoding, attributes.size(), attributes.lastModifiedTime());
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public Charset getEncoding() {
+        return encoding;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Checks whether the file still has the size and modification time it had when this object was created.
+     */
+    public boolean isUnchanged() {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            return (attributes.size() == size) && attributes.lastModifiedTime().equals(lastModified);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SourceFile{" +
+                "path=" + path +
+                ", encoding=" + encoding +
+                ", size=" + size +
+                '}';
+    }
+}
@@ -0,0 +1,88 @@
+package org.jabref.model.entry;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A range of bytes of a {@link SourceFile}, e.g., the text an entry was parsed from. The text is only read when it is
+ * asked for.
+ */
+public class SourceFileRegion {
+
+    private final SourceFile file;
+    private final long start;
+    private final long end;
+
+    public SourceFileRegion(SourceFile file, long start, long end) {
+        if ((start < 0) || (end < start)) {
+            throw new IllegalArgumentException("Invalid region " + start + " to " + end);
+        }
+        this.file = Objects.requireNonNull(file);
+        this.start = start;
+        this.end = end;
+    }
+
+    public SourceFile getFile() {
+        return file;
+    }
+
+    /**
+     * Returns the offset of the first byte of the region.
+     */
+    public long getStart() {
+        return start;
+    }
+
+    /**
+     * Returns the offset of the first byte after the region.
+     */
+    public long getEnd() {
+        return end;
+    }
+
+    public long getLength() {
+        return end - start;
+    }
+
+    /**
+     * Reads the text of the region. The file is checked before and after reading, so that no text is returned which was
+     * read from a file changed in the meantime.
+     *
+     * @return an empty optional if the file changed or could not be read
+     */
+    public Optional<String> getText() {
+        if (!file.isUnchanged()) {
+            return Optional.empty();
+        }
+
+        ByteBuffer bytes = ByteBuffer.allocate(Math.toIntExact(getLength()));
+        try (FileChannel channel = FileChannel.open(file.getPath(), StandardOpenOption.READ)) {
+            while (bytes.hasRemaining()) {
+                if (channel.read(bytes, start + bytes.position()) < 0) {
+                    return Optional.empty();
+                }
+            }
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+
+        if (!file.isUnchanged()) {
+            return Optional.empty();
+        }
+        bytes.flip();
+        return Optional.of(file.getEncoding().decode(bytes).toString());
+    }
+
+    @Override
+    public String toString() {
+        return "SourceFileRegion{" +
+                "file=" + file +
+                ", start=" + start +
+                ", end=" + end +
+                '}';
+    }
+}
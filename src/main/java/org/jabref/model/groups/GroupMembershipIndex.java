@@ -0,0 +1,294 @@
+package org.jabref.model.groups;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.database.event.EntriesAddedEvent;
+import org.jabref.model.database.event.EntriesRemovedEvent;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.event.FieldChangedEvent;
+import org.jabref.model.entry.field.Field;
+import org.jabref.model.entry.field.InternalField;
+import org.jabref.model.search.SearchMatcher;
+
+import com.google.common.collect.MapMaker;
+import com.google.common.eventbus.Subscribe;
+
+/**
+ * Keeps track of the entries of a {@link BibDatabase} matched by groups, taking the hierarchical context of the groups
+ * into account (see {@link GroupTreeNode#getSearchMatcher()}).
+ * <p>
+ * Each entry of the database is assigned a slot number. The entries matched by a group are stored as a {@link BitSet}
+ * of slot numbers, which is computed when the group is first asked for and afterwards updated by listening to the
+ * events posted by the database. Thus, a change of an entry only needs to check this entry against the groups instead
+ * of all entries, and only against the groups looking at the changed field. A group is computed again if the group
+ * itself or one of the groups its matcher depends on changed.
+ */
+public class GroupMembershipIndex {
+
+    private final BibDatabase database;
+
+    private final Map<String, Integer> slotByEntryId = new ConcurrentHashMap<>();
+    // Removed entries leave an empty slot, which is reused for the next added entry
+    private final List<BibEntry> entryBySlot = new ArrayList<>();
+    private final BitSet freeSlots = new BitSet();
+
+    // Groups no longer in use are dropped by the garbage collector, nodes are compared by identity
+    private final Map<GroupTreeNode, Membership> memberships = new MapMaker().weakKeys().makeMap();
+    private final List<BitSet> slotsChangedDuringComputation = new ArrayList<>();
+
+    public GroupMembershipIndex(BibDatabase database) {
+        this.database = Objects.requireNonNull(database);
+
+        // Register first so that no change is missed while the existing entries are added
+        database.registerListener(this);
+        addEntries(new ArrayList<>(database.getEntries()));
+    }
+
+    /**
+     * Returns the number of entries matched by the given group.
+     */
+    public int getNumberOfMatches(GroupTreeNode node) {
+        Membership membership = getMembership(node);
+        synchronized (this) {
+            return membership.members.cardinality();
+        }
+    }
+
+    /**
+     * Returns a matcher for the entries contained in all (intersection) or any (union) of the given groups. The matcher
+     * reflects the state of the groups at the time it was created. Entries added afterwards are checked against the
+     * groups directly.
+     */
+    public Predicate<BibEntry> getMatcher(Collection<GroupTreeNode> nodes, boolean intersection) {
+        List<Membership> selectedMemberships = new ArrayList<>(nodes.size());
+        for (GroupTreeNode node : nodes) {
+            selectedMemberships.add(getMembership(node));
+        }
+
+        BitSet members;
+        synchronized (this) {
+            members = combine(selectedMemberships, intersection);
+        }
+        return entry -> {
+            Integer slot = slotByEntryId.get(entry.getId());
+            if (slot == null) {
+                return intersection
+                        ? selectedMemberships.stream().allMatch(membership -> membership.matcher.isMatch(entry))
+                        : selectedMemberships.stream().anyMatch(membership -> membership.matcher.isMatch(entry));
+            }
+            return members.get(slot);
+        };
+    }
+
+    private static BitSet combine(List<Membership> selectedMemberships, boolean intersection) {
+        BitSet members = new BitSet();
+        if (selectedMemberships.isEmpty()) {
+            return members;
+        }
+
+        members.or(selectedMemberships.get(0).members);
+        for (Membership membership : selectedMemberships.subList(1, selectedMemberships.size())) {
+            if (intersection) {
+                members.and(membership.members);
+            } else {
+                members.or(membership.members);
+            }
+        }
+        return members;
+    }
+
+    /**
+     * Forces the entries matched by the given group to be computed again, e.g., because the group depends on external
+     * data which changed. Groups including or refining the given group are computed again as well.
+     */
+    public synchronized void invalidate(GroupTreeNode node) {
+        for (GroupTreeNode pathNode : node.getPathFromRoot()) {
+            memberships.remove(pathNode);
+        }
+        for (GroupTreeNode descendant : node.findChildrenSatisfying(child -> true)) {
+            memberships.remove(descendant);
+        }
+    }
+
+    /**
+     * Stops keeping the index up to date.
+     */
+    public void shutdown() {
+        database.unregisterListener(this);
+    }
+
+    private Membership getMembership(GroupTreeNode node) {
+        List<AbstractGroup> dependencies = node.getSearchMatcherGroups();
+        List<BibEntry> entries;
+        BitSet changedSlots = new BitSet();
+        synchronized (this) {
+            Membership membership = memberships.get(node);
+            if ((membership != null) && membership.dependsOn(dependencies)) {
+                return membership;
+            }
+            entries = new ArrayList<>(entryBySlot);
+            slotsChangedDuringComputation.add(changedSlots);
+        }
+
+        // The entries are checked without holding the lock, so that changes of entries are not blocked meanwhile
+        SearchMatcher matcher = node.getSearchMatcher();
+        BitSet members = new BitSet(entries.size());
+        for (int slot = 0; slot < entries.size(); slot++) {
+            BibEntry entry = entries.get(slot);
+            if ((entry != null) && matcher.isMatch(entry)) {
+                members.set(slot);
+            }
+        }
+
+        synchronized (this) {
+            slotsChangedDuringComputation.remove(changedSlots);
+            Membership membership = new Membership(dependencies, getSearchedFields(dependencies), matcher, members);
+            changedSlots.stream().forEach(membership::update);
+            memberships.put(node, membership);
+            return membership;
+        }
+    }
+
+    @Subscribe
+    public synchronized void listen(EntriesAddedEvent event) {
+        addEntries(event.getBibEntries());
+    }
+
+    @Subscribe
+    public synchronized void listen(EntriesRemovedEvent event) {
+        for (BibEntry entry : event.getBibEntries()) {
+            Integer slot = slotByEntryId.remove(entry.getId());
+            if (slot != null) {
+                entryBySlot.set(slot, null);
+                freeSlots.set(slot);
+                entryChanged(slot);
+            }
+        }
+    }
+
+    @Subscribe
+    public synchronized void listen(FieldChangedEvent event) {
+        if (InternalField.INTERNAL_ID_FIELD.equals(event.getField())) {
+            // The event is posted before the id is changed
+            Optional.ofNullable(event.getOldValue())
+                    .map(slotByEntryId::remove)
+                    .ifPresent(slot -> slotByEntryId.put(event.getNewValue(), slot));
+            return;
+        }
+
+        Integer slot = slotByEntryId.get(event.getBibEntry().getId());
+        // Entries which are no longer part of the database still post their changes
+        if ((slot != null) && (entryBySlot.get(slot) == event.getBibEntry())) {
+            entryChanged(slot, event.getField());
+        }
+    }
+
+    private synchronized void addEntries(List<BibEntry> entries) {
+        for (BibEntry entry : entries) {
+            if (slotByEntryId.containsKey(entry.getId())) {
+                continue;
+            }
+
+            int slot = freeSlots.nextSetBit(0);
+            if (slot < 0) {
+                slot = entryBySlot.size();
+                entryBySlot.add(entry);
+            } else {
+                freeSlots.clear(slot);
+                entryBySlot.set(slot, entry);
+            }
+            slotByEntryId.put(entry.getId(), slot);
+            entryChanged(slot);
+        }
+    }
+
+    private void entryChanged(int slot) {
+        for (Membership membership : memberships.values()) {
+            membership.update(slot);
+        }
+        for (BitSet changedSlots : slotsChangedDuringComputation) {
+            changedSlots.set(slot);
+        }
+    }
+
+    private void entryChanged(int slot, Field field) {
+        for (Membership membership : memberships.values()) {
+            if (membership.isAffectedBy(field)) {
+                membership.update(slot);
+            }
+        }
+        for (BitSet changedSlots : slotsChangedDuringComputation) {
+            changedSlots.set(slot);
+        }
+    }
+
+    /**
+     * Returns the fields the given groups look at, or an empty optional if they may look at any field.
+     */
+    private static Optional<Set<Field>> getSearchedFields(List<AbstractGroup> groups) {
+        Set<Field> fields = new HashSet<>();
+        for (AbstractGroup group : groups) {
+            if (group instanceof KeywordGroup) {
+                // Also covers explicit groups, which look at the groups field
+                fields.add(((KeywordGroup) group).getSearchField());
+            } else if (group instanceof TexGroup) {
+                fields.add(InternalField.KEY_FIELD);
+            } else if (!(group instanceof AllEntriesGroup)) {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(fields);
+    }
+
+    /**
+     * The entries matched by a group.
+     */
+    private class Membership {
+
+        // The groups the matcher was built from, compared by identity as groups are replaced when edited
+        private final List<AbstractGroup> dependencies;
+        // The fields the matcher looks at, empty if it may look at any field
+        private final Optional<Set<Field>> searchedFields;
+        private final SearchMatcher matcher;
+        private final BitSet members;
+
+        public Membership(List<AbstractGroup> dependencies, Optional<Set<Field>> searchedFields, SearchMatcher matcher, BitSet members) {
+            this.dependencies = dependencies;
+            this.searchedFields = searchedFields;
+            this.matcher = matcher;
+            this.members = members;
+        }
+
+        public boolean dependsOn(List<AbstractGroup> currentDependencies) {
+            if (dependencies.size() != currentDependencies.size()) {
+                return false;
+            }
+            for (int i = 0; i < dependencies.size(); i++) {
+                if (dependencies.get(i) != currentDependencies.get(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        public boolean isAffectedBy(Field field) {
+            return searchedFields.map(fields -> fields.contains(field)).orElse(true);
+        }
+
+        public void update(int slot) {
+            BibEntry entry = entryBySlot.get(slot);
+            members.set(slot, (entry != null) && matcher.isMatch(entry));
+        }
+    }
+}
@@ -117,6 +117,30 @@ public class GroupTreeNode extends TreeNode<GroupTreeNode> {
         return searchRule;
     }
 
+    /**
+     * Returns the groups the matcher returned by {@link #getSearchMatcher()} consists of, in the order they are
+     * visited when building the matcher.
+     */
+    List<AbstractGroup> getSearchMatcherGroups() {
+        List<AbstractGroup> groups = new ArrayList<>();
+        collectSearchMatcherGroups(group.getHierarchicalContext(), groups);
+        return groups;
+    }
+
+    private void collectSearchMatcherGroups(GroupHierarchyType originalContext, List<AbstractGroup> groups) {
+        groups.add(group);
+        final GroupHierarchyType context = group.getHierarchicalContext();
+        if ((context == GroupHierarchyType.INCLUDING) && (originalContext != GroupHierarchyType.REFINING)) {
+            for (GroupTreeNode child : getChildren()) {
+                child.collectSearchMatcherGroups(originalContext, groups);
+            }
+        } else if ((context == GroupHierarchyType.REFINING) && !isRoot() && (originalContext
+                != GroupHierarchyType.INCLUDING)) {
+            // noinspection OptionalGetWithoutIsPresent
+            getParent().get().collectSearchMatcherGroups(originalContext, groups);
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
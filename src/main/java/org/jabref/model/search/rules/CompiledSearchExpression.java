@@ -0,0 +1,169 @@
+package org.jabref.model.search.rules;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.search.rules.GrammarBasedSearchRule.ComparisonOperator;
+import org.jabref.search.SearchBaseVisitor;
+import org.jabref.search.SearchParser;
+
+import org.antlr.v4.runtime.tree.ParseTree;
+
+/**
+ * A search expression of the Search.g4 grammar compiled into a predicate on entries.
+ * <p>
+ * The parse tree is only walked once when compiling. Each comparison resolves its field selection and value matcher
+ * at that time, and the operands of <code>and</code> and <code>or</code> are evaluated with the cheapest ones first,
+ * so that expensive comparisons (e.g., regular expressions over all fields) are only evaluated if the result is not
+ * already decided.
+ */
+final class CompiledSearchExpression implements Predicate<BibEntry> {
+
+    // Cost of a search in all fields without specifying a field
+    private static final int UNQUALIFIED_SEARCH_COST = 16;
+
+    private final Predicate<BibEntry> predicate;
+    private final int cost;
+
+    private CompiledSearchExpression(Predicate<BibEntry> predicate, int cost) {
+        this.predicate = predicate;
+        this.cost = cost;
+    }
+
+    static CompiledSearchExpression compile(ParseTree tree, boolean caseSensitive, boolean regex) {
+        return new Compiler(caseSensitive, regex).visit(tree);
+    }
+
+    @Override
+    public boolean test(BibEntry entry) {
+        return predicate.test(entry);
+    }
+
+    /**
+     * Estimates the relative effort of evaluating this expression for a single entry.
+     */
+    int getCost() {
+        return cost;
+    }
+
+    private static CompiledSearchExpression and(List<CompiledSearchExpression> operands) {
+        CompiledSearchExpression[] ordered = sortByCost(operands);
+        return new CompiledSearchExpression(entry -> {
+            for (CompiledSearchExpression operand : ordered) {
+                if (!operand.test(entry)) {
+                    return false;
+                }
+            }
+            return true;
+        }, totalCost(ordered));
+    }
+
+    private static CompiledSearchExpression or(List<CompiledSearchExpression> operands) {
+        CompiledSearchExpression[] ordered = sortByCost(operands);
+        return new CompiledSearchExpression(entry -> {
+            for (CompiledSearchExpression operand : ordered) {
+                if (operand.test(entry)) {
+                    return true;
+                }
+            }
+            return false;
+        }, totalCost(ordered));
+    }
+
+    private static CompiledSearchExpression[] sortByCost(List<CompiledSearchExpression> operands) {
+        return operands.stream()
+                       .sorted(Comparator.comparingInt(CompiledSearchExpression::getCost))
+                       .toArray(CompiledSearchExpression[]::new);
+    }
+
+    private static int totalCost(CompiledSearchExpression[] operands) {
+        int total = 0;
+        for (CompiledSearchExpression operand : operands) {
+            total += operand.getCost();
+        }
+        return total;
+    }
+
+    private static class Compiler extends SearchBaseVisitor<CompiledSearchExpression> {
+
+        private final boolean caseSensitive;
+        private final boolean regex;
+
+        public Compiler(boolean caseSensitive, boolean regex) {
+            this.caseSensitive = caseSensitive;
+            this.regex = regex;
+        }
+
+        @Override
+        public CompiledSearchExpression visitStart(SearchParser.StartContext ctx) {
+            return visit(ctx.expression());
+        }
+
+        @Override
+        public CompiledSearchExpression visitAtomExpression(SearchParser.AtomExpressionContext ctx) {
+            return visit(ctx.comparison());
+        }
+
+        @Override
+        public CompiledSearchExpression visitComparison(SearchParser.ComparisonContext context) {
+            // remove possible enclosing " symbols
+            String right = context.right.getText();
+            if (right.startsWith("\"") && right.endsWith("\"")) {
+                right = right.substring(1, right.length() - 1);
+            }
+
+            if (context.left == null) {
+                String query = right;
+                SearchRule rule = SearchRules.getSearchRule(caseSensitive, regex);
+                return new CompiledSearchExpression(entry -> rule.applyRule(query, entry), UNQUALIFIED_SEARCH_COST);
+            }
+
+            GrammarBasedSearchRule.Comparator comparator = new GrammarBasedSearchRule.Comparator(context.left.getText(), right,
+                    ComparisonOperator.build(context.operator.getText()), caseSensitive, regex);
+            return new CompiledSearchExpression(comparator::compare, comparator.getEstimatedCost());
+        }
+
+        @Override
+        public CompiledSearchExpression visitUnaryExpression(SearchParser.UnaryExpressionContext ctx) {
+            CompiledSearchExpression operand = visit(ctx.expression());
+            return new CompiledSearchExpression(operand.negate(), operand.getCost());
+        }
+
+        @Override
+        public CompiledSearchExpression visitParenExpression(SearchParser.ParenExpressionContext ctx) {
+            return visit(ctx.expression()); // ignore parenthesis
+        }
+
+        @Override
+        public CompiledSearchExpression visitBinaryExpression(SearchParser.BinaryExpressionContext ctx) {
+            boolean isAnd = isAnd(ctx);
+            // Chains of the same operator are combined, so that all of their operands can be ordered by cost
+            List<CompiledSearchExpression> operands = new ArrayList<>();
+            collectOperands(ctx, isAnd, operands);
+            return isAnd ? and(operands) : or(operands);
+        }
+
+        private void collectOperands(SearchParser.ExpressionContext expression, boolean isAnd, List<CompiledSearchExpression> operands) {
+            SearchParser.ExpressionContext unwrapped = expression;
+            while (unwrapped instanceof SearchParser.ParenExpressionContext) {
+                unwrapped = ((SearchParser.ParenExpressionContext) unwrapped).expression();
+            }
+
+            if ((unwrapped instanceof SearchParser.BinaryExpressionContext)
+                    && (isAnd((SearchParser.BinaryExpressionContext) unwrapped) == isAnd)) {
+                SearchParser.BinaryExpressionContext binary = (SearchParser.BinaryExpressionContext) unwrapped;
+                collectOperands(binary.left, isAnd, operands);
+                collectOperands(binary.right, isAnd, operands);
+            } else {
+                operands.add(visit(unwrapped));
+            }
+        }
+
+        private static boolean isAnd(SearchParser.BinaryExpressionContext ctx) {
+            return "AND".equalsIgnoreCase(ctx.operator.getText());
+        }
+    }
+}
@@ -1,18 +1,15 @@
 package org.jabref.model.search.rules;
 
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
-import java.util.function.Predicate;
-import java.util.regex.Matcher;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 import org.jabref.model.entry.BibEntry;
 import org.jabref.model.entry.Keyword;
 import org.jabref.model.entry.field.Field;
 import org.jabref.model.entry.field.InternalField;
-import org.jabref.search.SearchBaseVisitor;
 import org.jabref.search.SearchLexer;
 import org.jabref.search.SearchParser;
 
@@ -30,7 +27,8 @@ import org.slf4j.LoggerFactory;
 /**
  * The search query must be specified in an expression that is acceptable by the Search.g4 grammar.
  * <p>
- * This class implements the "Advanced Search Mode" described in the help
+ * This class implements the "Advanced Search Mode" described in the help. The query is compiled once when it is
+ * validated, see {@link CompiledSearchExpression}.
  */
 public class GrammarBasedSearchRule implements SearchRule {
 
@@ -40,6 +38,7 @@ public class GrammarBasedSearchRule implements SearchRule {
     private final boolean regExpSearch;
 
     private ParseTree tree;
+    private CompiledSearchExpression compiledTree;
     private String query;
 
     public static class ThrowingErrorListener extends BaseErrorListener {
@@ -92,13 +91,14 @@ public class GrammarBasedSearchRule implements SearchRule {
         parser.addErrorListener(ThrowingErrorListener.INSTANCE);
         parser.setErrorHandler(new BailErrorStrategy()); // ParseCancelationException on parse errors
         tree = parser.start();
+        compiledTree = CompiledSearchExpression.compile(tree, caseSensitiveSearch, regExpSearch);
         this.query = query;
     }
 
     @Override
     public boolean applyRule(String query, BibEntry bibEntry) {
         try {
-            return new BibtexSearchVisitor(caseSensitiveSearch, regExpSearch, bibEntry).visit(tree);
+            return compiledTree.test(bibEntry);
         } catch (Exception e) {
             LOGGER.debug("Search failed", e);
             return false;
@@ -133,126 +133,139 @@ public class GrammarBasedSearchRule implements SearchRule {
     public static class Comparator {
 
         private final ComparisonOperator operator;
+        private final FieldSelection fieldSelection;
+        private final String fieldName;
+        private final String value;
+        private final boolean caseSensitive;
+        // Only used for regular expression searches, plain searches compare literally
         private final Pattern fieldPattern;
         private final Pattern valuePattern;
+        private final Map<String, Boolean> fieldNameMatches = new ConcurrentHashMap<>();
 
         public Comparator(String field, String value, ComparisonOperator operator, boolean caseSensitive, boolean regex) {
             this.operator = operator;
+            this.fieldName = field;
+            this.value = value;
+            this.caseSensitive = caseSensitive;
 
             int option = caseSensitive ? 0 : Pattern.CASE_INSENSITIVE;
-            this.fieldPattern = Pattern.compile(regex ? field : "\\Q" + field + "\\E", option);
-            this.valuePattern = Pattern.compile(regex ? value : "\\Q" + value + "\\E", option);
+            this.fieldPattern = regex ? Pattern.compile(field, option) : null;
+            this.valuePattern = regex ? Pattern.compile(value, option) : null;
+
+            // The special fields are resolved once instead of for each entry
+            if (matchesFieldName(InternalField.TYPE_HEADER.getName())) {
+                // special case for searching for entrytype=phdthesis
+                fieldSelection = FieldSelection.ENTRY_TYPE;
+            } else if (matchesFieldName("anykeyword")) {
+                // special case for searching a single keyword
+                fieldSelection = FieldSelection.ANY_KEYWORD;
+            } else if (matchesFieldName("anyfield")) {
+                // special case for searching allfields=cat and title=dog
+                fieldSelection = FieldSelection.ANY_FIELD;
+            } else {
+                fieldSelection = FieldSelection.MATCHING_FIELDS;
+            }
         }
 
         public boolean compare(BibEntry entry) {
-            // special case for searching for entrytype=phdthesis
-            if (fieldPattern.matcher(InternalField.TYPE_HEADER.getName()).matches()) {
+            if (fieldSelection == FieldSelection.ENTRY_TYPE) {
                 return matchFieldValue(entry.getType().getName());
             }
 
-            // special case for searching a single keyword
-            if (fieldPattern.matcher("anykeyword").matches()) {
+            if (fieldSelection == FieldSelection.ANY_KEYWORD) {
                 return entry.getKeywords(',').stream().map(Keyword::toString).anyMatch(this::matchFieldValue);
             }
 
             // specification of fieldsKeys to search is done in the search expression itself
-            Set<Field> fieldsKeys = entry.getFields();
-
-            // special case for searching allfields=cat and title=dog
-            if (!fieldPattern.matcher("anyfield").matches()) {
-                // Filter out the requested fields
-                fieldsKeys = fieldsKeys.stream().filter(matchFieldKey()).collect(Collectors.toSet());
-            }
-
-            for (Field field : fieldsKeys) {
+            boolean anyFieldSearched = false;
+            for (Field field : entry.getFields()) {
+                if ((fieldSelection == FieldSelection.MATCHING_FIELDS) && !matchesField(field)) {
+                    continue;
+                }
+                anyFieldSearched = true;
                 Optional<String> fieldValue = entry.getLatexFreeField(field);
-                if (fieldValue.isPresent()) {
-                    if (matchFieldValue(fieldValue.get())) {
-                        return true;
-                    }
+                if (fieldValue.isPresent() && matchFieldValue(fieldValue.get())) {
+                    return true;
                 }
             }
 
             // special case of asdf!=whatever and entry does not contain asdf
-            return fieldsKeys.isEmpty() && (operator == ComparisonOperator.DOES_NOT_CONTAIN);
+            return !anyFieldSearched && (operator == ComparisonOperator.DOES_NOT_CONTAIN);
         }
 
-        private Predicate<Field> matchFieldKey() {
-            return field -> fieldPattern.matcher(field.getName()).matches();
+        private boolean matchesField(Field field) {
+            if (fieldPattern == null) {
+                return matchesFieldName(field.getName());
+            }
+            // The number of different field names is small, thus the results of the pattern are kept
+            return fieldNameMatches.computeIfAbsent(field.getName(), this::matchesFieldName);
+        }
+
+        private boolean matchesFieldName(String name) {
+            if (fieldPattern != null) {
+                return fieldPattern.matcher(name).matches();
+            }
+            return caseSensitive ? fieldName.equals(name) : fieldName.equalsIgnoreCase(name);
         }
 
         public boolean matchFieldValue(String content) {
-            Matcher matcher = valuePattern.matcher(content);
             if (operator == ComparisonOperator.CONTAINS) {
-                return matcher.find();
+                return containsValue(content);
             } else if (operator == ComparisonOperator.EXACT) {
-                return matcher.matches();
+                return equalsValue(content);
             } else if (operator == ComparisonOperator.DOES_NOT_CONTAIN) {
-                return !matcher.find();
+                return !containsValue(content);
             } else {
                 throw new IllegalStateException("MUST NOT HAPPEN");
             }
         }
-    }
 
-    /**
-     * Search results in boolean. It may be later on converted to an int.
-     */
-    static class BibtexSearchVisitor extends SearchBaseVisitor<Boolean> {
-
-        private final boolean caseSensitive;
-        private final boolean regex;
-
-        private final BibEntry entry;
-
-        public BibtexSearchVisitor(boolean caseSensitive, boolean regex, BibEntry bibEntry) {
-            this.caseSensitive = caseSensitive;
-            this.regex = regex;
-            this.entry = bibEntry;
-        }
-
-        public boolean comparison(String field, ComparisonOperator operator, String value) {
-            return new Comparator(field, value, operator, caseSensitive, regex).compare(entry);
-        }
-
-        @Override
-        public Boolean visitStart(SearchParser.StartContext ctx) {
-            return visit(ctx.expression());
-        }
-
-        @Override
-        public Boolean visitComparison(SearchParser.ComparisonContext context) {
-            // remove possible enclosing " symbols
-            String right = context.right.getText();
-            if (right.startsWith("\"") && right.endsWith("\"")) {
-                right = right.substring(1, right.length() - 1);
-            }
-
-            Optional<SearchParser.NameContext> fieldDescriptor = Optional.ofNullable(context.left);
-            if (fieldDescriptor.isPresent()) {
-                return comparison(fieldDescriptor.get().getText(), ComparisonOperator.build(context.operator.getText()), right);
+        private boolean containsValue(String content) {
+            if (valuePattern != null) {
+                return valuePattern.matcher(content).find();
+            } else if (caseSensitive) {
+                return content.contains(value);
             } else {
-                return SearchRules.getSearchRule(caseSensitive, regex).applyRule(right, entry);
+                return containsIgnoreCase(content, value);
             }
         }
 
-        @Override
-        public Boolean visitUnaryExpression(SearchParser.UnaryExpressionContext ctx) {
-            return !visit(ctx.expression()); // negate
+        private boolean equalsValue(String content) {
+            if (valuePattern != null) {
+                return valuePattern.matcher(content).matches();
+            }
+            return caseSensitive ? content.equals(value) : content.equalsIgnoreCase(value);
         }
 
-        @Override
-        public Boolean visitParenExpression(SearchParser.ParenExpressionContext ctx) {
-            return visit(ctx.expression()); // ignore parenthesis
+        private static boolean containsIgnoreCase(String content, String searchString) {
+            int length = searchString.length();
+            for (int i = 0; i <= (content.length() - length); i++) {
+                if (content.regionMatches(true, i, searchString, 0, length)) {
+                    return true;
+                }
+            }
+            return false;
         }
 
-        @Override
-        public Boolean visitBinaryExpression(SearchParser.BinaryExpressionContext ctx) {
-            if ("AND".equalsIgnoreCase(ctx.operator.getText())) {
-                return visit(ctx.left) && visit(ctx.right); // and
+        /**
+         * Estimates the relative effort of a comparison, used to evaluate cheap comparisons first.
+         */
+        int getEstimatedCost() {
+            int cost;
+            if (fieldSelection == FieldSelection.ENTRY_TYPE) {
+                cost = 1;
+            } else if (fieldSelection == FieldSelection.MATCHING_FIELDS) {
+                cost = 2;
+            } else if (fieldSelection == FieldSelection.ANY_KEYWORD) {
+                cost = 4;
             } else {
-                return visit(ctx.left) || visit(ctx.right); // or
+                cost = 8;
             }
+            return (valuePattern == null) ? cost : (2 * cost);
+        }
+
+        private enum FieldSelection {
+            ENTRY_TYPE, ANY_KEYWORD, ANY_FIELD, MATCHING_FIELDS
         }
     }
 }
@@ -12,7 +12,7 @@ public class MultiKeyMap<K1 extends Enum<K1>, K2, V> {
         map = new EnumMap<>(keyType);
     }
 
-    public Optional<V> get(K1 key1, K2 key2) {
+    public synchronized Optional<V> get(K1 key1, K2 key2) {
         Map<K2, V> metaValue = map.get(key1);
         if (metaValue == null) {
             return Optional.empty();
@@ -21,7 +21,7 @@ public class MultiKeyMap<K1 extends Enum<K1>, K2, V> {
         }
     }
 
-    public void put(K1 key1, K2 key2, V value) {
+    public synchronized void put(K1 key1, K2 key2, V value) {
         Map<K2, V> metaValue = map.get(key1);
         if (metaValue == null) {
             Map<K2, V> newMetaValue = new HashMap<>();
@@ -32,7 +32,7 @@ public class MultiKeyMap<K1 extends Enum<K1>, K2, V> {
         }
     }
 
-    public void remove(K1 key1) {
+    public synchronized void remove(K1 key1) {
         map.remove(key1);
     }
 }
@@ -3,6 +3,7 @@ package org.jabref.gui.autocompleter;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
 import org.jabref.logic.journals.JournalAbbreviationRepository;
@@ -178,4 +179,48 @@ class FieldValueSuggestionProviderTest {
         Collection<String> result = autoCompleter.provideSuggestions(getRequest(("te")));
         assertEquals(Collections.singletonList("test value"), result);
     }
+
+    @Test
+    void completeAfterChangingFieldReturnsNewFieldValue() {
+        BibEntry entry = new BibEntry();
+        entry.setField(StandardField.TITLE, "test value");
+        database.insertEntry(entry);
+
+        entry.setField(StandardField.TITLE, "test other value");
+
+        Collection<String> result = autoCompleter.provideSuggestions(getRequest(("te")));
+        assertEquals(Collections.singletonList("test other value"), result);
+    }
+
+    @Test
+    void completeAfterRemovingEntryReturnsFieldValueOfRemainingEntry() {
+        BibEntry entry = new BibEntry();
+        entry.setField(StandardField.TITLE, "test value");
+        BibEntry otherEntry = new BibEntry();
+        otherEntry.setField(StandardField.TITLE, "test value");
+        BibEntry removedEntry = new BibEntry();
+        removedEntry.setField(StandardField.TITLE, "test removed value");
+        database.insertEntries(entry, otherEntry, removedEntry);
+
+        database.removeEntries(List.of(otherEntry, removedEntry));
+
+        Collection<String> result = autoCompleter.provideSuggestions(getRequest(("te")));
+        assertEquals(Collections.singletonList("test value"), result);
+    }
+
+    @Test
+    void suggestionProvidersOfFieldShareIndex() {
+        AutoCompletePreferences autoCompletePreferences = mock(AutoCompletePreferences.class);
+        when(autoCompletePreferences.getCompleteFields()).thenReturn(Set.of(StandardField.TITLE));
+        SuggestionProviders suggestionProviders = new SuggestionProviders(database, mock(JournalAbbreviationRepository.class), autoCompletePreferences);
+        SuggestionProvider<?> firstProvider = suggestionProviders.getForField(StandardField.TITLE);
+
+        BibEntry entry = new BibEntry();
+        entry.setField(StandardField.TITLE, "test value");
+        database.insertEntry(entry);
+        SuggestionProvider<?> secondProvider = suggestionProviders.getForField(StandardField.TITLE);
+
+        assertEquals(List.of("test"), firstProvider.provideSuggestions(getRequest(("te"))));
+        assertEquals(List.of("test"), secondProvider.provideSuggestions(getRequest(("te"))));
+    }
 }
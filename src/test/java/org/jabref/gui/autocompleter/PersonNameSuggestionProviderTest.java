@@ -3,7 +3,9 @@ package org.jabref.gui.autocompleter;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Optional;
 
+import org.jabref.logic.journals.JournalAbbreviationRepository;
 import org.jabref.model.database.BibDatabase;
 import org.jabref.model.entry.Author;
 import org.jabref.model.entry.BibEntry;
@@ -16,6 +18,7 @@ import org.junit.jupiter.api.Test;
 import static org.jabref.gui.autocompleter.AutoCompleterUtil.getRequest;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
 
 class PersonNameSuggestionProviderTest {
 
@@ -181,4 +184,24 @@ class PersonNameSuggestionProviderTest {
         Collection<Author> result = autoCompleter.provideSuggestions(getRequest(("Kostakos, Va")));
         assertEquals(Collections.singletonList(vassilisKostakos), result);
     }
+
+    @Test
+    void shutdownStopsUpdatingSuggestions() {
+        autoCompleter.shutdown();
+        database.insertEntry(entry);
+
+        Collection<Author> result = autoCompleter.provideSuggestions(getRequest(("Kostakos")));
+        assertEquals(Collections.emptyList(), result);
+    }
+
+    @Test
+    void searchSuggestionsAreOnlyProvidedIfAutoCompletionIsActivated() {
+        entry.setField(StandardField.EDITOR, "Test Editor");
+        database.insertEntry(entry);
+        SuggestionProviders suggestionProviders = new SuggestionProviders(database, mock(JournalAbbreviationRepository.class), mock(AutoCompletePreferences.class));
+
+        Collection<Author> result = suggestionProviders.getForSearch().orElseThrow().provideSuggestions(getRequest(("Edi")));
+        assertEquals(Collections.singletonList(new Author("Test", "T.", "", "Editor", "")), result);
+        assertEquals(Optional.empty(), new SuggestionProviders().getForSearch());
+    }
 }
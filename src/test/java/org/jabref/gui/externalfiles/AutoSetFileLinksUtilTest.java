@@ -12,6 +12,7 @@ import org.jabref.model.database.BibDatabaseContext;
 import org.jabref.model.entry.BibEntry;
 import org.jabref.model.entry.LinkedFile;
 import org.jabref.model.entry.types.StandardEntryType;
+import org.jabref.model.util.DummyFileUpdateMonitor;
 import org.jabref.preferences.FilePreferences;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -49,7 +50,7 @@ public class AutoSetFileLinksUtilTest {
         // Due to mocking the externalFileType class, the file extension will not be found
         when(databaseContext.getFileDirectories(any())).thenReturn(Collections.singletonList(path.getParent()));
         List<LinkedFile> expected = Collections.singletonList(new LinkedFile("", Path.of("CiteKey.pdf"), ""));
-        AutoSetFileLinksUtil util = new AutoSetFileLinksUtil(databaseContext, fileDirPrefs, autoLinkPrefs, externalFileTypes);
+        AutoSetFileLinksUtil util = new AutoSetFileLinksUtil(databaseContext, fileDirPrefs, autoLinkPrefs, externalFileTypes, new DummyFileUpdateMonitor());
         List<LinkedFile> actual = util.findAssociatedNotLinkedFiles(entry);
         assertEquals(expected, actual);
     }
@@ -57,7 +58,7 @@ public class AutoSetFileLinksUtilTest {
     @Test
     public void testFindAssociatedNotLinkedFilesForEmptySearchDir() throws Exception {
         when(fileDirPrefs.shouldStoreFilesRelativeToBib()).thenReturn(false);
-        AutoSetFileLinksUtil util = new AutoSetFileLinksUtil(databaseContext, fileDirPrefs, autoLinkPrefs, externalFileTypes);
+        AutoSetFileLinksUtil util = new AutoSetFileLinksUtil(databaseContext, fileDirPrefs, autoLinkPrefs, externalFileTypes, new DummyFileUpdateMonitor());
         List<LinkedFile> actual = util.findAssociatedNotLinkedFiles(entry);
         assertEquals(Collections.emptyList(), actual);
     }
@@ -0,0 +1,79 @@
+package org.jabref.logic.autosaveandbackup;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BackupJournalTest {
+
+    private static final String ENTRY = "@Article{key,\r\n  author = {Ünal, Ayşe},\n}\n";
+
+    private Path journalPath;
+
+    @BeforeEach
+    void setUp(@TempDir Path tempDir) {
+        journalPath = BackupJournal.getJournalPath(tempDir.resolve("test.bib.sav"));
+    }
+
+    @Test
+    void journalFileNameIsDerivedFromBackupFile() {
+        assertEquals("test.bib.sav.journal", journalPath.getFileName().toString());
+    }
+
+    @Test
+    void readReturnsAppendedRecords() throws Exception {
+        BackupJournal.reset(journalPath, 3, 42);
+        BackupJournal.append(journalPath, List.of(BackupJournal.Record.put("s1", ENTRY)));
+        BackupJournal.append(journalPath, List.of(BackupJournal.Record.delete("s2"), BackupJournal.Record.put("n0", ENTRY)));
+
+        BackupJournal journal = BackupJournal.read(journalPath).orElseThrow();
+
+        assertEquals(3, journal.getSnapshotEntryCount());
+        assertEquals(42, journal.getSnapshotChecksum());
+        assertEquals(List.of("s1", "s2", "n0"), journal.getRecords().stream().map(BackupJournal.Record::getReference).collect(Collectors.toList()));
+        assertEquals(List.of(BackupJournal.RecordType.PUT, BackupJournal.RecordType.DELETE, BackupJournal.RecordType.PUT),
+                journal.getRecords().stream().map(BackupJournal.Record::getType).collect(Collectors.toList()));
+        assertEquals(ENTRY, journal.getRecords().get(2).getEntry());
+    }
+
+    @Test
+    void resetDiscardsRecords() throws Exception {
+        BackupJournal.reset(journalPath, 3, 42);
+        BackupJournal.append(journalPath, List.of(BackupJournal.Record.put("s1", ENTRY)));
+        BackupJournal.reset(journalPath, 4, 43);
+
+        assertEquals(List.of(), BackupJournal.read(journalPath).orElseThrow().getRecords());
+    }
+
+    @Test
+    void incompleteRecordEndsJournal() throws Exception {
+        BackupJournal.reset(journalPath, 3, 42);
+        BackupJournal.append(journalPath, List.of(BackupJournal.Record.put("s1", ENTRY)));
+        Files.writeString(journalPath, "PUT s2 100\n@Article{", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        assertEquals(1, BackupJournal.read(journalPath).orElseThrow().getRecords().size());
+    }
+
+    @Test
+    void readOfMissingJournalIsEmpty() throws Exception {
+        assertEquals(Optional.empty(), BackupJournal.read(journalPath));
+    }
+
+    @Test
+    void readOfInvalidHeaderIsEmpty() throws Exception {
+        Files.writeString(journalPath, "something else\n", StandardCharsets.UTF_8);
+
+        assertTrue(BackupJournal.read(journalPath).isEmpty());
+    }
+}
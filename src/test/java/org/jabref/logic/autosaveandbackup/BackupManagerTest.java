@@ -1,15 +1,67 @@
 package org.jabref.logic.autosaveandbackup;
 
+import java.io.StringWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 
+import org.jabref.logic.bibtex.BibEntryWriter;
+import org.jabref.logic.bibtex.FieldWriter;
+import org.jabref.logic.exporter.AtomicFileWriter;
+import org.jabref.logic.exporter.BibtexDatabaseWriter;
+import org.jabref.logic.exporter.SavePreferences;
+import org.jabref.logic.importer.ImportFormatPreferences;
+import org.jabref.logic.importer.ParserResult;
+import org.jabref.logic.importer.fileformat.BibtexImporter;
+import org.jabref.model.database.BibDatabaseMode;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.BibEntryTypesManager;
+import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.util.DummyFileUpdateMonitor;
+import org.jabref.preferences.PreferencesService;
+
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Answers;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 public class BackupManagerTest {
 
+    private static final String LIBRARY = "@Article{first,\n  title = {First},\n}\n\n@Article{second,\n  title = {Second},\n}\n";
+
+    private PreferencesService preferences;
+    private ImportFormatPreferences importFormatPreferences;
+    private SavePreferences savePreferences;
+    private BibEntryTypesManager entryTypesManager;
+
+    @BeforeEach
+    void setUp() {
+        importFormatPreferences = mock(ImportFormatPreferences.class, Answers.RETURNS_DEEP_STUBS);
+        when(importFormatPreferences.getKeywordSeparator()).thenReturn(',');
+        savePreferences = mock(SavePreferences.class, Answers.RETURNS_DEEP_STUBS);
+        when(savePreferences.withEncoding(any(Charset.class))).thenReturn(savePreferences);
+        when(savePreferences.withMakeBackup(anyBoolean())).thenReturn(savePreferences);
+        when(savePreferences.getEncoding()).thenReturn(StandardCharsets.UTF_8);
+        when(savePreferences.shouldSaveInOriginalOrder()).thenReturn(true);
+        when(savePreferences.shouldReformatFile()).thenReturn(false);
+        when(savePreferences.getCitationKeyPatternPreferences().shouldGenerateCiteKeysBeforeSaving()).thenReturn(false);
+        preferences = mock(PreferencesService.class);
+        when(preferences.getImportFormatPreferences()).thenReturn(importFormatPreferences);
+        when(preferences.getSavePreferences()).thenReturn(savePreferences);
+        when(preferences.getDefaultEncoding()).thenReturn(StandardCharsets.UTF_8);
+        entryTypesManager = new BibEntryTypesManager();
+    }
+
     @Test
     public void autosaveFileNameIsCorrectlyGeneratedWithinTmpDirectory() {
         Path bibPath = Path.of("tmp", "test.bib");
@@ -20,18 +72,76 @@ public class BackupManagerTest {
     @Test
     public void autosaveFileIsEqualForNonExistingBackup() throws Exception {
         Path originalFile = Path.of(BackupManagerTest.class.getResource("no-autosave.bib").toURI());
-        assertFalse(BackupManager.backupFileDiffers(originalFile));
+        assertFalse(BackupManager.backupFileDiffers(originalFile, preferences, entryTypesManager));
     }
 
     @Test
     public void backupFileIsEqual() throws Exception {
         Path originalFile = Path.of(BackupManagerTest.class.getResource("no-changes.bib").toURI());
-        assertFalse(BackupManager.backupFileDiffers(originalFile));
+        assertFalse(BackupManager.backupFileDiffers(originalFile, preferences, entryTypesManager));
     }
 
     @Test
     public void backupFileDiffers() throws Exception {
         Path originalFile = Path.of(BackupManagerTest.class.getResource("changes.bib").toURI());
-        assertTrue(BackupManager.backupFileDiffers(originalFile));
+        assertTrue(BackupManager.backupFileDiffers(originalFile, preferences, entryTypesManager));
+    }
+
+    @Test
+    public void backupFileWithJournalDiffersUntilChangesAreSaved(@TempDir Path tempDir) throws Exception {
+        Path originalFile = createLibraryWithJournaledChange(tempDir);
+        assertTrue(BackupManager.backupFileDiffers(originalFile, preferences, entryTypesManager));
+
+        saveWithChange(originalFile, originalFile);
+        assertFalse(BackupManager.backupFileDiffers(originalFile, preferences, entryTypesManager));
+    }
+
+    @Test
+    public void restoreBackupAppliesJournal(@TempDir Path tempDir) throws Exception {
+        Path originalFile = createLibraryWithJournaledChange(tempDir);
+        Path expectedFile = tempDir.resolve("expected.bib");
+        saveWithChange(originalFile, expectedFile);
+
+        BackupManager.restoreBackup(originalFile, preferences, entryTypesManager);
+
+        assertEquals(-1L, Files.mismatch(expectedFile, originalFile));
+        List<BibEntry> restoredEntries = parse(originalFile).getDatabase().getEntries();
+        assertEquals(List.of("first", "second"), List.of(restoredEntries.get(0).getCitationKey().orElseThrow(), restoredEntries.get(1).getCitationKey().orElseThrow()));
+        assertEquals("Changed", restoredEntries.get(1).getField(StandardField.TITLE).orElseThrow());
+    }
+
+    /**
+     * Creates a library and its backup, and journals a change of the title of the second entry.
+     */
+    private Path createLibraryWithJournaledChange(Path directory) throws Exception {
+        Path originalFile = directory.resolve("test.bib");
+        Path backupFile = BackupManager.getBackupPath(originalFile);
+        Files.writeString(originalFile, LIBRARY, StandardCharsets.UTF_8);
+        Files.writeString(backupFile, LIBRARY, StandardCharsets.UTF_8);
+
+        BibEntry changedEntry = parse(originalFile).getDatabase().getEntries().get(1);
+        changedEntry.setField(StandardField.TITLE, "Changed");
+        StringWriter serializedEntry = new StringWriter();
+        new BibEntryWriter(new FieldWriter(savePreferences.getFieldWriterPreferences()), entryTypesManager)
+                .write(changedEntry, serializedEntry, BibDatabaseMode.BIBTEX);
+
+        Path journalPath = BackupJournal.getJournalPath(backupFile);
+        BackupJournal.reset(journalPath, 2, BackupJournal.checksum(backupFile));
+        BackupJournal.append(journalPath, List.of(BackupJournal.Record.put(BackupJournal.getSnapshotReference(1), serializedEntry.toString())));
+        return originalFile;
+    }
+
+    /**
+     * Saves the library read from the given file to the target file after applying the journaled change.
+     */
+    private void saveWithChange(Path libraryFile, Path targetFile) throws Exception {
+        ParserResult parserResult = parse(libraryFile);
+        parserResult.getDatabase().getEntries().get(1).setField(StandardField.TITLE, "Changed");
+        new BibtexDatabaseWriter(new AtomicFileWriter(targetFile, StandardCharsets.UTF_8), savePreferences, entryTypesManager)
+                .saveDatabase(parserResult.getDatabaseContext());
+    }
+
+    private ParserResult parse(Path file) throws Exception {
+        return new BibtexImporter(importFormatPreferences, new DummyFileUpdateMonitor()).importDatabase(file, StandardCharsets.UTF_8);
     }
 }
@@ -624,4 +624,50 @@ class BibEntryWriterTest {
 
         assertEquals(expected, actual);
     }
+
+    @Test
+    void writeAgainGivesSameSerialization() throws IOException {
+        BibEntry entry = new BibEntry(StandardEntryType.Article).withField(StandardField.AUTHOR, "Foo Bar");
+        StringWriter first = new StringWriter();
+        writer.write(entry, first, BibDatabaseMode.BIBTEX);
+
+        StringWriter second = new StringWriter();
+        writer.write(entry, second, BibDatabaseMode.BIBTEX);
+
+        assertEquals(first.toString(), second.toString());
+    }
+
+    @Test
+    void writeAfterFieldChangeSerializesEntryAgain() throws IOException {
+        BibEntry entry = new BibEntry(StandardEntryType.Article).withField(StandardField.AUTHOR, "Foo Bar");
+        writer.write(entry, new StringWriter(), BibDatabaseMode.BIBTEX);
+
+        entry.setField(StandardField.AUTHOR, "Bar Foo");
+        StringWriter stringWriter = new StringWriter();
+        writer.write(entry, stringWriter, BibDatabaseMode.BIBTEX);
+
+        String expected = OS.NEWLINE + "@Article{," + OS.NEWLINE +
+                "  author = {Bar Foo}," + OS.NEWLINE +
+                "}" + OS.NEWLINE;
+        assertEquals(expected, stringWriter.toString());
+    }
+
+    @Test
+    void writeInOtherModeSerializesEntryAgain() throws IOException {
+        BibEntry entry = new BibEntry(StandardEntryType.Article)
+                .withField(StandardField.AUTHOR, "Foo Bar")
+                .withField(StandardField.NUMBER, "1")
+                .withField(StandardField.YEAR, "2019");
+        writer.write(entry, new StringWriter(), BibDatabaseMode.BIBLATEX);
+
+        StringWriter stringWriter = new StringWriter();
+        writer.write(entry, stringWriter, BibDatabaseMode.BIBTEX);
+
+        String expected = OS.NEWLINE + "@Article{," + OS.NEWLINE +
+                "  author = {Foo Bar}," + OS.NEWLINE +
+                "  year   = {2019}," + OS.NEWLINE +
+                "  number = {1}," + OS.NEWLINE +
+                "}" + OS.NEWLINE;
+        assertEquals(expected, stringWriter.toString());
+    }
 }
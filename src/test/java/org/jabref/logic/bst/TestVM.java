@@ -37,6 +37,30 @@ public class TestVM {
         assertEquals(expected.replaceAll("\\s", ""), vm.run(v).replaceAll("\\s", ""));
     }
 
+    @Test
+    public void testAbbrvRunTwice() throws RecognitionException, IOException {
+        VM vm = new VM(new File("src/test/resources/org/jabref/logic/bst/abbrv.bst"));
+        List<BibEntry> v = List.of(t1BibtexEntry());
+
+        String first = vm.run(v);
+
+        assertEquals(first, vm.run(v));
+    }
+
+    @Test
+    public void testRedefinedVariableIsResolvedAgain() throws RecognitionException {
+        VM vm = new VM("FUNCTION {a}{ b } "
+                + "FUNCTION {b}{ #1 } "
+                + "EXECUTE {a} "
+                + "INTEGERS { b } "
+                + "EXECUTE {a}");
+
+        vm.run(Collections.emptyList());
+
+        assertEquals(0, vm.getStack().pop());
+        assertEquals(1, vm.getStack().pop());
+    }
+
     @Test
     public void testVMSimple() throws RecognitionException, IOException {
 
@@ -379,7 +403,7 @@ public class TestVM {
         vm.run(Collections.emptyList());
 
         assertEquals(Integer.MAX_VALUE, vm.getStack().pop());
-        assertTrue(vm.getStack().empty());
+        assertTrue(vm.getStack().isEmpty());
     }
 
     @Test
@@ -1,7 +1,10 @@
 package org.jabref.logic.citationkeypattern;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
+import org.jabref.model.FieldChange;
 import org.jabref.model.database.BibDatabase;
 import org.jabref.model.entry.BibEntry;
 import org.jabref.model.entry.field.StandardField;
@@ -500,4 +503,47 @@ class MakeLabelWithDatabaseTest {
         new CitationKeyGenerator(bibtexKeyPattern, database, preferences).generateAndSetKey(entry);
         assertEquals(Optional.of("Aapoj"), entry.getCitationKey());
     }
+
+    @Test
+    void generateKeysResolvesCollisionsInOrderOfEntries() {
+        BibEntry entry2 = new BibEntry().withField(StandardField.AUTHOR, "John Doe")
+                                        .withField(StandardField.YEAR, "2016");
+        BibEntry entry3 = new BibEntry().withField(StandardField.AUTHOR, "Jane Roe")
+                                        .withField(StandardField.YEAR, "2016");
+        database.insertEntries(entry2, entry3);
+
+        List<FieldChange> changes = new CitationKeyGenerator(bibtexKeyPattern, database, preferences)
+                .generateAndSetKeys(List.of(entry, entry2, entry3));
+
+        assertEquals(Optional.of("Doe2016"), entry.getCitationKey());
+        assertEquals(Optional.of("Doe2016a"), entry2.getCitationKey());
+        assertEquals(Optional.of("Roe2016"), entry3.getCitationKey());
+        assertEquals(List.of(entry, entry2, entry3), changes.stream().map(FieldChange::getEntry).collect(Collectors.toList()));
+    }
+
+    @Test
+    void generateKeysKeepsExistingKeyOfEntry() {
+        entry.setCitationKey("Doe2016");
+
+        List<FieldChange> changes = new CitationKeyGenerator(bibtexKeyPattern, database, preferences)
+                .generateAndSetKeys(List.of(entry));
+
+        assertEquals(Optional.of("Doe2016"), entry.getCitationKey());
+        assertEquals(List.of(), changes);
+    }
+
+    @Test
+    void generateKeysTakesKeysOfEntriesNotInDatabaseIntoAccount() {
+        BibEntry newEntry = new BibEntry().withField(StandardField.AUTHOR, "John Doe")
+                                          .withField(StandardField.YEAR, "2016");
+        BibEntry otherNewEntry = new BibEntry().withField(StandardField.AUTHOR, "John Doe")
+                                               .withField(StandardField.YEAR, "2016");
+        entry.setCitationKey("Doe2016");
+
+        new CitationKeyGenerator(bibtexKeyPattern, database, preferences)
+                .generateAndSetKeys(List.of(newEntry, otherNewEntry));
+
+        assertEquals(Optional.of("Doe2016a"), newEntry.getCitationKey());
+        assertEquals(Optional.of("Doe2016b"), otherNewEntry.getCitationKey());
+    }
 }
@@ -0,0 +1,106 @@
+package org.jabref.logic.citationstyle;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CSLAdapterPoolTest {
+
+    private String style;
+    private String otherStyle;
+
+    @BeforeEach
+    void setUp() {
+        style = CitationStyle.getDefault().getSource();
+        otherStyle = CitationStyle.createCitationStyleFromFile("acm-siggraph.csl").orElseThrow().getSource();
+    }
+
+    @Test
+    void borrowReusesReleasedAdapter() throws IOException {
+        CSLAdapterPool pool = new CSLAdapterPool(2, Duration.ofMinutes(1));
+        CSLAdapter adapter = pool.borrow(style, CitationStyleOutputFormat.HTML);
+        pool.release(adapter);
+
+        assertSame(adapter, pool.borrow(style, CitationStyleOutputFormat.HTML));
+        assertEquals(0, pool.getNumberOfIdleAdapters());
+    }
+
+    @Test
+    void borrowReusesAdapterForOtherOutputFormat() throws IOException {
+        CSLAdapterPool pool = new CSLAdapterPool(2, Duration.ofMinutes(1));
+        CSLAdapter adapter = pool.borrow(style, CitationStyleOutputFormat.HTML);
+        pool.release(adapter);
+
+        CSLAdapter textAdapter = pool.borrow(style, CitationStyleOutputFormat.TEXT);
+
+        assertSame(adapter, textAdapter);
+        assertEquals(CitationStyleOutputFormat.TEXT, textAdapter.getFormat());
+    }
+
+    @Test
+    void borrowDropsLeastRecentlyUsedAdapterIfPoolIsFull() throws IOException {
+        CSLAdapterPool pool = new CSLAdapterPool(2, Duration.ofMinutes(1));
+        CSLAdapter firstAdapter = pool.borrow(style, CitationStyleOutputFormat.HTML);
+        CSLAdapter secondAdapter = pool.borrow(style, CitationStyleOutputFormat.HTML);
+        pool.release(firstAdapter);
+        pool.release(secondAdapter);
+
+        CSLAdapter otherAdapter = pool.borrow(otherStyle, CitationStyleOutputFormat.HTML);
+
+        assertEquals(1, pool.getNumberOfIdleAdapters());
+        assertSame(secondAdapter, pool.borrow(style, CitationStyleOutputFormat.TEXT));
+        pool.release(otherAdapter);
+        assertNotSame(firstAdapter, pool.borrow(style, CitationStyleOutputFormat.HTML));
+    }
+
+    @Test
+    void borrowWaitsUntilAdapterIsReleasedIfAllAreInUse() throws Exception {
+        CSLAdapterPool pool = new CSLAdapterPool(1, Duration.ofMinutes(1));
+        CSLAdapter adapter = pool.borrow(style, CitationStyleOutputFormat.HTML);
+
+        CompletableFuture<CSLAdapter> secondBorrow = CompletableFuture.supplyAsync(() -> {
+            try {
+                return pool.borrow(otherStyle, CitationStyleOutputFormat.HTML);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        assertThrows(TimeoutException.class, () -> secondBorrow.get(500, TimeUnit.MILLISECONDS));
+        pool.release(adapter);
+        CSLAdapter otherAdapter = secondBorrow.get(30, TimeUnit.SECONDS);
+        assertEquals(otherStyle, otherAdapter.getStyle());
+        // The released adapter of the first style was dropped to keep the number of adapters
+        assertEquals(0, pool.getNumberOfIdleAdapters());
+    }
+
+    @Test
+    void discardAllowsToBorrowAgain() throws Exception {
+        CSLAdapterPool pool = new CSLAdapterPool(1, Duration.ofMinutes(1));
+        CSLAdapter adapter = pool.borrow(style, CitationStyleOutputFormat.HTML);
+        pool.discard(adapter);
+
+        CSLAdapter newAdapter = CompletableFuture.supplyAsync(() -> {
+            try {
+                return pool.borrow(style, CitationStyleOutputFormat.HTML);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }).get(30, TimeUnit.SECONDS);
+
+        assertNotSame(adapter, newAdapter);
+        assertEquals(0, pool.getNumberOfIdleAdapters());
+    }
+
+}
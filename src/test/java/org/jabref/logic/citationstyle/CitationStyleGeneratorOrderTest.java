@@ -0,0 +1,52 @@
+package org.jabref.logic.citationstyle;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.entry.types.StandardEntryType;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CitationStyleGeneratorOrderTest {
+
+    private static final String TITLE_SORTED_STYLE = "<?xml version=\"1.0\" encoding=\"utf-8\"?>\n" +
+            "<style xmlns=\"http://purl.org/net/xbiblio/csl\" class=\"in-text\" version=\"1.0\">\n" +
+            "  <info>\n" +
+            "    <title>Sorted by title</title>\n" +
+            "    <id>sorted-by-title</id>\n" +
+            "    <updated>2020-01-01T00:00:00+00:00</updated>\n" +
+            "  </info>\n" +
+            "  <citation>\n" +
+            "    <layout>\n" +
+            "      <text variable=\"title\"/>\n" +
+            "    </layout>\n" +
+            "  </citation>\n" +
+            "  <bibliography>\n" +
+            "    <sort>\n" +
+            "      <key variable=\"title\"/>\n" +
+            "    </sort>\n" +
+            "    <layout>\n" +
+            "      <text variable=\"title\"/>\n" +
+            "    </layout>\n" +
+            "  </bibliography>\n" +
+            "</style>\n";
+
+    @Test
+    void generateCitationsOfEntriesKeepsSortOrderOfStyle() {
+        List<BibEntry> entries = IntStream.range(0, 100)
+                                          .map(i -> 99 - i)
+                                          .mapToObj(i -> new BibEntry(StandardEntryType.Misc).withField(StandardField.TITLE, String.format("Title %02d", i)))
+                                          .collect(Collectors.toList());
+
+        List<String> citations = CitationStyleGenerator.generateCitationsOfEntries(entries, TITLE_SORTED_STYLE, CitationStyleOutputFormat.TEXT);
+
+        assertEquals(CitationStyleGenerator.generateCitations(entries, TITLE_SORTED_STYLE, CitationStyleOutputFormat.TEXT), citations);
+        assertTrue(citations.get(0).contains("Title 00"));
+    }
+}
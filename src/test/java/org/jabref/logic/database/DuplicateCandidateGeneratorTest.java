@@ -0,0 +1,97 @@
+package org.jabref.logic.database;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.entry.types.StandardEntryType;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DuplicateCandidateGeneratorTest {
+
+    private DuplicateCandidateGenerator generator;
+    private BibEntry simpleArticle;
+    private BibEntry unrelatedArticle;
+
+    @BeforeEach
+    void setUp() {
+        generator = new DuplicateCandidateGenerator();
+        simpleArticle = new BibEntry(StandardEntryType.Article)
+                .withField(StandardField.AUTHOR, "Single Author")
+                .withField(StandardField.TITLE, "A serious paper about something")
+                .withField(StandardField.YEAR, "2017");
+        unrelatedArticle = new BibEntry(StandardEntryType.Article)
+                .withField(StandardField.AUTHOR, "Completely Different")
+                .withField(StandardField.TITLE, "Holy Moly Uffdada und Trallalla")
+                .withField(StandardField.YEAR, "1992");
+    }
+
+    @Test
+    void unrelatedEntriesAreNoCandidates() {
+        assertEquals(List.of(), generator.generateCandidatePairs(List.of(simpleArticle, unrelatedArticle)));
+    }
+
+    @Test
+    void entriesWithSameDoiAreCandidates() {
+        BibEntry first = new BibEntry().withField(StandardField.DOI, "10.1109/CLOUD.2017.89");
+        BibEntry second = new BibEntry().withField(StandardField.DOI, "https://doi.org/10.1109/cloud.2017.89");
+
+        assertEquals(List.of(List.of(first, second)), generator.generateCandidatePairs(List.of(first, unrelatedArticle, second)));
+    }
+
+    @Test
+    void entriesWithSameFirstAuthorAndYearAreCandidates() {
+        BibEntry other = new BibEntry(StandardEntryType.Article)
+                .withField(StandardField.AUTHOR, "Author, Single and Other, Author")
+                .withField(StandardField.TITLE, "Something completely different")
+                .withField(StandardField.YEAR, "2017");
+
+        assertEquals(List.of(List.of(simpleArticle, other)), generator.generateCandidatePairs(List.of(simpleArticle, unrelatedArticle, other)));
+    }
+
+    @Test
+    void entriesWithSimilarTitleAreCandidates() {
+        BibEntry other = new BibEntry(StandardEntryType.Article)
+                .withField(StandardField.AUTHOR, "Another Person")
+                .withField(StandardField.TITLE, "A serious paper about somethin")
+                .withField(StandardField.YEAR, "2018");
+
+        assertEquals(List.of(List.of(simpleArticle, other)), generator.generateCandidatePairs(List.of(simpleArticle, unrelatedArticle, other)));
+    }
+
+    @Test
+    void entriesWithoutKeyArePairedByTypeAndYear() {
+        BibEntry empty = new BibEntry(StandardEntryType.Misc);
+        BibEntry otherEmpty = new BibEntry(StandardEntryType.Misc);
+        BibEntry emptyWithYear = new BibEntry(StandardEntryType.Misc).withField(StandardField.YEAR, "2017");
+
+        assertEquals(List.of(List.of(empty, otherEmpty)),
+                generator.generateCandidatePairs(List.of(simpleArticle, empty, unrelatedArticle, emptyWithYear, otherEmpty)));
+    }
+
+    @Test
+    void entriesOfLargeBlockArePairedWithNeighboursByTitleOnly() {
+        List<BibEntry> entries = IntStream.range(0, 2 * DuplicateCandidateGenerator.MAX_BLOCK_SIZE)
+                                          .mapToObj(i -> new BibEntry(StandardEntryType.Misc).withField(StandardField.NOTE, "note " + i))
+                                          .collect(Collectors.toList());
+
+        List<List<BibEntry>> pairs = generator.generateCandidatePairs(entries);
+
+        int blockSize = entries.size();
+        int window = DuplicateCandidateGenerator.MAX_BLOCK_SIZE;
+        // Each entry is paired with the following window - 1 entries, fewer at the end of the block
+        int expectedPairs = ((blockSize - window + 1) * (window - 1)) + (((window - 1) * (window - 2)) / 2);
+        assertEquals(expectedPairs, pairs.size());
+    }
+
+    @Test
+    void normalizeRemovesPunctuationAndCase() {
+        assertEquals("a serious paper 2nd ed", DuplicateCandidateGenerator.normalize("{A} Serious-Paper, (2nd ed.)"));
+    }
+}
@@ -0,0 +1,89 @@
+package org.jabref.logic.database;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.database.BibDatabaseMode;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.BibEntryTypesManager;
+import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.entry.types.StandardEntryType;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DuplicateIndexTest {
+
+    private BibDatabase database;
+    private DuplicateIndex index;
+    private BibEntry quantumEntry;
+    private BibEntry doiEntry;
+
+    @BeforeEach
+    void setUp() {
+        quantumEntry = createEntry("Phillip Kaye and Michele Mosca", "Quantum Networks for Generating Arbitrary Quantum States", "2001");
+        doiEntry = createEntry("Stephen Blaha", "Quantum Computers and Quantum Computer Languages", "2002")
+                .withField(StandardField.DOI, "10.1000/182");
+        database = new BibDatabase(List.of(quantumEntry, doiEntry));
+        index = new DuplicateIndex(database, new DuplicateCheck(new BibEntryTypesManager()), BibDatabaseMode.BIBTEX);
+    }
+
+    private static BibEntry createEntry(String author, String title, String year) {
+        return new BibEntry(StandardEntryType.Article)
+                .withField(StandardField.AUTHOR, author)
+                .withField(StandardField.TITLE, title)
+                .withField(StandardField.YEAR, year);
+    }
+
+    @Test
+    void findsDuplicateWithSimilarTitle() {
+        BibEntry duplicate = createEntry("Phillip Kaye and Michele Mosca", "Quantum Networks for Generating Arbitrary Quantum State", "2001");
+
+        assertEquals(Optional.of(quantumEntry), index.containsDuplicate(duplicate));
+    }
+
+    @Test
+    void findsDuplicateWithSameIdentifier() {
+        BibEntry duplicate = createEntry("S. Blaha", "Another title", "2003").withField(StandardField.DOI, "10.1000/182");
+
+        assertEquals(Optional.of(doiEntry), index.containsDuplicate(duplicate));
+    }
+
+    @Test
+    void findsNoDuplicateOfDifferentEntry() {
+        BibEntry other = createEntry("Eric von Hippel", "Open Source Software and the Private-Collective Innovation Model", "2003");
+
+        assertEquals(Optional.empty(), index.containsDuplicate(other));
+    }
+
+    @Test
+    void entryIsNoDuplicateOfItself() {
+        assertEquals(Optional.empty(), index.containsDuplicate(quantumEntry));
+    }
+
+    @Test
+    void findDuplicatesKeepsOrderOfEntries() {
+        BibEntry duplicate = createEntry("Phillip Kaye and Michele Mosca", "Quantum Networks for Generating Arbitrary Quantum States", "2001");
+        BibEntry other = createEntry("Eric von Hippel", "Open Source Software", "2003");
+
+        assertEquals(List.of(Optional.empty(), Optional.of(quantumEntry)), index.findDuplicates(List.of(other, duplicate)));
+    }
+
+    @Test
+    void indexIsUpdatedOnChangesOfDatabase() {
+        BibEntry duplicate = createEntry("Eric von Hippel", "Open Source Software and the Private-Collective Innovation Model", "2003");
+        BibEntry added = createEntry("Eric von Hippel", "Open Source Software and the Private-Collective Innovation Model", "2003");
+        database.insertEntry(added);
+        assertEquals(Optional.of(added), index.containsDuplicate(duplicate));
+
+        added.setField(StandardField.TITLE, "Democratizing Innovation");
+        added.setField(StandardField.YEAR, "2005");
+        assertEquals(Optional.empty(), index.containsDuplicate(duplicate));
+
+        database.removeEntry(quantumEntry);
+        assertEquals(Optional.empty(), index.containsDuplicate(createEntry("Phillip Kaye and Michele Mosca", "Quantum Networks for Generating Arbitrary Quantum States", "2001")));
+    }
+}
@@ -10,6 +10,8 @@ import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import org.jabref.logic.citationkeypattern.AbstractCitationKeyPattern;
 import org.jabref.logic.citationkeypattern.DatabaseCitationKeyPattern;
@@ -31,6 +33,7 @@ import org.jabref.model.entry.BibEntry;
 import org.jabref.model.entry.BibEntryType;
 import org.jabref.model.entry.BibEntryTypesManager;
 import org.jabref.model.entry.BibtexString;
+import org.jabref.model.entry.SourceFile;
 import org.jabref.model.entry.field.BibField;
 import org.jabref.model.entry.field.FieldPriority;
 import org.jabref.model.entry.field.OrFields;
@@ -49,10 +52,13 @@ import org.jabref.model.util.FileUpdateMonitor;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Answers;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -416,6 +422,71 @@ class BibtexDatabaseWriterTest {
         assertEquals(Files.readString(testBibtexFile, encoding), stringWriter.toString());
     }
 
+    @Test
+    void saveFileAgainCopiesUnchangedEntriesFromFile(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("complex.bib");
+        Files.copy(Path.of("src/test/resources/testbib/complex.bib"), file);
+        Charset encoding = StandardCharsets.UTF_8;
+        ParserResult result = new BibtexParser(importFormatPreferences, fileMonitor).parse(Importer.getReader(file, encoding), SourceFile.of(file, encoding));
+
+        when(preferences.getEncoding()).thenReturn(encoding);
+        when(preferences.shouldSaveInOriginalOrder()).thenReturn(true);
+        BibDatabaseContext context = new BibDatabaseContext(result.getDatabase(), result.getMetaData());
+        String expected = Files.readString(file, encoding);
+
+        new BibtexDatabaseWriter(new AtomicFileWriter(file, encoding), preferences, entryTypesManager)
+                .savePartOfDatabase(context, result.getDatabase().getEntries());
+
+        assertEquals(expected, Files.readString(file, encoding));
+        // The entries now refer to the written file
+        for (BibEntry entry : result.getDatabase().getEntries()) {
+            assertFalse(entry.hasChanged());
+            assertTrue(entry.getParsedSerializationRegion().isPresent());
+            assertTrue(expected.contains(entry.getParsedSerialization()));
+        }
+    }
+
+    @Test
+    void saveFileChangedSinceParsingWritesEntriesFromFields(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("complex.bib");
+        Files.copy(Path.of("src/test/resources/testbib/complex.bib"), file);
+        Charset encoding = StandardCharsets.UTF_8;
+        ParserResult result = new BibtexParser(importFormatPreferences, fileMonitor).parse(Importer.getReader(file, encoding), SourceFile.of(file, encoding));
+        Files.writeString(file, "Changed by another program", encoding);
+
+        when(preferences.getEncoding()).thenReturn(encoding);
+        when(preferences.shouldSaveInOriginalOrder()).thenReturn(true);
+        BibDatabaseContext context = new BibDatabaseContext(result.getDatabase(), result.getMetaData());
+
+        new BibtexDatabaseWriter(new AtomicFileWriter(file, encoding), preferences, entryTypesManager)
+                .savePartOfDatabase(context, result.getDatabase().getEntries());
+
+        List<BibEntry> writtenEntries = new BibtexParser(importFormatPreferences, fileMonitor).parse(Importer.getReader(file, encoding))
+                                                                                                  .getDatabase().getEntries();
+        assertEquals(result.getDatabase().getEntries().stream().map(BibEntry::getFieldMap).collect(Collectors.toList()),
+                writtenEntries.stream().map(BibEntry::getFieldMap).collect(Collectors.toList()));
+    }
+
+    @Test
+    void saveFileAgainWritesChangedEntryAnew(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("bibWithUserComments.bib");
+        Files.copy(Path.of("src/test/resources/testbib/bibWithUserComments.bib"), file);
+        Charset encoding = StandardCharsets.UTF_8;
+        ParserResult result = new BibtexParser(importFormatPreferences, fileMonitor).parse(Importer.getReader(file, encoding), SourceFile.of(file, encoding));
+
+        BibEntry entry = result.getDatabase().getEntryByCitationKey("1137631").get();
+        entry.setField(StandardField.AUTHOR, "Mr. Author");
+
+        when(preferences.getEncoding()).thenReturn(encoding);
+        when(preferences.shouldSaveInOriginalOrder()).thenReturn(true);
+        BibDatabaseContext context = new BibDatabaseContext(result.getDatabase(), result.getMetaData());
+
+        new BibtexDatabaseWriter(new AtomicFileWriter(file, encoding), preferences, entryTypesManager)
+                .savePartOfDatabase(context, result.getDatabase().getEntries());
+
+        assertEquals(Files.readString(Path.of("src/test/resources/testbib/bibWithUserCommentAndEntryChange.bib"), encoding), Files.readString(file, encoding));
+    }
+
     @Test
     void writeSavedSerializationOfEntryIfUnchanged() throws Exception {
         BibEntry entry = new BibEntry();
@@ -0,0 +1,73 @@
+package org.jabref.logic.exporter;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.jabref.logic.layout.LayoutFormatterPreferences;
+import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.StandardField;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Answers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TemplateExporterTest {
+
+    @TempDir
+    Path layoutFolder;
+
+    private Path layoutFile;
+    private TemplateExporter exporter;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        layoutFile = layoutFolder.resolve("numbered.layout");
+        Files.writeString(layoutFile, "\\format[Number]{\\title} \\title\n");
+        SavePreferences savePreferences = mock(SavePreferences.class);
+        when(savePreferences.shouldSaveInOriginalOrder()).thenReturn(true);
+        exporter = new TemplateExporter("numbered", layoutFile.toString(), "txt",
+                mock(LayoutFormatterPreferences.class, Answers.RETURNS_DEEP_STUBS),
+                savePreferences);
+        exporter.setCustomExport(true);
+    }
+
+    private List<String> export(List<BibEntry> entries) throws Exception {
+        Path file = layoutFolder.resolve("export.txt");
+        exporter.export(new BibDatabaseContext(), file, StandardCharsets.UTF_8, entries);
+        return Files.readAllLines(file);
+    }
+
+    @Test
+    void exportNumbersEntriesInOrderAcrossChunks() throws Exception {
+        List<BibEntry> entries = IntStream.range(0, 2000)
+                                          .mapToObj(i -> new BibEntry().withField(StandardField.TITLE, "Title " + i))
+                                          .collect(Collectors.toList());
+
+        List<String> expected = IntStream.range(0, 2000)
+                                         .mapToObj(i -> (i + 1) + " Title " + i)
+                                         .collect(Collectors.toList());
+        assertEquals(expected, export(entries));
+    }
+
+    @Test
+    void exportReadsModifiedLayoutAgain() throws Exception {
+        List<BibEntry> entries = List.of(new BibEntry().withField(StandardField.TITLE, "Title"));
+        export(entries);
+
+        Files.writeString(layoutFile, "\\title\n");
+        Files.setLastModifiedTime(layoutFile, FileTime.fromMillis(Files.getLastModifiedTime(layoutFile).toMillis() + 10_000));
+
+        assertEquals(List.of("Title"), export(entries));
+    }
+}
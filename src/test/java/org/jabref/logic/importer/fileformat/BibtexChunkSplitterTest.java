@@ -0,0 +1,49 @@
+package org.jabref.logic.importer.fileformat;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BibtexChunkSplitterTest {
+
+    private static List<String> split(String content) {
+        char[] characters = content.toCharArray();
+        return BibtexChunkSplitter.split(characters, characters.length, 1).stream()
+                                  .map(chunk -> new String(characters, chunk.getStart(), chunk.getLength()))
+                                  .collect(Collectors.toList());
+    }
+
+    @Test
+    void splitsAfterEntriesIncludingOneLineBreak() {
+        assertEquals(List.of("@Article{a, title = {A {nested} title}}  \r\n", "\n% comment\n@Misc{b}\n", "epilog"),
+                split("@Article{a, title = {A {nested} title}}  \r\n\n% comment\n@Misc{b}\nepilog"));
+    }
+
+    @Test
+    void doesNotSplitAfterComments() {
+        assertEquals(List.of("@Comment{text}\n@Misc{a}\n", "@Preamble{pre}\n@Misc{b}"),
+                split("@Comment{text}\n@Misc{a}\n@Preamble{pre}\n@Misc{b}"));
+    }
+
+    @Test
+    void escapedBracesAreNotCounted() {
+        assertEquals(List.of("@Misc{a, title = {\\} and \\{}}\n", "@Misc{b}"),
+                split("@Misc{a, title = {\\} and \\{}}\n@Misc{b}"));
+    }
+
+    @Test
+    void doesNotSplitAfterItemNotEnclosedInBraces() {
+        assertEquals(List.of("@Misc{a}\n", "@Misc(b)\n@Misc{c}\n"),
+                split("@Misc{a}\n@Misc(b)\n@Misc{c}\n"));
+    }
+
+    @Test
+    void countsLinesOfPreviousChunks() {
+        List<BibtexChunkSplitter.Chunk> chunks = BibtexChunkSplitter.split("@Misc{a,\n}\n\n@Misc{b}".toCharArray(), 20, 1);
+
+        assertEquals(List.of(1, 3), chunks.stream().map(BibtexChunkSplitter.Chunk::getFirstLine).collect(Collectors.toList()));
+    }
+}
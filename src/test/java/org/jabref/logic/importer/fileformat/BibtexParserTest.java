@@ -3,7 +3,10 @@ package org.jabref.logic.importer.fileformat;
 import java.io.IOException;
 import java.io.StringReader;
 import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -11,6 +14,7 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import org.jabref.logic.citationkeypattern.AbstractCitationKeyPattern;
 import org.jabref.logic.citationkeypattern.DatabaseCitationKeyPattern;
@@ -20,6 +24,7 @@ import org.jabref.logic.cleanup.FieldFormatterCleanups;
 import org.jabref.logic.exporter.SavePreferences;
 import org.jabref.logic.formatter.casechanger.LowerCaseFormatter;
 import org.jabref.logic.importer.ImportFormatPreferences;
+import org.jabref.logic.importer.Importer;
 import org.jabref.logic.importer.ParseException;
 import org.jabref.logic.importer.ParserResult;
 import org.jabref.logic.util.OS;
@@ -29,6 +34,8 @@ import org.jabref.model.entry.BibEntryType;
 import org.jabref.model.entry.BibtexString;
 import org.jabref.model.entry.Date;
 import org.jabref.model.entry.Month;
+import org.jabref.model.entry.SourceFile;
+import org.jabref.model.entry.SourceFileRegion;
 import org.jabref.model.entry.field.BibField;
 import org.jabref.model.entry.field.FieldPriority;
 import org.jabref.model.entry.field.InternalField;
@@ -51,6 +58,7 @@ import org.jabref.model.util.FileUpdateMonitor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Answers;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -399,6 +407,25 @@ class BibtexParserTest {
         }
     }
 
+    @Test
+    void parseSetsParsedSerializationOfEntriesSpanningSeveralBlocksOfInput() throws IOException {
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            input.append("@article{key").append(i).append(",").append(OS.NEWLINE)
+                 .append("  title = {Title ").append(i).append("}").append(OS.NEWLINE)
+                 .append("}").append(OS.NEWLINE);
+        }
+        String longEntry = "@misc{long, note = {" + "a".repeat(20_000) + "}}";
+        input.append(longEntry);
+
+        List<BibEntry> entries = parser.parse(new StringReader(input.toString())).getDatabase().getEntries();
+
+        assertEquals(501, entries.size());
+        assertEquals("@article{key123," + OS.NEWLINE + "  title = {Title 123}" + OS.NEWLINE + "}" + OS.NEWLINE,
+                entries.get(123).getParsedSerialization());
+        assertEquals(longEntry, entries.get(500).getParsedSerialization());
+    }
+
     @Test
     void parseRecognizesMultipleEntriesOnSameLine() throws IOException {
         List<BibEntry> expected = new ArrayList<>();
@@ -1810,4 +1837,118 @@ class BibtexParserTest {
 
         assertEquals(Optional.of("#apr#"), result.get().getField(StandardField.MONTH));
     }
+
+    @Test
+    void parseFileStoresRegionsOfParsedSerializations(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("test.bib");
+        // Byte order mark, characters encoded using two, three and four bytes, and a comment before an entry
+        Files.writeString(file, "\uFEFF% Encoding: UTF-8" + OS.NEWLINE + OS.NEWLINE
+                + "@Article{first, author = {J\u00F6rg \u20AC \uD835\uDD38}}" + OS.NEWLINE + OS.NEWLINE
+                + "A comment" + OS.NEWLINE
+                + "@Misc{second, title = {\u00C7a va}}" + OS.NEWLINE, StandardCharsets.UTF_8);
+        List<String> expected = parser.parse(Importer.getReader(file, StandardCharsets.UTF_8)).getDatabase().getEntries().stream()
+                                      .map(BibEntry::getParsedSerialization)
+                                      .collect(Collectors.toList());
+
+        List<BibEntry> entries = new BibtexParser(importFormatPreferences, fileMonitor)
+                .parse(Importer.getReader(file, StandardCharsets.UTF_8), SourceFile.of(file, StandardCharsets.UTF_8))
+                .getDatabase().getEntries();
+
+        assertEquals(expected, entries.stream().map(BibEntry::getParsedSerialization).collect(Collectors.toList()));
+        byte[] content = Files.readAllBytes(file);
+        for (BibEntry entry : entries) {
+            SourceFileRegion region = entry.getParsedSerializationRegion().orElseThrow();
+            assertEquals(entry.getParsedSerialization(), new String(content, Math.toIntExact(region.getStart()), Math.toIntExact(region.getLength()), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void parseLargeFileInChunksGivesSameResultAsParsingItAsWhole(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("large.bib");
+        StringBuilder content = new StringBuilder("% Encoding: UTF-8" + OS.NEWLINE + OS.NEWLINE
+                + "@Preamble{\\newcommand{\\noopsort}[1]{}}" + OS.NEWLINE + OS.NEWLINE);
+        for (int i = 0; i < 30_000; i++) {
+            if ((i % 1000) == 0) {
+                content.append("@String{str").append(i).append(" = {String ").append(i).append("}}").append(OS.NEWLINE);
+                content.append("@Comment{A comment in front of entry ").append(i).append("}").append(OS.NEWLINE);
+            }
+            content.append("@Article{key").append(i).append(",").append(OS.NEWLINE)
+                   .append("  author = {J\u00F6rg M\u00FCller and Ren\u00E9 \u20AC},").append(OS.NEWLINE)
+                   .append("  title = {A {Nested} Title with an escaped \\} brace ").append(i).append("},").append(OS.NEWLINE)
+                   .append("  journal = str").append((i / 1000) * 1000).append(",").append(OS.NEWLINE)
+                   .append("  year = 2021").append(OS.NEWLINE)
+                   .append("}").append(OS.NEWLINE).append(OS.NEWLINE);
+        }
+        content.append("@Comment{jabref-meta: databaseType:biblatex;}").append(OS.NEWLINE);
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        ParserResult expected = parser.parse(Importer.getReader(file, StandardCharsets.UTF_8));
+
+        ParserResult result = new BibtexParser(importFormatPreferences, fileMonitor)
+                .parse(Importer.getReader(file, StandardCharsets.UTF_8), SourceFile.of(file, StandardCharsets.UTF_8));
+
+        List<BibEntry> entries = result.getDatabase().getEntries();
+        assertEquals(expected.getDatabase().getEntries(), entries);
+        assertEquals(expected.getDatabase().getEntries().stream().map(BibEntry::getParsedSerialization).collect(Collectors.toList()),
+                entries.stream().map(BibEntry::getParsedSerialization).collect(Collectors.toList()));
+        assertTrue(entries.stream().allMatch(entry -> entry.getParsedSerializationRegion().isPresent()));
+        assertEquals(expected.getDatabase().getStringKeySet().size(), result.getDatabase().getStringKeySet().size());
+        assertEquals(expected.getDatabase().getPreamble(), result.getDatabase().getPreamble());
+        assertEquals(expected.getDatabase().getEpilog(), result.getDatabase().getEpilog());
+        assertEquals(expected.getMetaData().getMode(), result.getMetaData().getMode());
+        assertEquals(List.of(), result.warnings());
+    }
+
+    @Test
+    void parseFileWithMultiByteEncodingKeepsParsedSerializationInMemory(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("test.bib");
+        String bibtexEntry = "@Misc{test, title = {\u00C7a va}}";
+        Files.writeString(file, bibtexEntry, StandardCharsets.UTF_16);
+
+        BibEntry entry = parser.parse(Importer.getReader(file, StandardCharsets.UTF_16), SourceFile.of(file, StandardCharsets.UTF_16))
+                               .getDatabase().getEntries().get(0);
+
+        assertEquals(Optional.empty(), entry.getParsedSerializationRegion());
+        assertEquals(bibtexEntry, entry.getParsedSerialization());
+    }
+
+    @Test
+    void parseFileDoesNotKeepParsedSerializationInMemory(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("test.bib");
+        Files.writeString(file, "@Misc{test, title = {Title}}", StandardCharsets.UTF_8);
+        BibEntry entry = parser.parse(Importer.getReader(file, StandardCharsets.UTF_8), SourceFile.of(file, StandardCharsets.UTF_8))
+                               .getDatabase().getEntries().get(0);
+
+        // Text of the same size with the same modification time is not noticed and thus read from the file
+        FileTime lastModified = Files.getLastModifiedTime(file);
+        Files.writeString(file, "@Misc{test, title = {Other}}", StandardCharsets.UTF_8);
+        Files.setLastModifiedTime(file, lastModified);
+
+        assertEquals("@Misc{test, title = {Other}}", entry.getParsedSerialization());
+    }
+
+    @Test
+    void entryHasNoUnchangedParsedSerializationIfFileChangedAfterParsing(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("test.bib");
+        Files.writeString(file, "@Misc{test, title = {Title}}", StandardCharsets.UTF_8);
+        BibEntry entry = parser.parse(Importer.getReader(file, StandardCharsets.UTF_8), SourceFile.of(file, StandardCharsets.UTF_8))
+                               .getDatabase().getEntries().get(0);
+
+        Files.writeString(file, "@Misc{other, title = {Another title}}", StandardCharsets.UTF_8);
+
+        assertFalse(entry.hasChanged());
+        assertEquals(Optional.empty(), entry.getUnchangedParsedSerialization());
+    }
+
+    @Test
+    void changedEntryHasNoUnchangedParsedSerialization(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("test.bib");
+        Files.writeString(file, "@Misc{test, title = {Title}}", StandardCharsets.UTF_8);
+        BibEntry entry = parser.parse(Importer.getReader(file, StandardCharsets.UTF_8), SourceFile.of(file, StandardCharsets.UTF_8))
+                               .getDatabase().getEntries().get(0);
+
+        entry.setField(StandardField.TITLE, "Another title");
+
+        assertEquals(Optional.empty(), entry.getUnchangedParsedSerialization());
+        assertEquals(Optional.empty(), entry.getParsedSerializationRegion());
+    }
 }
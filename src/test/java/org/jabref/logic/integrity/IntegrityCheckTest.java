@@ -7,12 +7,14 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.jabref.logic.citationkeypattern.CitationKeyGenerator;
 import org.jabref.logic.citationkeypattern.CitationKeyPatternPreferences;
 import org.jabref.logic.citationkeypattern.GlobalCitationKeyPattern;
 import org.jabref.logic.journals.JournalAbbreviationLoader;
+import org.jabref.logic.journals.JournalAbbreviationRepository;
 import org.jabref.model.database.BibDatabase;
 import org.jabref.model.database.BibDatabaseContext;
 import org.jabref.model.database.BibDatabaseMode;
@@ -118,6 +120,47 @@ class IntegrityCheckTest {
         assertCorrect(databaseContext);
     }
 
+    @Test
+    void checkTakingOverCachedMessagesChecksChangedEntriesAgain() {
+        BibDatabaseContext context = createContext(StandardField.TITLE, "title with {unbalanced braces");
+        BibEntry entry = context.getDatabase().getEntries().get(0);
+        JournalAbbreviationRepository repository = JournalAbbreviationLoader.loadBuiltInRepository();
+        IntegrityCheck firstCheck = createCheck(context, repository, null);
+        assertNotEquals(Collections.emptyList(), firstCheck.check());
+
+        entry.setField(StandardField.TITLE, "Title with {balanced} braces");
+
+        assertEquals(Collections.emptyList(), createCheck(context, repository, firstCheck).check());
+    }
+
+    @Test
+    void checkTakingOverCachedMessagesChecksDuplicatesAgain() {
+        BibEntry first = new BibEntry(StandardEntryType.Misc).withCitationKey("key");
+        BibEntry second = new BibEntry(StandardEntryType.Misc).withCitationKey("key");
+        BibDatabaseContext context = new BibDatabaseContext(new BibDatabase(List.of(first, second)));
+        JournalAbbreviationRepository repository = JournalAbbreviationLoader.loadBuiltInRepository();
+        IntegrityCheck firstCheck = createCheck(context, repository, null);
+        assertEquals(List.of(first, second), firstCheck.check().stream()
+                                                       .filter(message -> message.getField().equals(StandardField.KEY))
+                                                       .map(IntegrityMessage::getEntry)
+                                                       .collect(Collectors.toList()));
+
+        second.setCitationKey("otherKey");
+
+        assertEquals(List.of(), createCheck(context, repository, firstCheck).check().stream()
+                                                                .filter(message -> message.getField().equals(StandardField.KEY))
+                                                                .collect(Collectors.toList()));
+    }
+
+    private IntegrityCheck createCheck(BibDatabaseContext context, JournalAbbreviationRepository repository, IntegrityCheck previousCheck) {
+        return new IntegrityCheck(context,
+                mock(FilePreferences.class),
+                createCitationKeyPatternPreferences(),
+                repository,
+                false,
+                previousCheck);
+    }
+
     @Test
     void testEntryIsUnchangedAfterChecks() {
         BibEntry entry = new BibEntry();
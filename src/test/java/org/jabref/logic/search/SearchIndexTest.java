@@ -0,0 +1,143 @@
+package org.jabref.logic.search;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.entry.types.StandardEntryType;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SearchIndexTest {
+
+    private BibDatabase database;
+    private SearchIndex searchIndex;
+    private BibEntry einstein;
+    private BibEntry turing;
+
+    @BeforeEach
+    void setUp() {
+        einstein = new BibEntry(StandardEntryType.Article)
+                .withField(StandardField.AUTHOR, "Albert Einstein")
+                .withField(StandardField.TITLE, "Zur Elektrodynamik bewegter K{\\\"o}rper");
+        turing = new BibEntry(StandardEntryType.Article)
+                .withField(StandardField.AUTHOR, "Alan Turing")
+                .withField(StandardField.TITLE, "On Computable Numbers");
+        database = new BibDatabase(List.of(einstein, turing));
+        searchIndex = new SearchIndex(database);
+    }
+
+    @AfterEach
+    void tearDown() {
+        searchIndex.shutdown();
+    }
+
+    @Test
+    void tokenizeSplitsAtNonLetters() {
+        assertEquals(List.of("on", "computable", "numbers", "1936"), SearchIndex.tokenize("On Computable-Numbers (1936)"));
+    }
+
+    @Test
+    void containBasedQueryNarrowsCandidates() {
+        Predicate<BibEntry> filter = searchIndex.getCandidateFilter(new SearchQuery("einst", false, false));
+
+        assertTrue(filter.test(einstein));
+        assertFalse(filter.test(turing));
+    }
+
+    @Test
+    void containBasedQueryUsesLatexFreeValues() {
+        Predicate<BibEntry> filter = searchIndex.getCandidateFilter(new SearchQuery("körper", false, false));
+
+        assertTrue(filter.test(einstein));
+        assertFalse(filter.test(turing));
+    }
+
+    @Test
+    void containBasedQueryFindsTokensContainingWord() {
+        assertTrue(searchIndex.getCandidateFilter(new SearchQuery("putab", false, false)).test(turing));
+        assertTrue(searchIndex.getCandidateFilter(new SearchQuery("ur", false, false)).test(turing));
+        assertFalse(searchIndex.getCandidateFilter(new SearchQuery("putas", false, false)).test(turing));
+    }
+
+    @Test
+    void removedTokenIsNoLongerFound() {
+        turing.setField(StandardField.TITLE, "Intelligent Machinery");
+
+        assertFalse(searchIndex.getCandidateFilter(new SearchQuery("omputab", false, false)).test(turing));
+        assertTrue(searchIndex.getCandidateFilter(new SearchQuery("lligen", false, false)).test(turing));
+    }
+
+    @Test
+    void exactGrammarBasedQueryLooksUpCompleteTokens() {
+        Predicate<BibEntry> filter = searchIndex.getCandidateFilter(new SearchQuery("author==\"alan turing\"", false, false));
+
+        assertTrue(filter.test(turing));
+        assertFalse(searchIndex.getCandidateFilter(new SearchQuery("author==\"alan turin\"", false, false)).test(turing));
+    }
+
+    @Test
+    void getGramsReturnsAllShortSubstrings() {
+        assertEquals(Set.of("a", "b", "c", "d", "ab", "bc", "cd", "abc", "bcd"), SearchIndex.getGrams("abcd"));
+    }
+
+    @Test
+    void grammarBasedQueryNarrowsCandidatesBySpecifiedField() {
+        Predicate<BibEntry> filter = searchIndex.getCandidateFilter(new SearchQuery("title=alan or author=einstein", false, false));
+
+        assertTrue(filter.test(einstein));
+        assertFalse(filter.test(turing));
+    }
+
+    @Test
+    void negatedGrammarBasedQueryAcceptsAllEntries() {
+        Predicate<BibEntry> filter = searchIndex.getCandidateFilter(new SearchQuery("not author=einstein", false, false));
+
+        assertTrue(filter.test(einstein));
+        assertTrue(filter.test(turing));
+    }
+
+    @Test
+    void changedFieldIsIndexed() {
+        turing.setField(StandardField.NOTE, "Einstein was not involved");
+
+        assertTrue(searchIndex.getCandidateFilter(new SearchQuery("einstein", false, false)).test(turing));
+    }
+
+    @Test
+    void entryChangedAfterCreationOfFilterIsAccepted() {
+        Predicate<BibEntry> filter = searchIndex.getCandidateFilter(new SearchQuery("einstein", false, false));
+
+        turing.setField(StandardField.NOTE, "Einstein was not involved");
+
+        assertTrue(filter.test(turing));
+    }
+
+    @Test
+    void addedEntryIsIndexed() {
+        BibEntry bohr = new BibEntry().withField(StandardField.AUTHOR, "Niels Bohr");
+        database.insertEntry(bohr);
+
+        Predicate<BibEntry> filter = searchIndex.getCandidateFilter(new SearchQuery("bohr", false, false));
+
+        assertTrue(filter.test(bohr));
+        assertFalse(filter.test(einstein));
+    }
+
+    @Test
+    void databaseSearcherReturnsSameMatchesWithIndex() {
+        SearchQuery query = new SearchQuery("author=turing", false, false);
+
+        assertEquals(new DatabaseSearcher(query, database).getMatches(),
+                new DatabaseSearcher(query, database, searchIndex).getMatches());
+    }
+}
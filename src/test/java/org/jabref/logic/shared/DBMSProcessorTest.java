@@ -9,6 +9,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.jabref.logic.shared.exception.OfflineLockException;
@@ -124,6 +125,19 @@ class DBMSProcessorTest {
                 .withCitationKey("nanoproc1994");
     }
 
+    @Test
+    void insertEntriesSpanningSeveralStatements() {
+        List<BibEntry> expectedEntries = new ArrayList<>();
+        for (int i = 0; i <= DBMSProcessor.MAX_ROWS_PER_STATEMENT; i++) {
+            expectedEntries.add(getBibEntryExample());
+        }
+
+        dbmsProcessor.insertEntries(expectedEntries);
+
+        assertEquals(expectedEntries.size(), expectedEntries.stream().map(entry -> entry.getSharedBibEntryData().getSharedID()).distinct().count());
+        assertEquals(expectedEntries, dbmsProcessor.getSharedEntries());
+    }
+
     @Test
     void testUpdateEntry() throws Exception {
         BibEntry expectedEntry = getBibEntryExample();
@@ -302,6 +316,25 @@ class DBMSProcessorTest {
         assertEquals(expectedIDVersionMap, actualIDVersionMap);
     }
 
+    @Test
+    void getSharedEntriesStateChangesOnInsertUpdateAndRemoval() throws OfflineLockException, SQLException {
+        BibEntry firstEntry = getBibEntryExample();
+        BibEntry secondEntry = getBibEntryExample();
+
+        Optional<String> emptyState = dbmsProcessor.getSharedEntriesState();
+        dbmsProcessor.insertEntry(firstEntry);
+        dbmsProcessor.insertEntry(secondEntry);
+        Optional<String> insertedState = dbmsProcessor.getSharedEntriesState();
+        dbmsProcessor.updateEntry(secondEntry);
+        Optional<String> updatedState = dbmsProcessor.getSharedEntriesState();
+        dbmsProcessor.removeEntries(Collections.singletonList(firstEntry));
+        Optional<String> removedState = dbmsProcessor.getSharedEntriesState();
+
+        assertTrue(emptyState.isPresent());
+        assertEquals(4, Set.of(emptyState, insertedState, updatedState, removedState).size());
+        assertEquals(removedState, dbmsProcessor.getSharedEntriesState());
+    }
+
     @Test
     void testGetSharedMetaData() {
         insertMetaData("databaseType", "bibtex;", dbmsConnection, dbmsProcessor);
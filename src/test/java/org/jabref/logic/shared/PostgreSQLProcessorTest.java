@@ -0,0 +1,109 @@
+package org.jabref.logic.shared;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+class PostgreSQLProcessorTest {
+
+    @Test
+    void getProcessorIdOfPayloadWithoutSharedIds() {
+        assertEquals("processor", PostgreSQLProcessor.getProcessorID("processor"));
+    }
+
+    @Test
+    void getProcessorIdOfPayloadWithSharedIds() {
+        assertEquals("processor", PostgreSQLProcessor.getProcessorID("processor;1,2"));
+    }
+
+    @Test
+    void getSharedIdsOfPayload() {
+        assertEquals(Optional.of(Set.of(1, 2, 42)), PostgreSQLProcessor.getSharedIDs("processor;1,2,42"));
+    }
+
+    @Test
+    void getSharedIdsOfPayloadWithoutSharedIds() {
+        assertEquals(Optional.empty(), PostgreSQLProcessor.getSharedIDs("processor"));
+    }
+
+    @Test
+    void getSharedIdsOfInvalidPayload() {
+        assertEquals(Optional.empty(), PostgreSQLProcessor.getSharedIDs("processor;1,x"));
+    }
+
+    @Test
+    void writeIsNotBlockedWhileListenerWaitsForNotifications() throws Exception {
+        CountDownLatch listenerWaiting = new CountDownLatch(1);
+        CountDownLatch listenerClosed = new CountDownLatch(1);
+        Connection sharedConnection = createConnection(listenerWaiting, listenerClosed);
+        Connection listenerConnection = createConnection(listenerWaiting, listenerClosed);
+        DatabaseConnection databaseConnection = mock(DatabaseConnection.class);
+        when(databaseConnection.getConnection()).thenReturn(sharedConnection);
+        PostgreSQLProcessor processor = new PostgreSQLProcessor(databaseConnection) {
+            @Override
+            protected Connection openListenerConnection() {
+                return listenerConnection;
+            }
+        };
+
+        processor.startNotificationListener(mock(DBMSSynchronizer.class));
+        try {
+            assertTrue(listenerWaiting.await(5, TimeUnit.SECONDS));
+            assertTimeoutPreemptively(Duration.ofSeconds(1), () -> processor.notifyClients(List.of(1, 2)));
+        } finally {
+            processor.stopNotificationListener();
+        }
+    }
+
+    /**
+     * Creates a connection which, like the PostgreSQL driver, holds a lock while waiting for notifications. Other
+     * statements of the connection wait for the lock. The wait ends when the connection is closed.
+     */
+    private static Connection createConnection(CountDownLatch waiting, CountDownLatch closed) throws SQLException {
+        ReentrantLock lock = new ReentrantLock();
+        Connection connection = mock(Connection.class, withSettings().extraInterfaces(PGConnection.class));
+        when(connection.unwrap(PGConnection.class)).thenReturn((PGConnection) connection);
+        when(connection.createStatement()).thenAnswer(invocation -> {
+            lock.lock();
+            try {
+                return mock(Statement.class);
+            } finally {
+                lock.unlock();
+            }
+        });
+        when(((PGConnection) connection).getNotifications(anyInt())).thenAnswer(invocation -> {
+            lock.lock();
+            try {
+                waiting.countDown();
+                closed.await();
+                throw new SQLException("Connection closed");
+            } finally {
+                lock.unlock();
+            }
+        });
+        doAnswer(invocation -> {
+            closed.countDown();
+            return null;
+        }).when(connection).close();
+        return connection;
+    }
+}
@@ -0,0 +1,91 @@
+package org.jabref.logic.texparser;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jabref.model.texparser.Citation;
+import org.jabref.model.util.FileUpdateListener;
+import org.jabref.model.util.FileUpdateMonitor;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LatexCitationIndexTest {
+
+    private Path directory;
+    private Path mainFile;
+    private Path chapterFile;
+
+    @BeforeEach
+    void setUp(@TempDir Path temporaryFolder) throws Exception {
+        directory = temporaryFolder;
+        mainFile = Files.writeString(directory.resolve("main.tex"), "\\cite{Einstein1920}\n\\input{chapters/chapter}\n");
+        chapterFile = Files.writeString(Files.createDirectory(directory.resolve("chapters")).resolve("chapter.tex"), "\\cite{Darwin1888}\n");
+    }
+
+    private static Citation citation(Path file, int line, String lineText) {
+        return new Citation(file, line, 0, lineText.length(), lineText);
+    }
+
+    @Test
+    void findsCitationsOfIncludedFileOnce() {
+        FileUpdateMonitor monitor = mock(FileUpdateMonitor.class);
+        when(monitor.isActive()).thenReturn(false);
+        LatexCitationIndex index = LatexCitationIndex.forDirectory(directory, monitor);
+
+        assertEquals(List.of(citation(mainFile, 1, "\\cite{Einstein1920}")), index.getCitationsByKey("Einstein1920"));
+        assertEquals(List.of(citation(chapterFile, 1, "\\cite{Darwin1888}")), index.getCitationsByKey("Darwin1888"));
+        assertEquals(List.of(), index.getCitationsByKey("Newton1999"));
+        assertNotSame(index, LatexCitationIndex.forDirectory(directory, monitor));
+    }
+
+    @Test
+    void monitoredIndexIsSharedAndParsesChangedFilesAgain() throws Exception {
+        Map<Path, FileUpdateListener> directoryListeners = new HashMap<>();
+        FileUpdateMonitor monitor = mock(FileUpdateMonitor.class);
+        when(monitor.isActive()).thenReturn(true);
+        doAnswer(invocation -> directoryListeners.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(monitor).addListenerForDirectory(any(), any());
+
+        LatexCitationIndex index = LatexCitationIndex.forDirectory(directory, monitor);
+        assertSame(index, LatexCitationIndex.forDirectory(directory, monitor));
+        assertEquals(1, index.getCitationsByKey("Darwin1888").size());
+
+        Files.writeString(chapterFile, "Text\n\\cite{Newton1999}\n");
+        Files.setLastModifiedTime(chapterFile, FileTime.fromMillis(Files.getLastModifiedTime(chapterFile).toMillis() + 1000));
+        directoryListeners.get(directory.resolve("chapters")).fileUpdated();
+
+        assertEquals(List.of(), index.getCitationsByKey("Darwin1888"));
+        assertEquals(List.of(citation(chapterFile, 2, "\\cite{Newton1999}")), index.getCitationsByKey("Newton1999"));
+
+        Path appendixFile = Files.writeString(directory.resolve("appendix.tex"), "\\cite{Darwin1888}\n");
+        Path partFile = Files.writeString(Files.createDirectory(directory.resolve("parts")).resolve("part.tex"), "\\cite{Curie1903}\n");
+        Files.delete(mainFile);
+        directoryListeners.get(directory).fileUpdated();
+
+        assertEquals(List.of(), index.getCitationsByKey("Einstein1920"));
+        assertEquals(List.of(citation(appendixFile, 1, "\\cite{Darwin1888}")), index.getCitationsByKey("Darwin1888"));
+        assertEquals(List.of(citation(partFile, 1, "\\cite{Curie1903}")), index.getCitationsByKey("Curie1903"));
+
+        // Changes of files are noticed by watching their directories only
+        verify(monitor, never()).addListenerForFile(any(), any());
+
+        index.close();
+        assertNotSame(index, LatexCitationIndex.forDirectory(directory, monitor));
+    }
+}
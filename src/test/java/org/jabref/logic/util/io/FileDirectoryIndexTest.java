@@ -0,0 +1,124 @@
+package org.jabref.logic.util.io;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jabref.model.util.FileUpdateListener;
+import org.jabref.model.util.FileUpdateMonitor;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FileDirectoryIndexTest {
+
+    private Path rootDir;
+    private Path subDir;
+    private Path rootFile;
+    private Path subFile;
+
+    @BeforeEach
+    void setUp(@TempDir Path temporaryFolder) throws Exception {
+        rootDir = temporaryFolder;
+        subDir = Files.createDirectories(rootDir.resolve("pdfs/sub"));
+        rootFile = Files.createFile(rootDir.resolve("HipKro03 - Hello.pdf"));
+        subFile = Files.createFile(subDir.resolve("HipKro03-sub.pdf"));
+        Files.createFile(subDir.resolve("Other.pdf"));
+    }
+
+    @Test
+    void findsFilesStartingWithPrefixInAllSubdirectories() {
+        FileDirectoryIndex index = new FileDirectoryIndex(rootDir);
+
+        assertEquals(Set.of(rootFile, subFile), Set.copyOf(index.getFilesStartingWith("HipKro03")));
+        assertEquals(List.of(), index.getFilesStartingWith("HipKro04"));
+    }
+
+    @Test
+    void listsDirectoriesLikeTheFileSystem() {
+        FileDirectoryIndex index = new FileDirectoryIndex(rootDir);
+
+        assertEquals(List.of(rootFile), index.getFiles(rootDir));
+        assertEquals(List.of(rootDir.resolve("pdfs")), index.getSubdirectories(rootDir));
+        assertEquals(List.of(subDir), index.getSubdirectories(rootDir.resolve("pdfs")));
+        assertEquals(3, index.getFiles().size());
+    }
+
+    @Test
+    void symbolicLinkToParentIsIndexedOnce() throws Exception {
+        try {
+            Files.createSymbolicLink(subDir.resolve("loop"), rootDir);
+        } catch (UnsupportedOperationException | SecurityException e) {
+            return;
+        }
+        FileDirectoryIndex index = new FileDirectoryIndex(rootDir);
+
+        assertEquals(3, index.getFiles().size());
+    }
+
+    @Test
+    void unmonitoredIndexIsNotShared() {
+        FileUpdateMonitor monitor = mock(FileUpdateMonitor.class);
+        when(monitor.isActive()).thenReturn(false);
+
+        assertNotSame(FileDirectoryIndex.forDirectory(rootDir, monitor), FileDirectoryIndex.forDirectory(rootDir, monitor));
+    }
+
+    @Test
+    void monitoredIndexIsSharedAndUpdatedOnChange() throws Exception {
+        Map<Path, FileUpdateListener> listeners = new HashMap<>();
+        FileUpdateMonitor monitor = mock(FileUpdateMonitor.class);
+        when(monitor.isActive()).thenReturn(true);
+        doAnswer(invocation -> listeners.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(monitor).addListenerForDirectory(any(), any());
+
+        FileDirectoryIndex index = FileDirectoryIndex.forDirectory(rootDir, monitor);
+        assertSame(index, FileDirectoryIndex.forDirectory(rootDir, monitor));
+        assertEquals(List.of(subFile), index.getFilesStartingWith("HipKro03-"));
+
+        Path newDir = Files.createDirectory(rootDir.resolve("new"));
+        Path newFile = Files.createFile(newDir.resolve("HipKro03-new.pdf"));
+        Files.delete(subFile);
+        listeners.get(rootDir).fileUpdated();
+        listeners.get(subDir).fileUpdated();
+
+        assertEquals(List.of(newFile), index.getFilesStartingWith("HipKro03-"));
+        assertTrue(listeners.containsKey(newDir));
+
+        index.close();
+        assertNotSame(index, FileDirectoryIndex.forDirectory(rootDir, monitor));
+    }
+
+    @Test
+    void treeWithTooManyDirectoriesIsNotMonitored() throws Exception {
+        for (int i = 0; i < 300; i++) {
+            Files.createDirectory(rootDir.resolve("dir" + i));
+        }
+        FileUpdateMonitor monitor = mock(FileUpdateMonitor.class);
+        when(monitor.isActive()).thenReturn(true);
+
+        FileDirectoryIndex index = FileDirectoryIndex.forDirectory(rootDir, monitor);
+        assertEquals(3, index.getFiles().size());
+
+        verify(monitor, atMost(256)).addListenerForDirectory(any(), any());
+        verify(monitor, atLeastOnce()).removeListener(any(), any());
+        assertNotSame(index, FileDirectoryIndex.forDirectory(rootDir, monitor));
+        verify(monitor, atMost(256)).addListenerForDirectory(any(), any());
+    }
+}
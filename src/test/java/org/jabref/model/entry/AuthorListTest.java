@@ -10,7 +10,6 @@ import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
-import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -1156,21 +1155,39 @@ public class AuthorListTest {
     }
 
     @Test
-    public void parseGarbageCollectAuthorListForUnreachableKey() throws Exception {
+    public void parseKeepsCachedAuthorListForUnreachableKey() throws Exception {
         final String uniqueAuthorName = "Fleur Hornbach";
         // Note that "new String()" is needed, uniqueAuthorName is a reference to a String literal
         AuthorList uniqueAuthor = AuthorList.parse(new String(uniqueAuthorName));
         System.gc();
-        assertNotSame(uniqueAuthor, AuthorList.parse(uniqueAuthorName));
+        assertSame(uniqueAuthor, AuthorList.parse(uniqueAuthorName));
     }
 
     @Test
-    public void parseGarbageCollectUnreachableInstitution() throws Exception {
+    public void parseKeepsCachedInstitutionForUnreachableKey() throws Exception {
         final String uniqueInstitutionName = "{Unique LLC}";
         // Note that "new String()" is needed, uniqueAuthorName is a reference to a String literal
         AuthorList uniqueInstitution = AuthorList.parse(new String(uniqueInstitutionName));
         System.gc();
-        assertNotSame(uniqueInstitution, AuthorList.parse(uniqueInstitutionName));
+        assertSame(uniqueInstitution, AuthorList.parse(uniqueInstitutionName));
+    }
+
+    @Test
+    public void parseSharesAuthorsOfDifferentAuthorLists() throws Exception {
+        Author author = AuthorList.parse("Gesine Schwertfeger").getAuthor(0);
+        Author sameAuthor = AuthorList.parse("Gesine Schwertfeger and Jan Kowalczyk").getAuthor(0);
+        Author otherAuthor = AuthorList.parse("Schwertfeger, Ilse").getAuthor(0);
+
+        assertSame(author, sameAuthor);
+        assertSame(author.getLast().get(), otherAuthor.getLast().get());
+    }
+
+    @Test
+    public void parseCountsCacheHits() throws Exception {
+        AuthorList.parse("Quentin Lemaire");
+        long hitCount = AuthorList.getCacheStatistics().hitCount();
+        AuthorList.parse("Quentin Lemaire");
+        assertTrue(AuthorList.getCacheStatistics().hitCount() > hitCount);
     }
 
     /**
@@ -656,4 +656,30 @@ class BibEntryTest {
         entry = new BibEntry().withField(StandardField.AUTHOR, "value");
         assertFalse(entry.hasChanged());
     }
+
+    @Test
+    void cachedSerializationIsReturnedForEqualSettings() {
+        entry.setCachedSerialization("settings", "serialization", entry.getModificationCount());
+
+        assertEquals(Optional.of("serialization"), entry.getCachedSerialization("settings"));
+        assertEquals(Optional.empty(), entry.getCachedSerialization("other settings"));
+    }
+
+    @Test
+    void serializationOfChangedEntryIsNotCached() {
+        long modificationCount = entry.getModificationCount();
+        // The entry changes while it is serialized
+        entry.setField(StandardField.TITLE, "Title");
+        entry.setCachedSerialization("settings", "serialization", modificationCount);
+
+        assertEquals(Optional.empty(), entry.getCachedSerialization("settings"));
+    }
+
+    @Test
+    void cachedSerializationIsDroppedOnChange() {
+        entry.setCachedSerialization("settings", "serialization", entry.getModificationCount());
+        entry.setType(StandardEntryType.Book);
+
+        assertEquals(Optional.empty(), entry.getCachedSerialization("settings"));
+    }
 }
@@ -0,0 +1,144 @@
+package org.jabref.model.groups;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.StandardField;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GroupMembershipIndexTest {
+
+    private BibDatabase database;
+    private GroupMembershipIndex index;
+    private GroupTreeNode root;
+    private GroupTreeNode physics;
+    private GroupTreeNode quantum;
+    private BibEntry physicsEntry;
+    private BibEntry quantumEntry;
+    private BibEntry otherEntry;
+
+    @BeforeEach
+    void setUp() {
+        physicsEntry = new BibEntry().withField(StandardField.KEYWORDS, "physics");
+        quantumEntry = new BibEntry().withField(StandardField.KEYWORDS, "physics, quantum");
+        otherEntry = new BibEntry().withField(StandardField.KEYWORDS, "biology, quantum");
+        database = new BibDatabase();
+        database.insertEntries(physicsEntry, quantumEntry, otherEntry);
+
+        root = GroupTreeNode.fromGroup(new AllEntriesGroup("All entries"));
+        physics = root.addSubgroup(createKeywordGroup("physics", GroupHierarchyType.INDEPENDENT));
+        quantum = physics.addSubgroup(createKeywordGroup("quantum", GroupHierarchyType.REFINING));
+
+        index = new GroupMembershipIndex(database);
+    }
+
+    private static WordKeywordGroup createKeywordGroup(String keyword, GroupHierarchyType context) {
+        return new WordKeywordGroup(keyword, context, StandardField.KEYWORDS, keyword, false, ',', false);
+    }
+
+    @Test
+    void numberOfMatchesTakesHierarchyIntoAccount() {
+        assertEquals(3, index.getNumberOfMatches(root));
+        assertEquals(2, index.getNumberOfMatches(physics));
+        assertEquals(1, index.getNumberOfMatches(quantum));
+    }
+
+    @Test
+    void numberOfMatchesIsUpdatedOnFieldChange() {
+        assertEquals(1, index.getNumberOfMatches(quantum));
+
+        physicsEntry.setField(StandardField.KEYWORDS, "physics, quantum");
+        assertEquals(2, index.getNumberOfMatches(quantum));
+
+        quantumEntry.clearField(StandardField.KEYWORDS);
+        assertEquals(1, index.getNumberOfMatches(quantum));
+        assertEquals(1, index.getNumberOfMatches(physics));
+    }
+
+    @Test
+    void numberOfMatchesIsUpdatedOnAddedAndRemovedEntries() {
+        assertEquals(2, index.getNumberOfMatches(physics));
+
+        database.removeEntry(physicsEntry);
+        assertEquals(1, index.getNumberOfMatches(physics));
+
+        database.insertEntry(new BibEntry().withField(StandardField.KEYWORDS, "physics"));
+        database.insertEntry(new BibEntry().withField(StandardField.KEYWORDS, "physics"));
+        assertEquals(3, index.getNumberOfMatches(physics));
+        assertEquals(4, index.getNumberOfMatches(root));
+    }
+
+    @Test
+    void fieldChangeOnlyChecksGroupsLookingAtTheField() {
+        AtomicInteger checkedEntries = new AtomicInteger();
+        GroupTreeNode counting = root.addSubgroup(new WordKeywordGroup("counting", GroupHierarchyType.INDEPENDENT, StandardField.KEYWORDS, "physics", false, ',', false) {
+            @Override
+            public boolean contains(BibEntry entry) {
+                checkedEntries.incrementAndGet();
+                return super.contains(entry);
+            }
+        });
+        assertEquals(2, index.getNumberOfMatches(counting));
+        assertEquals(3, checkedEntries.get());
+
+        otherEntry.setField(StandardField.TITLE, "Physics of cells");
+        assertEquals(3, checkedEntries.get());
+
+        otherEntry.setField(StandardField.KEYWORDS, "biology, physics");
+        assertEquals(4, checkedEntries.get());
+        assertEquals(3, index.getNumberOfMatches(counting));
+    }
+
+    @Test
+    void changesOfRemovedEntriesAreIgnored() {
+        assertEquals(2, index.getNumberOfMatches(physics));
+        database.removeEntry(otherEntry);
+
+        otherEntry.setField(StandardField.KEYWORDS, "physics");
+        assertEquals(2, index.getNumberOfMatches(physics));
+    }
+
+    @Test
+    void replacedGroupIsComputedAgain() {
+        assertEquals(1, index.getNumberOfMatches(quantum));
+
+        // Changes the refined parent group
+        physics.setGroup(createKeywordGroup("biology", GroupHierarchyType.INDEPENDENT), false, false, List.of());
+        assertEquals(1, index.getNumberOfMatches(physics));
+        assertEquals(1, index.getNumberOfMatches(quantum));
+        assertFalse(index.getMatcher(List.of(quantum), false).test(quantumEntry));
+        assertTrue(index.getMatcher(List.of(quantum), false).test(otherEntry));
+    }
+
+    @Test
+    void matcherCombinesGroups() {
+        GroupTreeNode biology = root.addSubgroup(createKeywordGroup("biology", GroupHierarchyType.INDEPENDENT));
+
+        Predicate<BibEntry> union = index.getMatcher(List.of(quantum, biology), false);
+        assertFalse(union.test(physicsEntry));
+        assertTrue(union.test(quantumEntry));
+        assertTrue(union.test(otherEntry));
+
+        Predicate<BibEntry> intersection = index.getMatcher(List.of(physics, quantum), true);
+        assertFalse(intersection.test(physicsEntry));
+        assertTrue(intersection.test(quantumEntry));
+        assertFalse(intersection.test(otherEntry));
+    }
+
+    @Test
+    void matcherChecksEntriesNotInDatabase() {
+        Predicate<BibEntry> matcher = index.getMatcher(List.of(physics), false);
+
+        assertTrue(matcher.test(new BibEntry().withField(StandardField.KEYWORDS, "physics")));
+        assertFalse(matcher.test(new BibEntry().withField(StandardField.KEYWORDS, "biology")));
+    }
+}
@@ -5,6 +5,8 @@ import org.jabref.model.entry.field.StandardField;
 import org.jabref.model.entry.types.StandardEntryType;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -32,6 +34,54 @@ public class GrammarBasedSearchRuleTest {
         assertFalse(searchRule.applyRule(query, makeBibtexEntry()));
     }
 
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "title = finfish",
+            "TITLE = FINFISH",
+            "title == \"marine finfish larviculture in europe\"",
+            "entrytype = incollection",
+            "anyfield = shields",
+            "year = 2001 and (author = Kevin or title = nothing)",
+            "title = nothing or year = 2001 and author = shields",
+            "not title = nothing",
+            "journal != anything",
+            "title != nothing",
+    })
+    void applyRuleMatchesLiterally(String query) {
+        GrammarBasedSearchRule searchRule = new GrammarBasedSearchRule(false, false);
+
+        assertTrue(searchRule.validateSearchStrings(query));
+        assertTrue(searchRule.applyRule(query, makeBibtexEntry()));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "TITLE = FINFISH",
+            "title == Marine",
+            "entrytype = article",
+            "anyfield = nothing",
+            "year = 2001 and not author = Kevin",
+            "title = nothing and year = 2001",
+            "title != finfish",
+            "title = fin.*",
+    })
+    void applyRuleDoesNotMatchCaseSensitive(String query) {
+        GrammarBasedSearchRule searchRule = new GrammarBasedSearchRule(true, false);
+
+        assertTrue(searchRule.validateSearchStrings(query));
+        assertFalse(searchRule.applyRule(query, makeBibtexEntry()));
+    }
+
+    @Test
+    void applyRuleMatchesFieldNamesWithRegex() {
+        GrammarBasedSearchRule searchRule = new GrammarBasedSearchRule(false, true);
+
+        String query = "t.*e = \"(Europe|1999)$\"";
+        assertTrue(searchRule.validateSearchStrings(query));
+        assertTrue(searchRule.applyRule(query, makeBibtexEntry()));
+        assertFalse(searchRule.applyRule(query, makeBibtexEntry().withField(StandardField.TITLE, "Europe is not at the end")));
+    }
+
     public BibEntry makeBibtexEntry() {
         return new BibEntry(StandardEntryType.InCollection)
                 .withCitationKey("shields01")